@@ -13,6 +13,7 @@ plugins {
     java
     application
     id("org.graalvm.buildtools.native") version "0.10.6"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.dtsx.astra.cli"
@@ -74,15 +75,18 @@ dependencies {
     // test creds and such from .env files
     testImplementation("io.github.cdimascio:dotenv-java:3.2.0")
 
-    // compileOnly & annotationProcessor declarations need to be duplicated to work for both main and test source sets
+    // compileOnly & annotationProcessor declarations need to be duplicated to work for the main, test, and jmh source sets
     compileOnly("org.jetbrains:annotations:26.0.2")
     testCompileOnly("org.jetbrains:annotations:26.0.2")
+    jmhCompileOnly("org.jetbrains:annotations:26.0.2")
 
     compileOnly("org.projectlombok:lombok:1.18.42")
     testCompileOnly("org.projectlombok:lombok:1.18.42")
+    jmhCompileOnly("org.projectlombok:lombok:1.18.42")
 
     annotationProcessor("org.projectlombok:lombok:1.18.42")
     testAnnotationProcessor("org.projectlombok:lombok:1.18.42")
+    jmhAnnotationProcessor("org.projectlombok:lombok:1.18.42")
 }
 
 tasks.compileJava {
@@ -103,6 +107,9 @@ graalvmNative {
         buildArgs.add("--enable-https")
         buildArgs.add("--enable-native-access=ALL-UNNAMED")
         buildArgs.add("-H:-CheckToolchain")
+
+        // resolves the top-level command names ahead of time (see CommandTree)
+        buildArgs.add("--initialize-at-build-time=com.dtsx.astra.cli.core.CommandTree")
         
         if (project.hasProperty("prod")) {
             buildArgs.add("-Os")
@@ -154,6 +161,98 @@ tasks.test {
     )
 }
 
+// benchmarks live in src/jmh; run them all with `./gradlew jmh`, or a subset with e.g. `./gradlew jmh -Pjmh.includes=ShellTableRenderer`.
+// results are written as json (to build/results/jmh/results.json) so they can be diffed between releases.
+jmh {
+    jmhVersion.set("1.37")
+
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+
+    providers.gradleProperty("jmh.includes").orNull?.let {
+        includes.add(it)
+    }
+
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+
+    jvmArgsAppend.add("--enable-native-access=ALL-UNNAMED")
+}
+
+tasks.named("jmhJar") {
+    dependsOn("createDynamicProperties")
+}
+
+// unlike the jmh benchmarks, this spawns a fresh process for every run, so jvm (or native image) startup and class loading
+// are included. uses the native binary if it's been built (`./gradlew nativeCompile`), or the fat jar otherwise.
+// e.g. `./gradlew startupBenchmark -Pstartup.runs=50`
+tasks.register("startupBenchmark") {
+    group = "verification"
+
+    dependsOn("fatJar")
+
+    val commands = listOf(
+        listOf("--version"),
+        listOf("db", "list", "--help"),
+        listOf("config", "list"),
+    )
+
+    val runs = providers.gradleProperty("startup.runs").map(String::toInt).orElse(20)
+    val nativeBinary = layout.buildDirectory.file("native/nativeCompile/astra").get().asFile
+    val fatJar = layout.buildDirectory.file("libs/astra-fat.jar").get().asFile
+    val workDir = layout.buildDirectory.dir("startup-benchmark").get().asFile
+    val outputFile = layout.buildDirectory.file("results/startup/results.json").get().asFile
+
+    doLast {
+        val baseCmd = if (nativeBinary.exists()) {
+            listOf(nativeBinary.absolutePath)
+        } else {
+            listOf(File(System.getProperty("java.home"), "bin/java").absolutePath, "--enable-native-access=ALL-UNNAMED", "-jar", fatJar.absolutePath)
+        }
+
+        workDir.mkdirs()
+
+        val results = commands.map { args ->
+            val timings = (0 until runs.get() + 2).map {
+                val start = System.nanoTime()
+
+                val process = ProcessBuilder(baseCmd + args)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .apply {
+                        // a throwaway home & config file, and nothing that could do extra work on the side
+                        environment()["XDG_CONFIG_HOME"] = workDir.resolve("config").absolutePath
+                        environment()["XDG_DATA_HOME"] = workDir.resolve("data").absolutePath
+                        environment()["ASTRA_NO_UPDATE_NOTIFIER"] = "true"
+                        environment()["ASTRA_NO_DAEMON"] = "true"
+                        environment()["ASTRA_IGNORE_MULTIPLE_PATHS"] = "true"
+                    }
+                    .start()
+
+                process.waitFor()
+                (System.nanoTime() - start) / 1_000_000.0
+            }.drop(2).sorted() // the first couple of runs warm up the os's file cache
+
+            mapOf(
+                "command" to args.joinToString(" "),
+                "runs" to timings.size,
+                "minMs" to timings.first(),
+                "medianMs" to timings[timings.size / 2],
+                "p90Ms" to timings[(timings.size * 9) / 10],
+                "maxMs" to timings.last(),
+            )
+        }
+
+        results.forEach {
+            println("%-20s min %7.1fms  median %7.1fms  p90 %7.1fms  max %7.1fms".format(it["command"], it["minMs"], it["medianMs"], it["p90Ms"], it["maxMs"]))
+        }
+
+        outputFile.parentFile.mkdirs()
+        outputFile.writeText(groovy.json.JsonBuilder(mapOf("binary" to baseCmd.first(), "results" to results)).toPrettyString())
+    }
+}
+
 tasks.register<Exec>("lifecycleTest") {
     group = "verification"
 
@@ -0,0 +1,56 @@
+package com.dtsx.astra.cli.benchmarks;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.config.AstraHome;
+import com.dtsx.astra.cli.core.datatypes.Ref;
+import com.dtsx.astra.cli.core.output.AstraColors;
+import com.dtsx.astra.cli.core.output.AstraConsole;
+import com.dtsx.astra.cli.core.output.AstraLogger;
+import com.dtsx.astra.cli.core.output.AstraLogger.Level;
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.core.properties.CliEnvironmentImpl;
+import com.dtsx.astra.cli.core.properties.CliPropertiesImpl;
+import com.dtsx.astra.cli.core.properties.MemoizedCliProperties;
+import com.dtsx.astra.cli.gateways.GatewayProviderImpl;
+import lombok.val;
+import picocli.CommandLine.Help.Ansi;
+
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.FileSystems;
+import java.util.Optional;
+
+// Mirrors the context AstraCli.main creates, except that all output is discarded, and there's no
+// upgrade notifier, spinner, or user input, so none of that ends up in the numbers.
+public final class BenchmarkCtx {
+    private BenchmarkCtx() {}
+
+    public static Ref<CliContext> mkRef(OutputType outputType, Ansi ansi) {
+        val cliEnv = new CliEnvironmentImpl();
+
+        return new Ref<>((getCtx) -> new CliContext(
+            cliEnv,
+            CliPropertiesImpl.mkAndLoadSysProps(cliEnv, MemoizedCliProperties::new),
+            outputType,
+            new AstraColors(ansi),
+            new AstraLogger(Level.QUIET, getCtx, false, Optional.empty(), Optional.of(false)),
+            new AstraConsole(InputStream.nullInputStream(), new PrintWriter(Writer.nullWriter()), new PrintWriter(Writer.nullWriter()), null, getCtx, true),
+            new AstraHome(getCtx),
+            FileSystems.getDefault(),
+            new GatewayProviderImpl(getCtx),
+            (_) -> {},
+            Optional.empty()
+        ));
+    }
+
+    public static CliContext mk() {
+        return mkRef(OutputType.HUMAN, Ansi.OFF).get();
+    }
+
+    // a syntactically valid (but fake) token, so profile parsing takes the same path it would with real ones
+    public static String fakeToken(int seed) {
+        val hex = "%064x".formatted(seed);
+        return "AstraCS:" + "a".repeat(24) + ":" + hex;
+    }
+}
@@ -0,0 +1,76 @@
+package com.dtsx.astra.cli.benchmarks;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.completions.CompletionsCache;
+import lombok.SneakyThrows;
+import org.apache.commons.io.file.PathUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Every command which lists/creates/deletes something updates one of these caches (and each update re-reads the
+// whole cache file), so this is paid on top of nearly every api call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompletionsCacheBenchmark {
+    @Param({ "10", "1000", "10000" })
+    public int entries;
+
+    private Path dir;
+    private List<String> names;
+    private CompletionsCache cache;
+
+    @Setup(Level.Iteration)
+    @SneakyThrows
+    public void setup() {
+        dir = Files.createTempDirectory("completions-cache-bench");
+        names = IntStream.range(0, entries).mapToObj((i) -> "database_" + i).toList();
+        cache = mkCache(BenchmarkCtx.mk(), dir.resolve("db_names"));
+        cache.setCache(names);
+    }
+
+    @TearDown(Level.Iteration)
+    @SneakyThrows
+    public void tearDown() {
+        PathUtils.deleteDirectory(dir);
+    }
+
+    // the common case; the completion's already there, so the file's read (without a lock) but never written
+    @Benchmark
+    public void addExisting() {
+        cache.addToCache(names.getFirst());
+    }
+
+    // e.g. `db create` followed by `db delete`; appends to the file, then compacts it
+    @Benchmark
+    public void addThenRemove() {
+        cache.addToCache("new_database");
+        cache.removeFromCache("new_database");
+    }
+
+    // e.g. `db list`
+    @Benchmark
+    public void setSame() {
+        cache.setCache(names);
+    }
+
+    private static CompletionsCache mkCache(CliContext ctx, Path file) {
+        return new CompletionsCache(ctx) {
+            @Override
+            protected Optional<Path> primaryCacheFile() {
+                return Optional.of(file);
+            }
+
+            @Override
+            protected List<Path> mirrorCacheFiles() {
+                return List.of();
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.dtsx.astra.cli.benchmarks;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.output.AstraColors;
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.core.output.serializers.OutputSerializer;
+import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
+import org.openjdk.jmh.annotations.*;
+import picocli.CommandLine.Help.Ansi;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// The per-cell hot paths of every table/response that gets rendered
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OutputBenchmark {
+    private String plainString;
+    private String coloredString;
+    private List<String> list;
+    private Optional<String> optional;
+    private DatabaseStatusType status;
+
+    @Setup
+    public void setup() {
+        CliContext ctx = BenchmarkCtx.mkRef(OutputType.HUMAN, Ansi.ON).get();
+
+        plainString = "some_database_name (us-east1, ACTIVE)";
+        coloredString = ctx.colors().PURPLE_300.use("some_database_name") + " (" + ctx.colors().GREEN_500.use("ACTIVE") + ")";
+        list = List.of("us-east1", "eu-west1", "ap-south1");
+        optional = Optional.of("value, with \"quotes\"");
+        status = DatabaseStatusType.ACTIVE;
+    }
+
+    @Benchmark
+    public String stripAnsiPlain() {
+        return AstraColors.stripAnsi(plainString);
+    }
+
+    @Benchmark
+    public String stripAnsiColored() {
+        return AstraColors.stripAnsi(coloredString);
+    }
+
+    @Benchmark
+    public String serializeStringAsHuman() {
+        return OutputSerializer.serializeAsHuman(plainString);
+    }
+
+    @Benchmark
+    public String serializeListAsHuman() {
+        return OutputSerializer.serializeAsHuman(list);
+    }
+
+    @Benchmark
+    public Object serializeListAsJson() {
+        return OutputSerializer.serializeAsJson(list);
+    }
+
+    @Benchmark
+    public String serializeOptionalAsCsv() {
+        return OutputSerializer.serializeAsCsv(optional);
+    }
+
+    @Benchmark
+    public String serializeEnumAsCsv() {
+        return OutputSerializer.serializeAsCsv(status);
+    }
+}
@@ -0,0 +1,83 @@
+package com.dtsx.astra.cli.benchmarks;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.config.AstraConfig;
+import com.dtsx.astra.cli.core.parsers.env.EnvFile;
+import com.dtsx.astra.cli.core.parsers.env.EnvParser;
+import com.dtsx.astra.cli.core.parsers.ini.IniFile;
+import com.dtsx.astra.cli.core.parsers.ini.IniParser;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParsersBenchmark {
+    @Param({ "10", "1000", "10000" })
+    public int profiles;
+
+    private CliContext ctx;
+    private String astrarc;
+    private Path astrarcFile;
+    private String envFile;
+
+    @Setup
+    @SneakyThrows
+    public void setup() {
+        ctx = BenchmarkCtx.mk();
+
+        val ini = new StringJoiner(NL);
+        val env = new StringJoiner(NL);
+
+        for (var i = 0; i < profiles; i++) {
+            ini.add("# profile number " + i);
+            ini.add("[profile_" + i + "]");
+            ini.add("ASTRA_DB_APPLICATION_TOKEN=" + BenchmarkCtx.fakeToken(i));
+            ini.add("ASTRA_ENV=" + ((i % 2 == 0) ? "PROD" : "DEV"));
+            ini.add("");
+
+            env.add("# database " + i);
+            env.add("ASTRA_DB_API_ENDPOINT_" + i + "=https://" + i + "-us-east1.apps.astra.datastax.com");
+            env.add("ASTRA_DB_APPLICATION_TOKEN_" + i + "=\"" + BenchmarkCtx.fakeToken(i) + "\"");
+            env.add("");
+        }
+
+        astrarc = ini.toString();
+        envFile = env.toString();
+
+        astrarcFile = Files.createTempFile("astrarc-bench", ".ini");
+        Files.writeString(astrarcFile, astrarc);
+    }
+
+    @TearDown
+    @SneakyThrows
+    public void tearDown() {
+        Files.deleteIfExists(astrarcFile);
+    }
+
+    @Benchmark
+    @SneakyThrows
+    public IniFile parseIniFile() {
+        return new IniParser().parseIniFile(new Scanner(astrarc));
+    }
+
+    @Benchmark
+    public AstraConfig readAstraConfigFile() {
+        return AstraConfig.readAstraConfigFile(ctx, astrarcFile, false);
+    }
+
+    @Benchmark
+    @SneakyThrows
+    public EnvFile parseEnvFile() {
+        return new EnvParser().parseEnvFile(new Scanner(envFile));
+    }
+}
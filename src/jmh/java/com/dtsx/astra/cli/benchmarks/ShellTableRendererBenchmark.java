@@ -0,0 +1,80 @@
+package com.dtsx.astra.cli.benchmarks;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.core.output.table.RenderableShellTable;
+import com.dtsx.astra.cli.core.output.table.ShellTable;
+import com.dtsx.astra.cli.core.output.table.ShellTableRendererCsv;
+import com.dtsx.astra.cli.core.output.table.ShellTableRendererHuman;
+import com.dtsx.astra.cli.core.output.table.ShellTableRendererJson;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import picocli.CommandLine.Help.Ansi;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+// Tables shaped like `db list`'s (colors included), since that's the biggest table most people will ever render
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShellTableRendererBenchmark {
+    private static final String[] COLUMNS = { "Name", "ID", "Regions", "Cloud", "Vector", "Status" };
+
+    @Param({ "10", "1000", "100000" })
+    public int rows;
+
+    private CliContext ctx;
+    private List<LinkedHashMap<String, Object>> raw;
+    private RenderableShellTable table;
+
+    @Setup
+    public void setup() {
+        ctx = BenchmarkCtx.mkRef(OutputType.HUMAN, Ansi.ON).get();
+
+        raw = IntStream.range(0, rows)
+            .mapToObj((i) -> {
+                LinkedHashMap<String, Object> row = sequencedMapOf(
+                    "Name", "database_" + i,
+                    "ID", "%08x-0000-4000-8000-%012x".formatted(i, i),
+                    "Regions", (i % 3 == 0) ? List.of("us-east1", "eu-west1") : List.of("us-east1"),
+                    "Cloud", (i % 2 == 0) ? "GCP" : "AWS",
+                    "Vector", (i % 2 == 0) ? "■" : "",
+                    "Status", ctx.colors().GREEN_500.use("ACTIVE")
+                );
+                return row;
+            })
+            .toList();
+
+        table = new ShellTable(raw).withColumns(COLUMNS);
+    }
+
+    @Benchmark
+    public String renderHuman() {
+        return new ShellTableRendererHuman(table).renderAsHuman(ctx);
+    }
+
+    @Benchmark
+    public String renderCsv() {
+        return new ShellTableRendererCsv(table).renderAsCsv();
+    }
+
+    @Benchmark
+    public String renderJson() {
+        return new ShellTableRendererJson(table).renderAsJson();
+    }
+
+    @Benchmark
+    public void streamHuman(Blackhole bh) {
+        ShellTable.streaming(raw.stream(), COLUMNS).streamTo(ctx, bh::consume);
+    }
+
+    @Benchmark
+    public RenderableShellTable withColumns() {
+        return new ShellTable(raw).withColumns(COLUMNS);
+    }
+}
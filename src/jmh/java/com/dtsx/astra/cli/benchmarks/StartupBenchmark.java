@@ -0,0 +1,67 @@
+package com.dtsx.astra.cli.benchmarks;
+
+import com.dtsx.astra.cli.AstraCli;
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.CommandTree;
+import com.dtsx.astra.cli.core.datatypes.Ref;
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import picocli.CommandLine;
+import picocli.CommandLine.Help.Ansi;
+
+import java.util.concurrent.TimeUnit;
+
+// Building the picocli model for the command tree happens on every single invocation, before any actual work is
+// done. These are warm, in-jvm numbers (no class loading or jit warmup), so they're only a lower bound on real startup
+// time, but they still catch regressions in how much work is done up front. See `./gradlew startupBenchmark` for
+// actual time-to-exit numbers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+    private Ref<CliContext> ctxRef;
+
+    @Setup
+    public void setup() {
+        ctxRef = BenchmarkCtx.mkRef(OutputType.HUMAN, Ansi.OFF);
+    }
+
+    // what every invocation used to pay for, and what `help`, `completions`, and `docs` still do
+    @Benchmark
+    public CommandLine constructFullTree() {
+        return constructTree(CommandTree.TOP_LEVEL_COMMANDS.toArray(Class<?>[]::new));
+    }
+
+    @Benchmark
+    public CommandLine constructDbBranch() {
+        return constructTree(CommandTree.branchFor(new String[] { "db", "list" }).toArray(Class<?>[]::new));
+    }
+
+    // the cheapest full run there is; parsing, the prelude, and printing the version
+    @Benchmark
+    public int runVersion() {
+        return AstraCli.run(ctxRef, "--version");
+    }
+
+    @Benchmark
+    public int runDbListHelp() {
+        return AstraCli.run(ctxRef, "db", "list", "--help");
+    }
+
+    // reads (and parses) whatever config file the machine running the benchmark has
+    @Benchmark
+    public int runConfigList() {
+        return AstraCli.run(ctxRef, "config", "list");
+    }
+
+    private static CommandLine constructTree(Class<?>... subcommands) {
+        val cmd = new CommandLine(new AstraCli());
+
+        for (val subcommand : subcommands) {
+            cmd.addSubcommand(subcommand);
+        }
+
+        return cmd;
+    }
+}
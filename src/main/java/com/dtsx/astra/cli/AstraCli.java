@@ -1,19 +1,14 @@
 package com.dtsx.astra.cli;
 
 import com.dtsx.astra.cli.AstraCli.SetupExampleProvider;
-import com.dtsx.astra.cli.commands.*;
-import com.dtsx.astra.cli.commands.config.ConfigCmd;
-import com.dtsx.astra.cli.commands.db.DbCmd;
-import com.dtsx.astra.cli.commands.org.OrgCmd;
-import com.dtsx.astra.cli.commands.pcu.PcuCmd;
-import com.dtsx.astra.cli.commands.role.RoleCmd;
-import com.dtsx.astra.cli.commands.streaming.StreamingCmd;
-import com.dtsx.astra.cli.commands.token.TokenCmd;
-import com.dtsx.astra.cli.commands.user.UserCmd;
+import com.dtsx.astra.cli.commands.AbstractCmd;
+import com.dtsx.astra.cli.commands.UsesCliContext;
 import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.CommandTree;
 import com.dtsx.astra.cli.core.TypeConverters;
 import com.dtsx.astra.cli.core.config.AstraConfig;
 import com.dtsx.astra.cli.core.config.AstraHome;
+import com.dtsx.astra.cli.core.daemon.DaemonClient;
 import com.dtsx.astra.cli.core.datatypes.Ref;
 import com.dtsx.astra.cli.core.docs.AliasForSubcommand;
 import com.dtsx.astra.cli.core.docs.AliasForSubcommand.None;
@@ -38,9 +33,7 @@ import com.dtsx.astra.cli.core.upgrades.UpgradeNotifier;
 import com.dtsx.astra.cli.gateways.GatewayProviderImpl;
 import com.dtsx.astra.cli.operations.Operation;
 import lombok.Cleanup;
-import lombok.Getter;
 import lombok.SneakyThrows;
-import lombok.experimental.Accessors;
 import lombok.val;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -64,24 +57,8 @@ import static com.dtsx.astra.cli.utils.StringUtils.NL;
 
 @Command(
     name = "astra",
-    descriptionHeading = " ", // normally the description heading is "%n", but we don't want that here since we have no description
-    subcommands = {
-        CommandLine.HelpCommand.class,
-        SetupCmd.class,
-        ConfigCmd.class,
-        DbCmd.class,
-        PcuCmd.class,
-        OrgCmd.class,
-        RoleCmd.class,
-        StreamingCmd.class,
-        TokenCmd.class,
-        UserCmd.class,
-        CompletionsCmd.class,
-        UpgradeCmd.class,
-        ShellEnvCmd.class,
-        NukeCmd.class,
-        DocsCmd.class
-    }
+    descriptionHeading = " " // normally the description heading is "%n", but we don't want that here since we have no description
+    // subcommands are added in run(...), see CommandTree
 )
 @Example(
     exampleProvider = SetupExampleProvider.class
@@ -151,22 +128,44 @@ public class AstraCli extends AbstractCmd<Void> {
             Optional.empty()
         ));
 
+        // only does anything if a daemon's been explicitly started with `astra daemon start`
+        val daemonExitCode = DaemonClient.tryRun(ctxRef.get(), args);
+
+        if (daemonExitCode.isPresent()) {
+            System.exit(daemonExitCode.get());
+        }
+
         System.exit(run(ctxRef, args));
     }
 
-    @Getter
-    @Accessors(fluent = true)
-    private static @Nullable Supplier<CliContext> unsafeGlobalCliContext;
+    // per thread (and inherited by the threads a command starts), since `batch --parallel` runs many commands at once,
+    // each of which should only ever see its own context
+    private static final InheritableThreadLocal<Supplier<CliContext>> unsafeGlobalCliContext = new InheritableThreadLocal<>();
+
+    // should only be used in dire cases where it doesn't super matter if the context is wrong,
+    // and it won't affect testability.
+    public static @Nullable Supplier<CliContext> unsafeGlobalCliContext() {
+        return unsafeGlobalCliContext.get();
+    }
 
-    @SneakyThrows
     @VisibleForTesting
-    @SuppressWarnings("unused")
     public static int run(Ref<CliContext> ctxRef, String... args) {
+        val outerCtx = unsafeGlobalCliContext.get();
+        unsafeGlobalCliContext.set(ctxRef::get);
+
+        try {
+            return runWithCtx(ctxRef, args);
+        } finally {
+            unsafeGlobalCliContext.set(outerCtx); // e.g. a batch line giving the context back to the batch itself
+        }
+    }
+
+    @SneakyThrows
+    @SuppressWarnings("unused")
+    private static int runWithCtx(Ref<CliContext> ctxRef, String... args) {
         @Cleanup val jansi = JansiUtils.installIfNecessary();
 
-        // should only be used in dire cases where it doesn't super matter if the context is wrong,
-        // and it won't affect testability.
-        unsafeGlobalCliContext = ctxRef::get;
+        val allArgs = ArrayUtils.addAll(defaultArgs(), args);
 
         val cli = new AstraCli();
         val cmd = new CommandLine(cli, mkFactory(ctxRef));
@@ -174,6 +173,11 @@ public class AstraCli extends AbstractCmd<Void> {
         // top-level command needs to be initialized manually since picocli doesn't use the factory for it
         cli.initCtx(ctxRef);
 
+        // needs to happen before anything below, since picocli only propagates settings to subcommands which already exist
+        for (val subcommand : CommandTree.branchFor(allArgs)) {
+            cmd.addSubcommand(subcommand);
+        }
+
         cmd
             .setColorScheme(AstraColors.DEFAULT_COLOR_SCHEME)
             .setExecutionExceptionHandler(new ExecutionExceptionHandler(ctxRef))
@@ -199,8 +203,6 @@ public class AstraCli extends AbstractCmd<Void> {
             return DefaultsRenderer.helpWithOverriddenDefaultsRendering(spec, cs);
         });
 
-        val allArgs = ArrayUtils.addAll(defaultArgs(), args);
-
         return cmd.execute(allArgs);
     }
 
@@ -221,7 +223,7 @@ public class AstraCli extends AbstractCmd<Void> {
             public <K> K create(Class<K> cls) throws Exception { // I miss having proper rank2 type support for lambdas
                 val created = defaultFactory.create(cls);
 
-                if (created instanceof AbstractCmd<?> cmd) {
+                if (created instanceof UsesCliContext cmd) {
                     cmd.initCtx(ctxRef);
                 }
 
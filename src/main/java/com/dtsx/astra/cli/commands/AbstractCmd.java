@@ -11,7 +11,12 @@ import com.dtsx.astra.cli.core.output.AstraLogger;
 import com.dtsx.astra.cli.core.output.AstraLogger.Level;
 import com.dtsx.astra.cli.core.output.Hint;
 import com.dtsx.astra.cli.core.output.formats.*;
+import com.dtsx.astra.cli.core.output.table.ShellTable;
+import com.dtsx.astra.cli.core.tracing.HttpTracer;
+import com.dtsx.astra.cli.core.tracing.HttpTracer.HttpCall;
+import com.dtsx.astra.cli.core.tracing.Profiler;
 import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.utils.JsonUtils;
 import lombok.val;
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.VisibleForTesting;
@@ -21,10 +26,14 @@ import picocli.CommandLine.Help.Ansi;
 import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Spec;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static com.dtsx.astra.cli.core.output.ExitCode.UNSUPPORTED_EXECUTION;
@@ -35,7 +44,7 @@ import static com.dtsx.astra.cli.utils.CollectionUtils.listAdd;
     descriptionHeading = "%n",
     footer = "%nSee '${cli.name} <command> <subcommand> --help' for help on a specific subcommand."
 )
-public abstract class AbstractCmd<OpRes> implements Runnable {
+public abstract class AbstractCmd<OpRes> implements Runnable, UsesCliContext {
     public static final String SHOW_CUSTOM_DEFAULT = "__show_custom_default__:";
 
     @Spec
@@ -48,15 +57,23 @@ public abstract class AbstractCmd<OpRes> implements Runnable {
     protected CliContext ctx;
     private Ref<CliContext> ctxRef;
 
+    @Override
     public void initCtx(Ref<CliContext> ctxRef) {
         this.ctxRef = ctxRef;
         this.ctx = ctxRef.get();
         ctxRef.onUpdate((ctx) -> this.ctx = ctx);
     }
 
+    protected final void modifyCtx(Function<CliContext, CliContext> fn) {
+        ctxRef.modify(fn);
+    }
+
     @ArgGroup(validate = false, heading = "%nCommon Options:%n", order = 99)
     public CommonOptions common = CommonOptions.EMPTY;
 
+    @ArgGroup(validate = false, heading = "%nDiagnostic Options:%n", order = 102)
+    public DiagnosticOptions diagnostics = DiagnosticOptions.EMPTY;
+
     protected OutputAll execute(Supplier<OpRes> _result) {
         val otherTypes = Arrays.stream(OutputType.values()).filter(o -> o != ctx.outputType()).map(o -> o.name().toLowerCase()).toList();
         val otherTypesAsString = String.join("|", otherTypes);
@@ -98,6 +115,10 @@ public abstract class AbstractCmd<OpRes> implements Runnable {
         throw new UnsupportedOperationException();
     }
 
+    protected OutputNdjson executeNdjson(Supplier<OpRes> result) {
+        return OutputNdjson.fromJson(executeJson(result));
+    }
+
     protected abstract Operation<OpRes> mkOperation();
 
     @Override
@@ -148,12 +169,88 @@ public abstract class AbstractCmd<OpRes> implements Runnable {
         return common;
     }
 
+    private DiagnosticOptions mergeDiagnosticOptions() {
+        var diagnostics = this.diagnostics;
+
+        if (this.spec == null) {
+            return diagnostics; // Only triggered in tests where spec is not initialized
+        }
+
+        for (var spec = this.spec.parent(); spec != null; spec = spec.parent()) {
+            if (spec.userObject() instanceof AbstractCmd<?> cmd) {
+                diagnostics = diagnostics.merge(cmd.diagnostics);
+            }
+        }
+
+        return diagnostics;
+    }
+
     @VisibleForTesting
     public final void run(CliContext ctx) {
         ctxRef.modify((_) -> ctx);
-        this.prelude();
-        val result = evokeProperExecuteFunction(ctx);
-        this.postlude(result);
+
+        val diagnostics = mergeDiagnosticOptions();
+
+        // the profile also shows the http calls made, even without --trace-http
+        val tracer = (diagnostics.traceHttp() || diagnostics.profileOut().isPresent()) ? HttpTracer.start() : null;
+        val profiler = diagnostics.profileOut().map((_) -> Profiler.start(spec.qualifiedName())).orElse(null);
+
+        try {
+            this.prelude();
+            val result = evokeProperExecuteFunction(ctx);
+            this.postlude(result);
+        } finally {
+            val calls = (tracer != null) ? tracer.stop() : List.<HttpCall>of();
+
+            if (profiler != null) {
+                reportProfile(profiler.stop(), calls, diagnostics.profileOut().get());
+            }
+
+            if (diagnostics.traceHttp()) {
+                reportHttpCalls(calls, diagnostics.traceHttpTo());
+            }
+        }
+    }
+
+    // these are called from a finally block, so they mustn't throw, or they'd mask whatever the command itself threw
+    private void reportProfile(Profiler.Profile profile, List<HttpCall> calls, Path dest) {
+        try {
+            Files.writeString(dest, JsonUtils.writeValue(Profiler.toChromeTrace(profile, calls)));
+        } catch (Exception e) {
+            ctx.log().warn("Could not write the trace to '", dest.toString(), "': ", e.getMessage());
+            return;
+        }
+
+        ctx.log().info("Wrote a trace of ", String.valueOf(profile.spans().size()), " spans to '", dest.toString(), "' (open it in https://ui.perfetto.dev).");
+
+        ctx.console().errorln();
+        ctx.console().errorln(new ShellTable(Profiler.slowestSpans(profile, 10)).withColumns(Profiler.SUMMARY_COLUMNS).renderAsHuman(ctx).stripTrailing());
+    }
+
+    // the summary goes to stderr so it never gets mixed into the command's actual (possibly machine-readable) output
+    private void reportHttpCalls(List<HttpCall> calls, Optional<Path> dest) {
+        if (dest.isPresent()) {
+            try (val writer = Files.newBufferedWriter(dest.get())) {
+                for (val call : calls) {
+                    writer.write(JsonUtils.writeValue(call.toJson()));
+                    writer.newLine();
+                }
+            } catch (Exception e) {
+                ctx.log().warn("Could not write the traced HTTP calls to '", dest.get().toString(), "': ", e.getMessage());
+                return;
+            }
+
+            ctx.log().info("Wrote ", String.valueOf(calls.size()), " traced HTTP calls to '", dest.get().toString(), "'.");
+            return;
+        }
+
+        if (calls.isEmpty()) {
+            ctx.console().errorln("No HTTP calls were made.");
+            return;
+        }
+
+        ctx.console().errorln();
+        ctx.console().errorln(new ShellTable(HttpTracer.summarize(calls)).withColumns(HttpTracer.SUMMARY_COLUMNS).renderAsHuman(ctx).stripTrailing());
     }
 
     @MustBeInvokedByOverriders
@@ -193,15 +290,30 @@ public abstract class AbstractCmd<OpRes> implements Runnable {
 
         try {
             return switch (ctx.outputType()) {
-                case HUMAN -> executeHuman(thunk).renderAsHuman(ctx);
-                case JSON -> executeJson(thunk).renderAsJson();
-                case CSV -> executeCsv(thunk).renderAsCsv();
+                case HUMAN -> streamOrRender(ctx, executeHuman(thunk), (o) -> o.renderAsHuman(ctx));
+                case JSON -> streamOrRender(ctx, executeJson(thunk), OutputJson::renderAsJson);
+                case CSV -> streamOrRender(ctx, executeCsv(thunk), OutputCsv::renderAsCsv);
+                case NDJSON -> streamOrRender(ctx, executeNdjson(thunk), OutputNdjson::renderAsNdjson);
             };
         } catch (UnsupportedOperationException e) {
-            return execute(thunk).render(ctx);
+            return streamOrRender(ctx, execute(thunk), (o) -> o.render(ctx));
         }
     }
 
+    // streamed outputs are printed (and flushed) line by line as they're produced, leaving nothing for the postlude to print
+    private <O> String streamOrRender(CliContext ctx, O output, Function<O, String> render) {
+        if (!(output instanceof OutputStreaming streaming)) {
+            return render.apply(output);
+        }
+
+        streaming.streamTo(ctx, (chunk) -> {
+            ctx.console().unsafePrintln(chunk);
+            ctx.console().flush();
+        });
+
+        return "";
+    }
+
     protected final List<String> originalArgs() {
         if (spec == null) {
             return Collections.emptyList(); // Only triggered in tests where spec is not initialized
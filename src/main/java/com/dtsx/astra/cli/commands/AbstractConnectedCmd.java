@@ -18,10 +18,16 @@ import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.Nullable;
 import picocli.CommandLine.ArgGroup;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.dtsx.astra.cli.core.output.ExitCode.PARSE_ISSUE;
 import static com.dtsx.astra.cli.core.output.ExitCode.PROFILE_NOT_FOUND;
@@ -30,9 +36,18 @@ public abstract class AbstractConnectedCmd<OpRes> extends AbstractCmd<OpRes> {
     @ArgGroup(heading = "%nConnection Options:%n", order = 100)
     private ConnectionOptions $connOpts = ConnectionOptions.EMPTY;
 
+    @ArgGroup(exclusive = true, heading = "%nCache Options:%n", order = 101)
+    private CacheOptions $cacheOpts = CacheOptions.EMPTY;
+
     private @Nullable ProfileSource cachedProfileSource;
     private @Nullable Profile cachedProfile;
 
+    // `batch` (and the daemon) resolve the same profile from the same file over and over again in the same process; keyed
+    // on the file's size and mtime so any change to it (e.g. `config use` in the middle of a batch) is picked up
+    private static final Map<ResolvedProfileKey, Profile> resolvedProfiles = new ConcurrentHashMap<>();
+
+    private record ResolvedProfileKey(Path file, FileTime lastModified, long size, ProfileName profile) {}
+
     public sealed interface ProfileSource {
         record Forced(Profile profile) implements ProfileSource {}
         record FromArgs(AstraToken token, AstraEnvironment env) implements ProfileSource {}
@@ -44,6 +59,10 @@ public abstract class AbstractConnectedCmd<OpRes> extends AbstractCmd<OpRes> {
     protected void prelude() {
         super.prelude();
         $connOpts = mergeConnectionOptions();
+        $cacheOpts = mergeCacheOptions();
+
+        val infoCacheMode = $cacheOpts.mode();
+        modifyCtx((ctx) -> ctx.withGateways(ctx.gateways().withInfoCacheMode(infoCacheMode).withRequestScope()));
     }
 
     private ConnectionOptions mergeConnectionOptions() {
@@ -58,6 +77,18 @@ public abstract class AbstractConnectedCmd<OpRes> extends AbstractCmd<OpRes> {
         return opts;
     }
 
+    private CacheOptions mergeCacheOptions() {
+        var opts = $cacheOpts;
+
+        for (var spec = this.spec.parent(); spec != null; spec = spec.parent()) {
+            if (spec.userObject() instanceof AbstractConnectedCmd<?> cmd) {
+                opts = opts.merge(cmd.$cacheOpts);
+            }
+        }
+
+        return opts;
+    }
+
     public final Profile profile() {
         if (cachedProfile != null) {
             return cachedProfile;
@@ -118,6 +149,29 @@ public abstract class AbstractConnectedCmd<OpRes> extends AbstractCmd<OpRes> {
     }
 
     private Profile resolveProfileFromConfigFile(@Nullable Path path, ProfileName targetProfileName) {
+        val key = resolvedProfileKey(path, targetProfileName);
+
+        if (key.isPresent() && resolvedProfiles.containsKey(key.get())) {
+            return resolvedProfiles.get(key.get());
+        }
+
+        val profile = readProfileFromConfigFile(path, targetProfileName);
+        key.ifPresent((k) -> resolvedProfiles.put(k, profile));
+        return profile;
+    }
+
+    private Optional<ResolvedProfileKey> resolvedProfileKey(@Nullable Path path, ProfileName targetProfileName) {
+        val file = (path != null) ? path : AstraConfig.resolveDefaultAstraConfigFile(ctx);
+
+        try {
+            val attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return Optional.of(new ResolvedProfileKey(file.toAbsolutePath(), attrs.lastModifiedTime(), attrs.size(), targetProfileName));
+        } catch (IOException e) {
+            return Optional.empty(); // let readAstraConfigFile report the actual error
+        }
+    }
+
+    private Profile readProfileFromConfigFile(@Nullable Path path, ProfileName targetProfileName) {
         val config = AstraConfig.readAstraConfigFile(ctx, path, false);
 
         val profile = config.lookupProfile(targetProfileName);
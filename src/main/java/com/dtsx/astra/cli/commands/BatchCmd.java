@@ -0,0 +1,250 @@
+package com.dtsx.astra.cli.commands;
+
+import com.dtsx.astra.cli.AstraCli;
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.datatypes.Ref;
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.core.exceptions.internal.cli.OptionValidationException;
+import com.dtsx.astra.cli.core.help.Example;
+import com.dtsx.astra.cli.core.output.AstraColors;
+import com.dtsx.astra.cli.core.output.AstraConsole;
+import com.dtsx.astra.cli.core.output.AstraLogger;
+import com.dtsx.astra.cli.core.output.AstraLogger.Level;
+import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.core.output.formats.OutputJson;
+import com.dtsx.astra.cli.core.output.formats.OutputNdjson;
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.core.output.table.ShellTable;
+import com.dtsx.astra.cli.operations.BatchOperation;
+import com.dtsx.astra.cli.operations.BatchOperation.*;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import lombok.val;
+import org.jetbrains.annotations.MustBeInvokedByOverriders;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Help.Ansi;
+import picocli.CommandLine.Option;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.FILE_ISSUE;
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+@Command(
+    name = "batch",
+    description = {
+        "Run many commands in a single process",
+        "",
+        "Each line of the file is run as its own @|code ${cli.name}|@ command, but they all share the same jvm, profile, http connections, and caches, so running a few hundred commands this way is much cheaper than running them one by one from a script.",
+        "",
+        "Lines are split like a shell would (quotes and backslashes work, @|code #|@ starts a comment), but nothing is expanded. A line consisting of just @|code wait|@ waits for every line before it to finish before starting any after it.",
+        "",
+        "Every line is run with @|code -o json --no-input|@, and its output is included in the results."
+    },
+    descriptionHeading = "%n"
+)
+@Example(
+    comment = "Run every command in a file, one after another",
+    command = "${cli.name} batch -f commands.txt"
+)
+@Example(
+    comment = "Run up to 8 commands at a time, and don't stop at the first failure",
+    command = "${cli.name} batch -f commands.txt --parallel 8 --keep-going"
+)
+@Example(
+    comment = "Read the commands from stdin, and stream the results as they complete",
+    command = "generate-commands.sh | ${cli.name} batch -o ndjson"
+)
+public class BatchCmd extends AbstractCmd<Stream<BatchResult>> {
+    private static final List<String> LINE_DEFAULT_ARGS = List.of("-o", "json", "--no-input");
+
+    @Option(
+        names = { "-f", "--file" },
+        description = "The file to read commands from, one per line (default: stdin)",
+        paramLabel = "FILE"
+    )
+    public Optional<Path> $file = Optional.empty();
+
+    @Option(
+        names = { "--parallel" },
+        description = "How many commands may run at once",
+        defaultValue = "1",
+        paramLabel = "COUNT"
+    )
+    public int $parallel;
+
+    @Option(
+        names = { "--keep-going" },
+        description = "Keep running commands after one fails, instead of skipping the rest"
+    )
+    public boolean $keepGoing;
+
+    // the batch as a whole exits with the exit code of its first failed command
+    private final AtomicInteger firstFailure = new AtomicInteger(0);
+
+    @Override
+    @MustBeInvokedByOverriders
+    protected void prelude() {
+        super.prelude();
+
+        if ($parallel < 1) {
+            throw new OptionValidationException("parallel", "must be at least 1 (got %d)".formatted($parallel));
+        }
+    }
+
+    @Override
+    @MustBeInvokedByOverriders
+    protected void postlude(String result) {
+        super.postlude(result);
+
+        if (firstFailure.get() != 0) {
+            AstraCli.exit(firstFailure.get());
+        }
+    }
+
+    @Override
+    protected final OutputJson executeJson(Supplier<Stream<BatchResult>> result) {
+        return OutputJson.serializeValue(results(result).map(this::jsonValue).toList());
+    }
+
+    // one line per command, printed as soon as it (and every line before it) completes
+    @Override
+    protected final OutputNdjson executeNdjson(Supplier<Stream<BatchResult>> result) {
+        return OutputNdjson.serializeValues(results(result).map(this::jsonValue));
+    }
+
+    @Override
+    protected final OutputAll execute(Supplier<Stream<BatchResult>> result) {
+        val rows = results(result).map((res) -> sequencedMapOf(
+            "Line", res.line().lineNumber(),
+            "Command", command(res.line()),
+            "Status", status(res),
+            "Duration", duration(res)
+        ));
+
+        return ShellTable.streaming(rows, "Line", "Command", "Status", "Duration");
+    }
+
+    private Stream<BatchResult> results(Supplier<Stream<BatchResult>> result) {
+        return result.get().peek((res) -> {
+            if (res instanceof LineCompleted completed && completed.exitCode() != 0) {
+                firstFailure.compareAndSet(0, completed.exitCode());
+            }
+        });
+    }
+
+    private Map<String, Object> jsonValue(BatchResult result) {
+        return switch (result) {
+            case LineCompleted(var line, var exitCode, var duration, var stdout, var stderr) -> {
+                LinkedHashMap<String, Object> map = sequencedMapOf(
+                    "line", line.lineNumber(),
+                    "command", command(line),
+                    "exitCode", exitCode,
+                    "durationMs", duration.toMillis()
+                );
+
+                // lines are run with `-o json`, but may have overridden it, or failed before producing any json
+                if (!stdout.isBlank() && JsonUtils.isValidJson(stdout)) {
+                    map.put("output", JsonUtils.readTree(stdout));
+                } else if (!stdout.isBlank()) {
+                    map.put("stdout", stdout);
+                }
+
+                if (!stderr.isBlank()) {
+                    map.put("stderr", stderr);
+                }
+
+                yield map;
+            }
+            case LineSkipped(var line, var reason) -> sequencedMapOf(
+                "line", line.lineNumber(),
+                "command", command(line),
+                "skipped", true,
+                "reason", reason
+            );
+        };
+    }
+
+    private String command(BatchLine line) {
+        return String.join(" ", line.args());
+    }
+
+    private String status(BatchResult result) {
+        return switch (result) {
+            case LineCompleted(var _, var exitCode, var _, var _, var _) when exitCode == 0 -> ctx.colors().GREEN_300.use("ok");
+            case LineCompleted(var _, var exitCode, var _, var _, var _) -> ctx.colors().RED_300.use("failed (" + exitCode + ")");
+            case LineSkipped(var _, var _) -> ctx.colors().NEUTRAL_400.use("skipped");
+        };
+    }
+
+    private String duration(BatchResult result) {
+        return switch (result) {
+            case LineCompleted(var _, var _, var duration, var _, var _) -> duration.toMillis() + "ms";
+            case LineSkipped(var _, var _) -> "";
+        };
+    }
+
+    @Override
+    protected Operation<Stream<BatchResult>> mkOperation() {
+        val sourceName = $file.map(Path::toString).filter((f) -> !f.equals("-")).orElse("stdin");
+
+        return new BatchOperation(new BatchRequest(
+            openSource(sourceName),
+            sourceName,
+            ctx.properties().cliName(),
+            $parallel,
+            $keepGoing,
+            this::runLine
+        ));
+    }
+
+    private Reader openSource(String sourceName) {
+        if (sourceName.equals("stdin")) {
+            return new InputStreamReader(ctx.console().getIn());
+        }
+
+        try {
+            return Files.newBufferedReader($file.orElseThrow());
+        } catch (IOException e) {
+            throw new AstraCliException(FILE_ISSUE, """
+              @|bold,red Error: Could not open the batch file %s: %s|@
+            """.formatted(ctx.highlight($file.get()), e.getMessage()));
+        }
+    }
+
+    // each line gets its own output and console, but everything expensive (the properties, the gateways and their
+    // pooled connections and info caches, the astra home) is shared with the batch itself
+    private CapturedRun runLine(List<String> args) {
+        val stdout = new StringWriter();
+        val stderr = new StringWriter();
+
+        val batchCtx = ctx;
+
+        val lineCtx = new Ref<CliContext>((getCtx) -> new CliContext(
+            batchCtx.env().withoutTty(),
+            batchCtx.properties(),
+            OutputType.HUMAN,
+            new AstraColors(Ansi.OFF),
+            new AstraLogger(Level.REGULAR, getCtx, false, Optional.empty(), Optional.empty()),
+            new AstraConsole(InputStream.nullInputStream(), new PrintWriter(stdout, true), new PrintWriter(stderr, true), null, getCtx, true),
+            batchCtx.home(),
+            batchCtx.fs(),
+            batchCtx.gateways(),
+            (_) -> {}, // already checked once for the whole batch
+            batchCtx.forceProfileForTesting()
+        ));
+
+        val exitCode = AstraCli.run(lineCtx, Stream.concat(LINE_DEFAULT_ARGS.stream(), args.stream()).toArray(String[]::new));
+
+        return new CapturedRun(exitCode, stdout.toString(), stderr.toString());
+    }
+}
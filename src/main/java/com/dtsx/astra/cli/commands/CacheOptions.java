@@ -0,0 +1,50 @@
+package com.dtsx.astra.cli.commands;
+
+import com.dtsx.astra.cli.gateways.PersistentInfoCache;
+import lombok.NoArgsConstructor;
+import picocli.CommandLine.Help.Visibility;
+import picocli.CommandLine.Option;
+
+@NoArgsConstructor
+public class CacheOptions {
+    public static final CacheOptions EMPTY = new CacheOptions();
+
+    @Option(
+        names = "--no-cache",
+        description = "Don't read from or write to the on-disk cache of resolved database/PCU info",
+        showDefaultValue = Visibility.NEVER
+    )
+    public boolean $noCache;
+
+    @Option(
+        names = "--refresh-cache",
+        description = "Ignore any cached database/PCU info, but still update the cache with fresh results",
+        showDefaultValue = Visibility.NEVER
+    )
+    public boolean $refreshCache;
+
+    public CacheOptions(boolean $noCache, boolean $refreshCache) {
+        this.$noCache = $noCache;
+        this.$refreshCache = $refreshCache;
+    }
+
+    public PersistentInfoCache.Mode mode() {
+        if ($noCache) {
+            return PersistentInfoCache.Mode.DISABLED;
+        }
+        if ($refreshCache) {
+            return PersistentInfoCache.Mode.REFRESH;
+        }
+        return PersistentInfoCache.Mode.ENABLED;
+    }
+
+    public CacheOptions merge(CacheOptions other) {
+        if (this == EMPTY) {
+            return other;
+        }
+        if (other == EMPTY) {
+            return this;
+        }
+        return new CacheOptions(this.$noCache || other.$noCache, this.$refreshCache || other.$refreshCache);
+    }
+}
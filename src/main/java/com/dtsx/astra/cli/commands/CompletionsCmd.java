@@ -1,25 +1,18 @@
 package com.dtsx.astra.cli.commands;
 
-import com.dtsx.astra.cli.core.completions.DynamicCompletion;
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.completions.CompletionScripts;
+import com.dtsx.astra.cli.core.completions.CompletionScripts.Shell;
+import com.dtsx.astra.cli.core.datatypes.Ref;
 import com.dtsx.astra.cli.core.help.Example;
 import com.dtsx.astra.cli.core.mixins.HelpMixin;
-import com.dtsx.astra.cli.core.properties.CliEnvironmentImpl;
-import com.dtsx.astra.cli.core.properties.CliProperties.ConstEnvVars;
-import com.dtsx.astra.cli.core.properties.CliPropertiesImpl;
 import lombok.val;
-import picocli.AutoComplete;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Spec;
 
-import java.util.Set;
-import java.util.regex.Pattern;
-
-import static com.dtsx.astra.cli.utils.StringUtils.NL;
-import static com.dtsx.astra.cli.utils.StringUtils.withIndent;
-
 @Command(
     name = "completions",
     aliases = { "compgen" },
@@ -31,7 +24,7 @@ import static com.dtsx.astra.cli.utils.StringUtils.withIndent;
     comment = "Put this in your shell profile (e.g. @|code ~/.zprofile|@) to generate completions and set your PATH",
     command = "eval \"$(${cli.path} shellenv)\""
 )
-public class CompletionsCmd implements Runnable {
+public class CompletionsCmd implements Runnable, UsesCliContext {
     @Spec
     private CommandSpec spec;
 
@@ -45,102 +38,38 @@ public class CompletionsCmd implements Runnable {
     )
     public String $cliName;
 
-    @Override
-    public void run() {
-        val script = AutoComplete.bash(
-            $cliName,
-            spec.root().commandLine()
-        );
-
-        val instances = DynamicCompletion.getInstances();
-
-        val lines = script.split(NL);
-        val estimatedSize = script.length() + (instances.size() * 100) + 500;
-        val sb = new StringBuilder(estimatedSize);
-        var linesIdx = 0;
-
-        linesIdx = appendUtilityFunctions(lines, sb, linesIdx);
-        appendSetupEnvVrs(sb);
-        appendCompletionFunctions(sb, instances);
-        updateCompletions(sb, lines, instances, linesIdx);
-
-        spec.commandLine().getOut().println(sb);
-    }
-
-    private int appendUtilityFunctions(String[] lines, StringBuilder sb, int i) {
-        for (; lines[i].startsWith("#") ; i++) {
-            sb.append(lines[i]).append(NL);
-        }
-        i++;
-
-        val props = CliPropertiesImpl.mkAndLoadSysProps(new CliEnvironmentImpl());
-
-        // TODO should check for -p as well
-        sb.append("""
-          get_profile(){ for ((i=0;i<${#COMP_WORDS[@]};i++));do [[ ${COMP_WORDS[i]} == --profile ]]&&((i+1<${#COMP_WORDS[@]}))&&echo ${COMP_WORDS[i+1]}&&return;done; echo default;};
-        """).append(NL);
-
-        sb.append("""
-          get_astra_dir(){ [ -n "${ASTRA_HOME:-}" ]&&echo "$ASTRA_HOME"||{ [ -n "${XDG_DATA_HOME:-}" ]&&echo "$XDG_DATA_HOME/%s"||echo "$HOME/%s";};}
-        """.formatted(props.homeFolderName(false), props.homeFolderName(true))).append(NL);
-
-        sb.append("""
-          get_astra_rc(){ [ -n "${ASTRARC:-}" ]&&echo "$ASTRARC"||{ [ -n "${XDG_CONFIG_HOME:-}" ]&&echo "$XDG_CONFIG_HOME/%s/%s"||echo "$HOME/%s";};}
-        """.formatted(props.homeFolderName(false), props.rcFileName(), props.rcFileName())).append(NL);
+    @Option(
+        names = { "--shell" },
+        description = "The shell to generate the completion script for (${COMPLETION-CANDIDATES})",
+        defaultValue = "bash",
+        paramLabel = "SHELL"
+    )
+    public Shell $shell;
 
-        return i;
-    }
+    @Option(
+        names = { "--refresh" },
+        description = "Regenerate the cached completion scripts for every shell, without printing anything"
+    )
+    public boolean $refresh;
 
-    private void appendSetupEnvVrs(StringBuilder sb) {
-        sb.append("export " + ConstEnvVars.COMPLETIONS_SETUP + "=true").append(NL).append(NL);
-    }
+    private Ref<CliContext> ctxRef;
 
-    private void appendCompletionFunctions(StringBuilder sb, Set<DynamicCompletion> instances) {
-        for (val instance : instances) {
-            sb.append(arr(instance)).append("=()").append(NL);
-            sb.append("function ").append(fn(instance)).append("() {").append(NL);
-            sb.append("  [ \"${#").append(arr(instance)).append("[@]}\" -ne 0 ] && return").append(NL);
-            sb.append(NL);
-            sb.append(withIndent(instance.getBash(), 2).replace("OUT", arr(instance))).append(NL);
-            sb.append("}").append(NL).append(NL);
-        }
+    @Override
+    public void initCtx(Ref<CliContext> ctxRef) {
+        this.ctxRef = ctxRef;
     }
 
-    private void updateCompletions(StringBuilder sb, String[] lines, Set<DynamicCompletion> instances, int i) {
-        record Completion(DynamicCompletion instance, Pattern pattern) {}
-
-        val completions = instances.stream()
-            .map((instance) -> new Completion(
-                instance,
-                Pattern.compile(" {2}local (\\w+)=\\(.*" + Pattern.quote(DynamicCompletion.marker(instance)) + ".*\\).*")
-            ))
-            .toList();
-
-        outer: for (; i < lines.length; i++) {
-            if (!lines[i].startsWith("  local")) {
-                sb.append(lines[i]).append(NL);
-                continue;
-            }
-
-            for (val completion : completions) {
-                val matcher = completion.pattern.matcher(lines[i]);
-
-                if (matcher.matches()) {
-                    sb.append("  ").append(fn(completion.instance)).append(NL);
-                    sb.append("  local ").append(matcher.group(1)).append("=(\"${").append(arr(completion.instance)).append("[@]}\")").append(NL);
-                    continue outer;
-                }
-            }
+    @Override
+    public void run() {
+        val scripts = new CompletionScripts(ctxRef.get(), $cliName);
+        val root = spec.root().commandLine();
 
-            sb.append(lines[i]).append(NL);
+        if ($refresh) {
+            scripts.regenerate(Shell.BASH, root);
+            scripts.regenerate(Shell.FISH, root);
+            return;
         }
-    }
-
-    private String fn(DynamicCompletion instance) {
-        return instance.getClass().getSimpleName() + "_fn";
-    }
 
-    private String arr(DynamicCompletion instance) {
-        return instance.getClass().getSimpleName() + "_arr";
+        spec.commandLine().getOut().println(scripts.getOrGenerate($shell, () -> root));
     }
 }
@@ -0,0 +1,61 @@
+package com.dtsx.astra.cli.commands;
+
+import lombok.NoArgsConstructor;
+import picocli.CommandLine.Help.Visibility;
+import picocli.CommandLine.Option;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+@NoArgsConstructor
+public class DiagnosticOptions {
+    public static final DiagnosticOptions EMPTY = new DiagnosticOptions();
+
+    private static final String FALLBACK = "__fallback__";
+
+    @Option(
+        names = "--trace-http",
+        description = "Summarize all HTTP calls made, or write them to OUT",
+        fallbackValue = FALLBACK,
+        paramLabel = "OUT",
+        arity = "0..1",
+        showDefaultValue = Visibility.NEVER
+    )
+    public Optional<Path> $traceHttp = Optional.empty();
+
+    @Option(
+        names = "--profile-out",
+        description = "Write a Chrome/Perfetto trace of the run to FILE",
+        paramLabel = "FILE",
+        showDefaultValue = Visibility.NEVER
+    )
+    public Optional<Path> $profileOut = Optional.empty();
+
+    public DiagnosticOptions(Optional<Path> $traceHttp, Optional<Path> $profileOut) {
+        this.$traceHttp = $traceHttp;
+        this.$profileOut = $profileOut;
+    }
+
+    public boolean traceHttp() {
+        return $traceHttp.isPresent();
+    }
+
+    // empty if the summary should just be printed to stderr instead
+    public Optional<Path> traceHttpTo() {
+        return $traceHttp.filter((path) -> !path.toString().equals(FALLBACK));
+    }
+
+    public Optional<Path> profileOut() {
+        return $profileOut;
+    }
+
+    public DiagnosticOptions merge(DiagnosticOptions other) {
+        if (this == EMPTY) {
+            return other;
+        }
+        if (other == EMPTY) {
+            return this;
+        }
+        return new DiagnosticOptions(this.$traceHttp.or(() -> other.$traceHttp), this.$profileOut.or(() -> other.$profileOut));
+    }
+}
@@ -1,5 +1,9 @@
 package com.dtsx.astra.cli.commands;
 
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.completions.CompletionScripts;
+import com.dtsx.astra.cli.core.completions.CompletionScripts.Shell;
+import com.dtsx.astra.cli.core.datatypes.Ref;
 import com.dtsx.astra.cli.core.exceptions.AstraCliException;
 import com.dtsx.astra.cli.core.help.Example;
 import com.dtsx.astra.cli.core.mixins.HelpMixin;
@@ -38,6 +42,10 @@ import static com.dtsx.astra.cli.utils.StringUtils.NL;
     comment = "Put this in your shell profile (e.g. @|code ~/.zprofile|@) to generate completions and set your PATH",
     command = "eval \"$(${cli.path} shellenv)\""
 )
+@Example(
+    comment = "Put this in your fish config (e.g. @|code ~/.config/fish/config.fish|@) instead if you use fish",
+    command = "${cli.path} shellenv --shell fish | source"
+)
 @Example(
     comment = "Set a custom @|code ASTRA_HOME|@ path",
     command = "eval \"$(${cli.path} shellenv --home /path/to/astra/home)\""
@@ -54,7 +62,7 @@ import static com.dtsx.astra.cli.utils.StringUtils.NL;
     comment = "Ignore warnings about multiple astra home folders or astrarc files",
     command = "eval \"$(${cli.path} shellenv --ignore-multiple-paths)\""
 )
-public class ShellEnvCmd implements Runnable {
+public class ShellEnvCmd implements Runnable, UsesCliContext {
     @Spec
     private CommandSpec spec;
 
@@ -85,6 +93,21 @@ public class ShellEnvCmd implements Runnable {
     )
     public boolean $noUpdateNotifier;
 
+    @Option(
+        names = { "--shell" },
+        description = "The shell the output will be evaluated in (${COMPLETION-CANDIDATES})",
+        defaultValue = "bash",
+        paramLabel = "SHELL"
+    )
+    public Shell $shell;
+
+    private Ref<CliContext> ctxRef;
+
+    @Override
+    public void initCtx(Ref<CliContext> ctxRef) {
+        this.ctxRef = ctxRef;
+    }
+
     @Override
     public void run() {
         val binaryPath = FileUtils.resolvePathToAstra();
@@ -97,25 +120,50 @@ public class ShellEnvCmd implements Runnable {
 
         val sb = new StringBuilder();
 
-        sb.append("export PATH=").append(binaryPath.unwrap().getParent()).append(":$PATH").append(NL);
-        sb.append("source <(").append(binaryPath.unwrap()).append(" compgen)").append(NL);
+        if ($shell == Shell.FISH) {
+            sb.append("set -gx PATH ").append(binaryPath.unwrap().getParent()).append(" $PATH").append(NL);
+        } else {
+            sb.append("export PATH=").append(binaryPath.unwrap().getParent()).append(":$PATH").append(NL);
+        }
+
+        sb.append(sourceCompletions(binaryPath.unwrap())).append(NL);
 
         if ($ignoreMultiplePaths) {
-            sb.append("export ").append(ConstEnvVars.IGNORE_MULTIPLE_PATHS).append("=true").append(NL);
+            sb.append(export(ConstEnvVars.IGNORE_MULTIPLE_PATHS, "true")).append(NL);
         }
 
         if ($noUpdateNotifier) {
-            sb.append("export ").append(ConstEnvVars.NO_UPDATE_NOTIFIER).append("=true").append(NL);
+            sb.append(export(ConstEnvVars.NO_UPDATE_NOTIFIER, "true")).append(NL);
         }
 
         $home.ifPresent((path) -> {
-            sb.append("export ASTRA_HOME=").append(path.toAbsolutePath()).append(NL);
+            sb.append(export("ASTRA_HOME", path.toAbsolutePath().toString())).append(NL);
         });
 
         $rc.ifPresent((path) -> {
-            sb.append("export ASTRARC=").append(path.toAbsolutePath()).append(NL);
+            sb.append(export("ASTRARC", path.toAbsolutePath().toString())).append(NL);
         });
 
         spec.commandLine().getOut().println(sb);
     }
+
+    // this runs in every new shell, so the (slow to generate) completion script is sourced straight from the cache
+    // when possible. otherwise, compgen generates it, and caches it for next time.
+    private String sourceCompletions(Path binaryPath) {
+        val cached = new CompletionScripts(ctxRef.get(), ctxRef.get().properties().cliName()).cached($shell);
+
+        if (cached.isPresent()) {
+            return "source \"" + cached.get() + "\"";
+        }
+
+        return ($shell == Shell.FISH)
+            ? binaryPath + " compgen --shell fish | source"
+            : "source <(" + binaryPath + " compgen --shell " + $shell.name().toLowerCase() + ")";
+    }
+
+    private String export(String name, String value) {
+        return ($shell == Shell.FISH)
+            ? "set -gx " + name + " " + value
+            : "export " + name + "=" + value;
+    }
 }
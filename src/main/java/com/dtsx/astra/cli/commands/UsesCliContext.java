@@ -0,0 +1,10 @@
+package com.dtsx.astra.cli.commands;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.datatypes.Ref;
+
+// implemented by any command object which needs the context; picocli's factory (see AstraCli.mkFactory) calls this
+// right after creating it. AbstractCmd already does, but it's also here for the few commands which aren't AbstractCmds.
+public interface UsesCliContext {
+    void initCtx(Ref<CliContext> ctxRef);
+}
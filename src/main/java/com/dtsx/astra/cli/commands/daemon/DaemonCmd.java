@@ -0,0 +1,35 @@
+package com.dtsx.astra.cli.commands.daemon;
+
+import com.dtsx.astra.cli.core.docs.AliasForSubcommand;
+import com.dtsx.astra.cli.core.help.Example;
+import picocli.CommandLine.Command;
+
+@Command(
+    name = "daemon",
+    description = {
+        "Manage the optional background daemon for faster startup",
+        "",
+        "While the daemon is running, non-interactive commands (e.g. in scripts) run from the same directory are forwarded to it, so they skip the cli's startup cost and reuse its warm http connections and caches.",
+        "",
+        "Interactive commands, commands using external tools (cqlsh, dsbulk, pulsar-shell), and commands run with a different working directory or environment always run in-process. Set @|code ASTRA_NO_DAEMON=true|@ to bypass the daemon entirely."
+    },
+    subcommands = {
+        DaemonStatusCmd.class,
+        DaemonStartCmd.class,
+        DaemonStopCmd.class,
+    }
+)
+@Example(
+    comment = "Start the daemon in the background",
+    command = "${cli.name} daemon start"
+)
+@Example(
+    comment = "Check if the daemon is running",
+    command = "${cli.name} daemon"
+)
+@Example(
+    comment = "Stop the daemon",
+    command = "${cli.name} daemon stop"
+)
+@AliasForSubcommand(DaemonStatusCmd.class)
+public final class DaemonCmd extends DaemonStatusImpl {}
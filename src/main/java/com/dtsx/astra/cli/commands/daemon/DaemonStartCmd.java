@@ -0,0 +1,117 @@
+package com.dtsx.astra.cli.commands.daemon;
+
+import com.dtsx.astra.cli.commands.AbstractCmd;
+import com.dtsx.astra.cli.core.daemon.DaemonInfo;
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.core.help.Example;
+import com.dtsx.astra.cli.core.output.Hint;
+import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.daemon.DaemonStartOperation;
+import com.dtsx.astra.cli.operations.daemon.DaemonStartOperation.*;
+import lombok.val;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.PLATFORM_ISSUE;
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+@Command(
+    name = "start",
+    description = {
+        "Start the astra daemon in the background",
+        "",
+        "The daemon only serves commands run from the directory it was started in, with the same environment, so start it from wherever your scripts run."
+    }
+)
+@Example(
+    comment = "Start the astra daemon in the background",
+    command = "${cli.name} daemon start"
+)
+@Example(
+    comment = "Start the astra daemon, and have it stop after 2 hours of inactivity",
+    command = "${cli.name} daemon start --idle-timeout 2h"
+)
+public class DaemonStartCmd extends AbstractCmd<DaemonStartResult> {
+    @Option(
+        names = { "--idle-timeout" },
+        description = "How long the daemon may be idle for before it stops itself",
+        defaultValue = "30m",
+        paramLabel = "DURATION"
+    )
+    public Duration $idleTimeout;
+
+    @Option(
+        names = { "--foreground" },
+        description = "Run the daemon in this process instead of in the background (blocks until it stops)"
+    )
+    public boolean $foreground;
+
+    @Override
+    protected final OutputAll execute(Supplier<DaemonStartResult> result) {
+        return switch (result.get()) {
+            case DaemonStarted(var info, var logFile) -> handleDaemonStarted(info, logFile);
+            case DaemonAlreadyRunning(var info) -> handleDaemonAlreadyRunning(info);
+            case DaemonExited() -> OutputAll.response("The astra daemon has stopped.");
+            case DaemonFailedToStart(var logFile) -> throwDaemonFailedToStart(logFile);
+        };
+    }
+
+    private OutputAll handleDaemonStarted(DaemonInfo info, Path logFile) {
+        val msg = "The astra daemon has been started with pid %s, and will stop after being idle for %s.".formatted(
+            ctx.highlight(String.valueOf(info.pid())),
+            info.idleTimeout()
+        );
+
+        return OutputAll.response(msg, mkData(info, true), List.of(
+            new Hint("See what the daemon is doing:", "tail -f " + logFile),
+            new Hint("Stop the daemon:", "${cli.name} daemon stop")
+        ));
+    }
+
+    private OutputAll handleDaemonAlreadyRunning(DaemonInfo info) {
+        val msg = "The astra daemon is already running with pid %s.".formatted(
+            ctx.highlight(String.valueOf(info.pid()))
+        );
+
+        return OutputAll.response(msg, mkData(info, false), List.of(
+            new Hint("Restart the daemon:", "${cli.name} daemon stop && ${cli.name} daemon start")
+        ));
+    }
+
+    private <T> T throwDaemonFailedToStart(Path logFile) {
+        throw new AstraCliException(PLATFORM_ISSUE, """
+          @|bold,red Error: The astra daemon could not be started.|@
+
+          Check the daemon's logs at @'!%s!@ for more information.
+        """.formatted(
+            logFile
+        ), List.of(
+            new Hint("Try running the daemon in the foreground instead:", originalArgs(), "--foreground")
+        ));
+    }
+
+    private LinkedHashMap<String, Object> mkData(DaemonInfo info, boolean started) {
+        return sequencedMapOf(
+            "started", started,
+            "pid", info.pid(),
+            "idleTimeout", info.idleTimeout()
+        );
+    }
+
+    @Override
+    protected Operation<DaemonStartResult> mkOperation() {
+        return new DaemonStartOperation(ctx, new DaemonStartRequest($foreground, $idleTimeout, Duration.ofSeconds(15)));
+    }
+
+    @Override
+    protected boolean disableUpgradeNotifier() {
+        return $foreground; // the daemon runs the notifier for every command it serves instead
+    }
+}
@@ -0,0 +1,14 @@
+package com.dtsx.astra.cli.commands.daemon;
+
+import com.dtsx.astra.cli.core.help.Example;
+import picocli.CommandLine.Command;
+
+@Command(
+    name = "status",
+    description = "Show whether the astra daemon is running, and what it's running with"
+)
+@Example(
+    comment = "Check if the astra daemon is running",
+    command = "${cli.name} daemon status"
+)
+public final class DaemonStatusCmd extends DaemonStatusImpl {}
@@ -0,0 +1,73 @@
+package com.dtsx.astra.cli.commands.daemon;
+
+import com.dtsx.astra.cli.commands.AbstractCmd;
+import com.dtsx.astra.cli.core.daemon.DaemonInfo;
+import com.dtsx.astra.cli.core.output.Hint;
+import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.daemon.DaemonStatusOperation;
+import com.dtsx.astra.cli.operations.daemon.DaemonStatusOperation.DaemonNotRunning;
+import com.dtsx.astra.cli.operations.daemon.DaemonStatusOperation.DaemonRunning;
+import com.dtsx.astra.cli.operations.daemon.DaemonStatusOperation.DaemonStatusResult;
+import lombok.val;
+import picocli.CommandLine.Command;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+import static com.dtsx.astra.cli.utils.StringUtils.trimIndent;
+
+@Command(
+    description = "Show whether the astra daemon is running, and what it's running with"
+)
+public abstract class DaemonStatusImpl extends AbstractCmd<DaemonStatusResult> {
+    @Override
+    protected final OutputAll execute(Supplier<DaemonStatusResult> result) {
+        return switch (result.get()) {
+            case DaemonRunning(var socketPath, var info) -> handleDaemonRunning(socketPath, info);
+            case DaemonNotRunning(var socketPath) -> handleDaemonNotRunning(socketPath);
+        };
+    }
+
+    private OutputAll handleDaemonRunning(Path socketPath, DaemonInfo info) {
+        val msg = """
+          The astra daemon is running with pid %s (v%s, started at %s).
+
+          It's only used by non-interactive commands run from @'!%s!@, and stops after being idle for %s.
+        """.formatted(
+            ctx.highlight(String.valueOf(info.pid())),
+            info.version(),
+            info.startedAt(),
+            info.cwd(),
+            info.idleTimeout()
+        );
+
+        return OutputAll.response(trimIndent(msg), sequencedMapOf(
+            "running", true,
+            "pid", info.pid(),
+            "version", info.version(),
+            "cwd", info.cwd(),
+            "startedAt", info.startedAt(),
+            "idleTimeout", info.idleTimeout(),
+            "socket", socketPath
+        ), List.of(
+            new Hint("Stop the daemon:", "${cli.name} daemon stop")
+        ));
+    }
+
+    private OutputAll handleDaemonNotRunning(Path socketPath) {
+        return OutputAll.response("The astra daemon is not running.", sequencedMapOf(
+            "running", false,
+            "socket", socketPath
+        ), List.of(
+            new Hint("Start the daemon:", "${cli.name} daemon start")
+        ));
+    }
+
+    @Override
+    protected Operation<DaemonStatusResult> mkOperation() {
+        return new DaemonStatusOperation(ctx);
+    }
+}
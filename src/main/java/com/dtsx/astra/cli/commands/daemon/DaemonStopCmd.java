@@ -0,0 +1,68 @@
+package com.dtsx.astra.cli.commands.daemon;
+
+import com.dtsx.astra.cli.commands.AbstractCmd;
+import com.dtsx.astra.cli.core.help.Example;
+import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.daemon.DaemonStopOperation;
+import com.dtsx.astra.cli.operations.daemon.DaemonStopOperation.DaemonNotRunning;
+import com.dtsx.astra.cli.operations.daemon.DaemonStopOperation.DaemonStopRequest;
+import com.dtsx.astra.cli.operations.daemon.DaemonStopOperation.DaemonStopResult;
+import com.dtsx.astra.cli.operations.daemon.DaemonStopOperation.DaemonStopped;
+import lombok.val;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+@Command(
+    name = "stop",
+    description = "Stop the astra daemon, if it's running"
+)
+@Example(
+    comment = "Stop the astra daemon",
+    command = "${cli.name} daemon stop"
+)
+public class DaemonStopCmd extends AbstractCmd<DaemonStopResult> {
+    @Option(
+        names = { "--timeout" },
+        description = "How long to wait for the daemon to stop gracefully before killing it",
+        defaultValue = "10s",
+        paramLabel = "DURATION"
+    )
+    public Duration $timeout;
+
+    @Override
+    protected final OutputAll execute(Supplier<DaemonStopResult> result) {
+        return switch (result.get()) {
+            case DaemonStopped(var pid, var forcibly) -> handleDaemonStopped(pid, forcibly);
+            case DaemonNotRunning() -> handleDaemonNotRunning();
+        };
+    }
+
+    private OutputAll handleDaemonStopped(long pid, boolean forcibly) {
+        val msg = (forcibly)
+            ? "The astra daemon (pid %s) did not stop within %s, and was killed.".formatted(ctx.highlight(String.valueOf(pid)), $timeout)
+            : "The astra daemon (pid %s) has been stopped.".formatted(ctx.highlight(String.valueOf(pid)));
+
+        return OutputAll.response(msg, sequencedMapOf(
+            "wasRunning", true,
+            "pid", pid,
+            "forcibly", forcibly
+        ));
+    }
+
+    private OutputAll handleDaemonNotRunning() {
+        return OutputAll.response("The astra daemon is not running; nothing to stop.", sequencedMapOf(
+            "wasRunning", false
+        ));
+    }
+
+    @Override
+    protected Operation<DaemonStopResult> mkOperation() {
+        return new DaemonStopOperation(ctx, new DaemonStopRequest($timeout));
+    }
+}
@@ -21,10 +21,14 @@ public abstract class AbstractPromptForDbCmd<OpRes> extends AbstractDbCmd<OpRes>
     protected void prelude() {
         super.prelude();
 
-        if ($dbRef == null) {
+        if ($dbRef == null && promptForDbRefIfMissing()) {
             $dbRef = DbRefPrompter.prompt(ctx, dbGateway, dbRefPrompt(), (b) -> b.fallbackIndex(0).fix(originalArgs(), "<db>"));
         }
     }
 
     protected abstract String dbRefPrompt();
+
+    protected boolean promptForDbRefIfMissing() {
+        return true;
+    }
 }
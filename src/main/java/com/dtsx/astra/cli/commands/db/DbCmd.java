@@ -45,6 +45,10 @@ import picocli.CommandLine.Command;
         CollectionDescribeCmd.class,
         CollectionDeleteCmd.class,
         CollectionTruncateCmd.class,
+        CollectionExportCmd.class,
+        CollectionImportCmd.class,
+        CollectionBenchCmd.class,
+        CollectionCopyCmd.class,
         TableListCmd.class,
         TableDescribeCmd.class,
         TableDeleteCmd.class,
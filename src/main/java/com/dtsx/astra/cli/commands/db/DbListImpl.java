@@ -1,52 +1,143 @@
 package com.dtsx.astra.cli.commands.db;
 
+import com.dtsx.astra.cli.core.exceptions.internal.cli.OptionValidationException;
 import com.dtsx.astra.cli.core.output.PlatformChars;
 import com.dtsx.astra.cli.core.output.formats.OutputAll;
 import com.dtsx.astra.cli.core.output.formats.OutputJson;
+import com.dtsx.astra.cli.core.output.formats.OutputNdjson;
 import com.dtsx.astra.cli.core.output.table.ShellTable;
+import com.dtsx.astra.cli.gateways.db.DbGateway;
 import com.dtsx.astra.cli.operations.db.DbListOperation;
 import com.dtsx.astra.sdk.db.domain.Database;
 import com.dtsx.astra.sdk.db.domain.Datacenter;
 import lombok.val;
+import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import picocli.CommandLine.Option;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import static com.dtsx.astra.cli.operations.db.DbListOperation.DbListEntry;
 import static com.dtsx.astra.cli.operations.db.DbListOperation.DbListRequest;
 import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
 
-public abstract class DbListImpl extends AbstractDbCmd<Stream<Database>> {
+public abstract class DbListImpl extends AbstractDbCmd<Stream<DbListEntry>> {
     @Option(
         names = { "-v", "--vector" },
         description = "Only show vector-enabled databases"
     )
     public boolean $vectorOnly;
 
+    @Option(
+        names = { "--keyspaces" },
+        description = "Also show how many keyspaces each database has"
+    )
+    public boolean $withKeyspaces;
+
+    @Option(
+        names = { "--datacenters" },
+        description = "Also show the datacenters (and their statuses) of each database"
+    )
+    public boolean $withDatacenters;
+
+    @Option(
+        names = { "--limit" },
+        description = "Only show up to this many databases; no more pages than necessary are fetched",
+        paramLabel = "COUNT"
+    )
+    public Optional<Integer> $limit;
+
+    @Option(
+        names = { "--page-size" },
+        description = "How many databases to fetch per request (default: " + DbGateway.DEFAULT_PAGE_SIZE + ")",
+        paramLabel = "COUNT"
+    )
+    public Optional<Integer> $pageSize;
+
+    @Override
+    @MustBeInvokedByOverriders
+    protected void prelude() {
+        super.prelude();
+
+        if ($limit.isPresent() && $limit.get() < 1) {
+            throw new OptionValidationException("limit", "must be at least 1 (got %d)".formatted($limit.get()));
+        }
+
+        if ($pageSize.isPresent() && $pageSize.get() < 1) {
+            throw new OptionValidationException("page size", "must be at least 1 (got %d)".formatted($pageSize.get()));
+        }
+    }
+
+    @Override
+    protected final OutputJson executeJson(Supplier<Stream<DbListEntry>> result) {
+        return OutputJson.serializeValue(result.get().map(this::jsonValue).toList());
+    }
+
+    // same values as the json array, but one per line, printed as soon as each page of databases is fetched
     @Override
-    protected final OutputJson executeJson(Supplier<Stream<Database>> result) {
-        return OutputJson.serializeValue(result.get().toList());
+    protected final OutputNdjson executeNdjson(Supplier<Stream<DbListEntry>> result) {
+        return OutputNdjson.serializeValues(result.get().map(this::jsonValue));
+    }
+
+    private Object jsonValue(DbListEntry entry) {
+        if (!$withKeyspaces && !$withDatacenters) {
+            return entry.database();
+        }
+
+        val map = new LinkedHashMap<String, Object>();
+        map.put("database", entry.database());
+        if ($withKeyspaces) {
+            map.put("keyspaces", entry.keyspaces());
+        }
+        if ($withDatacenters) {
+            map.put("datacenters", entry.datacenters());
+        }
+        return map;
     }
 
     @Override
-    protected final OutputAll execute(Supplier<Stream<Database>> result) {
+    protected final OutputAll execute(Supplier<Stream<DbListEntry>> result) {
         val vectorKey = ctx.outputIsHuman()
             ? "V"
             : "Vector";
 
+        val columns = new ArrayList<>(List.of("Name", "ID", "Regions", "Cloud", vectorKey, "Status"));
+
+        if ($withKeyspaces) {
+            columns.add("Keyspaces");
+        }
+        if ($withDatacenters) {
+            columns.add("Datacenters");
+        }
+
         val data = result.get()
-            .map((db) -> sequencedMapOf(
-                "Name", name(db),
-                "ID", id(db),
-                "Regions", regions(db),
-                "Cloud", cloud(db),
-                vectorKey, vector(db),
-                "Status", status(db)
-            ))
-            .toList();
+            .map((entry) -> {
+                val db = entry.database();
+
+                LinkedHashMap<String, Object> row = sequencedMapOf(
+                    "Name", name(db),
+                    "ID", id(db),
+                    "Regions", regions(db),
+                    "Cloud", cloud(db),
+                    vectorKey, vector(db),
+                    "Status", status(db)
+                );
+
+                if ($withKeyspaces) {
+                    row.put("Keyspaces", entry.keyspaces().<Object>map(List::size).orElse("?"));
+                }
+                if ($withDatacenters) {
+                    row.put("Datacenters", entry.datacenters().map(this::datacenters).orElse(List.of("?")));
+                }
 
-        return new ShellTable(data).withColumns("Name", "ID", "Regions", "Cloud", vectorKey, "Status");
+                return row;
+            });
+
+        return ShellTable.streaming(data, columns.toArray(String[]::new));
     }
 
     private String name(Database db) {
@@ -73,8 +164,15 @@ public abstract class DbListImpl extends AbstractDbCmd<Stream<Database>> {
         return ctx.highlight(db.getStatus());
     }
 
+    private List<String> datacenters(List<Datacenter> datacenters) {
+        return datacenters.stream()
+            .map((dc) -> "%s (%s)".formatted(dc.getRegion(), dc.getStatus()))
+            .sorted()
+            .toList();
+    }
+
     @Override
     protected DbListOperation mkOperation() {
-        return new DbListOperation(dbGateway, new DbListRequest($vectorOnly));
+        return new DbListOperation(dbGateway, new DbListRequest($vectorOnly, $withKeyspaces, $withDatacenters, $limit, $pageSize));
     }
 }
@@ -1,38 +1,228 @@
 package com.dtsx.astra.cli.commands.db;
 
+import com.dtsx.astra.cli.core.CliConstants.$Regions;
 import com.dtsx.astra.cli.core.help.Example;
-import com.dtsx.astra.cli.core.output.formats.OutputHuman;
+import com.dtsx.astra.cli.core.models.RegionName;
 import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.core.output.formats.OutputHuman;
+import com.dtsx.astra.cli.core.output.serializers.OutputSerializer;
+import com.dtsx.astra.cli.core.output.table.ShellTable;
 import com.dtsx.astra.cli.operations.db.DbStatusOperation;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import com.dtsx.astra.sdk.db.domain.Database;
 import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
+import com.dtsx.astra.sdk.db.domain.Datacenter;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
 
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import static com.dtsx.astra.cli.operations.db.DbStatusOperation.*;
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
 
 @Command(
     name = "status",
-    description = "Get the current status of a database."
+    description = "Get the current status of a database, or of many databases at once."
 )
 @Example(
     comment = "Get the status of a database",
     command = "${cli.name} db status my_db"
 )
-public class DbStatusCmd extends AbstractPromptForDbCmd<DatabaseStatusType> {
+@Example(
+    comment = "Get the status of every database whose name starts with 'prod_'",
+    command = "${cli.name} db status --all --name 'prod_*'"
+)
+@Example(
+    comment = "Watch all hibernated databases until they're all active again, streaming each status change",
+    command = "${cli.name} db status --all --status HIBERNATED --watch --until ACTIVE"
+)
+public class DbStatusCmd extends AbstractPromptForDbCmd<DbStatusResult> {
+    @Option(
+        names = { "--all" },
+        description = "Get the status of all databases (optionally filtered) instead of a single one"
+    )
+    public boolean $all;
+
+    @Option(
+        names = { "--name" },
+        description = "Only include databases whose name matches this case-insensitive glob (e.g. @|code prod_*|@). Requires @|code --all|@.",
+        paramLabel = "GLOB"
+    )
+    public Optional<String> $nameGlob;
+
+    @Option(
+        names = { $Regions.LONG, $Regions.SHORT },
+        description = "Only include databases with a datacenter in this region. Requires @|code --all|@.",
+        paramLabel = $Regions.LABEL
+    )
+    public Optional<RegionName> $region;
+
+    @Option(
+        names = { "--status" },
+        description = "Comma-separated list of statuses to filter on. Only applies to the initial selection when watching. Requires @|code --all|@.",
+        paramLabel = "STATUS",
+        split = ","
+    )
+    public @Nullable List<DatabaseStatusType> $statuses;
+
+    @Option(
+        names = { "--watch" },
+        description = "Keep polling, streaming every status change (one list call per interval). Requires @|code --all|@."
+    )
+    public boolean $watch;
+
+    @Option(
+        names = { "--until" },
+        description = "Stop watching once all selected databases reach this status. Requires @|code --watch|@.",
+        paramLabel = "STATUS"
+    )
+    public Optional<DatabaseStatusType> $until;
+
+    @Option(
+        names = { "--interval" },
+        description = "How long to wait between polls when watching",
+        defaultValue = "10s",
+        paramLabel = "DURATION"
+    )
+    public Duration $interval;
+
+    @Option(
+        names = { "--timeout" },
+        description = "How long to watch for. With @|code --until|@, it's an error if they haven't all reached that status by then. 0 means no timeout.",
+        defaultValue = "0",
+        paramLabel = "DURATION"
+    )
+    public Duration $timeout;
+
+    private final AtomicBoolean printedCsvHeader = new AtomicBoolean(false);
+
     @Override
-    protected DbStatusOperation mkOperation() {
-        return new DbStatusOperation(ctx, dbGateway, new DbStatusRequest($dbRef));
+    protected void prelude() {
+        if (!$all && ($watch || $nameGlob.isPresent() || $region.isPresent() || $statuses != null)) {
+            throw new ParameterException(spec.commandLine(), "The --name, --region, --status, and --watch options may only be used alongside --all.");
+        }
+
+        if (!$watch && $until.isPresent()) {
+            throw new ParameterException(spec.commandLine(), "The --until option may only be used alongside --watch.");
+        }
+
+        super.prelude();
+
+        if ($all && $dbRef != null) {
+            throw new ParameterException(spec.commandLine(), "Cannot use both a database name/ID and --all. Please choose one.");
+        }
     }
 
     @Override
-    protected final OutputHuman executeHuman(Supplier<DatabaseStatusType> result) {
-        return OutputHuman.response("Database %s is %s".formatted(ctx.highlight($dbRef), ctx.highlight(result.get())));
+    protected boolean promptForDbRefIfMissing() {
+        return !$all;
     }
 
     @Override
-    protected final OutputAll execute(Supplier<DatabaseStatusType> result) {
-        return OutputAll.serializeValue(result.get());
+    protected DbStatusOperation mkOperation() {
+        if (!$all) {
+            return new DbStatusOperation(ctx, dbGateway, new SingleDbStatusRequest($dbRef));
+        }
+
+        val filter = new DbStatusFilter($nameGlob, $region, ($statuses != null) ? EnumSet.copyOf($statuses) : Set.of());
+
+        return new DbStatusOperation(ctx, dbGateway, new AllDbsStatusRequest(filter, $watch, $until, $interval, $timeout, this::printTransitions));
+    }
+
+    @Override
+    protected final OutputAll execute(Supplier<DbStatusResult> result) {
+        return switch (result.get()) {
+            case SingleDbStatus(var status) -> OutputAll.instance(
+                () -> OutputHuman.response("Database %s is %s".formatted(ctx.highlight($dbRef), ctx.highlight(status))),
+                () -> OutputAll.serializeValue(status),
+                () -> OutputAll.serializeValue(status)
+            );
+            case AllDbStatuses(var databases) -> mkStatusTable(databases);
+            // for every other output type, each transition was already streamed as it happened
+            case WatchCompleted(var databases, var until, var polls, var elapsed) -> OutputAll.humanOnly(
+                () -> OutputHuman.response(watchSummary(databases, until, polls, elapsed))
+            );
+        };
+    }
+
+    private OutputAll mkStatusTable(List<Database> databases) {
+        val data = databases.stream()
+            .sorted(Comparator.comparing((Database db) -> db.getInfo().getName()))
+            .map((db) -> sequencedMapOf(
+                "Name", db.getInfo().getName(),
+                "ID", db.getId(),
+                "Regions", db.getInfo().getDatacenters().stream().map(Datacenter::getRegion).sorted().toList(),
+                "Status", ctx.highlight(db.getStatus())
+            ))
+            .toList();
+
+        return new ShellTable(data).withColumns("Name", "ID", "Regions", "Status");
+    }
+
+    private String watchSummary(List<Database> databases, Optional<DatabaseStatusType> until, int polls, Duration elapsed) {
+        val stats = "(%d poll(s) over %ds)".formatted(polls, elapsed.toSeconds());
+
+        return until
+            .filter((status) -> databases.stream().allMatch((db) -> db.getStatus() == status))
+            .map((status) -> "All %d selected database(s) are %s %s".formatted(databases.size(), ctx.highlight(status), stats))
+            .orElse("Stopped watching %d database(s) %s".formatted(databases.size(), stats));
+    }
+
+    private void printTransitions(List<DbStatusTransition> transitions) {
+        switch (ctx.outputType()) {
+            case HUMAN -> {
+                val data = transitions.stream()
+                    .map((t) -> sequencedMapOf(
+                        "Time", t.at().toString(),
+                        "Name", t.name(),
+                        "ID", t.id(),
+                        "From", statusOrDash(t.from()),
+                        "To", statusOrDash(t.to())
+                    ))
+                    .toList();
+
+                ctx.console().println(new ShellTable(data).withColumns("Time", "Name", "ID", "From", "To").renderAsHuman(ctx));
+            }
+            case JSON, NDJSON -> {
+                for (val t : transitions) {
+                    ctx.console().unsafePrintln(JsonUtils.writeValue(transitionData(t)));
+                }
+            }
+            case CSV -> {
+                val sb = new StringJoiner(NL);
+
+                if (printedCsvHeader.compareAndSet(false, true)) {
+                    sb.add("timestamp,id,name,from,to");
+                }
+
+                for (val t : transitions) {
+                    sb.add(String.join(",", transitionData(t).values().stream().map((v) -> (v == null) ? "" : OutputSerializer.serializeAsCsv(v)).toList()));
+                }
+
+                ctx.console().unsafePrintln(sb.toString());
+            }
+        }
+    }
+
+    private LinkedHashMap<String, Object> transitionData(DbStatusTransition t) {
+        val data = new LinkedHashMap<String, Object>();
+        data.put("timestamp", t.at().toString());
+        data.put("id", t.id());
+        data.put("name", t.name());
+        data.put("from", t.from());
+        data.put("to", t.to());
+        return data;
+    }
+
+    private String statusOrDash(@Nullable DatabaseStatusType status) {
+        return (status != null) ? ctx.highlight(status) : "-";
     }
 
     @Override
@@ -0,0 +1,252 @@
+package com.dtsx.astra.cli.commands.db.collections;
+
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.core.exceptions.internal.cli.OptionValidationException;
+import com.dtsx.astra.cli.core.help.Example;
+import com.dtsx.astra.cli.core.output.Hint;
+import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.core.output.table.ShellTable;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionBenchOperation;
+import lombok.val;
+import org.jetbrains.annotations.MustBeInvokedByOverriders;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.COLLECTION_NOT_FOUND;
+import static com.dtsx.astra.cli.core.output.ExitCode.ILLEGAL_OPERATION;
+import static com.dtsx.astra.cli.core.output.ExitCode.VALIDATION_ISSUE;
+import static com.dtsx.astra.cli.operations.db.collection.CollectionBenchOperation.*;
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+@Command(
+    name = "bench-collection",
+    description = {
+        "Measure the latency and throughput of a Data API collection under load",
+        "",
+        "Sends a weighted mix of inserts, finds by id, filtered finds, and vector searches for a fixed duration, and reports the latency percentiles and throughput of each. Use @|code -o json|@ or @|code -o csv|@ to save the results for comparing between runs.",
+        "",
+        "Every document inserted by the benchmark is deleted again once it's done, unless @|code --keep-documents|@ is set."
+    },
+    descriptionHeading = "%n"
+)
+@Example(
+    comment = "Benchmark a collection for 30 seconds with an even mix of every operation it supports",
+    command = "${cli.name} db bench-collection my_db -c my_collection"
+)
+@Example(
+    comment = "Benchmark mostly vector searches at a steady 200 requests per second, and save the results as json",
+    command = "${cli.name} db bench-collection my_db -c my_collection --mix vector=8,insert=2 --rate 200 --duration 2m -o json > results.json"
+)
+public class CollectionBenchCmd extends AbstractPromptForCollectionCmd<CollectionBenchResult> {
+    private static final int MAX_CONCURRENCY = 256;
+
+    @Option(
+        names = { "--mix" },
+        description = "The relative weights of each operation to send, as a comma-separated list of OPERATION=WEIGHT, where OPERATION is one of: insert, find-by-id, find, vector (default: all of them, evenly)",
+        split = ",",
+        paramLabel = "OPERATION=WEIGHT"
+    )
+    public Map<String, Integer> $mix;
+
+    @Option(
+        names = { "--duration" },
+        description = "How long to run the benchmark for",
+        defaultValue = "30s",
+        paramLabel = "DURATION"
+    )
+    public Duration $duration;
+
+    @Option(
+        names = { "--concurrency" },
+        description = "How many requests may be in flight at once",
+        defaultValue = "8",
+        paramLabel = "COUNT"
+    )
+    public int $concurrency;
+
+    @Option(
+        names = { "--rate" },
+        description = "Send requests at this fixed rate (per second), instead of as fast as possible. Latencies are measured from when each request should have been sent.",
+        paramLabel = "RATE"
+    )
+    public Optional<Integer> $rate = Optional.empty();
+
+    @Option(
+        names = { "--seed-documents" },
+        description = "How many documents to insert before the benchmark starts, for the reads to find",
+        defaultValue = "1000",
+        paramLabel = "COUNT"
+    )
+    public int $seedDocuments;
+
+    @Option(
+        names = { "--keep-documents" },
+        description = "Don't delete the documents inserted by the benchmark once it's done"
+    )
+    public boolean $keepDocuments;
+
+    @Override
+    @MustBeInvokedByOverriders
+    protected void prelude() {
+        super.prelude();
+
+        if ($duration.isNegative() || $duration.isZero()) {
+            throw new OptionValidationException("duration", "must be positive (got %s)".formatted($duration));
+        }
+
+        if ($concurrency < 1 || $concurrency > MAX_CONCURRENCY) {
+            throw new OptionValidationException("concurrency", "must be between 1 and %d (got %d)".formatted(MAX_CONCURRENCY, $concurrency));
+        }
+
+        if ($rate.isPresent() && $rate.get() < 1) {
+            throw new OptionValidationException("rate", "must be at least 1 (got %d)".formatted($rate.get()));
+        }
+
+        if ($seedDocuments < 0) {
+            throw new OptionValidationException("seed-documents", "must not be negative (got %d)".formatted($seedDocuments));
+        }
+
+        parseMix();
+    }
+
+    @Override
+    public final OutputAll execute(Supplier<CollectionBenchResult> result) {
+        return switch (result.get()) {
+            case CollectionBenchmarked benchmarked -> handleCollectionBenchmarked(benchmarked);
+            case CollectionNotFound() -> throwCollectionNotFound();
+            case VectorsNotEnabled() -> throwVectorsNotEnabled();
+            case SeedDocumentsRejected(var reason) -> throwSeedDocumentsRejected(reason);
+        };
+    }
+
+    private OutputAll handleCollectionBenchmarked(CollectionBenchmarked res) {
+        if (!res.documentsDeleted() && res.documentsInserted() > 0) {
+            ctx.log().info("Kept the %,d documents inserted by the benchmark in collection %s.".formatted(res.documentsInserted(), ctx.highlight($collRef)));
+        }
+
+        val missed = res.stats().getLast().missed();
+
+        if (missed > 0) {
+            ctx.log().warn("%,d requests were missed because every worker was still busy when they came due; the rate of %,d requests/s may need a higher %s.".formatted(missed, $rate.orElse(0), ctx.highlight("--concurrency")));
+        }
+
+        val rows = res.stats().stream()
+            .map((stats) -> {
+                val row = sequencedMapOf(
+                    "Operation", (Object) stats.operation(),
+                    "Requests", stats.requests(),
+                    "Errors", stats.errors(),
+                    "Missed", stats.missed(),
+                    "Requests Per Sec", round(stats.throughput()),
+                    "P50 Ms", millis(stats.latencies().percentileMicros(50)),
+                    "P95 Ms", millis(stats.latencies().percentileMicros(95)),
+                    "P99 Ms", millis(stats.latencies().percentileMicros(99))
+                );
+                row.put("P999 Ms", millis(stats.latencies().percentileMicros(99.9)));
+                row.put("Max Ms", millis(stats.latencies().maxMicros()));
+                return row;
+            })
+            .toList();
+
+        // requests can only be missed at a target rate
+        val columns = ($rate.isPresent())
+            ? new String[] { "Operation", "Requests", "Errors", "Missed", "Requests Per Sec", "P50 Ms", "P95 Ms", "P99 Ms", "P999 Ms", "Max Ms" }
+            : new String[] { "Operation", "Requests", "Errors", "Requests Per Sec", "P50 Ms", "P95 Ms", "P99 Ms", "P999 Ms", "Max Ms" };
+
+        return new ShellTable(rows).withColumns(columns);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double d) {
+        return Math.round(d * 100) / 100.0;
+    }
+
+    private <T> T throwCollectionNotFound() {
+        throw new AstraCliException(COLLECTION_NOT_FOUND, """
+          @|bold,red Error: Collection '%s' does not exist in keyspace '%s' of database '%s'.|@
+        """.formatted(
+            $collRef.name(),
+            $keyspaceRef.name(),
+            $keyspaceRef.db()
+        ), List.of(
+            new Hint("See all existing collections in the database:", "${cli.name} db list-collections %s --all".formatted($keyspaceRef.db()))
+        ));
+    }
+
+    private <T> T throwVectorsNotEnabled() {
+        throw new AstraCliException(ILLEGAL_OPERATION, """
+          @|bold,red Error: Collection '%s' is not vector-enabled, so it can't be benchmarked with vector searches.|@
+        """.formatted(
+            $collRef.name()
+        ), List.of(
+            new Hint("Leave vector searches out of the mix:", "${cli.name} db bench-collection %s -k %s -c %s --mix insert=1,find-by-id=1,find=1".formatted($keyspaceRef.db(), $keyspaceRef.name(), $collRef.name()))
+        ));
+    }
+
+    private <T> T throwSeedDocumentsRejected(String reason) {
+        throw new AstraCliException(VALIDATION_ISSUE, """
+          @|bold,red Error: Collection '%s' rejected the benchmark's seed documents: %s|@
+        """.formatted(
+            $collRef.name(),
+            reason
+        ), List.of(
+            new Hint("Run the benchmark without seed documents:", "${cli.name} db bench-collection %s -k %s -c %s --seed-documents 0".formatted($keyspaceRef.db(), $keyspaceRef.name(), $collRef.name()))
+        ));
+    }
+
+    @Override
+    protected Operation<CollectionBenchResult> mkOperation() {
+        return new CollectionBenchOperation(ctx, collectionGateway, new CollectionBenchRequest(
+            $collRef,
+            parseMix(),
+            $duration,
+            $concurrency,
+            $rate,
+            $seedDocuments,
+            $keepDocuments
+        ));
+    }
+
+    private Optional<SequencedMap<BenchOp, Integer>> parseMix() {
+        if ($mix == null || $mix.isEmpty()) {
+            return Optional.empty();
+        }
+
+        val mix = new LinkedHashMap<BenchOp, Integer>();
+
+        for (val entry : $mix.entrySet()) {
+            val op = BenchOp.fromLabel(entry.getKey()).orElseThrow(() -> new OptionValidationException("mix", "unknown operation '%s' (expected one of: %s)".formatted(
+                entry.getKey(),
+                Arrays.stream(BenchOp.values()).map(BenchOp::label).collect(Collectors.joining(", "))
+            )));
+
+            if (entry.getValue() < 0) {
+                throw new OptionValidationException("mix", "weights must not be negative (got %s=%d)".formatted(entry.getKey(), entry.getValue()));
+            }
+
+            if (entry.getValue() > 0) {
+                mix.put(op, entry.getValue());
+            }
+        }
+
+        if (mix.isEmpty()) {
+            throw new OptionValidationException("mix", "at least one operation must have a positive weight");
+        }
+
+        return Optional.of(mix);
+    }
+
+    @Override
+    protected String collectionPrompt() {
+        return "Select the collection to benchmark:";
+    }
+}
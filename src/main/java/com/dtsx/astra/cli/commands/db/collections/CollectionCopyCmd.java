@@ -0,0 +1,239 @@
+package com.dtsx.astra.cli.commands.db.collections;
+
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.core.exceptions.internal.cli.OptionValidationException;
+import com.dtsx.astra.cli.core.help.Example;
+import com.dtsx.astra.cli.core.models.CollectionRef;
+import com.dtsx.astra.cli.core.models.DbRef;
+import com.dtsx.astra.cli.core.models.KeyspaceRef;
+import com.dtsx.astra.cli.core.output.Hint;
+import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionCopyOperation;
+import lombok.val;
+import org.jetbrains.annotations.MustBeInvokedByOverriders;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.COLLECTION_ALREADY_EXISTS;
+import static com.dtsx.astra.cli.core.output.ExitCode.COLLECTION_NOT_FOUND;
+import static com.dtsx.astra.cli.core.output.ExitCode.FILE_ISSUE;
+import static com.dtsx.astra.cli.operations.db.collection.CollectionCopyOperation.*;
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+@Command(
+    name = "copy-collection",
+    description = {
+        "Copy every document in a Data API collection to a new collection",
+        "",
+        "The new collection may be in another keyspace, or in another database in the same organization (e.g. in another region), and is created with the exact same definition (vector options, indexing, etc.) as the original.",
+        "",
+        "Documents are read, transformed, and written concurrently, a page at a time, so the copy's speed is bound by the slower of the two databases rather than by both of them added together.",
+        "",
+        "With @|code --checkpoint|@, an interrupted copy can be resumed by running the same command again."
+    },
+    descriptionHeading = "%n"
+)
+@Example(
+    comment = "Copy a collection to a new collection in the same keyspace",
+    command = "${cli.name} db copy-collection my_db -c my_collection --to-collection my_collection_copy"
+)
+@Example(
+    comment = "Copy a collection to another database, without the $vector field, in a way that can be resumed if interrupted",
+    command = "${cli.name} db copy-collection my_db -c my_collection --to-db other_db --exclude-field '$vector' --checkpoint copy.checkpoint"
+)
+public class CollectionCopyCmd extends AbstractPromptForCollectionCmd<CollectionCopyResult> {
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_WRITERS = 64;
+    private static final int BUFFERED_PAGES = 8;
+
+    @Option(
+        names = { "--to-db" },
+        description = "The database to copy the collection to (default: the same database)",
+        paramLabel = "DB"
+    )
+    public Optional<DbRef> $toDb = Optional.empty();
+
+    @Option(
+        names = { "--to-keyspace" },
+        description = "The keyspace to copy the collection to (default: the same keyspace name)",
+        paramLabel = "KEYSPACE"
+    )
+    public Optional<String> $toKeyspace = Optional.empty();
+
+    @Option(
+        names = { "--to-collection" },
+        description = "The name of the collection to create (default: the same collection name)",
+        paramLabel = "COLLECTION"
+    )
+    public Optional<String> $toCollection = Optional.empty();
+
+    @Option(
+        names = { "--exclude-field" },
+        description = "Leave this top-level field out of every copied document. May be repeated.",
+        paramLabel = "FIELD"
+    )
+    public List<String> $excludeFields = new ArrayList<>();
+
+    @Option(
+        names = { "--batch-size" },
+        description = "How many documents to send in each insert request",
+        defaultValue = "50",
+        paramLabel = "COUNT"
+    )
+    public int $batchSize;
+
+    @Option(
+        names = { "--writers" },
+        description = "How many insert requests may be in flight at once",
+        defaultValue = "4",
+        paramLabel = "COUNT"
+    )
+    public int $writers;
+
+    @Option(
+        names = { "--max-retries" },
+        description = "How many times to retry a batch which failed (e.g. timed out) before giving up",
+        defaultValue = "3",
+        paramLabel = "COUNT"
+    )
+    public int $maxRetries;
+
+    @Option(
+        names = { "--checkpoint" },
+        description = "Save progress to this file as the copy runs, and resume from it if it already exists. Deleted once the copy completes.",
+        paramLabel = "FILE"
+    )
+    public Optional<Path> $checkpoint = Optional.empty();
+
+    private CollectionRef $targetRef;
+
+    @Override
+    @MustBeInvokedByOverriders
+    protected void prelude() {
+        super.prelude();
+
+        if ($batchSize < 1 || $batchSize > MAX_BATCH_SIZE) {
+            throw new OptionValidationException("batch-size", "must be between 1 and %d (got %d)".formatted(MAX_BATCH_SIZE, $batchSize));
+        }
+
+        if ($writers < 1 || $writers > MAX_WRITERS) {
+            throw new OptionValidationException("writers", "must be between 1 and %d (got %d)".formatted(MAX_WRITERS, $writers));
+        }
+
+        if ($maxRetries < 0) {
+            throw new OptionValidationException("max-retries", "must not be negative (got %d)".formatted($maxRetries));
+        }
+
+        if ($excludeFields.contains("_id")) {
+            throw new OptionValidationException("exclude-field", "the _id field can't be excluded, since it's needed to safely resume a copy");
+        }
+
+        val targetKeyspace = KeyspaceRef.parse($toDb.orElse($keyspaceRef.db()), $toKeyspace.orElse($keyspaceRef.name())).getRight((msg) -> {
+            throw new OptionValidationException("to-keyspace", msg);
+        });
+
+        $targetRef = CollectionRef.parse(targetKeyspace, $toCollection.orElse($collRef.name())).getRight((msg) -> {
+            throw new OptionValidationException("to-collection", msg);
+        });
+
+        if ($targetRef.equals($collRef)) {
+            throw new OptionValidationException("to-collection", "the collection can't be copied onto itself; set at least one of --to-db, --to-keyspace, or --to-collection");
+        }
+    }
+
+    @Override
+    public final OutputAll execute(Supplier<CollectionCopyResult> result) {
+        return switch (result.get()) {
+            case CollectionCopied copied -> handleCollectionCopied(copied);
+            case SourceNotFound() -> throwSourceNotFound();
+            case TargetAlreadyExists() -> throwTargetAlreadyExists();
+            case InvalidCheckpoint(var file, var reason) -> throwInvalidCheckpoint(file, reason);
+        };
+    }
+
+    private OutputAll handleCollectionCopied(CollectionCopied res) {
+        val rejected = (res.rejected() > 0)
+            ? " (%,d documents were rejected by the target; run with %s to see why)".formatted(res.rejected(), ctx.highlight("--verbose"))
+            : "";
+
+        val message = "Copied %,d documents from collection %s to %s in %.1fs%s.".formatted(
+            res.copied(),
+            ctx.highlight($collRef),
+            ctx.highlight($targetRef),
+            res.elapsed().toMillis() / 1000.0,
+            rejected
+        );
+
+        return OutputAll.response(message, sequencedMapOf(
+            "copied", res.copied(),
+            "rejected", res.rejected(),
+            "target", $targetRef.db() + "/" + $targetRef,
+            "durationMs", res.elapsed().toMillis(),
+            "resumed", res.resumed()
+        ));
+    }
+
+    private <T> T throwSourceNotFound() {
+        throw new AstraCliException(COLLECTION_NOT_FOUND, """
+          @|bold,red Error: Collection '%s' does not exist in keyspace '%s' of database '%s'.|@
+        """.formatted(
+            $collRef.name(),
+            $keyspaceRef.name(),
+            $keyspaceRef.db()
+        ), List.of(
+            new Hint("See all existing collections in the database:", "${cli.name} db list-collections %s --all".formatted($keyspaceRef.db()))
+        ));
+    }
+
+    private <T> T throwTargetAlreadyExists() {
+        throw new AstraCliException(COLLECTION_ALREADY_EXISTS, """
+          @|bold,red Error: Collection '%s' already exists in keyspace '%s' of database '%s'.|@
+
+          Copies are only made into new collections, so that the copy's definition exactly matches the original's.
+        """.formatted(
+            $targetRef.name(),
+            $targetRef.keyspace().name(),
+            $targetRef.db()
+        ), List.of(
+            new Hint("Copy the collection under another name:", "${cli.name} db copy-collection %s -k %s -c %s --to-collection <name>".formatted($keyspaceRef.db(), $keyspaceRef.name(), $collRef.name())),
+            new Hint("Or delete the existing collection first:", "${cli.name} db delete-collection %s -k %s -c %s".formatted($targetRef.db(), $targetRef.keyspace().name(), $targetRef.name()))
+        ));
+    }
+
+    private <T> T throwInvalidCheckpoint(Path file, String reason) {
+        throw new AstraCliException(FILE_ISSUE, """
+          @|bold,red Error: Can not resume from the checkpoint file %s, since %s.|@
+        """.formatted(
+            ctx.highlight(file),
+            reason
+        ), List.of(
+            new Hint("Delete the checkpoint file to start the copy over from scratch:", "rm " + file)
+        ));
+    }
+
+    @Override
+    protected Operation<CollectionCopyResult> mkOperation() {
+        return new CollectionCopyOperation(ctx, collectionGateway, new CollectionCopyRequest(
+            $collRef,
+            $targetRef,
+            ($excludeFields.isEmpty()) ? Optional.empty() : Optional.of(CollectionCopyOperation.excludeFields($excludeFields)),
+            $batchSize,
+            $writers,
+            BUFFERED_PAGES,
+            $maxRetries,
+            $checkpoint
+        ));
+    }
+
+    @Override
+    protected String collectionPrompt() {
+        return "Select the collection to copy:";
+    }
+}
@@ -0,0 +1,254 @@
+package com.dtsx.astra.cli.commands.db.collections;
+
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.core.exceptions.internal.cli.OptionValidationException;
+import com.dtsx.astra.cli.core.help.Example;
+import com.dtsx.astra.cli.core.output.Hint;
+import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionExportOperation;
+import lombok.val;
+import org.jetbrains.annotations.MustBeInvokedByOverriders;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.COLLECTION_NOT_FOUND;
+import static com.dtsx.astra.cli.core.output.ExitCode.FILE_ISSUE;
+import static com.dtsx.astra.cli.operations.db.collection.CollectionExportOperation.*;
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
+import static java.nio.file.StandardOpenOption.*;
+
+@Command(
+    name = "export-collection",
+    description = {
+        "Export every document in a Data API collection as NDJSON",
+        "",
+        "Documents are written one per line, as they're fetched, to stdout or to a file (gzip-compressed if it ends in @|code .gz|@ or @|code --gzip|@ is set).",
+        "",
+        "With @|code --checkpoint|@, an interrupted export can be resumed by running the same command again."
+    },
+    descriptionHeading = "%n"
+)
+@Example(
+    comment = "Export a collection to stdout",
+    command = "${cli.name} db export-collection my_db -c my_collection"
+)
+@Example(
+    comment = "Export a collection to a gzip-compressed file, scanning 8 ranges of ids at once",
+    command = "${cli.name} db export-collection my_db -c my_collection -f docs.ndjson.gz --partitions 8"
+)
+@Example(
+    comment = "Export a collection in a way that can be resumed if interrupted",
+    command = "${cli.name} db export-collection my_db -c my_collection -f docs.ndjson --checkpoint docs.checkpoint"
+)
+public class CollectionExportCmd extends AbstractPromptForCollectionCmd<CollectionExportResult> {
+    private static final int MAX_PARTITIONS = 64;
+
+    @Option(
+        names = { "-f", "--file" },
+        description = "The file to write the documents to (default: stdout)",
+        paramLabel = "FILE"
+    )
+    public Optional<Path> $file = Optional.empty();
+
+    @Option(
+        names = { "--gzip" },
+        description = "Gzip-compress the file, even if it doesn't end in @|code .gz|@"
+    )
+    public boolean $gzip;
+
+    @Option(
+        names = { "--partitions" },
+        description = "Split the scan into this many ranges of @|code _id|@s, each fetched concurrently. Only use this with collections whose ids are strings (e.g. the default random uuids), since any other ids would be missed.",
+        defaultValue = "1",
+        paramLabel = "COUNT"
+    )
+    public int $partitions;
+
+    @Option(
+        names = { "--checkpoint" },
+        description = "Save progress to this file as the export runs, and resume from it if it already exists. Deleted once the export completes. Can't be used with gzip-compressed files.",
+        paramLabel = "FILE"
+    )
+    public Optional<Path> $checkpoint = Optional.empty();
+
+    @Override
+    @MustBeInvokedByOverriders
+    protected void prelude() {
+        super.prelude();
+
+        if ($partitions < 1 || $partitions > MAX_PARTITIONS) {
+            throw new OptionValidationException("partitions", "must be between 1 and %d (got %d)".formatted(MAX_PARTITIONS, $partitions));
+        }
+
+        if ($file.isEmpty() && $gzip) {
+            throw new OptionValidationException("gzip", "can only be used when writing to a file (with --file)");
+        }
+
+        if ($file.isEmpty() && $checkpoint.isPresent()) {
+            throw new OptionValidationException("checkpoint", "can only be used when writing to a file (with --file), since stdout can't be resumed");
+        }
+
+        // an interrupted gzip export leaves behind an unterminated gzip member, which can't be cut back to a clean
+        // boundary and resumed after like a plain file can
+        if ($checkpoint.isPresent() && isGzip()) {
+            throw new OptionValidationException("checkpoint", "can not be used with a gzip-compressed file; export to an uncompressed file and compress it afterwards instead");
+        }
+    }
+
+    @Override
+    public final OutputAll execute(Supplier<CollectionExportResult> result) {
+        return switch (result.get()) {
+            case CollectionExported exported -> handleCollectionExported(exported);
+            case CollectionNotFound() -> throwCollectionNotFound();
+            case InvalidCheckpoint(var file, var reason) -> throwInvalidCheckpoint(file, reason);
+        };
+    }
+
+    private OutputAll handleCollectionExported(CollectionExported res) {
+        val rate = res.exportedThisRun() / Math.max(res.elapsed().toMillis() / 1000.0, 0.001);
+
+        val message = "Exported %,d documents from collection %s%s in %.1fs (%,.0f docs/s).".formatted(
+            res.documents(),
+            ctx.highlight($collRef),
+            $file.map((f) -> " to " + ctx.highlight(f)).orElse(""),
+            res.elapsed().toMillis() / 1000.0,
+            rate
+        );
+
+        // the documents themselves are the output when writing to stdout, so the summary's just logged instead
+        if ($file.isEmpty()) {
+            ctx.log().info(message);
+            return OutputAll.empty();
+        }
+
+        return OutputAll.response(message, sequencedMapOf(
+            "documents", res.documents(),
+            "file", $file.get().toString(),
+            "durationMs", res.elapsed().toMillis(),
+            "resumed", res.resumed()
+        ));
+    }
+
+    private <T> T throwCollectionNotFound() {
+        throw new AstraCliException(COLLECTION_NOT_FOUND, """
+          @|bold,red Error: Collection '%s' does not exist in keyspace '%s' of database '%s'.|@
+        """.formatted(
+            $collRef.name(),
+            $keyspaceRef.name(),
+            $keyspaceRef.db()
+        ), List.of(
+            new Hint("See all existing collections in the database:", "${cli.name} db list-collections %s --all".formatted($keyspaceRef.db()))
+        ));
+    }
+
+    private <T> T throwInvalidCheckpoint(Path file, String reason) {
+        throw new AstraCliException(FILE_ISSUE, """
+          @|bold,red Error: Can not resume from the checkpoint file %s, since %s.|@
+        """.formatted(
+            ctx.highlight(file),
+            reason
+        ), List.of(
+            new Hint("Delete the checkpoint file to start the export over from scratch:", "rm " + file)
+        ));
+    }
+
+    @Override
+    protected Operation<CollectionExportResult> mkOperation() {
+        return new CollectionExportOperation(ctx, collectionGateway, new CollectionExportRequest(
+            $collRef,
+            $partitions,
+            $checkpoint,
+            this::openSink
+        ));
+    }
+
+    private boolean isGzip() {
+        return $gzip || $file.map((f) -> f.getFileName().toString().endsWith(".gz")).orElse(false);
+    }
+
+    private DocumentSink openSink(Optional<Long> resumeAt) throws IOException {
+        if ($file.isEmpty()) {
+            return new DocumentSink() {
+                @Override
+                public void write(List<String> documents) {
+                    for (val document : documents) {
+                        ctx.console().unsafePrintln(document);
+                    }
+                    ctx.console().flush();
+                }
+
+                @Override
+                public long position() {
+                    return 0; // never resumed, since there's no checkpointing when writing to stdout
+                }
+
+                @Override
+                public void close() {}
+            };
+        }
+
+        val file = $file.get();
+        val channel = FileChannel.open(file, CREATE, WRITE);
+
+        // anything past the checkpointed offset is from pages which were never checkpointed (including a partially
+        // written one), so it's cut off here and re-exported, rather than left behind as duplicated or broken lines
+        if (resumeAt.isPresent()) {
+            if (channel.size() < resumeAt.get()) {
+                channel.close();
+                throwInvalidCheckpoint($checkpoint.orElseThrow(), "%s is smaller than it was when the checkpoint was saved".formatted(file));
+            }
+            channel.truncate(resumeAt.get());
+            channel.position(resumeAt.get());
+        } else {
+            channel.truncate(0);
+        }
+
+        var os = Channels.newOutputStream(channel);
+
+        if (isGzip()) {
+            os = new GZIPOutputStream(os, 64 * 1024, true); // sync flush, so every flushed page is actually readable
+        }
+
+        val writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), 64 * 1024);
+
+        return new DocumentSink() {
+            @Override
+            public void write(List<String> documents) throws IOException {
+                for (val document : documents) {
+                    writer.write(document);
+                    writer.write(NL);
+                }
+                writer.flush();
+            }
+
+            @Override
+            public long position() throws IOException {
+                return channel.position();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+
+    @Override
+    protected String collectionPrompt() {
+        return "Select the collection to export:";
+    }
+}
@@ -0,0 +1,244 @@
+package com.dtsx.astra.cli.commands.db.collections;
+
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.core.exceptions.internal.cli.OptionValidationException;
+import com.dtsx.astra.cli.core.help.Example;
+import com.dtsx.astra.cli.core.output.Hint;
+import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionImportOperation;
+import lombok.val;
+import org.jetbrains.annotations.MustBeInvokedByOverriders;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.COLLECTION_NOT_FOUND;
+import static com.dtsx.astra.cli.core.output.ExitCode.FILE_ISSUE;
+import static com.dtsx.astra.cli.operations.db.collection.CollectionImportOperation.*;
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+@Command(
+    name = "import-collection",
+    description = {
+        "Import documents into a Data API collection from NDJSON or CSV",
+        "",
+        "The input's read as a stream, and inserted in chunks, with several chunks in flight at once. Chunks which fail (e.g. from a timeout) are retried, and documents the Data API rejects are written to a bad records file.",
+        "",
+        "CSV files must have a header row, and every value is imported as a string."
+    },
+    descriptionHeading = "%n"
+)
+@Example(
+    comment = "Import a file of NDJSON documents into a collection",
+    command = "${cli.name} db import-collection my_db -c my_collection -f docs.ndjson"
+)
+@Example(
+    comment = "Import a gzip-compressed export, with 16 chunks of 100 documents in flight at once",
+    command = "${cli.name} db import-collection my_db -c my_collection -f docs.ndjson.gz --chunk-size 100 --concurrency 16"
+)
+@Example(
+    comment = "Import a CSV file from stdin, writing any rejected rows to a file",
+    command = "cat docs.csv | ${cli.name} db import-collection my_db -c my_collection --format csv --bad-records rejected.ndjson"
+)
+public class CollectionImportCmd extends AbstractPromptForCollectionCmd<CollectionImportResult> {
+    private static final int MAX_CHUNK_SIZE = 100; // the most the Data API accepts in a single insertMany
+    private static final int MAX_CONCURRENCY = 64;
+
+    @Option(
+        names = { "-f", "--file" },
+        description = "The file to read the documents from (default: stdin)",
+        paramLabel = "FILE"
+    )
+    public Optional<Path> $file = Optional.empty();
+
+    @Option(
+        names = { "--format" },
+        description = "The format of the input, one of: ${COMPLETION-CANDIDATES} (default: csv if the file ends in @|code .csv|@ or @|code .csv.gz|@, otherwise ndjson)",
+        paramLabel = "FORMAT"
+    )
+    public Optional<ImportFormat> $format = Optional.empty();
+
+    @Option(
+        names = { "--gzip" },
+        description = "Gzip-decompress the input, even if it doesn't end in @|code .gz|@"
+    )
+    public boolean $gzip;
+
+    @Option(
+        names = { "--chunk-size" },
+        description = "How many documents to insert per request",
+        defaultValue = "50",
+        paramLabel = "COUNT"
+    )
+    public int $chunkSize;
+
+    @Option(
+        names = { "--concurrency" },
+        description = "How many requests may be in flight at once",
+        defaultValue = "8",
+        paramLabel = "COUNT"
+    )
+    public int $concurrency;
+
+    @Option(
+        names = { "--max-retries" },
+        description = "How many times to retry a chunk which failed for some reason other than its documents being rejected",
+        defaultValue = "3",
+        paramLabel = "COUNT"
+    )
+    public int $maxRetries;
+
+    @Option(
+        names = { "--bad-records" },
+        description = "The file to write any rejected documents to, along with why they were rejected (default: @|code <file>.bad.ndjson|@ when importing a file)",
+        paramLabel = "FILE"
+    )
+    public Optional<Path> $badRecords = Optional.empty();
+
+    @Override
+    @MustBeInvokedByOverriders
+    protected void prelude() {
+        super.prelude();
+
+        if ($chunkSize < 1 || $chunkSize > MAX_CHUNK_SIZE) {
+            throw new OptionValidationException("chunk-size", "must be between 1 and %d (got %d)".formatted(MAX_CHUNK_SIZE, $chunkSize));
+        }
+
+        if ($concurrency < 1 || $concurrency > MAX_CONCURRENCY) {
+            throw new OptionValidationException("concurrency", "must be between 1 and %d (got %d)".formatted(MAX_CONCURRENCY, $concurrency));
+        }
+
+        if ($maxRetries < 0) {
+            throw new OptionValidationException("max-retries", "must not be negative (got %d)".formatted($maxRetries));
+        }
+    }
+
+    @Override
+    public final OutputAll execute(Supplier<CollectionImportResult> result) {
+        return switch (result.get()) {
+            case CollectionImported imported -> handleCollectionImported(imported);
+            case CollectionNotFound() -> throwCollectionNotFound();
+        };
+    }
+
+    private OutputAll handleCollectionImported(CollectionImported res) {
+        val elapsedSecs = Math.max(res.elapsed().toMillis() / 1000.0, 0.001);
+        val latencies = res.latencies();
+
+        val message = new StringBuilder("Imported %,d documents into collection %s in %.1fs (%,.0f docs/s, request latency p50 %.1fms, p90 %.1fms, p99 %.1fms, max %.1fms).".formatted(
+            res.imported(),
+            ctx.highlight($collRef),
+            elapsedSecs,
+            res.imported() / elapsedSecs,
+            millis(latencies.percentileMicros(50)),
+            millis(latencies.percentileMicros(90)),
+            millis(latencies.percentileMicros(99)),
+            millis(latencies.maxMicros())
+        ));
+
+        if (res.rejected() > 0) {
+            message.append(badRecordsFile()
+                .map((f) -> " %,d documents were rejected, and written to %s.".formatted(res.rejected(), ctx.highlight(f)))
+                .orElse(" %,d documents were rejected; pass %s to see which.".formatted(res.rejected(), ctx.highlight("--bad-records"))));
+        }
+
+        return OutputAll.response(message, sequencedMapOf(
+            "imported", res.imported(),
+            "rejected", res.rejected(),
+            "retries", res.retries(),
+            "durationMs", res.elapsed().toMillis(),
+            "latencyMs", sequencedMapOf(
+                "p50", millis(latencies.percentileMicros(50)),
+                "p90", millis(latencies.percentileMicros(90)),
+                "p99", millis(latencies.percentileMicros(99)),
+                "max", millis(latencies.maxMicros())
+            ),
+            "badRecordsFile", (res.rejected() > 0) ? badRecordsFile().map(Path::toString) : Optional.empty()
+        ));
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+
+    private <T> T throwCollectionNotFound() {
+        throw new AstraCliException(COLLECTION_NOT_FOUND, """
+          @|bold,red Error: Collection '%s' does not exist in keyspace '%s' of database '%s'.|@
+        """.formatted(
+            $collRef.name(),
+            $keyspaceRef.name(),
+            $keyspaceRef.db()
+        ), List.of(
+            new Hint("See all existing collections in the database:", "${cli.name} db list-collections %s --all".formatted($keyspaceRef.db())),
+            new Hint("Create the collection first:", "${cli.name} db create-collection %s -k %s -c %s [...options]".formatted($keyspaceRef.db(), $keyspaceRef.name(), $collRef.name()))
+        ));
+    }
+
+    @Override
+    protected Operation<CollectionImportResult> mkOperation() {
+        val sourceName = inputFile().map(Path::toString).orElse("stdin");
+
+        return new CollectionImportOperation(ctx, collectionGateway, new CollectionImportRequest(
+            $collRef,
+            openSource(sourceName),
+            sourceName,
+            $format.orElseGet(this::inferFormat),
+            $chunkSize,
+            $concurrency,
+            $maxRetries,
+            badRecordsFile()
+        ));
+    }
+
+    private Optional<Path> inputFile() {
+        return $file.filter((f) -> !f.toString().equals("-"));
+    }
+
+    private Optional<Path> badRecordsFile() {
+        return $badRecords.or(() -> inputFile().map((f) -> f.resolveSibling(f.getFileName() + ".bad.ndjson")));
+    }
+
+    private ImportFormat inferFormat() {
+        val name = inputFile().map((f) -> f.getFileName().toString()).orElse("");
+
+        return (name.endsWith(".csv") || name.endsWith(".csv.gz"))
+            ? ImportFormat.CSV
+            : ImportFormat.NDJSON;
+    }
+
+    private Reader openSource(String sourceName) {
+        val gzip = $gzip || sourceName.endsWith(".gz");
+
+        try {
+            var is = (inputFile().isPresent())
+                ? Files.newInputStream(inputFile().get())
+                : ctx.console().getIn();
+
+            if (gzip) {
+                is = new GZIPInputStream(is, 64 * 1024);
+            }
+
+            return new InputStreamReader(is, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new AstraCliException(FILE_ISSUE, """
+              @|bold,red Error: Could not open %s: %s|@
+            """.formatted(sourceName, e.getMessage()));
+        }
+    }
+
+    @Override
+    protected String collectionPrompt() {
+        return "Select the collection to import into:";
+    }
+}
@@ -68,7 +68,7 @@ public class PcuAssociationListCmd extends AbstractPcuAssociationPromptForPcuCmd
 
     @Override
     protected Operation<Stream<PcuAssociationsListResult>> mkOperation() {
-        return new PcuAssociationsListOperation(pcuGateway, associationsGateway, new PcuAssociationsListRequest($pcuRef, $all));
+        return new PcuAssociationsListOperation(ctx, pcuGateway, associationsGateway, new PcuAssociationsListRequest($pcuRef, $all));
     }
 
     @Override
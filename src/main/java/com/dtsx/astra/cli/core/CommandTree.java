@@ -0,0 +1,99 @@
+package com.dtsx.astra.cli.core;
+
+import com.dtsx.astra.cli.commands.*;
+import com.dtsx.astra.cli.commands.config.ConfigCmd;
+import com.dtsx.astra.cli.commands.daemon.DaemonCmd;
+import com.dtsx.astra.cli.commands.db.DbCmd;
+import com.dtsx.astra.cli.commands.org.OrgCmd;
+import com.dtsx.astra.cli.commands.pcu.PcuCmd;
+import com.dtsx.astra.cli.commands.role.RoleCmd;
+import com.dtsx.astra.cli.commands.streaming.StreamingCmd;
+import com.dtsx.astra.cli.commands.token.TokenCmd;
+import com.dtsx.astra.cli.commands.user.UserCmd;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.HelpCommand;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// picocli eagerly builds every subcommand, so only the branch actually being invoked is added to the CommandLine
+@UtilityClass
+public class CommandTree {
+    // in the order they're shown in the help output
+    public static final List<Class<?>> TOP_LEVEL_COMMANDS = List.of(
+        HelpCommand.class,
+        SetupCmd.class,
+        ConfigCmd.class,
+        DbCmd.class,
+        PcuCmd.class,
+        OrgCmd.class,
+        RoleCmd.class,
+        StreamingCmd.class,
+        TokenCmd.class,
+        UserCmd.class,
+        CompletionsCmd.class,
+        UpgradeCmd.class,
+        ShellEnvCmd.class,
+        DaemonCmd.class,
+        BatchCmd.class,
+        NukeCmd.class,
+        DocsCmd.class
+    );
+
+    // these generate something (help, completions, docs) from the entire tree
+    private static final Set<Class<?>> NEEDS_FULL_TREE = Set.of(
+        HelpCommand.class,
+        CompletionsCmd.class,
+        DocsCmd.class
+    );
+
+    private static final Map<String, Class<?>> BY_NAME = mkNameIndex();
+
+    // anything ambiguous (e.g. a typo, which needs every command to suggest alternatives from) gets the whole tree
+    public static List<Class<?>> branchFor(String[] args) {
+        var versionRequested = false;
+
+        for (val arg : args) {
+            if (arg.equals("--") || arg.startsWith("@")) { // @ = picocli argument files
+                break;
+            }
+
+            if (arg.startsWith("-")) {
+                versionRequested |= arg.equals("-v") || arg.equals("--version");
+                continue;
+            }
+
+            val command = BY_NAME.get(arg);
+
+            if (command == null || NEEDS_FULL_TREE.contains(command)) {
+                return TOP_LEVEL_COMMANDS;
+            }
+
+            return List.of(HelpCommand.class, command);
+        }
+
+        return (versionRequested)
+            ? List.of(HelpCommand.class)
+            : TOP_LEVEL_COMMANDS; // `astra` and `astra --help` list every top-level command
+    }
+
+    private static Map<String, Class<?>> mkNameIndex() {
+        val index = new HashMap<String, Class<?>>();
+
+        for (val clazz : TOP_LEVEL_COMMANDS) {
+            val annotation = clazz.getAnnotation(Command.class);
+
+            index.put(annotation.name(), clazz);
+
+            for (val alias : annotation.aliases()) {
+                index.put(alias, clazz);
+            }
+        }
+
+        return index;
+    }
+}
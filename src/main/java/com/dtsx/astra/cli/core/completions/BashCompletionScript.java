@@ -0,0 +1,112 @@
+package com.dtsx.astra.cli.core.completions;
+
+import com.dtsx.astra.cli.core.properties.CliProperties;
+import com.dtsx.astra.cli.core.properties.CliProperties.ConstEnvVars;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+import picocli.AutoComplete;
+import picocli.CommandLine;
+
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
+import static com.dtsx.astra.cli.utils.StringUtils.withIndent;
+
+// picocli's generated script, with the dynamic completion markers swapped out for functions which read the completions cache.
+// the script also sets itself up under zsh (through bashcompinit), so it's used for both.
+@UtilityClass
+public class BashCompletionScript {
+    public static String generate(String cliName, CommandLine root, CliProperties props) {
+        val script = AutoComplete.bash(cliName, root);
+
+        val instances = DynamicCompletion.getInstances();
+
+        val lines = script.split(NL);
+        val estimatedSize = script.length() + (instances.size() * 100) + 500;
+        val sb = new StringBuilder(estimatedSize);
+        var linesIdx = 0;
+
+        linesIdx = appendUtilityFunctions(lines, sb, linesIdx, props);
+        appendSetupEnvVrs(sb);
+        appendCompletionFunctions(sb, instances);
+        updateCompletions(sb, lines, instances, linesIdx);
+
+        return sb.toString();
+    }
+
+    private static int appendUtilityFunctions(String[] lines, StringBuilder sb, int i, CliProperties props) {
+        for (; lines[i].startsWith("#") ; i++) {
+            sb.append(lines[i]).append(NL);
+        }
+        i++;
+
+        // TODO should check for -p as well
+        sb.append("""
+          get_profile(){ for ((i=0;i<${#COMP_WORDS[@]};i++));do [[ ${COMP_WORDS[i]} == --profile ]]&&((i+1<${#COMP_WORDS[@]}))&&echo ${COMP_WORDS[i+1]}&&return;done; echo default;};
+        """).append(NL);
+
+        sb.append("""
+          get_astra_dir(){ [ -n "${ASTRA_HOME:-}" ]&&echo "$ASTRA_HOME"||{ [ -n "${XDG_DATA_HOME:-}" ]&&echo "$XDG_DATA_HOME/%s"||echo "$HOME/%s";};}
+        """.formatted(props.homeFolderName(false), props.homeFolderName(true))).append(NL);
+
+        sb.append("""
+          get_astra_rc(){ [ -n "${ASTRARC:-}" ]&&echo "$ASTRARC"||{ [ -n "${XDG_CONFIG_HOME:-}" ]&&echo "$XDG_CONFIG_HOME/%s/%s"||echo "$HOME/%s";};}
+        """.formatted(props.homeFolderName(false), props.rcFileName(), props.rcFileName())).append(NL);
+
+        return i;
+    }
+
+    private static void appendSetupEnvVrs(StringBuilder sb) {
+        sb.append("export " + ConstEnvVars.COMPLETIONS_SETUP + "=true").append(NL).append(NL);
+    }
+
+    private static void appendCompletionFunctions(StringBuilder sb, Set<DynamicCompletion> instances) {
+        for (val instance : instances) {
+            sb.append(arr(instance)).append("=()").append(NL);
+            sb.append("function ").append(fn(instance)).append("() {").append(NL);
+            sb.append("  [ \"${#").append(arr(instance)).append("[@]}\" -ne 0 ] && return").append(NL);
+            sb.append(NL);
+            sb.append(withIndent(instance.getBash(), 2).replace("OUT", arr(instance))).append(NL);
+            sb.append("}").append(NL).append(NL);
+        }
+    }
+
+    private static void updateCompletions(StringBuilder sb, String[] lines, Set<DynamicCompletion> instances, int i) {
+        record Completion(DynamicCompletion instance, Pattern pattern) {}
+
+        val completions = instances.stream()
+            .map((instance) -> new Completion(
+                instance,
+                Pattern.compile(" {2}local (\\w+)=\\(.*" + Pattern.quote(DynamicCompletion.marker(instance)) + ".*\\).*")
+            ))
+            .toList();
+
+        outer: for (; i < lines.length; i++) {
+            if (!lines[i].startsWith("  local")) {
+                sb.append(lines[i]).append(NL);
+                continue;
+            }
+
+            for (val completion : completions) {
+                val matcher = completion.pattern.matcher(lines[i]);
+
+                if (matcher.matches()) {
+                    sb.append("  ").append(fn(completion.instance)).append(NL);
+                    sb.append("  local ").append(matcher.group(1)).append("=(\"${").append(arr(completion.instance)).append("[@]}\")").append(NL);
+                    continue outer;
+                }
+            }
+
+            sb.append(lines[i]).append(NL);
+        }
+    }
+
+    private static String fn(DynamicCompletion instance) {
+        return instance.getClass().getSimpleName() + "_fn";
+    }
+
+    private static String arr(DynamicCompletion instance) {
+        return instance.getClass().getSimpleName() + "_arr";
+    }
+}
@@ -0,0 +1,120 @@
+package com.dtsx.astra.cli.core.completions;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.utils.FileUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Generating a completion script means walking the entire command tree, which is far too slow to be doing every time a
+// new shell is opened. Instead, each script's generated once per (version, cli name, properties) into the astra home,
+// and `shellenv` has the shell source that file directly.
+//
+// Scripts for any other version or properties are never read again, and are cleaned up the next time one's generated.
+@RequiredArgsConstructor
+public class CompletionScripts {
+    private final CliContext ctx;
+    private final String cliName;
+
+    public enum Shell {
+        BASH("bash"),
+        ZSH("bash"), // picocli's bash script also sets itself up under zsh (through bashcompinit)
+        FISH("fish");
+
+        private final String scriptType;
+
+        Shell(String scriptType) {
+            this.scriptType = scriptType;
+        }
+    }
+
+    public Path path(Shell shell) {
+        return ctx.home().dirs.completionScripts.use().resolve(cliName + "-" + cacheKey() + "." + shell.scriptType);
+    }
+
+    public Optional<Path> cached(Shell shell) {
+        val path = path(shell);
+
+        try {
+            return (Files.size(path) > 0)
+                ? Optional.of(path)
+                : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    // the root command line is only built if the script actually needs to be generated
+    @SneakyThrows
+    public String getOrGenerate(Shell shell, Supplier<CommandLine> root) {
+        val cached = cached(shell);
+
+        if (cached.isPresent()) {
+            return Files.readString(cached.get());
+        }
+
+        return regenerate(shell, root.get());
+    }
+
+    public String regenerate(Shell shell, CommandLine root) {
+        val script = switch (shell) {
+            case BASH, ZSH -> BashCompletionScript.generate(cliName, root, ctx.properties());
+            case FISH -> FishCompletionScript.generate(cliName, root);
+        };
+
+        write(path(shell), script);
+        return script;
+    }
+
+    // written to a temp file first, so a shell that's starting up at the same time never sources a half-written script
+    private void write(Path path, String script) {
+        try {
+            FileUtils.writeAtomically(path, script);
+            deleteStaleScripts(path);
+        } catch (IOException e) {
+            // the script's still printed, it'll just have to be generated again next time
+            ctx.log().exception("Could not cache the completion script at '%s'".formatted(path), e);
+        }
+    }
+
+    private void deleteStaleScripts(Path current) throws IOException {
+        val ext = current.getFileName().toString().substring(current.getFileName().toString().lastIndexOf('.'));
+
+        try (val files = Files.list(current.getParent())) {
+            for (val file : files.toList()) {
+                val name = file.getFileName().toString();
+
+                if (!file.equals(current) && name.startsWith(cliName + "-") && name.endsWith(ext)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    // everything (besides the command tree itself, which is tied to the version) that ends up in a generated script
+    @SneakyThrows
+    private String cacheKey() {
+        val props = ctx.properties();
+
+        val fingerprint = String.join("\n",
+            cliName,
+            props.version().toString(),
+            props.homeFolderName(false),
+            props.homeFolderName(true),
+            props.rcFileName()
+        );
+
+        val digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+        return "v" + props.version() + "-" + HexFormat.of().formatHex(digest, 0, 6);
+    }
+}
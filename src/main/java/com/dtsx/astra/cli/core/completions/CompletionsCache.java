@@ -1,32 +1,49 @@
 package com.dtsx.astra.cli.core.completions;
 
 import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.utils.FileUtils;
 import com.dtsx.astra.cli.utils.JsonUtils;
-import lombok.Cleanup;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import static com.dtsx.astra.cli.utils.CollectionUtils.setAdd;
 import static com.dtsx.astra.cli.utils.CollectionUtils.setDel;
 import static com.dtsx.astra.cli.utils.StringUtils.NL;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.stream.Collectors.toSet;
 
+// updated on nearly every api call, so an unchanged file's never locked or rewritten; additions are appended, removals compact it
 @RequiredArgsConstructor
 public abstract class CompletionsCache {
+    // file locks are per-process, so threads need their own lock; taking the same file lock twice just throws
+    private static final Map<Path, Object> IN_PROCESS_LOCKS = new ConcurrentHashMap<>();
+
     protected final CliContext ctx;
 
-    private @Nullable Set<String> cachedCandidates;
+    private record Snapshot(Set<String> candidates, boolean compact, boolean endsWithNewline) {
+        static final Snapshot EMPTY = new Snapshot(Set.of(), true, true);
+    }
 
-    @SneakyThrows
     private void update(Function<Set<String>, Set<String>> mkCandidates) {
         val primaryCacheFile = primaryCacheFile();
 
@@ -34,50 +51,126 @@ public abstract class CompletionsCache {
             return;
         }
 
-        val cacheFile = primaryCacheFile.get();
-        var currentCandidates = Set.<String>of();
+        val candidates = sync(primaryCacheFile.get(), mkCandidates);
+
+        if (candidates == null) {
+            return;
+        }
+
+        for (val mirrorCacheFile : mirrorCacheFiles()) {
+            sync(mirrorCacheFile, (_) -> candidates);
+        }
+    }
+
+    private @Nullable Set<String> sync(Path cacheFile, Function<Set<String>, Set<String>> mkCandidates) {
+        Snapshot current;
+        Set<String> candidates;
 
         try {
-            if (Files.exists(cacheFile)) {
-                currentCandidates = Files.readAllLines(cacheFile).stream().map(this::readJsonString).collect(toSet());
-            }
+            current = readCacheFile(cacheFile);
         } catch (Exception e) {
             ctx.log().exception("An error occurred reading cache file '%s'".formatted(cacheFile), e);
-            return;
+            return null;
         }
 
-        val candidates = mkCandidates.apply(currentCandidates);
+        candidates = mkCandidates.apply(current.candidates());
 
-        if (cachedCandidates != null && cachedCandidates.equals(candidates)) {
-            return;
+        if (current.compact() && candidates.equals(current.candidates())) {
+            return candidates;
         }
 
-        cachedCandidates = Set.copyOf(candidates);
+        synchronized (IN_PROCESS_LOCKS.computeIfAbsent(cacheFile.toAbsolutePath(), (_) -> new Object())) {
+            try {
+                Files.createDirectories(cacheFile.getParent());
 
-        writeCacheFile(cacheFile, candidates);
+                try (FileChannel channel = FileChannel.open(lockFile(cacheFile), CREATE, WRITE); FileLock _ = channel.lock()) {
+                    // another process may have updated it while we were waiting on the lock
+                    current = readCacheFile(cacheFile);
+                    candidates = mkCandidates.apply(current.candidates());
 
-        for (val mirrorCacheFile : mirrorCacheFiles()) {
-            writeCacheFile(mirrorCacheFile, candidates);
+                    writeCacheFile(cacheFile, current, candidates);
+                }
+            } catch (Exception e) {
+                try {
+                    ctx.log().exception("An error occurred updating cache file '%s'".formatted(cacheFile), e);
+                    Files.deleteIfExists(cacheFile);
+                } catch (Exception _) {}
+                return null;
+            }
         }
+
+        return candidates;
     }
 
-    private void writeCacheFile(Path cacheFile, Set<String> candidates) {
-        try {
-            if (candidates.isEmpty()) {
-                Files.deleteIfExists(cacheFile);
-                return;
+    private Snapshot readCacheFile(Path cacheFile) throws IOException {
+        if (!Files.exists(cacheFile)) {
+            return Snapshot.EMPTY;
+        }
+
+        val content = Files.readString(cacheFile);
+        val candidates = new HashSet<String>();
+        var compact = true;
+
+        for (val line : content.lines().toList()) {
+            if (line.isBlank()) {
+                continue;
             }
 
-            Files.createDirectories(cacheFile.getParent());
+            val candidate = readJsonString(line);
 
-            @Cleanup val writer = Files.newBufferedWriter(cacheFile);
-            writer.write(String.join(NL, candidates.stream().map(this::writeJsonString).toList()));
-        } catch (Exception e) {
-            try {
-                ctx.log().exception("An error occurred updating cache file '%s'".formatted(cacheFile), e);
-                Files.deleteIfExists(cacheFile);
-            } catch (Exception _) {}
+            // a duplicate or garbled line (e.g. from a killed process) gets the file compacted
+            if (candidate == null || !candidates.add(candidate)) {
+                compact = false;
+            }
         }
+
+        return new Snapshot(candidates, compact, content.isEmpty() || content.endsWith("\n"));
+    }
+
+    private void writeCacheFile(Path cacheFile, Snapshot current, Set<String> candidates) throws IOException {
+        if (candidates.isEmpty()) {
+            Files.deleteIfExists(cacheFile);
+            return;
+        }
+
+        if (!current.compact() || !candidates.containsAll(current.candidates())) {
+            compactCacheFile(cacheFile, candidates);
+            return;
+        }
+
+        val added = candidates.stream().filter((c) -> !current.candidates().contains(c)).toList();
+
+        if (added.isEmpty()) {
+            return;
+        }
+
+        val sb = new StringBuilder();
+
+        if (!current.endsWithNewline()) {
+            sb.append(NL);
+        }
+
+        for (val candidate : added) {
+            sb.append(writeJsonString(candidate)).append(NL);
+        }
+
+        Files.writeString(cacheFile, sb, CREATE, APPEND);
+    }
+
+    // the completion scripts read it directly, so it must never be seen half-written
+    private void compactCacheFile(Path cacheFile, Set<String> candidates) throws IOException {
+        val sb = new StringBuilder();
+
+        for (val candidate : candidates) {
+            sb.append(writeJsonString(candidate)).append(NL);
+        }
+
+        FileUtils.writeAtomically(cacheFile, sb);
+    }
+
+    // the cache file itself can't be locked, since compacting it replaces it with an entirely new file
+    private static Path lockFile(Path cacheFile) {
+        return cacheFile.resolveSibling("." + cacheFile.getFileName() + ".lock");
     }
 
     protected abstract Optional<Path> primaryCacheFile();
@@ -85,30 +178,103 @@ public abstract class CompletionsCache {
     protected abstract List<Path> mirrorCacheFiles();
 
     public final void setCache(List<String> completions) {
-        update((_) -> completions.stream().filter(c -> c != null && !c.isBlank()).collect(toSet()));
+        val candidates = completions.stream().filter(c -> c != null && !c.isBlank()).collect(toSet());
+        update((_) -> candidates);
     }
 
     public final void addToCache(String completion) {
         if (completion == null || completion.isBlank()) {
             return;
         }
-        update((s) -> setAdd(s, completion));
+        update((s) -> s.contains(completion) ? s : setAdd(s, completion));
+    }
+
+    public final void addAllToCache(Collection<String> completions) {
+        val valid = completions.stream().filter(c -> c != null && !c.isBlank()).toList();
+
+        if (valid.isEmpty()) {
+            return;
+        }
+        update((s) -> {
+            if (s.containsAll(valid)) {
+                return s;
+            }
+            val set = new HashSet<>(s);
+            set.addAll(valid);
+            return set;
+        });
     }
 
     public final void removeFromCache(String completion) {
         if (completion == null || completion.isBlank()) {
             return;
         }
-        update((s) -> setDel(s, completion));
+        update((s) -> s.contains(completion) ? setDel(s, completion) : s);
     }
 
     protected static Path defaultCacheDir(CliContext ctx) {
         return ctx.home().dirs.completionsCache.use();
     }
 
-    @SneakyThrows
-    private String readJsonString(String value) {
-        return JsonUtils.readValue(value, String.class); // easy way to unescape strings
+    // jackson only escapes quotes, backslashes & control chars, so a full json parser isn't needed; null if invalid
+    @VisibleForTesting
+    public static @Nullable String readJsonString(String line) {
+        val end = line.length() - 1;
+
+        if (end < 1 || line.charAt(0) != '"' || line.charAt(end) != '"') {
+            return null;
+        }
+
+        if (line.indexOf('\\') < 0) {
+            val value = line.substring(1, end);
+            return (value.indexOf('"') < 0) ? value : null;
+        }
+
+        val sb = new StringBuilder(end);
+
+        for (var i = 1; i < end; i++) {
+            val c = line.charAt(i);
+
+            if (c == '"') {
+                return null;
+            }
+
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+
+            if (++i >= end) {
+                return null;
+            }
+
+            switch (line.charAt(i)) {
+                case '"' -> sb.append('"');
+                case '\\' -> sb.append('\\');
+                case '/' -> sb.append('/');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (i + 4 >= end) {
+                        return null;
+                    }
+                    try {
+                        sb.append((char) HexFormat.fromHexDigits(line, i + 1, i + 5));
+                    } catch (IllegalArgumentException _) {
+                        return null;
+                    }
+                    i += 4;
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+
+        return sb.toString();
     }
 
     @SneakyThrows
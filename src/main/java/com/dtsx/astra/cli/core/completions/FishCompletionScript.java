@@ -0,0 +1,172 @@
+package com.dtsx.astra.cli.core.completions;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+import picocli.CommandLine;
+import picocli.CommandLine.Help.Ansi;
+import picocli.CommandLine.Model.ArgSpec;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Model.OptionSpec;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
+
+// picocli only generates bash completions, so this walks the same command tree to build the fish equivalent.
+//
+// dynamic completions (database names, profiles, etc.) are written as bash snippets, so fish only gets the static parts;
+// subcommands, options, and any fixed set of values they take.
+@UtilityClass
+public class FishCompletionScript {
+    public static String generate(String cliName, CommandLine root) {
+        val fn = "__" + cliName.replaceAll("\\W", "_") + "_cmd_is";
+
+        val sb = new StringBuilder();
+
+        sb.append("# fish completions for ").append(cliName).append(", generated by `").append(cliName).append(" compgen --shell fish`").append(NL).append(NL);
+
+        // true if the words typed so far (minus options) are exactly $argv[1], optionally followed by
+        // something which isn't one of its subcommands in $argv[2] (e.g. a positional parameter)
+        sb.append("""
+          function %s
+              set -l path (string split -n ' ' -- $argv[1])
+              set -l subcommands (string split -n ' ' -- $argv[2])
+              set -l words
+              set -l tokens (commandline -opc)
+              set -e tokens[1]
+              for token in $tokens
+                  string match -q -- '-*' $token; or set -a words $token
+              end
+              set -l i 1
+              while test $i -le (count $path)
+                  test "$words[$i]" = "$path[$i]"; or return 1
+                  set i (math $i + 1)
+              end
+              set -l next $words[$i]
+              test -z "$next"; or not contains -- $next $subcommands
+          end
+        """.formatted(fn).stripIndent()).append(NL);
+
+        sb.append("complete -c ").append(cliName).append(" -f").append(NL).append(NL);
+
+        appendCommand(sb, cliName, fn, root.getCommandSpec(), List.of());
+
+        return sb.toString();
+    }
+
+    private static void appendCommand(StringBuilder sb, String cliName, String fn, CommandSpec spec, List<String> path) {
+        val subcommands = visibleSubcommands(spec);
+
+        val condition = "-n \"%s %s %s\"".formatted(
+            fn,
+            quote(String.join(" ", path)),
+            quote(String.join(" ", subcommands.stream().flatMap((s) -> allNames(s).stream()).toList()))
+        );
+
+        for (val sub : subcommands) {
+            sb.append("complete -c ").append(cliName).append(" ").append(condition)
+                .append(" -a ").append(quote(sub.name()))
+                .append(" -d ").append(quote(firstLine(sub.usageMessage().description())))
+                .append(NL);
+        }
+
+        for (val option : spec.options()) {
+            if (option.hidden()) {
+                continue;
+            }
+
+            sb.append("complete -c ").append(cliName).append(" ").append(condition);
+
+            for (val name : option.names()) {
+                if (name.startsWith("--")) {
+                    sb.append(" -l ").append(name.substring(2));
+                } else if (name.length() == 2) {
+                    sb.append(" -s ").append(name.substring(1));
+                } else {
+                    sb.append(" -o ").append(name.substring(1));
+                }
+            }
+
+            appendValues(sb, option);
+
+            sb.append(" -d ").append(quote(firstLine(option.description()))).append(NL);
+        }
+
+        for (val positional : spec.positionalParameters()) {
+            if (positional.hidden() || staticCandidates(positional).isEmpty()) {
+                continue;
+            }
+
+            sb.append("complete -c ").append(cliName).append(" ").append(condition);
+            appendValues(sb, positional);
+            sb.append(NL);
+        }
+
+        sb.append(NL);
+
+        for (val sub : subcommands) {
+            val subPath = new ArrayList<>(path);
+            subPath.add(sub.name());
+            appendCommand(sb, cliName, fn, sub, subPath);
+        }
+    }
+
+    private static void appendValues(StringBuilder sb, ArgSpec arg) {
+        if (arg instanceof OptionSpec option && option.arity().max() == 0) {
+            return;
+        }
+
+        val candidates = staticCandidates(arg);
+
+        if (!candidates.isEmpty()) {
+            sb.append(" -x -a ").append(quote(String.join(" ", candidates)));
+        } else if (Path.class.isAssignableFrom(arg.typeInfo().getType())) {
+            sb.append(" -r -F");
+        } else {
+            sb.append(" -r");
+        }
+    }
+
+    private static List<String> staticCandidates(ArgSpec arg) {
+        if (arg.completionCandidates() == null || arg.completionCandidates() instanceof DynamicCompletion) {
+            return List.of();
+        }
+
+        return StreamSupport.stream(arg.completionCandidates().spliterator(), false).toList();
+    }
+
+    private static List<CommandSpec> visibleSubcommands(CommandSpec spec) {
+        // picocli lists a subcommand once per alias
+        val unique = new LinkedHashSet<CommandSpec>();
+
+        for (val sub : spec.subcommands().values()) {
+            if (!sub.getCommandSpec().usageMessage().hidden()) {
+                unique.add(sub.getCommandSpec());
+            }
+        }
+
+        return new ArrayList<>(unique);
+    }
+
+    private static List<String> allNames(CommandSpec spec) {
+        val names = new ArrayList<String>();
+        names.add(spec.name());
+        names.addAll(List.of(spec.aliases()));
+        return names;
+    }
+
+    private static String firstLine(String[] description) {
+        if (description == null || description.length == 0) {
+            return "";
+        }
+        return Ansi.OFF.string(description[0]).lines().findFirst().orElse("");
+    }
+
+    private static String quote(String s) {
+        return "'" + s.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
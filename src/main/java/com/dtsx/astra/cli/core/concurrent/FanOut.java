@@ -0,0 +1,118 @@
+package com.dtsx.astra.cli.core.concurrent;
+
+import com.dtsx.astra.cli.core.CliContext;
+import lombok.SneakyThrows;
+import lombok.With;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// runs one blocking task (e.g. a gateway call per pcu group) over many inputs on virtual threads; no task outlives the
+// call, and FAIL_FAST interrupts whatever's still in flight before rethrowing the first failure as-is
+@With
+public record FanOut(int parallelism, Duration taskTimeout, FailureMode failureMode) {
+    public static final FanOut DEFAULT = new FanOut(8, Duration.ofSeconds(30), FailureMode.FAIL_FAST);
+
+    public enum FailureMode { FAIL_FAST, COLLECT_ERRORS }
+
+    @FunctionalInterface
+    public interface Task<I, O> {
+        O run(I input) throws Exception;
+    }
+
+    public sealed interface Outcome<I, O> {
+        I input();
+    }
+
+    public record Success<I, O>(I input, O value) implements Outcome<I, O> {}
+    public record Failure<I, O>(I input, Exception error) implements Outcome<I, O> {}
+
+    public FanOut {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1 (got " + parallelism + ")");
+        }
+    }
+
+    // outcomes are returned in the same order as the inputs, regardless of completion order
+    public <I, O> List<Outcome<I, O>> run(CliContext ctx, String loadingMsg, Collection<? extends I> inputs, Task<I, O> task) {
+        val inputList = List.<I>copyOf(inputs);
+
+        if (inputList.isEmpty()) {
+            return List.of();
+        }
+
+        return ctx.log().loading(loadingMsg, (_) -> {
+            try {
+                return runScoped(ctx, inputList, task);
+            } finally {
+                ctx.log().loadingProgress(0, 0);
+            }
+        });
+    }
+
+    @SneakyThrows
+    private <I, O> List<Outcome<I, O>> runScoped(CliContext ctx, List<I> inputs, Task<I, O> task) {
+        val outcomes = new ArrayList<Outcome<I, O>>(Collections.nCopies(inputs.size(), null));
+        val permits = new Semaphore(parallelism);
+        val completed = new AtomicInteger();
+
+        ctx.log().loadingProgress(0, inputs.size());
+
+        try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            val completion = new ExecutorCompletionService<Integer>(executor);
+
+            for (var i = 0; i < inputs.size(); i++) {
+                val index = i;
+
+                completion.submit(() -> {
+                    outcomes.set(index, runOne(executor, permits, inputs.get(index), task));
+                    return index;
+                });
+            }
+
+            for (var i = 0; i < inputs.size(); i++) {
+                val outcome = outcomes.get(completion.take().get());
+
+                ctx.log().loadingProgress(completed.incrementAndGet(), inputs.size());
+
+                if (outcome instanceof Failure<I, O> failure && failureMode == FailureMode.FAIL_FAST) {
+                    executor.shutdownNow();
+                    throw failure.error();
+                }
+            }
+        }
+
+        return outcomes;
+    }
+
+    private <I, O> Outcome<I, O> runOne(ExecutorService executor, Semaphore permits, I input, Task<I, O> task) throws InterruptedException {
+        permits.acquire();
+
+        try {
+            val future = executor.submit(() -> task.run(input));
+
+            try {
+                val value = (taskTimeout.isPositive())
+                    ? future.get(taskTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    : future.get();
+
+                return new Success<>(input, value);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                return new Failure<>(input, new TimeoutException("Task timed out after " + taskTimeout.toMillis() + "ms"));
+            } catch (ExecutionException e) {
+                return new Failure<>(input, (e.getCause() instanceof Exception cause) ? cause : e);
+            }
+        } catch (RejectedExecutionException e) {
+            return new Failure<>(input, e); // another task already failed fast, and the executor was shut down
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.dtsx.astra.cli.core.daemon;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.daemon.DaemonProtocol.DaemonRequest;
+import com.dtsx.astra.cli.core.properties.CliProperties.ConstEnvVars;
+import lombok.val;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.*;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// The thin launcher side of the daemon. If a daemon's running (and is willing to take the request), the command is
+// forwarded to it, and its output/exit code are relayed back as if the command was run in this process.
+//
+// Anything that could behave differently inside the daemon always runs in-process instead:
+// - interactive use (prompts, spinners, colors, etc. all depend on the terminal)
+// - commands which manage the daemon or the binary itself
+// - commands which spawn external tools that need the real terminal/env (cqlsh, dsbulk, pulsar-shell)
+public class DaemonClient {
+    private static final Set<String> IN_PROCESS_ONLY_COMMANDS = Set.of("daemon", "upgrade", "nuke", "setup");
+    private static final Set<String> EXTERNAL_TOOL_COMMANDS = Set.of("cqlsh", "dsbulk", "pulsar");
+
+    // returns the exit code if the command was run by the daemon, or empty if it should be run in-process instead;
+    // the context is the one the command would otherwise be run with, so nothing's built twice when there's no daemon
+    public static Optional<Integer> tryRun(CliContext ctx, String... args) {
+        val isTerminal = System.console() != null && System.console().isTerminal();
+
+        if (!mayUseDaemon(System.getenv(ConstEnvVars.NO_DAEMON) != null, isTerminal, args)) {
+            return Optional.empty();
+        }
+
+        val socketPath = DaemonProtocol.socketPath(ctx.path(ctx.home().root()));
+
+        if (!Files.exists(socketPath)) {
+            return Optional.empty();
+        }
+
+        final SocketChannel channel;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        try {
+            channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+            in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            val request = new DaemonRequest(
+                ctx.properties().version().toString(),
+                DaemonServer.currentWorkingDir(),
+                DaemonProtocol.envFingerprint(ctx.properties()),
+                List.of(args)
+            );
+
+            request.writeTo(out);
+
+            if (DaemonProtocol.readFrame(in).type() != DaemonProtocol.ACCEPTED) {
+                channel.close();
+                return Optional.empty();
+            }
+        } catch (IOException e) {
+            return Optional.empty(); // e.g. a stale socket file left behind by a daemon that was killed
+        }
+
+        // past this point, the command may have already had side effects, so it must never be re-run in-process
+        try (channel) {
+            Thread.ofPlatform().daemon().name("astra-daemon-stdin").start(() -> pumpStdin(out));
+            return Optional.of(relayOutput(in));
+        } catch (IOException e) {
+            ctx.log().warn("Lost connection to the astra daemon: " + e.getMessage());
+            return Optional.of(99);
+        }
+    }
+
+    @VisibleForTesting
+    public static boolean mayUseDaemon(boolean daemonDisabled, boolean isTerminal, String... args) {
+        if (daemonDisabled || isTerminal) {
+            return false;
+        }
+
+        if (args.length > 0 && IN_PROCESS_ONLY_COMMANDS.contains(args[0])) {
+            return false;
+        }
+
+        // only the command path itself counts (e.g. `db cqlsh`), not arguments which happen to share its name (e.g. a db named `dsbulk`)
+        return Arrays.stream(args).limit(2).noneMatch(EXTERNAL_TOOL_COMMANDS::contains);
+    }
+
+    private static int relayOutput(DataInputStream in) throws IOException {
+        while (true) {
+            val frame = DaemonProtocol.readFrame(in);
+
+            switch (frame.type()) {
+                case DaemonProtocol.STDOUT -> {
+                    System.out.write(frame.payload());
+                    System.out.flush();
+                }
+                case DaemonProtocol.STDERR -> {
+                    System.err.write(frame.payload());
+                    System.err.flush();
+                }
+                case DaemonProtocol.EXIT -> {
+                    return frame.payloadAsInt();
+                }
+                default -> throw new IOException("Unexpected frame type from daemon: " + frame.type());
+            }
+        }
+    }
+
+    private static void pumpStdin(DataOutputStream out) {
+        val buffer = new byte[8192];
+
+        try {
+            int read;
+
+            while ((read = System.in.read(buffer)) >= 0) {
+                DaemonProtocol.writeFrame(out, DaemonProtocol.STDIN, buffer, 0, read);
+            }
+
+            DaemonProtocol.writeFrame(out, DaemonProtocol.STDIN_EOF, new byte[0]);
+        } catch (IOException _) {
+            // the command's already finished, or the connection's gone; either way there's nothing left to do
+        }
+    }
+}
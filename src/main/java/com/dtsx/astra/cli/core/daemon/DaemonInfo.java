@@ -0,0 +1,68 @@
+package com.dtsx.astra.cli.core.daemon;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Properties;
+
+// Written next to the socket by a running daemon, so `daemon status` and `daemon stop` don't need to talk to it
+public record DaemonInfo(long pid, String version, String cwd, Instant startedAt, Duration idleTimeout) {
+    public static Path pathFor(Path socketPath) {
+        return socketPath.resolveSibling("daemon.properties");
+    }
+
+    public static Optional<DaemonInfo> read(Path socketPath) {
+        val path = pathFor(socketPath);
+
+        if (!Files.exists(path) || !Files.exists(socketPath)) {
+            return Optional.empty();
+        }
+
+        try (val reader = Files.newBufferedReader(path)) {
+            val props = new Properties();
+            props.load(reader);
+
+            return Optional.of(new DaemonInfo(
+                Long.parseLong(props.getProperty("pid")),
+                props.getProperty("version"),
+                props.getProperty("cwd"),
+                Instant.parse(props.getProperty("started-at")),
+                Duration.parse(props.getProperty("idle-timeout"))
+            ));
+        } catch (Exception e) {
+            return Optional.empty(); // e.g. it's mid-write, or left over from an older version
+        }
+    }
+
+    // returns the info only if the process behind it is still alive (the files are left behind if it's killed -9'd)
+    public static Optional<DaemonInfo> readIfAlive(Path socketPath) {
+        return read(socketPath).filter(DaemonInfo::isAlive);
+    }
+
+    @SneakyThrows
+    public void write(Path socketPath) {
+        val props = new Properties();
+        props.setProperty("pid", String.valueOf(pid));
+        props.setProperty("version", version);
+        props.setProperty("cwd", cwd);
+        props.setProperty("started-at", startedAt.toString());
+        props.setProperty("idle-timeout", idleTimeout.toString());
+
+        try (val writer = Files.newBufferedWriter(pathFor(socketPath))) {
+            props.store(writer, null);
+        }
+    }
+
+    public boolean isAlive() {
+        return process().map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    public Optional<ProcessHandle> process() {
+        return ProcessHandle.of(pid);
+    }
+}
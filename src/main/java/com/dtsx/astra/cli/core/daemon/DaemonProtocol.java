@@ -0,0 +1,198 @@
+package com.dtsx.astra.cli.core.daemon;
+
+import com.dtsx.astra.cli.core.properties.CliProperties;
+import com.dtsx.astra.cli.core.properties.CliProperties.ConstEnvVars;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeMap;
+
+// The wire format between the thin launcher (DaemonClient) and a warm jvm (DaemonServer), over a unix domain socket.
+//
+// The client sends exactly one DaemonRequest, and the server answers with ACCEPTED or REJECTED (+ reason). Once
+// accepted, everything else is multiplexed as [type: byte][length: int][payload] frames: STDIN/STDIN_EOF from the
+// client, and STDOUT/STDERR/EXIT (4-byte exit code) from the server.
+public class DaemonProtocol {
+    public static final byte STDIN = 1;
+    public static final byte STDIN_EOF = 2;
+    public static final byte STDOUT = 3;
+    public static final byte STDERR = 4;
+    public static final byte EXIT = 5;
+    public static final byte ACCEPTED = 6;
+    public static final byte REJECTED = 7;
+
+    private static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+
+    public record Frame(byte type, byte[] payload) {
+        public int payloadAsInt() {
+            return ByteBuffer.wrap(payload).getInt();
+        }
+
+        public String payloadAsString() {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+    }
+
+    public record DaemonRequest(String cliVersion, String cwd, String envFingerprint, List<String> args) {
+        public void writeTo(DataOutputStream out) throws IOException {
+            writeString(out, cliVersion);
+            writeString(out, cwd);
+            writeString(out, envFingerprint);
+            out.writeInt(args.size());
+
+            for (val arg : args) {
+                writeString(out, arg);
+            }
+            out.flush();
+        }
+
+        public static DaemonRequest readFrom(DataInputStream in) throws IOException {
+            val cliVersion = readString(in);
+            val cwd = readString(in);
+            val envFingerprint = readString(in);
+            val numArgs = in.readInt();
+
+            if (numArgs < 0 || numArgs > 10_000) {
+                throw new IOException("Invalid number of arguments in daemon request: " + numArgs);
+            }
+
+            val args = new ArrayList<String>(numArgs);
+
+            for (var i = 0; i < numArgs; i++) {
+                args.add(readString(in));
+            }
+
+            return new DaemonRequest(cliVersion, cwd, envFingerprint, args);
+        }
+    }
+
+    // multiple threads may write to the same stream (e.g. stdout and stderr), so frames need to be written atomically
+    public static void writeFrame(DataOutputStream out, byte type, byte[] payload, int off, int len) throws IOException {
+        synchronized (out) {
+            out.writeByte(type);
+            out.writeInt(len);
+            out.write(payload, off, len);
+            out.flush();
+        }
+    }
+
+    public static void writeFrame(DataOutputStream out, byte type, byte[] payload) throws IOException {
+        writeFrame(out, type, payload, 0, payload.length);
+    }
+
+    public static void writeIntFrame(DataOutputStream out, byte type, int value) throws IOException {
+        writeFrame(out, type, ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    public static Frame readFrame(DataInputStream in) throws IOException {
+        val type = in.readByte();
+        val len = in.readInt();
+
+        if (len < 0 || len > MAX_PAYLOAD_SIZE) {
+            throw new IOException("Invalid daemon frame length: " + len);
+        }
+
+        val payload = in.readNBytes(len);
+
+        if (payload.length != len) {
+            throw new EOFException("Daemon connection closed mid-frame");
+        }
+
+        return new Frame(type, payload);
+    }
+
+    // an OutputStream which sends everything written to it as frames of the given type; buffered by the PrintWriter on top of it
+    public static OutputStream framedOutputStream(DataOutputStream out, byte type) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                writeFrame(out, type, new byte[] { (byte) b });
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (len > 0) {
+                    writeFrame(out, type, b, off, len);
+                }
+            }
+        };
+    }
+
+    // the daemon lives in the folder it's for, so e.g. ASTRA_HOME or XDG_DATA_HOME implicitly give you a separate daemon
+    public static Path socketPath(Path astraHome) {
+        return astraHome.resolve("daemon").resolve("daemon.sock");
+    }
+
+    @SneakyThrows
+    public static Path createSocketDir(Path socketPath) {
+        val dir = socketPath.getParent();
+        Files.createDirectories(dir);
+
+        // only the current user should ever be able to connect to their own daemon
+        if (dir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwx------"));
+        }
+
+        return dir;
+    }
+
+    @SneakyThrows
+    public static void restrictSocketPermissions(Path socketPath) {
+        if (socketPath.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(socketPath, PosixFilePermissions.fromString("rw-------"));
+        }
+    }
+
+    // the daemon runs with its own environment (the cli reads a handful of env vars directly), so requests are only
+    // accepted if every env var that could change the cli's behavior has the same value on both ends
+    @SneakyThrows
+    public static String envFingerprint(CliProperties props) {
+        val relevant = new TreeMap<String, String>();
+
+        for (val name : List.of(
+            ConstEnvVars.IGNORE_MULTIPLE_PATHS,
+            ConstEnvVars.IGNORE_BETA_WARNINGS,
+            ConstEnvVars.NO_UPDATE_NOTIFIER,
+            ConstEnvVars.COMPLETIONS_SETUP,
+            ConstEnvVars.DEFAULT_ARGS,
+            ConstEnvVars.PROFILE,
+            props.rcEnvVar(),
+            props.homeEnvVar(),
+            "XDG_CONFIG_HOME",
+            "XDG_DATA_HOME",
+            "LOCALAPPDATA",
+            "NO_UPDATE_NOTIFIER"
+        )) {
+            relevant.put(name, String.valueOf(System.getenv(name)));
+        }
+
+        val digest = MessageDigest.getInstance("SHA-256").digest(relevant.toString().getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        val bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        val len = in.readInt();
+
+        if (len < 0 || len > MAX_PAYLOAD_SIZE) {
+            throw new IOException("Invalid string length in daemon request: " + len);
+        }
+
+        return new String(in.readNBytes(len), StandardCharsets.UTF_8);
+    }
+}
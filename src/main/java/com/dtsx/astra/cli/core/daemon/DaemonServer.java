@@ -0,0 +1,279 @@
+package com.dtsx.astra.cli.core.daemon;
+
+import com.dtsx.astra.cli.AstraCli;
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.config.AstraHome;
+import com.dtsx.astra.cli.core.daemon.DaemonProtocol.DaemonRequest;
+import com.dtsx.astra.cli.core.datatypes.Ref;
+import com.dtsx.astra.cli.core.output.AstraColors;
+import com.dtsx.astra.cli.core.output.AstraConsole;
+import com.dtsx.astra.cli.core.output.AstraLogger;
+import com.dtsx.astra.cli.core.output.AstraLogger.Level;
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.core.properties.CliEnvironment;
+import com.dtsx.astra.cli.core.properties.CliProperties;
+import com.dtsx.astra.cli.core.upgrades.UpgradeNotifier;
+import com.dtsx.astra.cli.gateways.GatewayProviderImpl;
+import lombok.SneakyThrows;
+import lombok.val;
+import picocli.CommandLine.Help.Ansi;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.dtsx.astra.cli.utils.MiscUtils.mkPrintWriter;
+
+// Keeps a jvm (and everything that's expensive to build per-invocation: the properties, the gateway provider, its
+// pooled http connections, and the in-memory info caches) warm between commands.
+//
+// Requests are executed one at a time, since AstraCli.run is built around a single global context. A request that
+// comes in while another one is running is rejected as busy, and the client just runs it in-process instead.
+public class DaemonServer {
+    private final Path socketPath;
+    private final Duration idleTimeout;
+
+    private final CliEnvironment cliEnv;
+    private final CliProperties properties;
+    private final String cwd;
+    private final String envFingerprint;
+
+    // the daemon's own stderr is redirected to its log file when it's started in the background
+    private final AstraLogger logger;
+
+    // the gateway provider outlives every request, so it always reads from whichever context is currently running
+    private final AtomicReference<Ref<CliContext>> current = new AtomicReference<>();
+    private final GatewayProviderImpl gateways;
+
+    private final ReentrantLock executionLock = new ReentrantLock();
+    private volatile Instant lastActivity = Instant.now();
+
+    public DaemonServer(CliContext ctx, Path socketPath, Duration idleTimeout) {
+        this.socketPath = socketPath;
+        this.idleTimeout = idleTimeout;
+
+        this.cliEnv = ctx.env().withoutTty(); // the client never uses the daemon when it's attached to a terminal
+
+        this.properties = ctx.properties();
+        this.cwd = currentWorkingDir();
+        this.envFingerprint = DaemonProtocol.envFingerprint(properties);
+        this.logger = ctx.log();
+        this.gateways = new GatewayProviderImpl(() -> current.get().get());
+    }
+
+    public static String currentWorkingDir() {
+        return Path.of("").toAbsolutePath().toString();
+    }
+
+    // blocks until the daemon's been idle for longer than the idle timeout, or the process is stopped
+    @SneakyThrows
+    public void run() {
+        DaemonProtocol.createSocketDir(socketPath);
+        Files.deleteIfExists(socketPath); // callers are expected to have already checked that no other daemon's alive
+
+        try (val server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            DaemonProtocol.restrictSocketPermissions(socketPath);
+            new DaemonInfo(ProcessHandle.current().pid(), properties.version().toString(), cwd, Instant.now(), idleTimeout).write(socketPath);
+
+            val cleanup = Thread.ofPlatform().unstarted(this::cleanup);
+            Runtime.getRuntime().addShutdownHook(cleanup);
+
+            Thread.ofVirtual().name("astra-daemon-idle-watcher").start(() -> closeWhenIdle(server));
+
+            logger.info("Listening on " + socketPath + " (idle timeout: " + idleTimeout + ")");
+
+            while (server.isOpen()) {
+                try {
+                    val client = server.accept();
+                    Thread.ofVirtual().name("astra-daemon-client").start(() -> handle(client));
+                } catch (ClosedChannelException e) {
+                    break;
+                }
+            }
+
+            logger.info("Shutting down after being idle for " + idleTimeout);
+            Runtime.getRuntime().removeShutdownHook(cleanup);
+        } finally {
+            cleanup();
+        }
+    }
+
+    private void handle(SocketChannel client) {
+        try (client) {
+            val in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(client)));
+            val out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(client)));
+
+            val request = DaemonRequest.readFrom(in);
+
+            val rejection = rejectionReason(request);
+
+            if (rejection.isPresent()) {
+                DaemonProtocol.writeFrame(out, DaemonProtocol.REJECTED, rejection.get().getBytes());
+                return;
+            }
+
+            if (!executionLock.tryLock()) {
+                DaemonProtocol.writeFrame(out, DaemonProtocol.REJECTED, "busy".getBytes());
+                return;
+            }
+
+            try {
+                DaemonProtocol.writeFrame(out, DaemonProtocol.ACCEPTED, new byte[0]);
+                val exitCode = execute(request, in, out);
+                DaemonProtocol.writeIntFrame(out, DaemonProtocol.EXIT, exitCode);
+            } finally {
+                lastActivity = Instant.now();
+                executionLock.unlock();
+            }
+        } catch (IOException e) {
+            logger.warn("Lost connection to client: " + e.getMessage());
+        }
+    }
+
+    private Optional<String> rejectionReason(DaemonRequest request) {
+        if (!request.cliVersion().equals(properties.version().toString())) {
+            return Optional.of("version mismatch (daemon is v" + properties.version() + ")");
+        }
+
+        // relative paths are resolved against the jvm's own working directory, which can't be changed per-request
+        if (!request.cwd().equals(cwd)) {
+            return Optional.of("working directory mismatch (daemon is in " + cwd + ")");
+        }
+
+        if (!request.envFingerprint().equals(envFingerprint)) {
+            return Optional.of("environment mismatch");
+        }
+
+        return Optional.empty();
+    }
+
+    private int execute(DaemonRequest request, DataInputStream in, DataOutputStream out) {
+        val stdout = mkPrintWriter(DaemonProtocol.framedOutputStream(out, DaemonProtocol.STDOUT), "stdout");
+        val stderr = mkPrintWriter(DaemonProtocol.framedOutputStream(out, DaemonProtocol.STDERR), "stderr");
+
+        val ctxRef = new Ref<CliContext>((getCtx) -> new CliContext(
+            cliEnv,
+            properties,
+            OutputType.HUMAN,
+            new AstraColors(Ansi.AUTO),
+            new AstraLogger(Level.REGULAR, getCtx, false, Optional.empty(), Optional.empty()),
+            new AstraConsole(new FramedStdin(in), stdout, stderr, null, getCtx, false),
+            new AstraHome(getCtx),
+            FileSystems.getDefault(),
+            gateways,
+            UpgradeNotifier::run,
+            Optional.empty()
+        ));
+
+        current.set(ctxRef);
+
+        try {
+            return AstraCli.run(ctxRef, request.args().toArray(String[]::new));
+        } catch (Throwable e) {
+            logger.warn("Unexpected error while running " + request.args() + ": " + e);
+            stderr.println("An unexpected error occurred in the astra daemon: " + e.getMessage());
+            return 99;
+        } finally {
+            stdout.flush();
+            stderr.flush();
+        }
+    }
+
+    @SneakyThrows
+    private void closeWhenIdle(ServerSocketChannel server) {
+        val checkInterval = Duration.ofSeconds(Math.clamp(idleTimeout.toSeconds() / 10, 1, 60));
+
+        while (server.isOpen()) {
+            Thread.sleep(checkInterval);
+
+            val idleFor = Duration.between(lastActivity, Instant.now());
+
+            if (!executionLock.isLocked() && idleFor.compareTo(idleTimeout) > 0) {
+                server.close();
+            }
+        }
+    }
+
+    private void cleanup() {
+        try {
+            Files.deleteIfExists(socketPath);
+            Files.deleteIfExists(DaemonInfo.pathFor(socketPath));
+        } catch (IOException e) {
+            logger.warn("Could not clean up daemon files: " + e.getMessage());
+        }
+    }
+
+    // stdin is only pulled from the client as the command actually reads it
+    private static class FramedStdin extends InputStream {
+        private final DataInputStream in;
+        private byte[] buffer = new byte[0];
+        private int pos = 0;
+        private boolean eof = false;
+
+        private FramedStdin(DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer[pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (!fill()) {
+                return -1;
+            }
+
+            val n = Math.min(len, buffer.length - pos);
+            System.arraycopy(buffer, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.length - pos;
+        }
+
+        private boolean fill() throws IOException {
+            while (pos >= buffer.length) {
+                if (eof) {
+                    return false;
+                }
+
+                val frame = DaemonProtocol.readFrame(in);
+
+                switch (frame.type()) {
+                    case DaemonProtocol.STDIN -> {
+                        buffer = frame.payload();
+                        pos = 0;
+                    }
+                    case DaemonProtocol.STDIN_EOF -> eof = true;
+                    default -> throw new IOException("Unexpected frame type from daemon client: " + frame.type());
+                }
+            }
+            return true;
+        }
+    }
+}
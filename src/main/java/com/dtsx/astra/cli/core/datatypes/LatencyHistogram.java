@@ -0,0 +1,86 @@
+package com.dtsx.astra.cli.core.datatypes;
+
+import lombok.val;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// A fixed-size, lock-free latency histogram in the style of HdrHistogram. Values (in microseconds) are bucketed by their
+// power of two, and each power of two is split into a fixed number of linear sub-buckets, so every value's reported back
+// to within ~1.6% of what was recorded, whether it was 200µs or 20s.
+//
+// Recording's just a couple of atomic increments, so it's safe (and cheap) to share one between many threads.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS + 2) * HALF_SUB_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(Duration latency) {
+        recordMicros(latency.toNanos() / 1000);
+    }
+
+    public void recordMicros(long micros) {
+        val value = Math.max(micros, 0);
+
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public long maxMicros() {
+        return max.get();
+    }
+
+    // the highest value which could've been bucketed alongside the value at the given percentile (0-100]
+    public long percentileMicros(double percentile) {
+        val total = count.get();
+
+        if (total == 0) {
+            return 0;
+        }
+
+        val target = Math.max((long) Math.ceil(percentile / 100 * total), 1);
+        var seen = 0L;
+
+        for (var i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+
+            if (seen >= target) {
+                return Math.min(highestValueAt(i), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        val shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        val subBucket = (int) (value >>> shift);
+
+        return shift * HALF_SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        val shift = index / HALF_SUB_BUCKETS - 1;
+        val subBucket = (long) (index % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS);
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
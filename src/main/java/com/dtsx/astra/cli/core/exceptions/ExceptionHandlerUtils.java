@@ -62,13 +62,14 @@ public class ExceptionHandlerUtils {
             case HUMAN -> response.renderAsHuman(ctx);
             case JSON -> response.renderAsJson();
             case CSV -> response.renderAsCsv();
+            case NDJSON -> response.renderAsNdjson();
         };
     }
 
     private Consumer<String> getPrintFnForOutput(CliContext ctx) {
         return switch (ctx.outputType()) {
             case HUMAN -> ctx.console()::errorln;
-            case JSON, CSV -> ctx.console()::unsafePrintln;
+            case JSON, CSV, NDJSON -> ctx.console()::unsafePrintln;
         };
     }
 }
@@ -3,7 +3,9 @@ package com.dtsx.astra.cli.core.exceptions;
 import com.dtsx.astra.cli.core.CliContext;
 import com.dtsx.astra.cli.core.datatypes.Ref;
 import com.dtsx.astra.cli.core.exceptions.external.AuthenticationExceptionMapper;
+import com.dtsx.astra.cli.core.exceptions.external.CircuitOpenExceptionMapper;
 import com.dtsx.astra.cli.core.exceptions.external.DatabaseNotFoundExceptionMapper;
+import com.dtsx.astra.cli.core.exceptions.external.RateLimitedExceptionMapper;
 import com.dtsx.astra.cli.core.exceptions.external.UserInterruptExceptionMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
@@ -19,6 +21,8 @@ public class ExecutionExceptionHandler implements IExecutionExceptionHandler {
         List.of(
             new DatabaseNotFoundExceptionMapper(),
             new AuthenticationExceptionMapper(),
+            new CircuitOpenExceptionMapper(),
+            new RateLimitedExceptionMapper(),
             new UserInterruptExceptionMapper()
         );
 
@@ -0,0 +1,44 @@
+package com.dtsx.astra.cli.core.exceptions.external;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.core.exceptions.ExecutionExceptionHandler.ExternalExceptionMapper;
+import com.dtsx.astra.cli.gateways.resilience.CircuitOpenException;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+import picocli.CommandLine;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.IO_ISSUE;
+
+// the devops sdk wraps any I/O failure in its own exception, so the CircuitOpenException may be a few causes deep
+public class CircuitOpenExceptionMapper implements ExternalExceptionMapper<Exception> {
+    @Override
+    public boolean canMap(Exception ex) {
+        return findCause(ex) != null;
+    }
+
+    @Override
+    public AstraCliException mapExceptionInternal(Exception ex, CommandLine commandLine, CommandLine.ParseResult fullParseResult, CliContext ctx) {
+        val cause = findCause(ex);
+
+        return new AstraCliException(IO_ISSUE, """
+          @|bold,red Error: The Astra DevOps API appears to be unavailable|@
+        
+          Requests to %s have been failing repeatedly, so further requests are being failed fast for now rather than waiting out their own retries.
+        
+          Please try again in %d seconds, or check the Astra status page if the issue persists.
+        """.formatted(
+            ctx.highlight(cause.host),
+            Math.max(1, cause.retryIn.toSeconds())
+        ));
+    }
+
+    private static @Nullable CircuitOpenException findCause(Throwable ex) {
+        for (var e = ex; e != null; e = (e.getCause() == e) ? null : e.getCause()) {
+            if (e instanceof CircuitOpenException coe) {
+                return coe;
+            }
+        }
+        return null;
+    }
+}
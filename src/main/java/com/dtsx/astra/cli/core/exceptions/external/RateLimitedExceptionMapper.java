@@ -0,0 +1,34 @@
+package com.dtsx.astra.cli.core.exceptions.external;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.core.exceptions.ExecutionExceptionHandler.ExternalExceptionMapper;
+import com.dtsx.astra.cli.gateways.resilience.RateLimitedException;
+import com.dtsx.astra.cli.gateways.resilience.RetryLaterException;
+import lombok.val;
+import picocli.CommandLine;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.IO_ISSUE;
+
+public class RateLimitedExceptionMapper implements ExternalExceptionMapper<Exception> {
+    @Override
+    public boolean canMap(Exception ex) {
+        return RetryLaterException.findIn(ex).filter(RateLimitedException.class::isInstance).isPresent();
+    }
+
+    @Override
+    public AstraCliException mapExceptionInternal(Exception ex, CommandLine commandLine, CommandLine.ParseResult fullParseResult, CliContext ctx) {
+        val cause = (RateLimitedException) RetryLaterException.findIn(ex).orElseThrow();
+
+        return new AstraCliException(IO_ISSUE, """
+          @|bold,red Error: The Astra DevOps API asked for requests to be retried later|@
+        
+          Requests to %s are being turned away, and the server asked for them not to be retried for another %d seconds.
+        
+          Please try again later, or run fewer commands against the same organization at once.
+        """.formatted(
+            ctx.highlight(cause.host),
+            Math.max(1, cause.retryIn.toSeconds())
+        ));
+    }
+}
@@ -4,14 +4,19 @@ import com.dtsx.astra.cli.core.CliContext;
 import com.dtsx.astra.cli.core.exceptions.AstraCliException;
 import com.dtsx.astra.cli.core.exceptions.internal.cli.CongratsYouFoundABugException;
 import com.dtsx.astra.cli.core.exceptions.internal.cli.OptionValidationException;
+import com.dtsx.astra.cli.gateways.resilience.RetryLaterException;
 import lombok.val;
 import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Spec;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -62,7 +67,31 @@ public final class LongRunningOptionsMixin {
         this.timeout = Optional.of(timeout);
     }
 
-    public static <S> Duration awaitGenericStatus(CliContext ctx, String thing, S target, Supplier<S> fetchStatus, Function<S, String> highlightStatus, Duration timeout) {
+    // How often awaitGenericStatus should re-check the status of the thing it's waiting on.
+    //
+    // A few fast probes first (some operations, like resuming a db, are often done within seconds), then exponential
+    // backoff with jitter up to some cap (region creation can take many minutes; no need to hammer the devops api).
+    public record PollingStrategy(int fastProbes, Duration fastProbeInterval, Duration initialBackoff, double multiplier, Duration maxBackoff, double jitter) {
+        public static final PollingStrategy QUICK = new PollingStrategy(4, Duration.ofMillis(500), Duration.ofSeconds(1), 1.5, Duration.ofSeconds(5), 0.2);
+        public static final PollingStrategy STANDARD = new PollingStrategy(2, Duration.ofSeconds(1), Duration.ofSeconds(2), 1.5, Duration.ofSeconds(15), 0.2);
+        public static final PollingStrategy SLOW = new PollingStrategy(1, Duration.ofSeconds(2), Duration.ofSeconds(5), 2, Duration.ofSeconds(30), 0.2);
+        public static final PollingStrategy REGION_CHANGE = new PollingStrategy(1, Duration.ofSeconds(5), Duration.ofSeconds(10), 1.5, Duration.ofSeconds(60), 0.2);
+
+        // `polls` is the number of times the status has been fetched so far, not including the initial fetch
+        public Duration delayAfter(int polls, DoubleSupplier random) {
+            if (polls < fastProbes) {
+                return fastProbeInterval;
+            }
+
+            val exponent = Math.min(polls - fastProbes, 32); // avoids overflowing to infinity on very long waits
+            val backoff = Math.min(initialBackoff.toMillis() * Math.pow(multiplier, exponent), maxBackoff.toMillis());
+            val jittered = backoff * (1 - jitter + (2 * jitter * random.getAsDouble()));
+
+            return Duration.ofMillis(Math.round(Math.min(jittered, maxBackoff.toMillis())));
+        }
+    }
+
+    public static <S> Duration awaitGenericStatus(CliContext ctx, String thing, S target, Supplier<S> fetchStatus, Function<S, String> highlightStatus, Duration timeout, Function<S, PollingStrategy> strategyFor) {
         val startTime = System.currentTimeMillis();
 
         var status = new AtomicReference<>(
@@ -73,14 +102,21 @@ public final class LongRunningOptionsMixin {
             return Duration.ZERO;
         }
 
+        val initialStatus = status.get();
+        val strategy = strategyFor.apply(initialStatus);
+
+        ctx.log().debug("Polling ", stripAnsi(thing), " with ", strategy.toString());
+
         val initialMessage = "Waiting for %s to become %s (currently %s)"
             .formatted(thing, highlightStatus.apply(target), highlightStatus.apply(status.get()));
 
         return ctx.log().loading(initialMessage, (updateMsg) -> {
-            var cycles = 0;
+            var polls = 0;
+            var nextPollAt = startTime + strategy.delayAfter(polls, ThreadLocalRandom.current()::nextDouble).toMillis();
 
             while (!status.get().equals(target)) {
-                val elapsed = Duration.ofMillis(System.currentTimeMillis() - startTime);
+                val now = System.currentTimeMillis();
+                val elapsed = Duration.ofMillis(now - startTime);
 
                 if (timeout.isPositive() && elapsed.compareTo(timeout) >= 0) {
                     throw new AstraCliException(TIMED_OUT, """
@@ -99,30 +135,50 @@ public final class LongRunningOptionsMixin {
                 }
 
                 try {
-                    updateMsg.accept(
-                        "Waiting for %s to become %s (currently %s, elapsed: %ds)"
-                            .formatted(thing, highlightStatus.apply(target), highlightStatus.apply(status.get()), elapsed.toSeconds())
-                    );
-
-                    if (cycles % 5 == 0) {
+                    if (now >= nextPollAt) {
                         updateMsg.accept(
                             "Checking if %s is status %s (currently %s, elapsed: %ds)"
                                 .formatted(thing, highlightStatus.apply(target), highlightStatus.apply(status.get()), elapsed.toSeconds())
                         );
 
-                        status.set(fetchStatus.get());
+                        var delay = strategy.delayAfter(polls + 1, ThreadLocalRandom.current()::nextDouble);
+
+                        try {
+                            status.set(fetchStatus.get());
+                        } catch (RuntimeException e) {
+                            // the status can't have been seen to change, so just come back once the server says to
+                            val retryIn = RetryLaterException.findIn(e).orElseThrow(() -> e).retryIn;
+                            ctx.log().debug("Polling ", stripAnsi(thing), " again in ", String.valueOf(retryIn.toMillis()), "ms after: ", e.getMessage());
+                            delay = Collections.max(List.of(delay, retryIn));
+                        }
+
+                        polls++;
+                        nextPollAt = System.currentTimeMillis() + delay.toMillis();
                     }
 
-                    Thread.sleep(1000);
+                    updateMsg.accept(
+                        "Waiting for %s to become %s (currently %s, elapsed: %ds)"
+                            .formatted(thing, highlightStatus.apply(target), highlightStatus.apply(status.get()), elapsed.toSeconds())
+                    );
+
+                    if (!status.get().equals(target)) {
+                        // sleep in short ticks (rather than the whole backoff at once) so the elapsed time stays up to date
+                        Thread.sleep(Math.max(0, Math.min(1000, nextPollAt - System.currentTimeMillis())));
+                    }
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     break;
                 }
-
-                cycles++;
             }
 
-            return Duration.ofMillis(System.currentTimeMillis() - startTime);
+            val timeToDetection = Duration.ofMillis(System.currentTimeMillis() - startTime);
+
+            ctx.log().debug(
+                "Detected ", stripAnsi(thing), " going from ", String.valueOf(initialStatus), " to ", String.valueOf(target),
+                " after ", String.valueOf(polls), " poll(s) in ", String.valueOf(timeToDetection.toMillis()), "ms"
+            );
+
+            return timeToDetection;
         });
     }
 }
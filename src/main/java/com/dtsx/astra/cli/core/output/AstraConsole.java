@@ -61,6 +61,10 @@ public class AstraConsole {
         writeln(getOut(), items); // no check on output format
     }
 
+    public void flush() {
+        getOut().flush();
+    }
+
     public void error(String... items) {
         write(getErr(), items);
     }
@@ -2,17 +2,15 @@ package com.dtsx.astra.cli.core.output;
 
 import com.dtsx.astra.cli.core.CliContext;
 import com.dtsx.astra.cli.core.datatypes.Thunk;
+import com.dtsx.astra.cli.core.tracing.Profiler;
 import com.dtsx.astra.cli.utils.MiscUtils;
-import lombok.Cleanup;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
 import lombok.val;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -32,7 +30,13 @@ public class AstraLogger {
     private final boolean shouldDumpLogs;
     private final Supplier<Path> sessionLogFile;
 
-    private final List<String> accumulated = Collections.synchronizedList(new ArrayList<>());
+    // without --dump-logs, only the most recent lines are kept around, in case an error means they need dumping after all
+    private static final int MAX_BUFFERED_LINES = 5_000;
+    private final ArrayDeque<String> buffered = new ArrayDeque<>();
+    private int droppedFromBuffer = 0;
+
+    // with --dump-logs, lines are streamed straight to the session log file instead
+    private @Nullable SessionLogWriter sessionLogWriter;
 
     private Optional<LoadingSpinner> globalSpinner = Optional.empty();
     private final Supplier<Boolean> spinnerEnabled;
@@ -52,7 +56,7 @@ public class AstraLogger {
         if (dumpLogsTo.isPresent()) {
             this.sessionLogFile = dumpLogsTo::get;
 
-            info("Dumping logs to '", dumpLogsTo.get().toString(), "' at the end of this command.");
+            info("Writing logs to '", dumpLogsTo.get().toString(), "'.");
         } else {
             val cachedLogFile = new Object() {
                 Path ref = null;
@@ -61,7 +65,7 @@ public class AstraLogger {
             this.sessionLogFile = () -> {
                 if (cachedLogFile.ref == null) {
                     val timestamp = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss").format(Instant.now().atZone(ZoneId.systemDefault()));
-                    cachedLogFile.ref = ctx().home().dirs.logs.use().resolve(timestamp + ".astra.log");
+                    cachedLogFile.ref = ctx().home().dirs.logs.use().resolve(timestamp + SessionLogWriter.SESSION_LOG_SUFFIX);
                 }
                 return cachedLogFile.ref;
             };
@@ -135,12 +139,20 @@ public class AstraLogger {
             globalSpinner.ifPresent(s -> s.pushMessage(initialMsg));
         }
 
+        val span = Profiler.span(AstraColors.stripAnsi(initialMsg));
+
         try {
             return supplier.apply((msg) -> {
                 globalSpinner.ifPresent(s -> s.updateMessage(msg));
-                accumulated.add("[LOADING:UPDATED] " + msg);
+                accumulate("[LOADING:UPDATED] " + msg);
+                span.mark(AstraColors.stripAnsi(msg));
             });
+        } catch (Throwable e) {
+            span.failed(e);
+            throw e;
         } finally {
+            span.close();
+
             if (isFirstLoading) {
                 globalSpinner.ifPresent(LoadingSpinner::stop);
                 globalSpinner = Optional.empty();
@@ -151,6 +163,11 @@ public class AstraLogger {
         }
     }
 
+    // shows e.g. "(3/10)" after the current loading message while concurrent sub-tasks are running; total = 0 hides it
+    public void loadingProgress(int done, int total) {
+        globalSpinner.ifPresent(s -> s.setProgress(done, total));
+    }
+
     public void exception(String... msg) {
         log(ctx().colors().RED_500.use("[ERROR] ") + String.join("", msg), Level.VERBOSE, true);
     }
@@ -167,7 +184,7 @@ public class AstraLogger {
 
     private void log(String msg, Level minLevel, boolean appendToAccumulated) {
         if (appendToAccumulated) {
-            accumulated.add(msg);
+            accumulate(msg);
         }
 
         if (level.ordinal() < minLevel.ordinal()) {
@@ -189,42 +206,51 @@ public class AstraLogger {
         return shouldDumpLogs;
     }
 
+    private void accumulate(String line) {
+        if (shouldDumpLogs && !logsDumped) {
+            try {
+                useSessionLogWriter().append(line);
+                return;
+            } catch (Exception _) {} // e.g. the logs dir can't be created; still worth holding onto the line
+        }
+
+        synchronized (buffered) {
+            if (buffered.size() == MAX_BUFFERED_LINES) {
+                buffered.removeFirst();
+                droppedFromBuffer++;
+            }
+            buffered.addLast(line);
+        }
+    }
+
+    private synchronized SessionLogWriter useSessionLogWriter() {
+        if (sessionLogWriter == null) {
+            SessionLogWriter.deleteOldLogs(ctx().home().dirs.logs.use(), 25);
+            sessionLogWriter = new SessionLogWriter(sessionLogFile.get(), (line) -> ctx().colors().format(line));
+        }
+        return sessionLogWriter;
+    }
+
+    // if the logs were being streamed, this just waits for the rest of them to be written;
+    // otherwise, whatever's left in the buffer is written out all at once
     public void dumpLogsToFile() {
         if (logsDumped) {
             return;
         }
-        logsDumped = true;
 
-        try (var writer = Files.newBufferedWriter(sessionLogFile.get())) {
-            deleteOldLogs(ctx().home().dirs.logs.use());
+        try {
+            val writer = useSessionLogWriter();
 
-            for (val line : accumulated) {
-                writer.write(AstraColors.stripAnsi(ctx().colors().format(line)));
-                writer.write(System.lineSeparator());
+            synchronized (buffered) {
+                if (droppedFromBuffer > 0) {
+                    writer.append("[... " + droppedFromBuffer + " earlier lines dropped ...]");
+                }
+                buffered.forEach(writer::append);
+                buffered.clear();
             }
-        } catch (Exception _) {}
-    }
 
-    private void deleteOldLogs(Path logsDir) {
-        try {
-            @Cleanup val logFiles = Files.list(logsDir);
-
-            logFiles
-                .sorted(Comparator.<Path, FileTime>comparing((path) -> {
-                    try {
-                        return Files.getLastModifiedTime(path);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                }).reversed())
-                .skip(25)
-                .forEach((f) -> {
-                    try {
-                        Files.delete(f);
-                    } catch (Exception e) {
-                        exception("Error deleting old log file '", f.toString(), "': ", e.getMessage());
-                    }
-                });
+            logsDumped = true;
+            writer.close();
         } catch (Exception _) {}
     }
 
@@ -18,6 +18,8 @@ public class LoadingSpinner {
     private final AtomicBoolean isRunning = new AtomicBoolean(false);
     private final AtomicBoolean isPaused = new AtomicBoolean(false);
     private final AtomicInteger lastLineLength = new AtomicInteger(0);
+    private final AtomicInteger subTasksDone = new AtomicInteger(0);
+    private final AtomicInteger subTasksTotal = new AtomicInteger(0);
     private Thread spinnerThread;
     private volatile CountDownLatch pauseLatch;
 
@@ -54,6 +56,19 @@ public class LoadingSpinner {
         }
     }
     
+    public void setProgress(int done, int total) {
+        subTasksDone.set(done);
+        subTasksTotal.set(total);
+    }
+
+    private String progressSuffix() {
+        val total = subTasksTotal.get();
+
+        return (total > 0)
+            ? " (" + subTasksDone.get() + "/" + total + ")"
+            : "";
+    }
+
     public void pushMessage(String message) {
         synchronized (messageStack) {
             messageStack.push(message);
@@ -120,7 +135,7 @@ public class LoadingSpinner {
                 continue;
             }
 
-            val currentLine = ctx.colors().BLUE_300.use(SPINNER_FRAMES[frameIndex] + " ") + getCurrentMessage() + "...";
+            val currentLine = ctx.colors().BLUE_300.use(SPINNER_FRAMES[frameIndex] + " ") + getCurrentMessage() + progressSuffix() + "...";
             val clearLine = "\r" + " ".repeat(lastLineLength.get()) + "\r";
             ctx.console().error(clearLine + currentLine);
             lastLineLength.set(AstraColors.stripAnsi(currentLine).length());
@@ -0,0 +1,194 @@
+package com.dtsx.astra.cli.core.output;
+
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
+
+// logging never waits on the disk; if the writer falls too far behind, lines are dropped (w/ a note of how many)
+public class SessionLogWriter {
+    public static final String SESSION_LOG_SUFFIX = ".astra.log";
+
+    private static final int MAX_QUEUED_LINES = 10_000;
+    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final int MAX_ROTATED_FILES = 3;
+
+    private final Path file;
+    private final UnaryOperator<String> formatter;
+    private final long maxFileSize;
+
+    private final BlockingQueue<String> queue;
+    private final AtomicInteger dropped = new AtomicInteger();
+    private volatile boolean closed = false;
+    private volatile boolean failed = false;
+
+    private final Thread thread;
+    private final Thread shutdownHook;
+
+    // only ever touched by the writer thread
+    private @Nullable Writer writer;
+    private long bytesWritten;
+
+    public SessionLogWriter(Path file, UnaryOperator<String> formatter) {
+        this(file, formatter, MAX_QUEUED_LINES, MAX_FILE_SIZE);
+    }
+
+    @VisibleForTesting
+    public SessionLogWriter(Path file, UnaryOperator<String> formatter, int maxQueuedLines, long maxFileSize) {
+        this.file = file;
+        this.formatter = formatter;
+        this.maxFileSize = maxFileSize;
+        this.queue = new ArrayBlockingQueue<>(maxQueuedLines);
+
+        this.thread = Thread.ofVirtual().name("astra-session-log").start(this::run);
+        this.shutdownHook = new Thread(this::close);
+
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public void append(String line) {
+        if (closed || failed || !queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            thread.join(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException _) {} // already shutting down (possibly from within the hook itself)
+    }
+
+    private void run() {
+        val batch = new ArrayList<String>();
+
+        try {
+            while (!closed || !queue.isEmpty()) {
+                val first = queue.poll(50, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch);
+
+                write(batch);
+                batch.clear();
+            }
+
+            if (dropped.get() > 0) {
+                write(List.of());
+            }
+        } catch (Exception _) {
+            failed = true; // logging's best-effort; it should never take the command down with it
+            queue.clear();
+        } finally {
+            try {
+                if (writer != null) {
+                    writer.close();
+                }
+            } catch (IOException _) {}
+        }
+    }
+
+    private void write(List<String> lines) throws IOException {
+        val droppedLines = dropped.getAndSet(0);
+
+        if (droppedLines > 0) {
+            writeLine("[... " + droppedLines + " lines dropped; the log writer couldn't keep up ...]");
+        }
+
+        for (val line : lines) {
+            writeLine(AstraColors.stripAnsi(formatter.apply(line)));
+        }
+
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private void writeLine(String line) throws IOException {
+        val size = line.getBytes(StandardCharsets.UTF_8).length + NL.length();
+
+        if (writer == null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            writer = Files.newBufferedWriter(file);
+        } else if (bytesWritten + size > maxFileSize) {
+            rotate();
+        }
+
+        writer.write(line);
+        writer.write(NL);
+        bytesWritten += size;
+    }
+
+    private void rotate() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+
+        Files.deleteIfExists(rotatedFile(MAX_ROTATED_FILES));
+
+        for (var i = MAX_ROTATED_FILES - 1; i >= 1; i--) {
+            if (Files.exists(rotatedFile(i))) {
+                Files.move(rotatedFile(i), rotatedFile(i + 1));
+            }
+        }
+
+        Files.move(file, rotatedFile(1));
+
+        writer = Files.newBufferedWriter(file);
+        bytesWritten = 0;
+    }
+
+    private Path rotatedFile(int n) {
+        return file.resolveSibling(file.getFileName() + "." + n);
+    }
+
+    // named after when their session started, so sorting by name is enough; anything else in there is left alone
+    public static void deleteOldLogs(Path logsDir, int sessionsToKeep) {
+        try (val files = Files.list(logsDir)) {
+            val sessions = new TreeMap<String, List<Path>>(Comparator.reverseOrder());
+
+            for (val path : files.toList()) {
+                val name = path.getFileName().toString();
+                val suffixIdx = name.indexOf(SESSION_LOG_SUFFIX);
+
+                if (suffixIdx >= 0) {
+                    sessions.computeIfAbsent(name.substring(0, suffixIdx), (_) -> new ArrayList<>()).add(path);
+                }
+            }
+
+            sessions.values().stream().skip(sessionsToKeep).flatMap(List::stream).forEach((path) -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException _) {}
+            });
+        } catch (Exception _) {}
+    }
+}
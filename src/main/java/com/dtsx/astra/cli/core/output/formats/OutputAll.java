@@ -9,7 +9,7 @@ import java.util.List;
 import java.util.SequencedMap;
 import java.util.function.Supplier;
 
-public interface OutputAll extends OutputHuman, OutputJson, OutputCsv {
+public interface OutputAll extends OutputHuman, OutputJson, OutputCsv, OutputNdjson {
     static OutputAll response(CharSequence message, @Nullable SequencedMap<String, Object> data, @Nullable List<Hint> nextSteps, ExitCode exitCode) {
         return instance(() -> OutputHuman.response(message, nextSteps), () -> OutputJson.response(message, data, nextSteps, exitCode), () -> OutputCsv.response(message, data, exitCode));
     }
@@ -30,6 +30,56 @@ public interface OutputAll extends OutputHuman, OutputJson, OutputCsv {
         return instance(() -> OutputHuman.serializeValue(o), () -> OutputJson.serializeValue(o), () -> OutputCsv.serializeValue(o));
     }
 
+    // for commands which have already written their actual output out themselves (e.g. straight to stdout as it came in)
+    static OutputAll empty() {
+        return new OutputAll() {
+            @Override
+            public String renderAsHuman(CliContext ctx) {
+                return "";
+            }
+
+            @Override
+            public String renderAsJson() {
+                return "";
+            }
+
+            @Override
+            public String renderAsCsv() {
+                return "";
+            }
+
+            @Override
+            public String renderAsNdjson() {
+                return "";
+            }
+        };
+    }
+
+    // for commands which have already streamed their machine-readable output themselves, but still summarize it for humans
+    static OutputAll humanOnly(Supplier<OutputHuman> human) {
+        return new OutputAll() {
+            @Override
+            public String renderAsHuman(CliContext ctx) {
+                return human.get().renderAsHuman(ctx);
+            }
+
+            @Override
+            public String renderAsJson() {
+                return "";
+            }
+
+            @Override
+            public String renderAsCsv() {
+                return "";
+            }
+
+            @Override
+            public String renderAsNdjson() {
+                return "";
+            }
+        };
+    }
+
     static OutputAll instance(Supplier<OutputHuman> human, Supplier<OutputJson> json, Supplier<OutputCsv> csv) {
         return new OutputAll() {
             @Override
@@ -49,11 +99,17 @@ public interface OutputAll extends OutputHuman, OutputJson, OutputCsv {
         };
     }
 
+    @Override
+    default String renderAsNdjson() {
+        return OutputNdjson.fromJson(this).renderAsNdjson();
+    }
+
     default String render(CliContext ctx) {
         return switch (ctx.outputType()) {
             case HUMAN -> renderAsHuman(ctx);
             case JSON -> renderAsJson();
             case CSV -> renderAsCsv();
+            case NDJSON -> renderAsNdjson();
         };
     }
 }
@@ -0,0 +1,42 @@
+package com.dtsx.astra.cli.core.output.formats;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.output.serializers.OutputSerializer;
+import com.dtsx.astra.cli.utils.JsonUtils;
+
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
+
+@FunctionalInterface
+public interface OutputNdjson {
+    String renderAsNdjson();
+
+    // a single json document is still valid ndjson, as long as it's all on one line
+    static OutputNdjson fromJson(OutputJson json) {
+        return () -> JsonUtils.writeValue(JsonUtils.readTree(json.renderAsJson()));
+    }
+
+    // one compact json value per line, each written out as soon as the stream produces it
+    static OutputNdjson serializeValues(Stream<?> values) {
+        return new StreamedValues(values);
+    }
+
+    record StreamedValues(Stream<?> values) implements OutputNdjson, OutputStreaming {
+        @Override
+        public String renderAsNdjson() {
+            return values.map(StreamedValues::serialize).collect(Collectors.joining(NL));
+        }
+
+        @Override
+        public void streamTo(CliContext ctx, Consumer<String> out) {
+            values.map(StreamedValues::serialize).forEach(out);
+        }
+
+        private static String serialize(Object value) {
+            return JsonUtils.writeValue(OutputSerializer.serializeAsJson(value));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.dtsx.astra.cli.core.output.formats;
+
+import com.dtsx.astra.cli.core.CliContext;
+
+import java.util.function.Consumer;
+
+// Outputs which can write themselves out a chunk (usually a line) at a time as their data arrives, rather than having to
+// be rendered into one big string first. AbstractCmd prefers this over the regular render methods when it's available.
+@FunctionalInterface
+public interface OutputStreaming {
+    void streamTo(CliContext ctx, Consumer<String> out);
+}
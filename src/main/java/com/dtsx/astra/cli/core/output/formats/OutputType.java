@@ -3,7 +3,8 @@ package com.dtsx.astra.cli.core.output.formats;
 public enum OutputType {
     HUMAN,
     JSON,
-    CSV;
+    CSV,
+    NDJSON;
 
     public boolean isHuman() {
         return this == HUMAN;
@@ -4,6 +4,7 @@ import com.dtsx.astra.cli.core.CliContext;
 import lombok.val;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
 
@@ -16,6 +17,19 @@ public record ShellTable(List<? extends Map<String, ?>> raw) {
         return new RenderableShellTable(rows, Arrays.asList("Attribute", "Value"));
     }
 
+    public static StreamingShellTable streaming(Stream<? extends Map<String, ?>> rows, String... columnNames) {
+        val columnNamesList = List.of(columnNames);
+
+        val clonedRows = rows
+            .map((row) -> {
+                val cloned = new HashMap<String, Object>(row);
+                cloned.keySet().retainAll(columnNamesList);
+                return cloned;
+            });
+
+        return new StreamingShellTable(clonedRows, columnNamesList);
+    }
+
     public static String highlight(CliContext ctx, String s) {
         return ctx.colors().PURPLE_300.use(s);
     }
@@ -17,21 +17,23 @@ public record ShellTableRendererCsv(RenderableShellTable table) implements Outpu
         return buildHeaders(table.columns()) + NL + buildValues(table.raw(), table.columns());
     }
 
-    private String buildHeaders(List<String> columns) {
+    static String buildHeaders(List<String> columns) {
         return "code,message" + columns.stream().map(s -> "," + titleToSnakeCase(s)).collect(Collectors.joining(""));
     }
 
-    private String buildValues(List<? extends Map<String, ?>> raw, List<String> columns) {
-        return raw.stream()
-            .map((row) -> {
-                val ret = new StringJoiner(",");
+    static String buildRow(Map<String, ?> row, List<String> columns) {
+        val ret = new StringJoiner(",");
+
+        for (val col : columns) {
+            ret.add(OutputSerializer.serializeAsCsv(row.get(col)));
+        }
 
-                for (val col : columns) {
-                    ret.add(OutputSerializer.serializeAsCsv(row.get(col)));
-                }
+        return "OK,," + ret;
+    }
 
-                return "OK,," + ret;
-            })
+    private String buildValues(List<? extends Map<String, ?>> raw, List<String> columns) {
+        return raw.stream()
+            .map((row) -> buildRow(row, columns))
             .collect(Collectors.joining(NL));
     }
 }
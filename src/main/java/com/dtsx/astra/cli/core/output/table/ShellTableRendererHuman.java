@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.dtsx.astra.cli.utils.StringUtils.NL;
@@ -22,8 +23,7 @@ public final class ShellTableRendererHuman implements OutputHuman {
 
     @Override
     public String renderAsHuman(CliContext ctx) {
-        this.TABLE_COLOR = ctx.colors().BLUE_300;
-        this.DATA_COLOR = ctx.colors().NEUTRAL_300;
+        initColors(ctx);
 
         val serialized = serialize(table.raw());
         val colSizes = computeColumnWidths(serialized, table.columns());
@@ -42,6 +42,54 @@ public final class ShellTableRendererHuman implements OutputHuman {
         return joiner.add(buildFullWidthTableLine(table.columns(), colSizes, "└", "┴", "┘")).toString();
     }
 
+    // Here, table.raw() is only a sample of the first few rows, which the column widths are fixed from so the table can
+    // start being printed right away. Rows from `rest` are then printed one by one as they arrive, with any cell that's
+    // wider than its (already printed) column being truncated. If `rest` is empty, this prints the same as renderAsHuman.
+    void streamAsHuman(CliContext ctx, Iterator<? extends Map<String, ?>> rest, Consumer<String> out) {
+        initColors(ctx);
+
+        val sample = serialize(table.raw());
+        val colSizes = computeColumnWidths(sample, table.columns());
+
+        out.accept(buildFullWidthTableLine(table.columns(), colSizes, "┌", "┬", "┐"));
+        out.accept(buildTableHeader(table.columns(), colSizes));
+        out.accept(buildFullWidthTableLine(table.columns(), colSizes, "├", "┼", "┤"));
+
+        if (!sample.isEmpty()) {
+            out.accept(buildTableData(sample, table.columns(), colSizes));
+        }
+
+        while (rest.hasNext()) {
+            val row = truncateToFit(serialize(List.of(rest.next())).getFirst(), colSizes);
+            out.accept(buildTableData(List.of(row), table.columns(), colSizes));
+        }
+
+        out.accept(buildFullWidthTableLine(table.columns(), colSizes, "└", "┴", "┘"));
+    }
+
+    private void initColors(CliContext ctx) {
+        this.TABLE_COLOR = ctx.colors().BLUE_300;
+        this.DATA_COLOR = ctx.colors().NEUTRAL_300;
+    }
+
+    private Map<String, List<String>> truncateToFit(Map<String, List<String>> row, Map<String, Integer> colSizes) {
+        val ret = new HashMap<String, List<String>>();
+
+        row.forEach((col, lines) -> ret.put(col, lines.stream()
+            .map((line) -> {
+                val width = colSizes.getOrDefault(col, Integer.MAX_VALUE);
+                val stripped = AstraColors.stripAnsi(line);
+
+                return (stripped.length() > width)
+                    ? stripped.substring(0, width - 1) + "…"
+                    : line;
+            })
+            .toList()
+        ));
+
+        return ret;
+    }
+
     private List<Map<String, List<String>>> serialize(List<? extends Map<String, ?>> raw) {
         return raw.stream()
             .map((map) -> {
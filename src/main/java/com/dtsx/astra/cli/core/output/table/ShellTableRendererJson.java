@@ -1,28 +1,61 @@
 package com.dtsx.astra.cli.core.output.table;
 
 import com.dtsx.astra.cli.core.output.formats.OutputJson;
+import com.dtsx.astra.cli.core.output.formats.OutputNdjson;
 import com.dtsx.astra.cli.core.output.serializers.OutputSerializer;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import lombok.val;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
 import static com.dtsx.astra.cli.utils.StringUtils.titleToCamelCase;
 
-public record ShellTableRendererJson(RenderableShellTable table) implements OutputJson {
+public record ShellTableRendererJson(RenderableShellTable table) implements OutputJson, OutputNdjson {
     @Override
     public String renderAsJson() {
         return OutputJson.serializeValue(serialize(table.raw())).renderAsJson();
     }
 
+    // one row per line, without the usual {code, data} envelope
+    @Override
+    public String renderAsNdjson() {
+        return table.raw().stream()
+            .map((row) -> buildNdjsonRow(row, table.columns()))
+            .collect(Collectors.joining(NL));
+    }
+
+    // keys follow the table's column order (then any extra keys), since each line's meant to be read on its own
+    static String buildNdjsonRow(Map<String, ?> row, List<String> columns) {
+        val ordered = new LinkedHashMap<String, Object>();
+
+        for (val column : columns) {
+            if (row.containsKey(column)) {
+                ordered.put(titleToCamelCase(column), OutputSerializer.serializeAsJson(row.get(column)));
+            }
+        }
+
+        for (val e : row.entrySet()) {
+            ordered.putIfAbsent(titleToCamelCase(e.getKey()), OutputSerializer.serializeAsJson(e.getValue()));
+        }
+
+        return JsonUtils.writeValue(ordered);
+    }
+
     private List<Map<String, Object>> serialize(List<? extends Map<String, ?>> raw) {
         return raw.stream()
-            .map((row) ->
-                row.entrySet().stream()
-                    .collect(Collectors.toMap(
-                        e -> titleToCamelCase(e.getKey()),
-                        e -> OutputSerializer.serializeAsJson(e.getValue())
-                    )))
+            .map(ShellTableRendererJson::serializeRow)
             .toList();
     }
+
+    private static Map<String, Object> serializeRow(Map<String, ?> row) {
+        return row.entrySet().stream()
+            .collect(Collectors.toMap(
+                e -> titleToCamelCase(e.getKey()),
+                e -> OutputSerializer.serializeAsJson(e.getValue())
+            ));
+    }
 }
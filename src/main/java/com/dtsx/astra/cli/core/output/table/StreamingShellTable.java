@@ -0,0 +1,72 @@
+package com.dtsx.astra.cli.core.output.table;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.output.formats.OutputAll;
+import com.dtsx.astra.cli.core.output.formats.OutputStreaming;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// A RenderableShellTable backed by a (lazy) Stream instead of a List, so e.g. a paginated listing can be printed as each
+// page comes in, without ever holding every row in memory at once.
+//
+// When streamed, csv & ndjson are written out row by row, and the human table fixes its column widths after sampling the
+// first HUMAN_SAMPLE_SIZE rows. Json is still a single document, so it (like the regular render methods, which are just
+// kept as a fallback) has to collect the whole stream first. The stream may only be consumed once either way.
+public record StreamingShellTable(Stream<? extends Map<String, ?>> rows, List<String> columns) implements OutputAll, OutputStreaming {
+    public static final int HUMAN_SAMPLE_SIZE = 100;
+
+    @Override
+    public void streamTo(CliContext ctx, Consumer<String> out) {
+        switch (ctx.outputType()) {
+            case HUMAN -> {
+                val iterator = rows.iterator();
+                val sample = new ArrayList<Map<String, ?>>();
+
+                while (sample.size() < HUMAN_SAMPLE_SIZE && iterator.hasNext()) {
+                    sample.add(iterator.next());
+                }
+
+                new ShellTableRendererHuman(new RenderableShellTable(sample, columns)).streamAsHuman(ctx, iterator, out);
+            }
+            case CSV -> {
+                out.accept(ShellTableRendererCsv.buildHeaders(columns));
+                rows.forEach((row) -> out.accept(ShellTableRendererCsv.buildRow(row, columns)));
+            }
+            case NDJSON -> {
+                rows.forEach((row) -> out.accept(ShellTableRendererJson.buildNdjsonRow(row, columns)));
+            }
+            case JSON -> {
+                out.accept(renderAsJson());
+            }
+        }
+    }
+
+    @Override
+    public String renderAsHuman(CliContext ctx) {
+        return collect().renderAsHuman(ctx);
+    }
+
+    @Override
+    public String renderAsJson() {
+        return collect().renderAsJson();
+    }
+
+    @Override
+    public String renderAsCsv() {
+        return collect().renderAsCsv();
+    }
+
+    @Override
+    public String renderAsNdjson() {
+        return collect().renderAsNdjson();
+    }
+
+    private RenderableShellTable collect() {
+        return new RenderableShellTable(rows.toList(), columns);
+    }
+}
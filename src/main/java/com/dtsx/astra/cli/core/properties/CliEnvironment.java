@@ -1,5 +1,7 @@
 package com.dtsx.astra.cli.core.properties;
 
+import lombok.val;
+
 public interface CliEnvironment {
     enum OS { WINDOWS, LINUX, MAC, OTHER }
 
@@ -10,4 +12,21 @@ public interface CliEnvironment {
     Platform platform();
 
     boolean isTty();
+
+    // for commands whose output is captured or forwarded somewhere, rather than printed straight to a terminal
+    default CliEnvironment withoutTty() {
+        val self = this;
+
+        return new CliEnvironment() {
+            @Override
+            public Platform platform() {
+                return self.platform();
+            }
+
+            @Override
+            public boolean isTty() {
+                return false;
+            }
+        };
+    }
 }
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import lombok.val;
 import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -21,12 +22,18 @@ public interface CliProperties {
         public static final String COMPLETIONS_SETUP = "ASTRA_COMPLETIONS_SETUP";
         public static final String DEFAULT_ARGS = "ASTRA_DEFAULT_ARGS";
         public static final String PROFILE = "ASTRA_PROFILE";
+        public static final String NO_DAEMON = "ASTRA_NO_DAEMON";
     }
 
     record ExternalSoftware(
         String url,
-        String version // can't use Version here unfortunately b/c pulsar-shell doesn't use semver ._.
-    ) {}
+        String version, // can't use Version here unfortunately b/c pulsar-shell doesn't use semver ._.
+        @Nullable String sha256 // null if no checksum is pinned for the archive
+    ) {
+        public ExternalSoftware(String url, String version) {
+            this(url, version, null);
+        }
+    }
 
     enum PathLocationResolver { CUSTOM, XDG, HOME }
 
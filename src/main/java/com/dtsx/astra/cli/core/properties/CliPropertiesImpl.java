@@ -60,17 +60,17 @@ public class CliPropertiesImpl implements CliProperties {
 
     @Override
     public ExternalSoftware cqlsh() {
-        return new ExternalSoftware(requireProperty("cqlsh.url"), requireProperty("cqlsh.version"));
+        return new ExternalSoftware(requireProperty("cqlsh.url"), requireProperty("cqlsh.version"), System.getProperty("cqlsh.sha256"));
     }
 
     @Override
     public ExternalSoftware dsbulk() {
-        return new ExternalSoftware(requireProperty("dsbulk.url"), requireProperty("dsbulk.version"));
+        return new ExternalSoftware(requireProperty("dsbulk.url"), requireProperty("dsbulk.version"), System.getProperty("dsbulk.sha256"));
     }
 
     @Override
     public ExternalSoftware pulsar() {
-        return new ExternalSoftware(requireProperty("pulsar-shell.url"), requireProperty("pulsar-shell.version"));
+        return new ExternalSoftware(requireProperty("pulsar-shell.url"), requireProperty("pulsar-shell.version"), System.getProperty("pulsar-shell.sha256"));
     }
 
     @Override
@@ -0,0 +1,213 @@
+package com.dtsx.astra.cli.core.tracing;
+
+import com.dtsx.astra.cli.core.datatypes.LatencyHistogram;
+import lombok.val;
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpException;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+// calls must be recorded on the thread which made them, so the devops sdk's (async) observers can't be used for this
+public class HttpTracer {
+    public record HttpCall(
+        Instant startedAt,
+        String client,
+        String method,
+        String endpoint,
+        int status,
+        long bytesOut,
+        long bytesIn,
+        @Nullable Long ttfbMs,
+        long totalMs,
+        @Nullable Boolean newConnection
+    ) {
+        // the shared object mapper doesn't know about java.time types, hence the manual conversion
+        public LinkedHashMap<String, Object> toJson() {
+            val json = sequencedMapOf(
+                "startedAt", (Object) startedAt.toString(),
+                "client", client,
+                "method", method,
+                "endpoint", endpoint,
+                "status", status,
+                "bytesOut", bytesOut,
+                "bytesIn", bytesIn,
+                "ttfbMs", ttfbMs
+            );
+            json.put("totalMs", totalMs);
+            json.put("newConnection", newConnection);
+            return json;
+        }
+    }
+
+    // inheritable so that calls made from worker threads are recorded by the command which started them
+    private static final InheritableThreadLocal<HttpTracer> current = new InheritableThreadLocal<>();
+
+    private final @Nullable HttpTracer outer;
+    private final Queue<HttpCall> calls = new ConcurrentLinkedQueue<>();
+    private volatile boolean stopped;
+
+    private HttpTracer(@Nullable HttpTracer outer) {
+        this.outer = outer;
+    }
+
+    public static HttpTracer start() {
+        val tracer = new HttpTracer(current.get());
+        current.set(tracer);
+        return tracer;
+    }
+
+    // a thread may have been reused from an earlier command, so the tracers it inherited may be long stopped
+    public static boolean isActive() {
+        for (var tracer = current.get(); tracer != null; tracer = tracer.outer) {
+            if (!tracer.stopped) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void record(HttpCall call) {
+        for (var tracer = current.get(); tracer != null; tracer = tracer.outer) {
+            if (!tracer.stopped) {
+                tracer.calls.add(call);
+            }
+        }
+    }
+
+    // every call's recorded synchronously, so there's nothing left to wait for
+    public List<HttpCall> stop() {
+        stopped = true;
+
+        if (current.get() == this) {
+            current.set(outer);
+        }
+
+        return calls.stream()
+            .sorted(Comparator.comparing(HttpCall::startedAt))
+            .toList();
+    }
+
+    public static void recordDataApiCall(String command, int status, long totalMs) {
+        record(new HttpCall(Instant.now().minusMillis(totalMs), "data-api", "POST", command, status, 0, 0, null, totalMs, null));
+    }
+
+    // the sdk only reads the body once this returns, so the total is really just the time to first byte
+    public static ClassicHttpResponse traceDevopsCall(ClassicHttpRequest request, ExecChain.Scope scope, ExecChain chain) throws IOException, HttpException {
+        if (!isActive()) {
+            return chain.proceed(request, scope);
+        }
+
+        val startedAt = Instant.now();
+        val start = System.nanoTime();
+
+        var status = 0;
+        var bytesIn = 0L;
+
+        try {
+            val response = chain.proceed(request, scope);
+            status = response.getCode();
+            bytesIn = contentLength(response.getEntity());
+            return response;
+        } finally {
+            val totalMs = (System.nanoTime() - start) / 1_000_000;
+
+            record(new HttpCall(
+                startedAt,
+                "devops",
+                request.getMethod(),
+                endpointTemplate(scope.route.getTargetHost().toURI() + request.getPath()),
+                status,
+                contentLength(request.getEntity()),
+                bytesIn,
+                totalMs,
+                totalMs,
+                null
+            ));
+        }
+    }
+
+    private static long contentLength(@Nullable HttpEntity entity) {
+        return (entity != null) ? Math.max(0, entity.getContentLength()) : 0;
+    }
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("(?i)[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}|\\d+|[0-9a-f]{24,}");
+
+    // so that calls for different databases/groups/etc. are grouped together, e.g. host/v2/databases/{id}/keyspaces
+    public static String endpointTemplate(@Nullable String url) {
+        if (url == null || url.isBlank()) {
+            return "<unknown>";
+        }
+
+        final URI uri;
+
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+
+        val segments = Arrays.stream(Objects.requireNonNullElse(uri.getPath(), "").split("/", -1))
+            .map((segment) -> ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment)
+            .toList();
+
+        return Objects.requireNonNullElse(uri.getHost(), "") + String.join("/", segments);
+    }
+
+    // one row per distinct (client, method, endpoint), slowest in total first
+    public static List<LinkedHashMap<String, Object>> summarize(List<HttpCall> calls) {
+        val groups = new LinkedHashMap<List<String>, List<HttpCall>>();
+
+        for (val call : calls) {
+            groups.computeIfAbsent(List.of(call.client(), call.method(), call.endpoint()), (_) -> new ArrayList<>()).add(call);
+        }
+
+        return groups.values().stream()
+            .sorted(Comparator.comparingLong((List<HttpCall> group) -> group.stream().mapToLong(HttpCall::totalMs).sum()).reversed())
+            .map((group) -> {
+                val first = group.getFirst();
+                val latencies = new LatencyHistogram();
+                group.forEach((call) -> latencies.record(Duration.ofMillis(call.totalMs())));
+
+                val row = sequencedMapOf(
+                    "Client", (Object) first.client(),
+                    "Method", first.method(),
+                    "Endpoint", first.endpoint(),
+                    "Calls", group.size(),
+                    "Errors", group.stream().filter((call) -> call.status() == 0 || call.status() >= 400).count(),
+                    "New Connections", newConnections(group),
+                    "Total Ms", group.stream().mapToLong(HttpCall::totalMs).sum(),
+                    "P50 Ms", latencies.percentileMicros(50) / 1000
+                );
+                row.put("Max Ms", latencies.maxMicros() / 1000);
+                row.put("Bytes Out", group.stream().mapToLong(HttpCall::bytesOut).sum());
+                row.put("Bytes In", group.stream().mapToLong(HttpCall::bytesIn).sum());
+                return row;
+            })
+            .toList();
+    }
+
+    // only calls made through a PooledHttpClient know whether they opened a connection; the devops & data api sdks
+    // manage their own, so their rows are marked as such rather than showing a misleading 0
+    private static Object newConnections(List<HttpCall> group) {
+        if (group.stream().allMatch((call) -> call.newConnection() == null)) {
+            return "n/a";
+        }
+        return group.stream().filter((call) -> Boolean.TRUE.equals(call.newConnection())).count();
+    }
+
+    public static final String[] SUMMARY_COLUMNS = {
+        "Client", "Method", "Endpoint", "Calls", "Errors", "New Connections", "Total Ms", "P50 Ms", "Max Ms", "Bytes Out", "Bytes In"
+    };
+}
@@ -0,0 +1,258 @@
+package com.dtsx.astra.cli.core.tracing;
+
+import com.dtsx.astra.cli.core.tracing.HttpTracer.HttpCall;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+// every loading(...) call is a span; spans go to the profiler of the span they're nested under
+public class Profiler {
+    public record Span(
+        long id,
+        @Nullable Long parentId,
+        String name,
+        long threadId,
+        String threadName,
+        long startNanos,
+        long durationNanos,
+        @Nullable String error
+    ) {}
+
+    public record Mark(
+        long spanId,
+        String message,
+        long threadId,
+        long atNanos
+    ) {}
+
+    public record Profile(Instant startedAt, List<Span> spans, List<Mark> marks) {}
+
+    // inheritable so that spans started on worker threads are parented by whatever was open when the worker was created
+    private static final InheritableThreadLocal<OpenSpan> current = new InheritableThreadLocal<>();
+
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong nextId = new AtomicLong();
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    private final Queue<Mark> marks = new ConcurrentLinkedQueue<>();
+    private final @Nullable OpenSpan previous = current.get();
+    private @Nullable OpenSpan root;
+    private volatile boolean stopped;
+
+    public static Profiler start(String commandName) {
+        val profiler = new Profiler();
+        profiler.root = profiler.open(commandName, null);
+        return profiler;
+    }
+
+    public static OpenSpan span(String name) {
+        val parent = current.get();
+
+        // a thread may have been reused from an earlier command, so its open span may belong to a long stopped profiler
+        if (parent == null || parent.profiler == null || parent.profiler.stopped) {
+            return OpenSpan.NOOP;
+        }
+
+        return parent.profiler.open(name, parent);
+    }
+
+    public Profile stop() {
+        if (root != null) {
+            root.close();
+        }
+
+        stopped = true;
+
+        if (root != null && root.thread == Thread.currentThread()) {
+            current.set(previous); // e.g. a profiled batch line giving the batch its open span back
+        }
+
+        val sortedSpans = spans.stream()
+            .sorted(Comparator.comparingLong(Span::startNanos))
+            .toList();
+
+        val sortedMarks = marks.stream()
+            .sorted(Comparator.comparingLong(Mark::atNanos))
+            .toList();
+
+        return new Profile(startedAt, sortedSpans, sortedMarks);
+    }
+
+    private OpenSpan open(String name, @Nullable OpenSpan parent) {
+        val span = new OpenSpan(this, nextId.incrementAndGet(), parent, name, Thread.currentThread(), System.nanoTime() - startNanos);
+        current.set(span);
+        return span;
+    }
+
+    public static final class OpenSpan implements AutoCloseable {
+        private static final OpenSpan NOOP = new OpenSpan(null, 0, null, "", Thread.currentThread(), 0);
+
+        private final @Nullable Profiler profiler;
+        private final long id;
+        private final @Nullable OpenSpan parent;
+        private final String name;
+        private final Thread thread;
+        private final long startNanos;
+        private @Nullable String error;
+        private boolean closed;
+
+        private OpenSpan(@Nullable Profiler profiler, long id, @Nullable OpenSpan parent, String name, Thread thread, long startNanos) {
+            this.profiler = profiler;
+            this.id = id;
+            this.parent = parent;
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+        }
+
+        public void mark(String message) {
+            if (profiler != null) {
+                profiler.marks.add(new Mark(id, message, Thread.currentThread().threadId(), System.nanoTime() - profiler.startNanos));
+            }
+        }
+
+        public void failed(Throwable e) {
+            error = e.getClass().getSimpleName();
+        }
+
+        @Override
+        public void close() {
+            if (profiler == null || closed) {
+                return;
+            }
+            closed = true;
+
+            profiler.spans.add(new Span(
+                id,
+                (parent != null) ? parent.id : null,
+                name,
+                thread.threadId(),
+                threadName(thread),
+                startNanos,
+                System.nanoTime() - profiler.startNanos - startNanos,
+                error
+            ));
+
+            if (Thread.currentThread() == thread) {
+                current.set(parent);
+            }
+        }
+    }
+
+    private static String threadName(Thread thread) {
+        return (thread.getName().isEmpty())
+            ? (thread.isVirtual() ? "virtual-" : "thread-") + thread.threadId()
+            : thread.getName();
+    }
+
+    // chrome trace event format; http calls can overlap, so they're async ("b"/"e") events on their own track
+    public static LinkedHashMap<String, Object> toChromeTrace(Profile profile, List<HttpCall> httpCalls) {
+        val events = new ArrayList<Object>();
+        val threads = new LinkedHashMap<Long, String>();
+
+        for (val span : profile.spans()) {
+            threads.putIfAbsent(span.threadId(), span.threadName());
+
+            val args = sequencedMapOf("id", (Object) span.id(), "parentId", span.parentId());
+
+            if (span.error() != null) {
+                args.put("error", span.error());
+            }
+
+            events.add(sequencedMapOf(
+                "name", (Object) span.name(),
+                "cat", "phase",
+                "ph", "X",
+                "ts", micros(span.startNanos()),
+                "dur", micros(span.durationNanos()),
+                "pid", 1,
+                "tid", span.threadId(),
+                "args", args
+            ));
+        }
+
+        for (val mark : profile.marks()) {
+            events.add(sequencedMapOf(
+                "name", (Object) mark.message(),
+                "cat", "update",
+                "ph", "i",
+                "s", "t",
+                "ts", micros(mark.atNanos()),
+                "pid", 1,
+                "tid", mark.threadId(),
+                "args", sequencedMapOf("spanId", mark.spanId())
+            ));
+        }
+
+        for (var i = 0; i < httpCalls.size(); i++) {
+            val call = httpCalls.get(i);
+            val start = micros(Duration.between(profile.startedAt(), call.startedAt()).toNanos());
+
+            val args = sequencedMapOf(
+                "client", (Object) call.client(),
+                "status", call.status(),
+                "bytesOut", call.bytesOut(),
+                "bytesIn", call.bytesIn(),
+                "ttfbMs", call.ttfbMs(),
+                "newConnection", call.newConnection()
+            );
+
+            val name = call.method() + " " + call.endpoint();
+
+            events.add(sequencedMapOf("name", (Object) name, "cat", "http", "ph", "b", "id", i, "ts", start, "pid", 1, "args", args));
+            events.add(sequencedMapOf("name", (Object) name, "cat", "http", "ph", "e", "id", i, "ts", start + call.totalMs() * 1000, "pid", 1));
+        }
+
+        threads.forEach((tid, name) -> events.add(sequencedMapOf(
+            "name", (Object) "thread_name",
+            "ph", "M",
+            "pid", 1,
+            "tid", tid,
+            "args", sequencedMapOf("name", name)
+        )));
+
+        return sequencedMapOf("traceEvents", events, "displayTimeUnit", "ms");
+    }
+
+    // by self time, since the outermost spans trivially contain everything else
+    public static List<LinkedHashMap<String, Object>> slowestSpans(Profile profile, int limit) {
+        val childNanos = new HashMap<Long, Long>();
+
+        for (val span : profile.spans()) {
+            if (span.parentId() != null) {
+                childNanos.merge(span.parentId(), span.durationNanos(), Long::sum);
+            }
+        }
+
+        val totalNanos = profile.spans().stream()
+            .filter((span) -> span.parentId() == null)
+            .mapToLong(Span::durationNanos)
+            .sum();
+
+        return profile.spans().stream()
+            .map((span) -> Map.entry(span, Math.max(0, span.durationNanos() - childNanos.getOrDefault(span.id(), 0L))))
+            .sorted(Map.Entry.<Span, Long>comparingByValue().reversed())
+            .limit(limit)
+            .map((entry) -> sequencedMapOf(
+                "Span", (Object) entry.getKey().name(),
+                "Thread", entry.getKey().threadName(),
+                "Self Ms", entry.getValue() / 1_000_000,
+                "Total Ms", entry.getKey().durationNanos() / 1_000_000,
+                "% of Run", (totalNanos == 0) ? 0 : Math.round(entry.getValue() * 100.0 / totalNanos)
+            ))
+            .toList();
+    }
+
+    public static final String[] SUMMARY_COLUMNS = { "Span", "Thread", "Self Ms", "Total Ms", "% of Run" };
+
+    private static long micros(long nanos) {
+        return nanos / 1000;
+    }
+}
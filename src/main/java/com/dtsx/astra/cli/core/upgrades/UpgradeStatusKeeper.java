@@ -2,101 +2,184 @@ package com.dtsx.astra.cli.core.upgrades;
 
 import com.dtsx.astra.cli.core.CliContext;
 import com.dtsx.astra.cli.core.models.Version;
+import com.dtsx.astra.cli.utils.FileUtils;
+import com.dtsx.astra.cli.utils.HttpUtils;
+import com.dtsx.astra.cli.utils.JsonUtils;
 import lombok.val;
-
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
-import static com.dtsx.astra.cli.utils.StringUtils.trimIndent;
+import static com.dtsx.astra.cli.core.upgrades.UpgradeStatus.*;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
 
+// checks in the background; an unfinished check's just retried by the next command
 public class UpgradeStatusKeeper {
+    public static final String ETAG_KEY = "ETAG";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration EXIT_GRACE_PERIOD = Duration.ofMillis(500);
+
+    // e.g. for the daemon, where many commands may be running in the same process at once
+    private static final AtomicBoolean RUNNING = new AtomicBoolean(false);
+
+    // only a request to github is worth holding up the exit for
+    private static final AtomicBoolean CHECKING = new AtomicBoolean(false);
+
     public static void runIfNecessary(CliContext ctx, Path path, UpgradeStatus status, boolean shouldCheckForUpdate, boolean userWasAnnoyed) {
         if (!shouldCheckForUpdate && !userWasAnnoyed) {
             return;
         }
 
-        val script = runUnix(ctx, status, path, shouldCheckForUpdate, userWasAnnoyed);
+        if (!RUNNING.compareAndSet(false, true)) {
+            return;
+        }
+
+        val done = new CountDownLatch(1);
+
+        val exitHook = new Thread(() -> {
+            if (!CHECKING.get()) {
+                return;
+            }
+
+            try {
+                done.await(EXIT_GRACE_PERIOD.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException _) {}
+        });
+
+        Runtime.getRuntime().addShutdownHook(exitHook);
+
+        Thread.ofVirtual().name("astra-upgrade-check").start(() -> {
+            try {
+                update(ctx, path, status, shouldCheckForUpdate, userWasAnnoyed, (etag) -> fetchLatestRelease(ctx, etag));
+            } catch (Exception e) {
+                ctx.log().exception("Unable to update upgrade status file at " + path, e);
+            } finally {
+                RUNNING.set(false);
+                done.countDown();
+
+                try {
+                    Runtime.getRuntime().removeShutdownHook(exitHook);
+                } catch (IllegalStateException _) {} // already shutting down
+            }
+        });
+    }
+
+    // fetchLatestRelease is given the etag of the last release seen, or "" if there isn't one
+    @VisibleForTesting
+    public static void update(CliContext ctx, Path path, UpgradeStatus status, boolean shouldCheckForUpdate, boolean userWasAnnoyed, Function<String, HttpResponse<String>> fetchLatestRelease) throws IOException {
+        val lockFile = path.resolveSibling(path.getFileName() + ".lock");
+
+        try (FileChannel channel = FileChannel.open(lockFile, CREATE, WRITE); FileLock lock = tryLock(channel)) {
+            // some other process (or thread) is already updating it, so no need to do it twice
+            if (lock == null) {
+                return;
+            }
+
+            // another process may have finished updating it in the meantime
+            val properties = readProperties(path);
+            var changed = false;
+
+            if (userWasAnnoyed) {
+                properties.setProperty(LAST_NOTIFIED_KEY, String.valueOf(Instant.now().toEpochMilli()));
+                changed = true;
+            }
+
+            if (shouldCheckForUpdate && !checkedSince(properties, status.lastChecked())) {
+                changed |= checkForUpdate(ctx, properties, fetchLatestRelease);
+            }
+
+            if (changed) {
+                FileUtils.writeAtomically(path, properties);
+            }
+        }
+    }
 
+    private static @Nullable FileLock tryLock(FileChannel channel) throws IOException {
         try {
-            new ProcessBuilder()
-                .command("sh", "-c", script)
-                .start();
-        } catch (Exception e) {
-            ctx.log().exception("Unable to update upgrade status file at " + path);
-            ctx.log().exception("Script was:\n" + script);
-            ctx.log().exception(e);
+            return channel.tryLock();
+        } catch (OverlappingFileLockException _) {
+            return null;
         }
     }
 
-    // I know this is prone to race conditions,
-    // but the issue is, I just don't care.
-    private static String runUnix(CliContext ctx, UpgradeStatus status, Path path, boolean shouldCheckForUpdate, boolean userWasAnnoyed) {
-        val pathStr = path.toAbsolutePath().toString().replace("\"", "\\\"");
-
-        var script = """
-          # just return if `curl` is not available
-          command -v curl >/dev/null 2>&1 || { exit 0; }
-
-          LOCKDIR="%s.lock"
-
-          # not perfect but doesn't matter if minor race condition occurs
-          if ! mkdir "$LOCKDIR" 2>/dev/null; then
-            if [ -d "$LOCKDIR" ]; then
-              # backup protection against a stale lock
-              if stat --version >/dev/null 2>&1; then
-                lock_age=$(($(date +%%s) - $(stat -c %%Y "$LOCKDIR")))
-              else
-                lock_age=$(($(date +%%s) - $(stat -f %%m "$LOCKDIR")))
-              fi
-
-              if [ "$lock_age" -gt 300 ]; then
-                rm -rf "$LOCKDIR"
-              fi
-            else
-              exit 0
-            fi
-          fi
-
-          trap 'rmdir "$LOCKDIR"' 0
-
-          # set initial variables to update as needed
-          latest_version="%s"
-          last_checked=%d
-          last_notified=%d
-        """.formatted(
-            pathStr,
-            status.latestVersion().map(Version::toString).orElse(""),
-            status.lastChecked().toEpochMilli(),
-            status.lastNotified().toEpochMilli()
-        );
-
-        if (shouldCheckForUpdate) {
-            script += """
-               # get latest release from github api
-               latest_release=$(curl -fsSL "%s/releases/latest")
-               maybe_latest_version=$(echo "$latest_release" | sed -n 's/.*"tag_name".*:.*"\\(.*\\)".*/\\1/p')
-
-               if [ -n "$maybe_latest_version" ]; then
-                 latest_version="$maybe_latest_version"
-                 last_checked=%d
-               fi
-            """.formatted(ctx.properties().cliGithubApiReposUrl(), Instant.now().toEpochMilli());
+    private static HttpResponse<String> fetchLatestRelease(CliContext ctx, String etag) {
+        CHECKING.set(true);
+
+        try {
+            return HttpUtils.GET(ctx, latestReleaseEndpoint(ctx), (r) -> (
+                (etag.isEmpty())
+                    ? r.timeout(REQUEST_TIMEOUT)
+                    : r.timeout(REQUEST_TIMEOUT).header("If-None-Match", etag)
+            ));
+        } finally {
+            CHECKING.set(false);
         }
+    }
 
-        if (userWasAnnoyed) {
-            script += """
-              # guess
-              last_notified=%d
-            """.formatted(Instant.now().toEpochMilli());
+    private static String latestReleaseEndpoint(CliContext ctx) {
+        return ctx.properties().cliGithubApiReposUrl() + "/releases/latest";
+    }
+
+    private static boolean checkForUpdate(CliContext ctx, Properties properties, Function<String, HttpResponse<String>> fetchLatestRelease) {
+        val endpoint = latestReleaseEndpoint(ctx);
+        val response = fetchLatestRelease.apply(properties.getProperty(ETAG_KEY, ""));
+
+        if (response.statusCode() == 304) {
+            properties.setProperty(LAST_CHECKED_KEY, String.valueOf(Instant.now().toEpochMilli()));
+            return true;
+        }
+
+        if (response.statusCode() != 200) {
+            ctx.log().debug("Unable to check for upgrades (got status " + response.statusCode() + " from " + endpoint + ")");
+            return false;
         }
 
-        script += trimIndent("""
-          # update properties file
-          echo "LATEST_VERSION=$latest_version
-          LAST_CHECKED=$last_checked
-          LAST_NOTIFIED=$last_notified" > '%s'
-        """).formatted(pathStr);
+        val latestVersion = JsonUtils.readTree(response.body()).path("tag_name").asText("");
+
+        if (Version.parse(latestVersion).isLeft()) {
+            ctx.log().debug("Unable to check for upgrades (got invalid tag_name '" + latestVersion + "' from " + endpoint + ")");
+            return false;
+        }
+
+        properties.setProperty(LATEST_VERSION_KEY, latestVersion);
+        properties.setProperty(LAST_CHECKED_KEY, String.valueOf(Instant.now().toEpochMilli()));
+        properties.setProperty(ETAG_KEY, response.headers().firstValue("ETag").orElse(""));
+        return true;
+    }
+
+    private static boolean checkedSince(Properties properties, Instant lastChecked) {
+        try {
+            return Long.parseLong(properties.getProperty(LAST_CHECKED_KEY, "0")) > lastChecked.toEpochMilli();
+        } catch (NumberFormatException _) {
+            return false;
+        }
+    }
+
+    private static Properties readProperties(Path path) throws IOException {
+        val properties = new Properties();
+
+        if (Files.exists(path)) {
+            try (val is = Files.newInputStream(path)) {
+                properties.load(is);
+            }
+        }
 
-        return script;
+        return properties;
     }
 }
@@ -16,10 +16,19 @@ import com.dtsx.astra.sdk.utils.AstraEnvironment;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public interface APIProvider {
     static APIProvider mkDefault(CliContext ctx, AstraToken token, AstraEnvironment env) {
-        return new APIProviderImpl(ctx, token, env, GlobalInfoCache.INSTANCE, GlobalInfoCache.INSTANCE);
+        return mkDefault(ctx, token, env, GlobalInfoCache.INSTANCE);
+    }
+
+    static APIProvider mkDefault(CliContext ctx, AstraToken token, AstraEnvironment env, InfoCache infoCache) {
+        return mkDefault(() -> ctx, token, env, infoCache);
+    }
+
+    static APIProvider mkDefault(Supplier<CliContext> ctxSupplier, AstraToken token, AstraEnvironment env, InfoCache infoCache) {
+        return new APIProviderImpl(ctxSupplier, token, env, infoCache, infoCache);
     }
 
     AstraOpsClient astraOpsClient();
@@ -36,6 +45,11 @@ public interface APIProvider {
 
     String restApiEndpoint(DbRef dbRef, AstraEnvironment env);
 
+    PooledHttpClient httpClient();
+
+    // reads which are only memoized for the life of the current command (see RequestCache)
+    RequestCache requestCache();
+
     // I don't love having these here, but it's to avoid code duplication and circular dependencies
     //
     // I did try to use circular references via suppliers (w/ DbGateway & PcuGateway as members of ApiProvider),
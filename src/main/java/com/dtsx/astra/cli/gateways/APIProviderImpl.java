@@ -7,16 +7,19 @@ import com.datastax.astra.client.core.options.DataAPIClientOptions;
 import com.datastax.astra.client.databases.Database;
 import com.datastax.astra.client.databases.DatabaseOptions;
 import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.datatypes.Thunk;
 import com.dtsx.astra.cli.core.exceptions.AstraCliException;
 import com.dtsx.astra.cli.core.exceptions.internal.db.DbNotFoundException;
 import com.dtsx.astra.cli.core.exceptions.internal.pcu.PcuGroupNotFoundException;
 import com.dtsx.astra.cli.core.models.*;
 import com.dtsx.astra.cli.core.output.Hint;
+import com.dtsx.astra.cli.core.tracing.HttpTracer;
 import com.dtsx.astra.cli.gateways.db.DbCache;
 import com.dtsx.astra.cli.gateways.pcu.PcuCache;
 import com.dtsx.astra.cli.gateways.pcu.vendored.PcuGroupOpsClient;
 import com.dtsx.astra.cli.gateways.pcu.vendored.PcuGroupsClient;
 import com.dtsx.astra.cli.gateways.pcu.vendored.domain.PcuGroup;
+import com.dtsx.astra.cli.gateways.resilience.DevopsResilience;
 import com.dtsx.astra.sdk.AstraOpsClient;
 import com.dtsx.astra.sdk.db.DbOpsClient;
 import com.dtsx.astra.sdk.db.domain.DatabaseInfo;
@@ -29,25 +32,35 @@ import org.jetbrains.annotations.NotNull;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static com.dtsx.astra.cli.core.output.ExitCode.UNIQUENESS_ISSUE;
+import static com.dtsx.astra.sdk.db.domain.DatabaseStatusType.TERMINATED;
 
 @RequiredArgsConstructor
 public class APIProviderImpl implements APIProvider {
-    private final CliContext ctx;
+    private final Supplier<CliContext> ctxSupplier; // a supplier since this may outlive a single command (e.g. in daemon mode)
     private final AstraToken token;
     private final AstraEnvironment env;
     private final DbCache dbCache;
     private final PcuCache pcuCache;
 
+    // the devops clients all share the sdk's own pooled http client under the hood, but the data api client builds its
+    // own transport, so these are all built once and shared by every gateway using this (token, env) pair
+    private final Thunk<AstraOpsClient> astraOpsClient = new Thunk<>(this::mkAstraOpsClient);
+    private final Thunk<PcuGroupsClient> pcuGroupsClient = new Thunk<>(this::mkPcuGroupsClient);
+    private final Thunk<DataAPIClient> dataApiClient = new Thunk<>(this::mkDataApiClient);
+
+    private final PooledHttpClient httpClient = new PooledHttpClient();
+
     @Override
-    public AstraOpsClient astraOpsClient() {
-        return new AstraOpsClient(token.unsafeUnwrap(), env);
+    public synchronized AstraOpsClient astraOpsClient() {
+        return astraOpsClient.get();
     }
 
     @Override
-    public PcuGroupsClient pcuGroupsClient() {
-        return new PcuGroupsClient(token.unsafeUnwrap(), env);
+    public synchronized PcuGroupsClient pcuGroupsClient() {
+        return pcuGroupsClient.get();
     }
 
     @Override
@@ -75,19 +88,49 @@ public class APIProviderImpl implements APIProvider {
         return ApiLocator.getApiRestEndpoint(env, resolveDbId(dbRef).toString(), resolveDbRegion(dbRef));
     }
 
-    private DataAPIClient dataApiClient() {
+    @Override
+    public PooledHttpClient httpClient() {
+        return httpClient;
+    }
+
+    // this provider's shared by every command run in the same process (e.g. by the daemon), so it never memoizes; see
+    // RequestScopedAPIProvider for the per-command one
+    @Override
+    public RequestCache requestCache() {
+        return RequestCache.DISABLED;
+    }
+
+    private synchronized DataAPIClient dataApiClient() {
+        return dataApiClient.get();
+    }
+
+    private AstraOpsClient mkAstraOpsClient() {
+        DevopsResilience.install(ctxSupplier);
+        return new AstraOpsClient(token.unsafeUnwrap(), env);
+    }
+
+    private PcuGroupsClient mkPcuGroupsClient() {
+        DevopsResilience.install(ctxSupplier);
+        return new PcuGroupsClient(token.unsafeUnwrap(), env);
+    }
+
+    private DataAPIClient mkDataApiClient() {
         val destination = switch (env) {
             case PROD -> DataAPIDestination.ASTRA;
             case DEV -> DataAPIDestination.ASTRA_DEV;
             case TEST -> DataAPIDestination.ASTRA_TEST;
         };
-        return new DataAPIClient(token.unsafeUnwrap(), new DataAPIClientOptions().destination(destination));
+        val options = new DataAPIClientOptions()
+            .destination(destination)
+            .addObserver("astra-cli-http-tracer", (infos) -> HttpTracer.recordDataApiCall(infos.getCommand().getName(), infos.getResponseHttpCode(), infos.getExecutionTime()));
+
+        return new DataAPIClient(token.unsafeUnwrap(), options);
     }
 
     private UUID resolveDbId(DbRef ref) {
         val cachedId = dbCache.lookupDbId(ref);
 
-        return cachedId.orElseGet(() -> ctx.log().loading("Resolving ID for database " + ctx.highlight(ref), (_) ->
+        return cachedId.orElseGet(() -> ctx().log().loading("Resolving ID for database " + ctx().highlight(ref), (_) ->
             tryResolveDb(ref)
                 .map(com.dtsx.astra.sdk.db.domain.Database::getId)
                 .map(UUID::fromString)
@@ -100,7 +143,7 @@ public class APIProviderImpl implements APIProvider {
 
         return cachedRegion
             .map(RegionName::unwrap)
-            .orElseGet(() -> ctx.log().loading("Resolving region for database " + ctx.highlight(ref), (_) ->
+            .orElseGet(() -> ctx().log().loading("Resolving region for database " + ctx().highlight(ref), (_) ->
                 tryResolveDb(ref)
                     .map(com.dtsx.astra.sdk.db.domain.Database::getInfo)
                     .map(DatabaseInfo::getRegion)
@@ -111,7 +154,7 @@ public class APIProviderImpl implements APIProvider {
     private UUID resolvePcuId(PcuRef ref) {
         val cachedId = pcuCache.lookupPcuGroupId(ref);
 
-        return cachedId.orElseGet(() -> ctx.log().loading("Resolving ID for PCU group " + ctx.highlight(ref), (_) ->
+        return cachedId.orElseGet(() -> ctx().log().loading("Resolving ID for PCU group " + ctx().highlight(ref), (_) ->
             tryResolvePcuGroup(ref)
                 .map(PcuGroup::getId)
                 .map(UUID::fromString)
@@ -148,6 +191,12 @@ public class APIProviderImpl implements APIProvider {
             }
         );
 
+        if (ref.isName() && cachedRef.isId() && dbInfo.filter((db) -> db.getStatus() != TERMINATED).isEmpty()) {
+            ctx().log().debug("Cached ID for database '", ref.toString(), "' is stale; evicting it and resolving by name instead");
+            dbCache.evictDb(ref);
+            return tryResolveDb(ref);
+        }
+
         dbInfo.ifPresent(dbCache::cache);
         return dbInfo;
     }
@@ -181,6 +230,12 @@ public class APIProviderImpl implements APIProvider {
             }
         );
 
+        if (ref.isName() && cachedRef.isId() && pcuGroup.isEmpty()) {
+            ctx().log().debug("Cached ID for PCU group '", ref.toString(), "' is stale; evicting it and resolving by title instead");
+            pcuCache.evictPcuGroup(ref);
+            return tryResolvePcuGroup(ref);
+        }
+
         pcuGroup.ifPresent((pg) -> {
             val id = UUID.fromString(pg.getId());
             pcuCache.cachePcuGroupId(pg.getTitle(), id);
@@ -188,4 +243,8 @@ public class APIProviderImpl implements APIProvider {
 
         return pcuGroup;
     }
+
+    private CliContext ctx() {
+        return ctxSupplier.get();
+    }
 }
@@ -51,4 +51,9 @@ public interface GatewayProvider {
     UserGateway mkUserGateway(AstraToken token, AstraEnvironment env, CompletionsCache userCompletionsCache);
 
     UpgradeGateway mkUpgradeGateway();
+
+    GatewayProvider withInfoCacheMode(PersistentInfoCache.Mode mode);
+
+    // a provider whose gateways all share a fresh RequestCache, for the life of a single command
+    GatewayProvider withRequestScope();
 }
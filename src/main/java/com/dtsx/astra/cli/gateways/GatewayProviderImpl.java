@@ -41,17 +41,44 @@ import com.dtsx.astra.cli.gateways.user.UserGateway;
 import com.dtsx.astra.cli.gateways.user.UserGatewayCompletionsCacheWrapper;
 import com.dtsx.astra.cli.gateways.user.UserGatewayImpl;
 import com.dtsx.astra.sdk.utils.AstraEnvironment;
-import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
-@RequiredArgsConstructor
 public class GatewayProviderImpl implements GatewayProvider {
     private final Supplier<CliContext> ctxSupplier;
+    private final PersistentInfoCache.Mode infoCacheMode;
+
+    private final Map<Pair<AstraToken, AstraEnvironment>, InfoCache> infoCaches;
+    private final Map<Pair<AstraToken, AstraEnvironment>, APIProvider> apiProviders;
+
+    // only set for providers scoped to a single command (see withRequestScope)
+    private final @Nullable RequestCache requestCache;
+
+    public GatewayProviderImpl(Supplier<CliContext> ctxSupplier) {
+        this(ctxSupplier, PersistentInfoCache.Mode.ENABLED);
+    }
+
+    public GatewayProviderImpl(Supplier<CliContext> ctxSupplier, PersistentInfoCache.Mode infoCacheMode) {
+        this(ctxSupplier, infoCacheMode, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), null);
+    }
+
+    private GatewayProviderImpl(Supplier<CliContext> ctxSupplier, PersistentInfoCache.Mode infoCacheMode, Map<Pair<AstraToken, AstraEnvironment>, InfoCache> infoCaches, Map<Pair<AstraToken, AstraEnvironment>, APIProvider> apiProviders, @Nullable RequestCache requestCache) {
+        this.ctxSupplier = ctxSupplier;
+        this.infoCacheMode = infoCacheMode;
+        this.infoCaches = infoCaches;
+        this.apiProviders = apiProviders;
+        this.requestCache = requestCache;
+    }
 
     @Override
     public DbGateway mkDbGateway(AstraToken token, AstraEnvironment env, CompletionsCache dbCompletionsCache) {
-        return new DbGatewayCompletionsCacheWrapper(new DbGatewayImpl(ctx(), apiProvider(token, env), token, env, GlobalInfoCache.INSTANCE, mkRegionGateway(token, env)), dbCompletionsCache);
+        return new DbGatewayCompletionsCacheWrapper(new DbGatewayImpl(ctx(), apiProvider(token, env), token, env, infoCache(token, env), mkRegionGateway(token, env)), dbCompletionsCache);
     }
 
     @Override
@@ -129,8 +156,39 @@ public class GatewayProviderImpl implements GatewayProvider {
         return new UpgradeGatewayImpl(ctx());
     }
 
+    @Override
+    public GatewayProvider withInfoCacheMode(PersistentInfoCache.Mode mode) {
+        return (mode == infoCacheMode)
+            ? this
+            : new GatewayProviderImpl(ctxSupplier, mode, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), requestCache);
+    }
+
+    // still shares every connection (and info cache) with this provider, so it's cheap to make one per command
+    @Override
+    public GatewayProvider withRequestScope() {
+        return new GatewayProviderImpl(ctxSupplier, infoCacheMode, infoCaches, apiProviders, new RequestCache());
+    }
+
+    // shared so that every gateway for the same (token, env) pair also shares the same underlying connections
     private APIProvider apiProvider(AstraToken token, AstraEnvironment env) {
-        return APIProvider.mkDefault(ctx(), token, env);
+        val shared = apiProviders.computeIfAbsent(Pair.of(token, env), (_) -> APIProvider.mkDefault(ctxSupplier, token, env, infoCache(token, env)));
+
+        return (requestCache != null)
+            ? new RequestScopedAPIProvider(shared, requestCache)
+            : shared;
+    }
+
+    private InfoCache infoCache(AstraToken token, AstraEnvironment env) {
+        if (infoCacheMode == PersistentInfoCache.Mode.DISABLED) {
+            return GlobalInfoCache.INSTANCE;
+        }
+
+        return infoCaches.computeIfAbsent(Pair.of(token, env), (_) -> new PersistentInfoCache(
+            ctxSupplier,
+            () -> PersistentInfoCache.cacheFileFor(ctx().home().dirs.cache.use(), token, env),
+            infoCacheMode,
+            Clock.systemUTC()
+        ));
     }
 
     private CliContext ctx() {
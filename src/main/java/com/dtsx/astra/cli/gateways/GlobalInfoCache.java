@@ -3,8 +3,6 @@ package com.dtsx.astra.cli.gateways;
 import com.dtsx.astra.cli.core.models.DbRef;
 import com.dtsx.astra.cli.core.models.PcuRef;
 import com.dtsx.astra.cli.core.models.RegionName;
-import com.dtsx.astra.cli.gateways.db.DbCache;
-import com.dtsx.astra.cli.gateways.pcu.PcuCache;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
@@ -12,7 +10,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
-public enum GlobalInfoCache implements DbCache, PcuCache {
+public enum GlobalInfoCache implements InfoCache {
     INSTANCE;
 
     private final Map<String, @NotNull UUID> dbIdCache = new HashMap<>();
@@ -65,4 +63,20 @@ public enum GlobalInfoCache implements DbCache, PcuCache {
     public Optional<UUID> lookupPcuGroupId(PcuRef ref) {
         return ref.fold(Optional::of, name -> Optional.ofNullable(pcuGroupIdCache.get(name)));
     }
+
+    @Override
+    public void evictDb(DbRef ref) {
+        lookupDbId(ref).ifPresent((id) -> {
+            dbIdCache.values().removeIf(id::equals);
+            dbRegionCache.remove(id);
+            dbOnlyKsCache.remove(id);
+        });
+        ref.fold(_ -> null, dbIdCache::remove);
+    }
+
+    @Override
+    public void evictPcuGroup(PcuRef ref) {
+        lookupPcuGroupId(ref).ifPresent((id) -> pcuGroupIdCache.values().removeIf(id::equals));
+        ref.fold(_ -> null, pcuGroupIdCache::remove);
+    }
 }
@@ -0,0 +1,6 @@
+package com.dtsx.astra.cli.gateways;
+
+import com.dtsx.astra.cli.gateways.db.DbCache;
+import com.dtsx.astra.cli.gateways.pcu.PcuCache;
+
+public interface InfoCache extends DbCache, PcuCache {}
@@ -0,0 +1,268 @@
+package com.dtsx.astra.cli.gateways;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.models.AstraToken;
+import com.dtsx.astra.cli.core.models.DbRef;
+import com.dtsx.astra.cli.core.models.PcuRef;
+import com.dtsx.astra.cli.core.models.RegionName;
+import com.dtsx.astra.cli.utils.FileUtils;
+import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.utils.AstraEnvironment;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Persists resolved db names -> ids (and regions/default keyspaces) across invocations so scripts calling the CLI
+// hundreds of times in a row don't pay for the same DevOps API lookups every single time.
+//
+// One file per (token, env) pair so different orgs never share entries. Writes re-read the file first and are then
+// atomically moved into place; concurrent processes may still lose each other's writes, but it's a cache, so whatever.
+public class PersistentInfoCache implements InfoCache {
+    public enum Mode {
+        ENABLED,
+        REFRESH, // don't read from the cache, but still write to it
+        DISABLED,
+    }
+
+    public static final Duration ID_TTL = Duration.ofDays(1);
+    public static final Duration REGION_TTL = Duration.ofDays(1);
+    public static final Duration DEFAULT_KS_TTL = Duration.ofHours(1);
+
+    private static final String DB_ID_PREFIX = "db.id.";
+    private static final String DB_REGION_PREFIX = "db.region.";
+    private static final String DB_DEFAULT_KS_PREFIX = "db.ks.";
+    private static final String PCU_ID_PREFIX = "pcu.id.";
+
+    private record Entry(String value, long expiresAt) {}
+
+    private final Supplier<CliContext> ctxSupplier;
+    private final Supplier<Path> cacheFile;
+    private final Mode mode;
+    private final Clock clock;
+
+    private @Nullable Map<String, Entry> entries;
+    private final List<Consumer<Map<String, Entry>>> pendingOps = new ArrayList<>();
+    private int batchDepth = 0;
+
+    public PersistentInfoCache(CliContext ctx, Supplier<Path> cacheFile, Mode mode, Clock clock) {
+        this(() -> ctx, cacheFile, mode, clock);
+    }
+
+    // the entries are kept in memory after the first read, so in daemon mode this outlives any single command's context
+    public PersistentInfoCache(Supplier<CliContext> ctxSupplier, Supplier<Path> cacheFile, Mode mode, Clock clock) {
+        this.ctxSupplier = ctxSupplier;
+        this.cacheFile = cacheFile;
+        this.mode = mode;
+        this.clock = clock;
+    }
+
+    public static Path cacheFileFor(Path cacheDir, AstraToken token, AstraEnvironment env) {
+        return cacheDir.resolve("resolved_info_" + env.name().toLowerCase() + "_" + sha256(token.unsafeUnwrap()).substring(0, 16) + ".properties");
+    }
+
+    @Override
+    public void cacheDbId(String dbName, UUID id) {
+        put(DB_ID_PREFIX + dbName, id.toString(), ID_TTL);
+    }
+
+    @Override
+    public void cacheDbRegion(UUID id, RegionName region) {
+        put(DB_REGION_PREFIX + id, region.unwrap(), REGION_TTL);
+    }
+
+    @Override
+    public void cacheDbDefaultKs(UUID id, String keyspace) {
+        put(DB_DEFAULT_KS_PREFIX + id, keyspace, DEFAULT_KS_TTL);
+    }
+
+    @Override
+    public synchronized void cache(Database db) {
+        batchDepth++;
+
+        try {
+            InfoCache.super.cache(db);
+        } finally {
+            batchDepth--;
+        }
+
+        flush();
+    }
+
+    @Override
+    public void cachePcuGroupId(String title, UUID id) {
+        put(PCU_ID_PREFIX + title, id.toString(), ID_TTL);
+    }
+
+    @Override
+    public Optional<UUID> lookupDbId(DbRef ref) {
+        return ref.fold(Optional::of, (name) -> get(DB_ID_PREFIX + name).map(UUID::fromString));
+    }
+
+    @Override
+    public Optional<RegionName> lookupDbRegion(DbRef ref) {
+        return lookupDbId(ref).flatMap((id) -> get(DB_REGION_PREFIX + id)).map(RegionName::mkUnsafe);
+    }
+
+    @Override
+    public Optional<String> lookupDbDefaultKs(DbRef ref) {
+        return lookupDbId(ref).flatMap((id) -> get(DB_DEFAULT_KS_PREFIX + id));
+    }
+
+    @Override
+    public Optional<UUID> lookupPcuGroupId(PcuRef ref) {
+        return ref.fold(Optional::of, (title) -> get(PCU_ID_PREFIX + title).map(UUID::fromString));
+    }
+
+    @Override
+    public void evictDb(DbRef ref) {
+        mutate((map) -> {
+            val id = ref.fold(UUID::toString, (name) -> valueOrNull(map.remove(DB_ID_PREFIX + name)));
+
+            if (id != null) {
+                map.entrySet().removeIf((e) -> e.getKey().startsWith(DB_ID_PREFIX) && e.getValue().value().equals(id));
+                map.remove(DB_REGION_PREFIX + id);
+                map.remove(DB_DEFAULT_KS_PREFIX + id);
+            }
+        });
+    }
+
+    @Override
+    public void evictPcuGroup(PcuRef ref) {
+        mutate((map) -> {
+            val id = ref.fold(UUID::toString, (title) -> valueOrNull(map.remove(PCU_ID_PREFIX + title)));
+
+            if (id != null) {
+                map.entrySet().removeIf((e) -> e.getKey().startsWith(PCU_ID_PREFIX) && e.getValue().value().equals(id));
+            }
+        });
+    }
+
+    private static @Nullable String valueOrNull(@Nullable Entry entry) {
+        return (entry != null) ? entry.value() : null;
+    }
+
+    private synchronized Optional<String> get(String key) {
+        val entry = entries().get(key);
+
+        if (entry == null || entry.expiresAt() <= clock.millis()) {
+            return Optional.empty();
+        }
+
+        ctx().log().debug("Found '", key, "' in resolved info cache: ", entry.value());
+        return Optional.of(entry.value());
+    }
+
+    private void put(String key, String value, Duration ttl) {
+        val entry = new Entry(value, clock.millis() + ttl.toMillis());
+        mutate((map) -> map.put(key, entry));
+    }
+
+    private synchronized void mutate(Consumer<Map<String, Entry>> op) {
+        op.accept(entries());
+        pendingOps.add(op);
+
+        if (batchDepth == 0) {
+            flush();
+        }
+    }
+
+    private Map<String, Entry> entries() {
+        if (entries == null) {
+            entries = (mode == Mode.ENABLED)
+                ? readCacheFile()
+                : new HashMap<>();
+        }
+        return entries;
+    }
+
+    private synchronized void flush() {
+        if (pendingOps.isEmpty()) {
+            return;
+        }
+
+        val merged = readCacheFile();
+        pendingOps.forEach((op) -> op.accept(merged));
+        pendingOps.clear();
+
+        writeCacheFile(merged);
+    }
+
+    private Map<String, Entry> readCacheFile() {
+        val file = cacheFile.get();
+        val res = new HashMap<String, Entry>();
+
+        if (!Files.exists(file)) {
+            return res;
+        }
+
+        try (val reader = Files.newBufferedReader(file)) {
+            val props = new Properties();
+            props.load(reader);
+
+            val now = clock.millis();
+
+            for (val key : props.stringPropertyNames()) {
+                val parts = props.getProperty(key).split("\\|", 2);
+
+                if (parts.length != 2) {
+                    continue;
+                }
+
+                val expiresAt = Long.parseLong(parts[0]);
+
+                if (expiresAt > now) {
+                    res.put(key, new Entry(parts[1], expiresAt));
+                }
+            }
+        } catch (Exception e) {
+            ctx().log().exception("Error loading resolved info cache at '%s'".formatted(file), e);
+        }
+
+        return res;
+    }
+
+    private void writeCacheFile(Map<String, Entry> map) {
+        val file = cacheFile.get();
+        val now = clock.millis();
+
+        val props = new Properties();
+
+        map.forEach((key, entry) -> {
+            if (entry.expiresAt() > now) {
+                props.setProperty(key, entry.expiresAt() + "|" + entry.value());
+            }
+        });
+
+        try {
+            Files.createDirectories(file.getParent());
+            FileUtils.writeAtomically(file, props);
+
+            ctx().log().debug("Updated resolved info cache at ", file.toString());
+        } catch (Exception e) {
+            ctx().log().exception("Error updating resolved info cache at '%s', deleting cache file".formatted(file), e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (Exception _) {}
+        }
+    }
+
+    @SneakyThrows
+    private static String sha256(String str) {
+        val digest = MessageDigest.getInstance("SHA-256").digest(str.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private CliContext ctx() {
+        return ctxSupplier.get();
+    }
+}
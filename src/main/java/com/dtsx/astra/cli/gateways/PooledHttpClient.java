@@ -0,0 +1,120 @@
+package com.dtsx.astra.cli.gateways;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.tracing.HttpTracer;
+import lombok.val;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One lazily-built, keep-alive'd HTTP/2 client meant to be shared by everything talking to the same hosts, rather than
+// building (and TLS handshaking) a fresh client for every single request.
+//
+// Only requests sent through HttpUtils go through here (the REST api ping that resumes a db, and the GitHub release lookups);
+// the devops & data api sdks bring their own transports, so the handshake/reuse counts say nothing about them.
+//
+// The JDK client doesn't tell us when it opens a new connection, so new TLS sessions are used as a proxy for handshakes;
+// any response riding on a session we've already seen is counted as having reused a pooled connection.
+public class PooledHttpClient {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(20);
+
+    private volatile HttpClient client;
+
+    private final Set<String> seenSessions = new HashSet<>();
+    private final AtomicInteger handshakes = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+
+    public HttpResponse<String> send(CliContext ctx, HttpRequest request) throws IOException, InterruptedException {
+        val start = System.nanoTime();
+        val firstByteAt = new AtomicLong();
+
+        // the handler's applied as soon as the status & headers arrive, before the body's read
+        HttpResponse.BodyHandler<String> bodyHandler = (info) -> {
+            firstByteAt.set(System.nanoTime());
+            return HttpResponse.BodyHandlers.ofString().apply(info);
+        };
+
+        val response = client().send(request, bodyHandler);
+
+        val isNewConnection = trackConnection(response);
+
+        if (HttpTracer.isActive()) {
+            HttpTracer.record(new HttpTracer.HttpCall(
+                Instant.now().minusNanos(System.nanoTime() - start),
+                "http",
+                request.method(),
+                HttpTracer.endpointTemplate(request.uri().toString()),
+                response.statusCode(),
+                request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).filter((n) -> n > 0).orElse(0L),
+                response.body().getBytes(StandardCharsets.UTF_8).length,
+                (firstByteAt.get() - start) / 1_000_000,
+                (System.nanoTime() - start) / 1_000_000,
+                isNewConnection
+            ));
+        }
+
+        ctx.log().debug(
+            request.method(), " ", request.uri().getHost(), request.uri().getPath(), " -> ", String.valueOf(response.statusCode()),
+            " (", response.version().name(), ", ", (isNewConnection ? "new connection" : "reused connection"), "; ",
+            String.valueOf(handshakes.get()), " handshake(s), ", String.valueOf(reused.get()), " reuse(s) so far on this client)"
+        );
+
+        return response;
+    }
+
+    public int handshakes() {
+        return handshakes.get();
+    }
+
+    public int reused() {
+        return reused.get();
+    }
+
+    private boolean trackConnection(HttpResponse<?> response) {
+        val sessionId = response.sslSession()
+            .map((s) -> HexFormat.of().formatHex(s.getId()))
+            .orElse(null);
+
+        // plain http (e.g. in tests); nothing meaningful to track
+        if (sessionId == null) {
+            return false;
+        }
+
+        synchronized (seenSessions) {
+            if (seenSessions.add(sessionId)) {
+                handshakes.incrementAndGet();
+                return true;
+            }
+        }
+
+        reused.incrementAndGet();
+        return false;
+    }
+
+    private HttpClient client() {
+        if (client == null) {
+            synchronized (this) {
+                if (client == null) {
+                    client = HttpClient.newBuilder()
+                        .followRedirects(Redirect.NORMAL)
+                        .version(Version.HTTP_2) // falls back to HTTP/1.1 (still keep-alive'd) if the server doesn't speak h2
+                        .connectTimeout(CONNECT_TIMEOUT)
+                        .build();
+                }
+            }
+        }
+        return client;
+    }
+}
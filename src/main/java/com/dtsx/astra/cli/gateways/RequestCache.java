@@ -0,0 +1,73 @@
+package com.dtsx.astra.cli.gateways;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// command-scoped only; writes evict by kind, not id, since one resource may be cached under several refs (name & id)
+public class RequestCache {
+    public static final RequestCache DISABLED = new RequestCache(false);
+
+    public enum Resource {
+        DATABASE,
+        PCU_GROUP,
+        COLLECTION,
+        TABLE,
+    }
+
+    private record Key(Resource resource, Object id) {}
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> entries = new ConcurrentHashMap<>();
+
+    public RequestCache() {
+        this(true);
+    }
+
+    private RequestCache(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Resource resource, Object id, Supplier<T> fetch) {
+        if (!enabled) {
+            return fetch.get();
+        }
+
+        val key = new Key(resource, id);
+        val pending = new CompletableFuture<Object>();
+        val existing = entries.putIfAbsent(key, pending);
+
+        if (existing != null) {
+            return (T) await(existing);
+        }
+
+        try {
+            val value = fetch.get();
+            pending.complete(value);
+            return value;
+        } catch (Throwable e) {
+            entries.remove(key, pending); // failures aren't memoized, so trying again actually tries again
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void evict(Resource resource) {
+        entries.keySet().removeIf((key) -> key.resource() == resource);
+    }
+
+    // rethrows whatever the original fetch threw, rather than wrapping it in a CompletionException
+    @SneakyThrows
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw (e.getCause() != null) ? e.getCause() : e;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.dtsx.astra.cli.gateways;
+
+import com.dtsx.astra.cli.core.models.DbRef;
+import com.dtsx.astra.cli.core.models.PcuRef;
+import com.dtsx.astra.cli.gateways.RequestCache.Resource;
+import com.dtsx.astra.cli.gateways.pcu.vendored.domain.PcuGroup;
+import com.dtsx.astra.sdk.db.domain.Database;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Delegate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+
+// an APIProvider for a single command, which shares all of its clients & connections with the long-lived one it wraps,
+// but memoizes its reads in its own RequestCache
+@RequiredArgsConstructor
+public class RequestScopedAPIProvider implements APIProvider {
+    @Delegate(excludes = Exclude.class)
+    private final APIProvider delegate;
+
+    private final RequestCache requestCache;
+
+    @Override
+    public RequestCache requestCache() {
+        return requestCache;
+    }
+
+    @Override
+    public Optional<Database> tryResolveDb(@NotNull DbRef ref) {
+        return requestCache.get(Resource.DATABASE, ref, () -> delegate.tryResolveDb(ref));
+    }
+
+    @Override
+    public Optional<PcuGroup> tryResolvePcuGroup(@NotNull PcuRef ref) {
+        return requestCache.get(Resource.PCU_GROUP, ref, () -> delegate.tryResolvePcuGroup(ref));
+    }
+
+    private interface Exclude {
+        RequestCache requestCache();
+        Optional<Database> tryResolveDb(DbRef ref);
+        Optional<PcuGroup> tryResolvePcuGroup(PcuRef ref);
+    }
+}
@@ -36,6 +36,8 @@ public interface DbCache {
     Optional<RegionName> lookupDbRegion(DbRef ref);
     Optional<String> lookupDbDefaultKs(DbRef ref);
 
+    void evictDb(DbRef ref);
+
     default DbRef convertDbNameToIdIfCached(DbRef ref) {
         return ref.fold(
             _ -> ref,
@@ -14,11 +14,23 @@ import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 public interface DbGateway extends SomeGateway {
-    Stream<Database> findAll();
+    int DEFAULT_PAGE_SIZE = 1000;
+
+    default Stream<Database> findAll() {
+        return findAll(DEFAULT_PAGE_SIZE);
+    }
+
+    default Stream<Database> findAll(int pageSize) {
+        return findAllPages(pageSize).flatMap(List::stream);
+    }
+
+    // lazily fetches one page at a time, so only as many pages as are actually consumed are ever requested
+    Stream<List<Database>> findAllPages(int pageSize);
 
     Optional<Database> tryFindOne(DbRef ref);
 
@@ -34,6 +46,8 @@ public interface DbGateway extends SomeGateway {
 
     Duration waitUntilDbStatus(DbRef ref, DatabaseStatusType target, Duration timeout);
 
+    Duration waitUntilRegionChangeDone(DbRef ref, Duration timeout);
+
     CloudProvider findCloudForRegion(Optional<CloudProvider> cloud, RegionName region, boolean vectorOnly);
 
     CreationStatus<Database> create(String name, String keyspace, RegionName region, CloudProvider cloud, String tier, int capacityUnits, boolean vector, boolean allowDuplicate);
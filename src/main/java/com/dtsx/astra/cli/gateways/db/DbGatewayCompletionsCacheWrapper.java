@@ -15,8 +15,9 @@ import lombok.val;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.time.Duration;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.dtsx.astra.cli.utils.MiscUtils.toFn;
 
@@ -26,10 +27,39 @@ public class DbGatewayCompletionsCacheWrapper implements DbGateway {
     private final CompletionsCache cache;
 
     @Override
-    public Stream<Database> findAll() {
-        val databases = delegate.findAll().toList();
-        cache.setCache(databases.stream().map(i -> i.getInfo().getName()).toList());
-        return databases.stream();
+    public Stream<List<Database>> findAllPages(int pageSize) {
+        val delegatePages = delegate.findAllPages(pageSize);
+        val it = delegatePages.iterator();
+
+        val pages = new Iterator<List<Database>>() {
+            private final List<String> seen = new ArrayList<>();
+            private boolean cached;
+
+            @Override
+            public boolean hasNext() {
+                if (it.hasNext()) {
+                    return true;
+                }
+
+                // only reached if every page was consumed (e.g. not cut short by a --limit), so the listing's complete
+                if (!cached) {
+                    cached = true;
+                    cache.setCache(seen);
+                }
+
+                return false;
+            }
+
+            @Override
+            public List<Database> next() {
+                val page = it.next();
+                page.forEach((db) -> seen.add(db.getInfo().getName()));
+                return page;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(delegatePages::close);
     }
 
     @Override
@@ -79,6 +109,13 @@ public class DbGatewayCompletionsCacheWrapper implements DbGateway {
         return duration;
     }
 
+    @Override
+    public Duration waitUntilRegionChangeDone(DbRef ref, Duration timeout) {
+        val duration = delegate.waitUntilRegionChangeDone(ref, timeout);
+        addRefToCache(ref);
+        return duration;
+    }
+
     @Override
     public CloudProvider findCloudForRegion(Optional<CloudProvider> cloud, RegionName region, boolean vectorOnly) {
         return delegate.findCloudForRegion(cloud, region, vectorOnly);
@@ -7,8 +7,10 @@ import com.dtsx.astra.cli.core.datatypes.DeletionStatus;
 import com.dtsx.astra.cli.core.exceptions.AstraCliException;
 import com.dtsx.astra.cli.core.exceptions.internal.cli.OptionValidationException;
 import com.dtsx.astra.cli.core.exceptions.internal.db.UnexpectedDbStatusException;
+import com.dtsx.astra.cli.core.mixins.LongRunningOptionsMixin.PollingStrategy;
 import com.dtsx.astra.cli.core.models.*;
 import com.dtsx.astra.cli.gateways.APIProvider;
+import com.dtsx.astra.cli.gateways.RequestCache.Resource;
 import com.dtsx.astra.cli.gateways.db.region.RegionGateway;
 import com.dtsx.astra.cli.utils.HttpUtils;
 import com.dtsx.astra.sdk.db.domain.Database;
@@ -19,13 +21,15 @@ import com.dtsx.astra.sdk.utils.AstraEnvironment;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.*;
 import java.util.Map.Entry;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.dtsx.astra.cli.core.mixins.LongRunningOptionsMixin.awaitGenericStatus;
 import static com.dtsx.astra.cli.core.output.ExitCode.IO_ISSUE;
@@ -41,12 +45,50 @@ public class DbGatewayImpl implements DbGateway {
     private final RegionGateway regionGateway;
 
     @Override
-    public Stream<Database> findAll() {
-        return ctx.log().loading("Fetching all databases", (_) -> 
-            api.astraOpsClient().db().search(DatabaseFilter.builder()
-                .limit(1000)
-                .build())
-        );
+    public Stream<List<Database>> findAllPages(int pageSize) {
+        val pages = new Iterator<List<Database>>() {
+            private @Nullable String startingAfter;
+            private boolean exhausted;
+            private int pageNum;
+
+            @Override
+            public boolean hasNext() {
+                return !exhausted;
+            }
+
+            @Override
+            public List<Database> next() {
+                if (exhausted) {
+                    throw new NoSuchElementException();
+                }
+
+                val msg = (++pageNum == 1)
+                    ? "Fetching all databases"
+                    : "Fetching all databases (page %d)".formatted(pageNum);
+
+                val page = ctx.log().loading(msg, (_) -> {
+                    val filter = DatabaseFilter.builder().limit(pageSize);
+
+                    if (startingAfter != null) {
+                        filter.startingAfterDbId(startingAfter);
+                    }
+
+                    return api.astraOpsClient().db().search(filter.build()).toList();
+                });
+
+                // only an empty page means there's nothing left, since the server may cap the page size; a page ending on the
+                // previous cursor means it was ignored, and the page is just a repeat
+                if (page.isEmpty() || page.getLast().getId().equals(startingAfter)) {
+                    exhausted = true;
+                    return List.of();
+                }
+
+                startingAfter = page.getLast().getId();
+                return page;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     @Override
@@ -87,6 +129,7 @@ public class DbGatewayImpl implements DbGateway {
                     resumeDbInternal(ref);
                     return null;
                 });
+                api.requestCache().evict(Resource.DATABASE);
                 yield Pair.of(currentStatus, timeout.map((t) -> waitUntilDbStatus(ref, ACTIVE, t)).orElse(Duration.ZERO));
             }
             case MAINTENANCE, INITIALIZING, PENDING, ASSOCIATING, RESUMING, UNPARKING -> {
@@ -101,7 +144,7 @@ public class DbGatewayImpl implements DbGateway {
     private void resumeDbInternal(DbRef ref) {
         val endpoint = api.restApiEndpoint(ref, env) + "/v2/schemas/keyspace";
 
-        val response = HttpUtils.GET(endpoint, c -> c, r -> r.header("X-Cassandra-Token", token.unsafeUnwrap()));
+        val response = HttpUtils.GET(ctx, api.httpClient(), endpoint, r -> r.header("X-Cassandra-Token", token.unsafeUnwrap()));
 
         if (response.statusCode() >= 400) {
             throw new AstraCliException(IO_ISSUE, """
@@ -115,16 +158,47 @@ public class DbGatewayImpl implements DbGateway {
 
     @Override
     public Duration waitUntilDbStatus(DbRef ref, DatabaseStatusType target, Duration timeout) {
+        return waitUntilDbStatus(ref, target, timeout, this::pollingStrategyFor);
+    }
+
+    // region changes take many minutes, whatever the db's datacenters happen to report on the first fetch
+    @Override
+    public Duration waitUntilRegionChangeDone(DbRef ref, Duration timeout) {
+        return waitUntilDbStatus(ref, ACTIVE, timeout, (_) -> PollingStrategy.REGION_CHANGE);
+    }
+
+    private Duration waitUntilDbStatus(DbRef ref, DatabaseStatusType target, Duration timeout, Function<Database, PollingStrategy> strategyFor) {
+        val strategy = new AtomicReference<PollingStrategy>();
+
         return awaitGenericStatus(
             ctx,
             "database %s".formatted(ctx.highlight(ref)),
             target,
-            () -> findOne(ref).getStatus(),
+            () -> {
+                api.requestCache().evict(Resource.DATABASE); // every poll needs to actually fetch the current status
+                val db = findOne(ref);
+                strategy.compareAndSet(null, strategyFor.apply(db)); // decided by the initial fetch only
+                return db.getStatus();
+            },
             ctx::highlight,
-            timeout
+            timeout,
+            (_) -> strategy.get()
         );
     }
 
+    private PollingStrategy pollingStrategyFor(Database db) {
+        val regionChangeInProgress = Optional.ofNullable(db.getInfo().getDatacenters()).stream()
+            .flatMap(Collection::stream)
+            .anyMatch((dc) -> dc.getStatus() != null && !dc.getStatus().equalsIgnoreCase(ACTIVE.name()));
+
+        return switch (db.getStatus()) {
+            case HIBERNATED, HIBERNATING, RESUMING, PARKED, PARKING, UNPARKING -> PollingStrategy.QUICK;
+            case TERMINATING, DECOMMISSIONING -> PollingStrategy.SLOW;
+            case MAINTENANCE -> (regionChangeInProgress) ? PollingStrategy.SLOW : PollingStrategy.STANDARD;
+            default -> PollingStrategy.STANDARD;
+        };
+    }
+
     @Override
     public CloudProvider findCloudForRegion(Optional<CloudProvider> cloud, RegionName region, boolean vectorOnly) {
         val cloudRegions = regionGateway.findAllServerless(vectorOnly);
@@ -190,6 +264,8 @@ public class DbGatewayImpl implements DbGateway {
             );
         });
 
+        api.requestCache().evict(Resource.DATABASE);
+
         dbCache.cacheDbId(name, id);
         dbCache.cacheDbRegion(id, region);
         dbCache.cacheDbDefaultKs(id, keyspace);
@@ -210,6 +286,9 @@ public class DbGatewayImpl implements DbGateway {
             return null;
         });
 
+        dbCache.evictDb(ref);
+        api.requestCache().evict(Resource.DATABASE);
+
         return DeletionStatus.deleted(ref);
     }
 
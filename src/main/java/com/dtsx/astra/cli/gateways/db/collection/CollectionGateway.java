@@ -10,14 +10,46 @@ import com.dtsx.astra.cli.gateways.SomeGateway;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CollectionGateway extends SomeGateway {
+    // from is inclusive, until is exclusive; either may be left open
+    record IdRange(Optional<String> from, Optional<String> until) {}
+
+    record DocumentPage(List<String> documents, Optional<String> nextPageState) {}
+
     Optional<CollectionDefinition> findOne(CollectionRef collRef);
 
     List<CollectionDescriptor> findAll(KeyspaceRef ksRef);
 
     long estimatedDocumentCount(CollectionRef collRef);
 
+    // a single page of documents (each as raw json, with every field, including $vector), for streaming through a whole
+    // collection without a spinner per page
+    DocumentPage findPage(CollectionRef collRef, IdRange range, Optional<String> pageState);
+
+    sealed interface InsertManyResult {}
+    record DocumentsInserted() implements InsertManyResult {}
+    // notInserted are the indexes (into the given documents) of the ones which aren't in the collection as they were sent
+    record DocumentsRejected(String reason, Set<Integer> notInserted) implements InsertManyResult {}
+
+    // inserts the documents (each as raw json, which should all have an `_id`) in a single unordered request. If the Data
+    // API rejects any of them, the collection's checked for which ones actually made it in (whether from this request, or
+    // an earlier attempt at it), so only the others need to be retried or set aside. Documents without an `_id` can't
+    // be looked up like this, so they're always counted as not inserted.
+    //
+    // Anything else that goes wrong (e.g. a timeout) is just thrown.
+    InsertManyResult insertMany(CollectionRef collRef, List<String> documents);
+
+    // these are all single, raw requests (without spinners), for driving load against a collection
+    Optional<String> findOneDocument(CollectionRef collRef, String field, Object value);
+
+    List<String> findDocuments(CollectionRef collRef, String field, Object value, int limit);
+
+    List<String> findNearestDocuments(CollectionRef collRef, float[] vector, int limit);
+
+    long deleteDocuments(CollectionRef collRef, String field, Object value);
+
     CreationStatus<CollectionRef> create(
         CollectionRef collRef,
         Optional<Integer> dimension,
@@ -30,6 +62,9 @@ public interface CollectionGateway extends SomeGateway {
         List<String> indexingDeny
     );
 
+    // creates the collection with exactly the given definition, e.g. one copied from another collection
+    CreationStatus<CollectionRef> create(CollectionRef collRef, CollectionDefinition definition);
+
     DeletionStatus<CollectionRef> delete(CollectionRef collRef);
 
     DeletionStatus<CollectionRef> truncate(CollectionRef collRef);
@@ -1,22 +1,40 @@
 package com.dtsx.astra.cli.gateways.db.collection;
 
+import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionInsertManyOptions;
 import com.datastax.astra.client.collections.definition.CollectionDefaultIdTypes;
 import com.datastax.astra.client.collections.definition.CollectionDefinition;
 import com.datastax.astra.client.collections.definition.CollectionDefinition.IndexingOptions;
 import com.datastax.astra.client.collections.definition.CollectionDescriptor;
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.core.query.Filters;
+import com.datastax.astra.client.core.query.Projection;
+import com.datastax.astra.client.core.query.Sort;
 import com.datastax.astra.client.core.vector.SimilarityMetric;
 import com.datastax.astra.client.exceptions.DataAPIException;
+import com.datastax.astra.client.exceptions.DataAPIHttpException;
+import com.datastax.astra.client.exceptions.DataAPITimeoutException;
 import com.dtsx.astra.cli.core.CliContext;
 import com.dtsx.astra.cli.core.datatypes.CreationStatus;
 import com.dtsx.astra.cli.core.datatypes.DeletionStatus;
 import com.dtsx.astra.cli.core.models.CollectionRef;
 import com.dtsx.astra.cli.core.models.KeyspaceRef;
 import com.dtsx.astra.cli.gateways.APIProvider;
+import com.dtsx.astra.cli.gateways.RequestCache.Resource;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 @RequiredArgsConstructor
 public class CollectionGatewayImpl implements CollectionGateway {
@@ -32,18 +50,20 @@ public class CollectionGatewayImpl implements CollectionGateway {
 
     @Override
     public Optional<CollectionDefinition> findOne(CollectionRef collRef) {
-        try {
-            return ctx.log().loading("Getting collection " + ctx.highlight(collRef), (_) -> {
-                return Optional.of(
-                    api.dataApiDatabase(collRef.keyspace()).getCollection(collRef.name()).getDefinition()
-                );
-            });
-        } catch (DataAPIException e) {
-            if (e.getErrorCode().equals("COLLECTION_NOT_EXIST")) {
-                return Optional.empty();
+        return api.requestCache().get(Resource.COLLECTION, collRef, () -> {
+            try {
+                return ctx.log().loading("Getting collection " + ctx.highlight(collRef), (_) -> {
+                    return Optional.of(
+                        api.dataApiDatabase(collRef.keyspace()).getCollection(collRef.name()).getDefinition()
+                    );
+                });
+            } catch (DataAPIException e) {
+                if (e.getErrorCode().equals("COLLECTION_NOT_EXIST")) {
+                    return Optional.empty();
+                }
+                throw e;
             }
-            throw e;
-        }
+        });
     }
 
     @Override
@@ -53,6 +73,126 @@ public class CollectionGatewayImpl implements CollectionGateway {
         });
     }
 
+    @Override
+    public DocumentPage findPage(CollectionRef collRef, IdRange range, Optional<String> pageState) {
+        val filters = new ArrayList<Filter>();
+
+        range.from().ifPresent((id) -> filters.add(Filters.gte("_id", id)));
+        range.until().ifPresent((id) -> filters.add(Filters.lt("_id", id)));
+
+        val filter = switch (filters.size()) {
+            case 0 -> new Filter();
+            case 1 -> filters.getFirst();
+            default -> Filters.and(filters.toArray(Filter[]::new));
+        };
+
+        val options = new CollectionFindOptions().projection(Projection.include("*"));
+        pageState.ifPresent(options::pageState);
+
+        val page = api.dataApiDatabase(collRef.keyspace()).getCollection(collRef.name()).findPage(filter, options);
+
+        return new DocumentPage(
+            page.getResults().stream().map(Document::toJson).toList(),
+            page.getPageState()
+        );
+    }
+
+    @Override
+    public InsertManyResult insertMany(CollectionRef collRef, List<String> documents) {
+        val options = new CollectionInsertManyOptions()
+            .ordered(false)
+            .chunkSize(documents.size())
+            .concurrency(1);
+
+        val collection = api.dataApiDatabase(collRef.keyspace()).getCollection(collRef.name());
+        val parsed = documents.stream().map(Document::parse).toList();
+
+        try {
+            collection.insertMany(parsed, options);
+            return new DocumentsInserted();
+        } catch (DataAPITimeoutException | DataAPIHttpException e) {
+            throw e;
+        } catch (DataAPIException e) {
+            return new DocumentsRejected(e.getMessage(), notInserted(collection, parsed));
+        }
+    }
+
+    // a document's only counted as inserted if one with the same `_id` and the same contents is there now, so an
+    // unrelated document which already had that `_id` still gets it rejected
+    private Set<Integer> notInserted(Collection<Document> collection, List<Document> sent) {
+        val ids = sent.stream().map((doc) -> doc.get("_id")).toList();
+
+        val stored = new HashMap<Object, Document>();
+
+        if (ids.stream().anyMatch(Objects::nonNull)) {
+            val filter = Filters.in("_id", ids.stream().filter(Objects::nonNull).toArray());
+
+            for (val document : collection.find(filter, new CollectionFindOptions())) {
+                stored.put(document.get("_id"), document);
+            }
+        }
+
+        val notInserted = new TreeSet<Integer>();
+
+        for (var i = 0; i < sent.size(); i++) {
+            val match = (ids.get(i) != null) ? stored.get(ids.get(i)) : null;
+
+            if (match == null || !sameContents(sent.get(i), match)) {
+                notInserted.add(i);
+            }
+        }
+
+        return notInserted;
+    }
+
+    // vectors aren't returned by default (and $vectorize'd ones are generated server-side), so they're left out
+    private static boolean sameContents(Document sent, Document stored) {
+        val a = (ObjectNode) JsonUtils.readTree(sent.toJson());
+        val b = (ObjectNode) JsonUtils.readTree(stored.toJson());
+
+        for (val node : List.of(a, b)) {
+            node.remove(List.of("$vector", "$vectorize"));
+        }
+
+        return a.equals(b);
+    }
+
+    @Override
+    public Optional<String> findOneDocument(CollectionRef collRef, String field, Object value) {
+        return api.dataApiDatabase(collRef.keyspace()).getCollection(collRef.name())
+            .findOne(Filters.eq(field, value))
+            .map(Document::toJson);
+    }
+
+    @Override
+    public List<String> findDocuments(CollectionRef collRef, String field, Object value, int limit) {
+        val options = new CollectionFindOptions().limit(limit);
+        val documents = new ArrayList<String>();
+
+        for (val document : api.dataApiDatabase(collRef.keyspace()).getCollection(collRef.name()).find(Filters.eq(field, value), options)) {
+            documents.add(document.toJson());
+        }
+
+        return documents;
+    }
+
+    @Override
+    public List<String> findNearestDocuments(CollectionRef collRef, float[] vector, int limit) {
+        val options = new CollectionFindOptions().sort(Sort.vector(vector)).limit(limit);
+        val documents = new ArrayList<String>();
+
+        for (val document : api.dataApiDatabase(collRef.keyspace()).getCollection(collRef.name()).find(new Filter(), options)) {
+            documents.add(document.toJson());
+        }
+
+        return documents;
+    }
+
+    @Override
+    public long deleteDocuments(CollectionRef collRef, String field, Object value) {
+        return api.dataApiDatabase(collRef.keyspace()).getCollection(collRef.name()).deleteMany(Filters.eq(field, value)).getDeletedCount();
+    }
+
     @Override
     public CreationStatus<CollectionRef> create(
         CollectionRef collRef,
@@ -92,6 +232,24 @@ public class CollectionGatewayImpl implements CollectionGateway {
             return null;
         });
 
+        api.requestCache().evict(Resource.COLLECTION);
+
+        return CreationStatus.created(collRef);
+    }
+
+    @Override
+    public CreationStatus<CollectionRef> create(CollectionRef collRef, CollectionDefinition definition) {
+        if (exists(collRef)) {
+            return CreationStatus.alreadyExists(collRef);
+        }
+
+        ctx.log().loading("Creating collection " + ctx.highlight(collRef), (_) -> {
+            api.dataApiDatabase(collRef.keyspace()).createCollection(collRef.name(), definition);
+            return null;
+        });
+
+        api.requestCache().evict(Resource.COLLECTION);
+
         return CreationStatus.created(collRef);
     }
 
@@ -106,6 +264,8 @@ public class CollectionGatewayImpl implements CollectionGateway {
             return null;
         });
 
+        api.requestCache().evict(Resource.COLLECTION);
+
         return DeletionStatus.deleted(collRef);
     }
 
@@ -7,6 +7,7 @@ import com.dtsx.astra.cli.core.exceptions.internal.db.DbNotFoundException;
 import com.dtsx.astra.cli.core.models.DbRef;
 import com.dtsx.astra.cli.core.models.KeyspaceRef;
 import com.dtsx.astra.cli.gateways.APIProvider;
+import com.dtsx.astra.cli.gateways.RequestCache.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
@@ -21,7 +22,7 @@ public class KeyspaceGatewayImpl implements KeyspaceGateway {
     @Override
     public FoundKeyspaces findAll(DbRef dbRef) {
         return ctx.log().loading("Fetching keyspaces for db " + ctx.highlight(dbRef), (_) -> {
-            val db = api.dbOpsClient(dbRef).find().orElseThrow(() -> new DbNotFoundException(dbRef));
+            val db = api.tryResolveDb(dbRef).orElseThrow(() -> new DbNotFoundException(dbRef)); // the keyspaces are part of the db's info
 
             val defaultKeyspace = db.getInfo().getKeyspace();
 
@@ -44,6 +45,8 @@ public class KeyspaceGatewayImpl implements KeyspaceGateway {
             return null;
         });
 
+        api.requestCache().evict(Resource.DATABASE);
+
         return CreationStatus.created(keyspaceRef);
     }
 
@@ -58,6 +61,8 @@ public class KeyspaceGatewayImpl implements KeyspaceGateway {
             return null;
         });
 
+        api.requestCache().evict(Resource.DATABASE);
+
         return DeletionStatus.deleted(keyspaceRef);
     }
 
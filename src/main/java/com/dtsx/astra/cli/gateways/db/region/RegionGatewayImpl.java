@@ -7,6 +7,7 @@ import com.dtsx.astra.cli.core.models.CloudProvider;
 import com.dtsx.astra.cli.core.models.DbRef;
 import com.dtsx.astra.cli.core.models.RegionName;
 import com.dtsx.astra.cli.gateways.APIProvider;
+import com.dtsx.astra.cli.gateways.RequestCache.Resource;
 import com.dtsx.astra.sdk.db.domain.*;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
@@ -98,6 +99,8 @@ public class RegionGatewayImpl implements RegionGateway {
             return null;
         });
 
+        api.requestCache().evict(Resource.DATABASE);
+
         return CreationStatus.created(region);
     }
 
@@ -114,6 +117,8 @@ public class RegionGatewayImpl implements RegionGateway {
             return null;
         });
 
+        api.requestCache().evict(Resource.DATABASE);
+
         return DeletionStatus.deleted(region);
     }
 
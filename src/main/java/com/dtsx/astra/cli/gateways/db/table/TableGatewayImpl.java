@@ -8,6 +8,7 @@ import com.dtsx.astra.cli.core.datatypes.DeletionStatus;
 import com.dtsx.astra.cli.core.models.KeyspaceRef;
 import com.dtsx.astra.cli.core.models.TableRef;
 import com.dtsx.astra.cli.gateways.APIProvider;
+import com.dtsx.astra.cli.gateways.RequestCache.Resource;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
@@ -27,18 +28,20 @@ public class TableGatewayImpl implements TableGateway {
 
     @Override
     public Optional<TableDefinition> findOne(TableRef collRef) {
-        try {
-            return ctx.log().loading("Getting table " + ctx.highlight(collRef), (_) -> {
-                return Optional.of(
-                    api.dataApiDatabase(collRef.keyspace()).getTable(collRef.name()).getDefinition()
-                );
-            });
-        } catch (DataAPIException e) {
-            if (e.getErrorCode().equals("TABLE_NOT_EXIST")) {
-                return Optional.empty();
+        return api.requestCache().get(Resource.TABLE, collRef, () -> {
+            try {
+                return ctx.log().loading("Getting table " + ctx.highlight(collRef), (_) -> {
+                    return Optional.of(
+                        api.dataApiDatabase(collRef.keyspace()).getTable(collRef.name()).getDefinition()
+                    );
+                });
+            } catch (DataAPIException e) {
+                if (e.getErrorCode().equals("TABLE_NOT_EXIST")) {
+                    return Optional.empty();
+                }
+                throw e;
             }
-            throw e;
-        }
+        });
     }
 
     @Override
@@ -52,6 +55,8 @@ public class TableGatewayImpl implements TableGateway {
             return null;
         });
 
+        api.requestCache().evict(Resource.TABLE);
+
         return DeletionStatus.deleted(collRef);
     }
 
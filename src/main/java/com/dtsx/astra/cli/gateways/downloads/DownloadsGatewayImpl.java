@@ -6,48 +6,174 @@ import com.dtsx.astra.cli.core.models.DbRef;
 import com.dtsx.astra.cli.core.models.Version;
 import com.dtsx.astra.cli.core.properties.CliProperties.ExternalSoftware;
 import com.dtsx.astra.cli.utils.FileUtils;
+import com.dtsx.astra.cli.utils.FileUtils.DownloadValidators;
 import com.dtsx.astra.sdk.db.domain.Datacenter;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.apache.commons.io.file.PathUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.PosixFilePermission;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RequiredArgsConstructor
 public class DownloadsGatewayImpl implements DownloadsGateway {
     private final CliContext ctx;
 
+    private static final int MAX_CONCURRENT_SCB_DOWNLOADS = 4;
+
+    // how long a bundle is trusted before asking the server (via a conditional request) whether it's changed
+    private static final Duration SCB_REVALIDATION_INTERVAL = Duration.ofHours(1);
+
+    private record ScbTarget(Datacenter datacenter, Path path, Path metaPath) {}
+
     @Override
     public Either<String, List<Path>> downloadCloudSecureBundles(DbRef ref, Collection<Datacenter> datacenters) {
-        val result = new ArrayList<Path>();
+        val targets = new ArrayList<ScbTarget>();
 
         for (val datacenter : datacenters) {
-            try {
-                val scbName = "scb_%s_%s.zip".formatted(datacenter.getId(), datacenter.getRegion());
-                val scbPath = ctx.home().dirs.scb.use().resolve(scbName);
-
-                if (Files.notExists(scbPath)) {
-                    ctx.log().loading("Downloading secure connect bundle for database %s in region %s".formatted(ctx.highlight(ref), ctx.highlight(datacenter.getRegion())), (_) -> {
-                        FileUtils.downloadFile(datacenter.getSecureBundleUrl(), scbPath.getParent(), scbName);
-                        return null;
-                    });
+            val scbName = "scb_%s_%s.zip".formatted(datacenter.getId(), datacenter.getRegion());
+            val scbPath = ctx.home().dirs.scb.use().resolve(scbName);
+            targets.add(new ScbTarget(datacenter, scbPath, scbPath.resolveSibling(scbName + ".meta")));
+        }
+
+        val stale = targets.stream().filter((t) -> !isRecentlyValidated(t)).toList();
+
+        if (!stale.isEmpty()) {
+            val error = refreshScbs(ref, stale);
+
+            if (error.isPresent()) {
+                return Either.left(error.get());
+            }
+        }
+
+        return Either.pure(targets.stream().map(ScbTarget::path).toList());
+    }
+
+    private Optional<String> refreshScbs(DbRef ref, List<ScbTarget> stale) {
+        val initialMsg = (stale.size() == 1)
+            ? "Downloading secure connect bundle for database %s in region %s".formatted(ctx.highlight(ref), ctx.highlight(stale.getFirst().datacenter().getRegion()))
+            : "Downloading %d secure connect bundles for database %s".formatted(stale.size(), ctx.highlight(ref));
+
+        return ctx.log().loading(initialMsg, (updateMsg) -> {
+            val semaphore = new Semaphore(MAX_CONCURRENT_SCB_DOWNLOADS);
+            val completed = new AtomicInteger();
+
+            try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                val futures = stale.stream().map((target) -> executor.submit(() -> {
+                    semaphore.acquire();
+                    try {
+                        refreshScb(target);
+                    } finally {
+                        semaphore.release();
+                    }
+
+                    if (stale.size() > 1) {
+                        updateMsg.accept(initialMsg + " (%d/%d)".formatted(completed.incrementAndGet(), stale.size()));
+                    }
+                    return null;
+                })).toList();
+
+                for (var i = 0; i < futures.size(); i++) {
+                    val region = stale.get(i).datacenter().getRegion();
+
+                    try {
+                        futures.get(i).get();
+                    } catch (ExecutionException | InterruptedException e) {
+                        if (e instanceof InterruptedException) {
+                            Thread.currentThread().interrupt();
+                        }
+                        executor.shutdownNow();
+
+                        val cause = (e.getCause() != null) ? e.getCause() : e;
+                        ctx.log().exception("Failed to download secure connect bundle for database '%s' in region '%s'".formatted(ref, region));
+                        ctx.log().exception(cause);
+                        return Optional.of("Failed to download secure connect bundle for database '%s' in region '%s': %s".formatted(ref, region, cause.getMessage()));
+                    }
                 }
+            }
+
+            return Optional.empty();
+        });
+    }
+
+    private void refreshScb(ScbTarget target) throws IOException {
+        val exists = Files.exists(target.path());
+        val meta = readScbMeta(target);
+
+        val known = (exists)
+            ? new DownloadValidators(meta.getProperty("etag"), meta.getProperty("last-modified"))
+            : DownloadValidators.NONE;
+
+        try {
+            val downloaded = FileUtils.downloadFileIfModified(target.datacenter().getSecureBundleUrl(), target.path(), known, FileUtils::validateZip);
+
+            downloaded.ifPresentOrElse(
+                (validators) -> {
+                    ctx.log().debug("Downloaded fresh secure connect bundle to ", target.path().toString());
+                    setIfNotNull(meta, "etag", validators.etag());
+                    setIfNotNull(meta, "last-modified", validators.lastModified());
+                },
+                () -> ctx.log().debug("Secure connect bundle at ", target.path().toString(), " is still up to date")
+            );
+        } catch (Exception e) {
+            if (!exists) {
+                throw e;
+            }
+            // the bundle we already have is most likely still fine (they rarely change), so don't fail just because e.g. we're offline
+            ctx.log().exception("Failed to revalidate secure connect bundle at " + target.path() + "; using the existing one", e);
+            return;
+        }
+
+        meta.setProperty("checked-at", String.valueOf(System.currentTimeMillis()));
+
+        FileUtils.writeAtomically(target.metaPath(), meta);
+    }
+
+    private boolean isRecentlyValidated(ScbTarget target) {
+        if (Files.notExists(target.path())) {
+            return false;
+        }
+
+        try {
+            val checkedAt = Long.parseLong(readScbMeta(target).getProperty("checked-at", "0"));
+            return System.currentTimeMillis() - checkedAt < SCB_REVALIDATION_INTERVAL.toMillis();
+        } catch (Exception e) {
+            return false;
+        }
+    }
 
-                result.add(scbPath);
+    // bundles downloaded by older versions of the cli have no sidecar; they'll just be revalidated (re-downloaded) once
+    private Properties readScbMeta(ScbTarget target) {
+        val props = new Properties();
+
+        if (Files.exists(target.metaPath())) {
+            try (val is = Files.newInputStream(target.metaPath())) {
+                props.load(is);
             } catch (Exception e) {
-                ctx.log().exception("Failed to download secure connect bundle for database '%s' in region '%s'".formatted(ref, datacenter.getRegion()));
-                ctx.log().exception(e);
-                return Either.left("Failed to download secure connect bundle for database '%s' in region '%s': %s".formatted(ref, datacenter.getRegion(), e.getMessage()));
+                ctx.log().exception("Failed to read secure connect bundle metadata at " + target.metaPath(), e);
             }
         }
 
-        return Either.pure(result);
+        return props;
+    }
+
+    private static void setIfNotNull(Properties props, String key, @Nullable String value) {
+        if (value != null) {
+            props.setProperty(key, value);
+        } else {
+            props.remove(key);
+        }
     }
 
     @Override
@@ -127,8 +253,8 @@ public class DownloadsGatewayImpl implements DownloadsGateway {
     private Either<String, Path> installArchive(Path installDir, ExternalSoftware ex, String exeName, Set<String> legacyInstallDirs, CliContext ctx) {
         cleanupExistingInstallation(installDir, legacyInstallDirs, ctx);
 
-        return downloadArchive(installDir, ex, exeName, ctx).flatMap((archivePath) -> {
-            return extractAndSetupArchive(installDir, archivePath, ex.version(), exeName, ctx);
+        return streamArchive(installDir, ex, exeName, ctx).flatMap((_) -> {
+            return setupExecutable(installDir, exeName, ctx);
         });
     }
 
@@ -179,77 +305,25 @@ public class DownloadsGatewayImpl implements DownloadsGateway {
         }
     }
 
-    private static @NotNull Either<String, Path> downloadArchive(Path installDir, ExternalSoftware ex, String exeName, CliContext ctx) {
-        try {
-            return ctx.log().loading("Downloading @!" + exeName + " v" + ex.version() + "!@, please wait", (_) -> {
-                return Either.pure(
-                    FileUtils.downloadFile(ex.url(), installDir, null)
-                );
-            });
-        } catch (Exception e) {
-            ctx.log().exception(e);
-            return Either.left("Failed to download " + exeName + " archive from %s (%s): '%s'".formatted(ex.url(), e.getClass().getSimpleName(), e.getMessage()));
-        }
-    }
+    private static @NotNull Either<String, Path> streamArchive(Path installDir, ExternalSoftware ex, String exeName, CliContext ctx) {
+        val initialMsg = "Downloading @!" + exeName + " v" + ex.version() + "!@, please wait";
 
-    private Either<String, Path> extractAndSetupArchive(Path installDir, Path archivePath, String version, String exeName, CliContext ctx) {
         try {
-            ctx.log().loading("Extracting @!" + exeName + " v" + version + "!@, please wait", (_) -> {
-                if (archivePath.toString().endsWith(".zip")) {
-                    FileUtils.extractZipArchiveInPlace(archivePath, ctx);
-                } else {
-                    FileUtils.extractTarGzArchiveInPlace(archivePath, ctx);
-                }
-                return null;
+            return ctx.log().loading(initialMsg, (updateMsg) -> {
+                val result = new StreamingArchiveInstaller(ctx).install(ex.url(), ex.sha256(), installDir, (progress) -> {
+                    updateMsg.accept(initialMsg + " (" + progress.describe() + ")");
+                });
+
+                ctx.log().debug("Installed ", exeName, " v", ex.version(), " from ", String.valueOf(result.bytes()), " bytes (sha256 ", result.sha256(), ")");
+                return Either.pure(installDir);
             });
         } catch (Exception e) {
             ctx.log().exception(e);
-            return Either.left("Failed to extract " + exeName + " archive %s (%s): '%s'".formatted(archivePath, e.getClass().getSimpleName(), e.getMessage()));
-        }
-
-        return findExtractedDirAndCleanLeftovers(installDir).flatMap((extractedDir) -> {
-            return setupArchive(installDir, extractedDir, version, exeName, ctx);
-        });
-    }
-
-    @SneakyThrows
-    @SuppressWarnings("resource")
-    private Either<String, Path> findExtractedDirAndCleanLeftovers(Path installDir) {
-        val children = Files.list(installDir).toList();
-
-        for (val child : children) {
-            try {
-                if (!Files.isDirectory(child)) {
-                    Files.delete(child);
-                }
-            } catch (Exception e) {
-                ctx.log().exception("Error checking/deleting leftover file from installation", e); // technically no harm if not cleaned, at least w/ existing installable programs
-            }
-        }
-
-        val extractedDir = Files.list(installDir)
-            .filter(Files::isDirectory)
-            .toList();
-
-        if (extractedDir.size() == 1) {
-            return Either.pure(extractedDir.getFirst());
-        } else {
-            return Either.left("Failed to locate extracted directory in " + installDir + "; found " + extractedDir.size() + " directories (expected 1)");
+            return Either.left("Failed to download " + exeName + " archive from %s (%s): '%s'".formatted(ex.url(), e.getClass().getSimpleName(), e.getMessage()));
         }
     }
 
-    @SuppressWarnings("resource")
-    private Either<String, Path> setupArchive(Path installDir, Path extractedDir, String version, String exe, CliContext ctx) {
-        try {
-            for (val item : Files.list(extractedDir).toList()) {
-                Files.move(item, installDir.resolve(item.getFileName()), StandardCopyOption.REPLACE_EXISTING);
-            }
-            PathUtils.deleteDirectory(extractedDir);
-        } catch (Exception e) {
-            ctx.log().exception(e);
-            return Either.left("Failed to move extracted files (%s): '%s'".formatted(e.getClass().getSimpleName(), e.getMessage()));
-        }
-
+    private Either<String, Path> setupExecutable(Path installDir, String exe, CliContext ctx) {
         val exeFile = installDir.resolve("bin/" + exe);
 
         try {
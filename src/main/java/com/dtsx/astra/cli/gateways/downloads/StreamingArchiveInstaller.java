@@ -0,0 +1,346 @@
+package com.dtsx.astra.cli.gateways.downloads;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.utils.FileUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.file.PathUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.function.Consumer;
+
+// Downloads and extracts an archive in a single pass; bytes are tee'd through a SHA-256 digest and fed straight into the
+// decompressor as they arrive, with the archive's top-level directory stripped from each entry on the way out, so nothing
+// is ever written to (or read back from) disk twice.
+//
+// Everything is extracted into a staging directory next to the install dir, which only replaces it once the whole
+// archive has been read and the checksum (if one is pinned) matches. Dropped connections are resumed with a Range request.
+@RequiredArgsConstructor
+public class StreamingArchiveInstaller {
+    private static final int CONNECT_TIMEOUT_MS = 20_000;
+    private static final int READ_TIMEOUT_MS = 60_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RESUMES = 3;
+    private static final long PROGRESS_INTERVAL_MS = 250;
+
+    private final CliContext ctx;
+
+    public record Progress(long bytesRead, long totalBytes, double bytesPerSecond) {
+        public String describe() {
+            val rate = "%.1f MB/s".formatted(bytesPerSecond / 1_000_000);
+
+            return (totalBytes > 0)
+                ? "%.1f/%.1f MB, %s".formatted(bytesRead / 1_000_000.0, totalBytes / 1_000_000.0, rate)
+                : "%.1f MB, %s".formatted(bytesRead / 1_000_000.0, rate);
+        }
+    }
+
+    public record InstallResult(String sha256, long bytes) {}
+
+    @SneakyThrows
+    public InstallResult install(String url, @Nullable String expectedSha256, Path installDir, Consumer<Progress> onProgress) {
+        val stagingDir = Files.createTempDirectory(installDir.getParent(), "." + installDir.getFileName() + "-partial-");
+
+        try {
+            val digest = MessageDigest.getInstance("SHA-256");
+
+            try (val source = new ResumableInputStream(url, onProgress); val digestStream = new DigestInputStream(source, digest)) {
+                extract(url, new BufferedInputStream(digestStream, BUFFER_SIZE), stagingDir);
+
+                // the decompressor may stop before eof (e.g. tar padding), but the checksum covers the whole file
+                digestStream.transferTo(OutputStream.nullOutputStream());
+
+                val actualSha256 = HexFormat.of().formatHex(digest.digest());
+
+                if (expectedSha256 == null || expectedSha256.isBlank()) {
+                    ctx.log().debug("No checksum pinned for ", url, "; downloaded archive has sha256 ", actualSha256);
+                } else if (!expectedSha256.equalsIgnoreCase(actualSha256)) {
+                    throw new IOException("Checksum mismatch for %s: expected sha256 %s, got %s".formatted(url, expectedSha256, actualSha256));
+                }
+
+                publish(stagingDir, installDir);
+                return new InstallResult(actualSha256, source.position);
+            }
+        } finally {
+            if (Files.exists(stagingDir)) {
+                PathUtils.deleteDirectory(stagingDir);
+            }
+        }
+    }
+
+    private void extract(String url, InputStream is, Path stagingDir) throws IOException {
+        if (URI.create(url).getPath().endsWith(".zip")) {
+            extractEntries(new ZipArchiveInputStream(is), stagingDir);
+        } else {
+            extractEntries(new TarArchiveInputStream(new GzipCompressorInputStream(is)), stagingDir);
+        }
+    }
+
+    // WARNING: THIS ASSUMES THE ARCHIVE FOLLOWS THE STANDARD <name>/<bin>/<exe> STRUCTURE
+    private <A extends ArchiveEntry> void extractEntries(ArchiveInputStream<A> ais, Path stagingDir) throws IOException {
+        stagingDir = stagingDir.toRealPath();
+
+        String topLevelDir = null;
+        A entry;
+
+        while ((entry = ais.getNextEntry()) != null) {
+            val name = normalizeEntryName(entry.getName());
+            val slash = name.indexOf('/');
+
+            // the top-level dir itself
+            if (slash < 0 || slash == name.length() - 1) {
+                if (!entry.isDirectory()) {
+                    throw new IOException("Unexpected top-level file '" + name + "' in archive (expected a single top-level directory)");
+                }
+                continue;
+            }
+
+            val entryTopLevelDir = name.substring(0, slash);
+
+            if (topLevelDir == null) {
+                topLevelDir = entryTopLevelDir;
+            } else if (!topLevelDir.equals(entryTopLevelDir)) {
+                throw new IOException("Found multiple top-level directories in archive ('%s' and '%s'; expected 1)".formatted(topLevelDir, entryTopLevelDir));
+            }
+
+            val target = resolveInside(stagingDir, name.substring(slash + 1), name);
+
+            Files.createDirectories(target.getParent());
+            ensureNotWritingThroughLinks(stagingDir, target, name);
+
+            if (entry.isDirectory()) {
+                Files.createDirectories(target);
+                continue;
+            }
+
+            if (entry instanceof TarArchiveEntry tarEntry && tarEntry.isSymbolicLink()) {
+                val linkTarget = target.getFileSystem().getPath(tarEntry.getLinkName());
+
+                if (linkTarget.isAbsolute() || !target.getParent().toRealPath().resolve(linkTarget).normalize().startsWith(stagingDir)) {
+                    throw new IOException("Archive entry '%s' links to '%s', which is outside of the install directory".formatted(name, linkTarget));
+                }
+
+                Files.createSymbolicLink(target, linkTarget);
+                continue;
+            }
+
+            // hard links refer to an earlier entry by its full name (top-level dir included); it's just copied, since the
+            // install dir might not be on a file system which supports them (and nothing relies on them being the same file)
+            if (entry instanceof TarArchiveEntry tarEntry && tarEntry.isLink()) {
+                val linkName = normalizeEntryName(tarEntry.getLinkName());
+
+                if (!linkName.startsWith(topLevelDir + "/")) {
+                    throw new IOException("Archive entry '%s' links to '%s', which is outside of the install directory".formatted(name, linkName));
+                }
+
+                val source = resolveInside(stagingDir, linkName.substring(topLevelDir.length() + 1), name);
+
+                if (!Files.isRegularFile(source, LinkOption.NOFOLLOW_LINKS)) {
+                    throw new IOException("Archive entry '%s' links to '%s', which wasn't extracted before it".formatted(name, linkName));
+                }
+
+                Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+                continue;
+            }
+
+            try (val os = Files.newOutputStream(target)) {
+                IOUtils.copy(ais, os, BUFFER_SIZE);
+            }
+
+            if (entry instanceof TarArchiveEntry tarFileEntry && (tarFileEntry.getMode() & 0100) != 0) {
+                markExecutable(target);
+            }
+        }
+
+        if (topLevelDir == null) {
+            throw new IOException("Archive was empty");
+        }
+    }
+
+    private static String normalizeEntryName(String name) {
+        return name.replace('\\', '/').replaceFirst("^(\\./)+", "");
+    }
+
+    private static Path resolveInside(Path stagingDir, String relativeName, String entryName) throws IOException {
+        val path = stagingDir.resolve(relativeName).normalize();
+
+        if (!path.startsWith(stagingDir) || path.equals(stagingDir)) {
+            throw new IOException("Archive entry '" + entryName + "' would be extracted outside of the install directory");
+        }
+
+        return path;
+    }
+
+    // the checks above are purely lexical, so a symlink extracted earlier (e.g. `lib -> ..`) could otherwise be used to
+    // have a later entry (e.g. `lib/../../evil`, or just `lib/evil`) written somewhere outside of the staging dir
+    private static void ensureNotWritingThroughLinks(Path stagingDir, Path target, String entryName) throws IOException {
+        if (!target.getParent().toRealPath().startsWith(stagingDir) || Files.isSymbolicLink(target)) {
+            throw new IOException("Archive entry '" + entryName + "' would be written through a symbolic link");
+        }
+    }
+
+    private void markExecutable(Path path) {
+        try {
+            val perms = new HashSet<>(Files.getPosixFilePermissions(path));
+            perms.add(PosixFilePermission.OWNER_EXECUTE);
+            perms.add(PosixFilePermission.GROUP_EXECUTE);
+            Files.setPosixFilePermissions(path, perms);
+        } catch (UnsupportedOperationException | IOException _) {
+            // the exe itself still gets its permissions set explicitly afterwards
+        }
+    }
+
+    private void publish(Path stagingDir, Path installDir) throws IOException {
+        if (Files.exists(installDir)) {
+            PathUtils.deleteDirectory(installDir);
+        }
+
+        FileUtils.moveAtomically(stagingDir, installDir);
+    }
+
+    // Transparently reconnects (with a Range request picking up from the last byte read) if the connection drops mid-download.
+    // Resuming is only attempted if the server advertised a validator (ETag/Last-Modified) so If-Range can guarantee we
+    // don't stitch together two different versions of the file.
+    private class ResumableInputStream extends InputStream {
+        private final String url;
+        private final Consumer<Progress> onProgress;
+        private final long startTime = System.currentTimeMillis();
+
+        private InputStream current;
+        private long position = 0;
+        private long totalBytes = -1;
+        private @Nullable String validator;
+        private int resumes = 0;
+        private long lastProgressAt = 0;
+
+        public ResumableInputStream(String url, Consumer<Progress> onProgress) throws IOException {
+            this.url = url;
+            this.onProgress = onProgress;
+            this.current = open();
+        }
+
+        @Override
+        public int read() throws IOException {
+            val buf = new byte[1];
+            return (read(buf, 0, 1) == -1) ? -1 : (buf[0] & 0xFF);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            while (true) {
+                try {
+                    val n = current.read(b, off, len);
+
+                    if (n > 0) {
+                        position += n;
+                        reportProgress();
+                    }
+
+                    return n;
+                } catch (IOException e) {
+                    if (++resumes > MAX_RESUMES || validator == null) {
+                        throw e;
+                    }
+
+                    ctx.log().debug("Connection dropped after ", String.valueOf(position), " bytes of ", url, " (", e.getMessage(), "); resuming (attempt ", String.valueOf(resumes), "/", String.valueOf(MAX_RESUMES), ")");
+                    IOUtils.closeQuietly(current);
+
+                    try {
+                        Thread.sleep(1000L * resumes);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+
+                    current = open();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            current.close();
+        }
+
+        private InputStream open() throws IOException {
+            val conn = URI.create(url).toURL().openConnection();
+            conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            conn.setReadTimeout(READ_TIMEOUT_MS);
+
+            if (position > 0) {
+                conn.setRequestProperty("Range", "bytes=" + position + "-");
+                conn.setRequestProperty("If-Range", validator);
+            }
+
+            if (conn instanceof HttpURLConnection http) {
+                val code = http.getResponseCode();
+
+                if (position > 0 && code != HttpURLConnection.HTTP_PARTIAL) {
+                    throw new IOException("Server did not honor the request to resume the download of %s (HTTP %d)".formatted(url, code));
+                }
+            }
+
+            if (position == 0) {
+                totalBytes = conn.getContentLengthLong();
+                validator = validatorOf(conn);
+                return conn.getInputStream();
+            }
+
+            val is = conn.getInputStream();
+
+            // non-http urls (e.g. file://) don't understand ranges, so just skip ahead
+            if (!(conn instanceof HttpURLConnection)) {
+                is.skipNBytes(position);
+            }
+
+            return is;
+        }
+
+        private @Nullable String validatorOf(URLConnection conn) {
+            val etag = conn.getHeaderField("ETag");
+
+            // weak etags aren't allowed in If-Range
+            if (etag != null && !etag.startsWith("W/")) {
+                return etag;
+            }
+
+            return conn.getHeaderField("Last-Modified");
+        }
+
+        private void reportProgress() {
+            val now = System.currentTimeMillis();
+
+            if (now - lastProgressAt < PROGRESS_INTERVAL_MS) {
+                return;
+            }
+            lastProgressAt = now;
+
+            val elapsedSecs = Math.max(now - startTime, 1) / 1000.0;
+            onProgress.accept(new Progress(position, totalBytes, position / elapsedSecs));
+        }
+    }
+}
@@ -9,6 +9,8 @@ public interface PcuCache {
     void cachePcuGroupId(String title, UUID id);
     Optional<UUID> lookupPcuGroupId(PcuRef ref);
 
+    void evictPcuGroup(PcuRef ref);
+
     default PcuRef convertPcuTitleToIdIfCached(PcuRef ref) {
         return ref.fold(
             _ -> ref,
@@ -4,8 +4,10 @@ import com.dtsx.astra.cli.core.CliContext;
 import com.dtsx.astra.cli.core.datatypes.CreationStatus;
 import com.dtsx.astra.cli.core.datatypes.DeletionStatus;
 import com.dtsx.astra.cli.core.exceptions.internal.pcu.PcuGroupNotFoundException;
+import com.dtsx.astra.cli.core.mixins.LongRunningOptionsMixin.PollingStrategy;
 import com.dtsx.astra.cli.core.models.PcuRef;
 import com.dtsx.astra.cli.gateways.APIProvider;
+import com.dtsx.astra.cli.gateways.RequestCache.Resource;
 import com.dtsx.astra.cli.gateways.pcu.vendored.domain.PcuGroup;
 import com.dtsx.astra.cli.gateways.pcu.vendored.domain.PcuGroupCreationRequest;
 import com.dtsx.astra.cli.gateways.pcu.vendored.domain.PcuGroupStatusType;
@@ -53,6 +55,8 @@ public class PcuGatewayImpl implements PcuGateway {
             api.pcuGroupOpsClient(ref).park();
             return null;
         });
+
+        api.requestCache().evict(Resource.PCU_GROUP);
     }
 
     @Override
@@ -65,6 +69,8 @@ public class PcuGatewayImpl implements PcuGateway {
             api.pcuGroupOpsClient(ref).unpark();
             return null;
         });
+
+        api.requestCache().evict(Resource.PCU_GROUP);
     }
 
     @Override
@@ -73,9 +79,16 @@ public class PcuGatewayImpl implements PcuGateway {
             ctx,
             "PCU group %s".formatted(ctx.highlight(ref)),
             target,
-            () -> findOne(ref).getStatus(),
+            () -> {
+                api.requestCache().evict(Resource.PCU_GROUP); // every poll needs to actually fetch the current status
+                return findOne(ref).getStatus();
+            },
             ctx::highlight,
-            timeout
+            timeout,
+            (status) -> switch (status) {
+                case CREATED, PLACING, INITIALIZING -> PollingStrategy.SLOW;
+                default -> PollingStrategy.STANDARD;
+            }
         );
     }
 
@@ -95,6 +108,8 @@ public class PcuGatewayImpl implements PcuGateway {
             return api.pcuGroupsClient().create(req);
         });
 
+        api.requestCache().evict(Resource.PCU_GROUP);
+
         return CreationStatus.created(group);
     }
 
@@ -116,6 +131,7 @@ public class PcuGatewayImpl implements PcuGateway {
 
         val group = ctx.log().loading("Updating PCU group " + ctx.highlight(ref), (_) -> {
             api.pcuGroupOpsClient(ref).update(req);
+            api.requestCache().evict(Resource.PCU_GROUP);
             return findOne(ref);
         });
 
@@ -133,6 +149,8 @@ public class PcuGatewayImpl implements PcuGateway {
             return null;
         });
 
+        api.requestCache().evict(Resource.PCU_GROUP);
+
         return DeletionStatus.deleted(ref);
     }
 }
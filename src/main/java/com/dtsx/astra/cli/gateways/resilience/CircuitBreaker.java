@@ -0,0 +1,93 @@
+package com.dtsx.astra.cli.gateways.resilience;
+
+import lombok.val;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+// Fails calls fast once an API looks like it's down, instead of having every call wait out its own timeouts & retries.
+//
+// After `failureThreshold` consecutive failures the circuit opens, and every call fails immediately for `openFor`.
+// After that, a single trial call is let through (half-open); if it succeeds the circuit closes again, and if it fails
+// the circuit re-opens for another `openFor`.
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN,
+    }
+
+    private final int failureThreshold;
+    private final Duration openFor;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openFor) {
+        this(failureThreshold, openFor, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    public CircuitBreaker(int failureThreshold, Duration openFor, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openFor = openFor;
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && remainingOpen().isZero()) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    // returns true if this failure is what opened the circuit
+    public synchronized boolean recordFailure() {
+        consecutiveFailures++;
+
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+            trialInFlight = false;
+            return true;
+        }
+
+        return false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    // zero if the circuit's not open, or is just about to let a trial call through
+    public synchronized Duration remainingOpen() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+
+        val remaining = openFor.toNanos() - (nanoClock.getAsLong() - openedAt);
+        return Duration.ofNanos(Math.max(0, remaining));
+    }
+}
@@ -0,0 +1,14 @@
+package com.dtsx.astra.cli.gateways.resilience;
+
+import java.time.Duration;
+
+// an IOException since it's thrown from within the devops sdk's http client, which (like any other I/O failure) wraps
+// it before it gets back to us; see CircuitOpenExceptionMapper for where it's unwrapped again
+public class CircuitOpenException extends RetryLaterException {
+    public final String host;
+
+    public CircuitOpenException(String host, Duration retryIn) {
+        super("Requests to " + host + " are failing fast after repeated errors; retry in " + Math.max(1, retryIn.toSeconds()) + "s", retryIn);
+        this.host = host;
+    }
+}
@@ -0,0 +1,275 @@
+package com.dtsx.astra.cli.gateways.resilience;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.tracing.HttpTracer;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import lombok.val;
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// 429s are always retried (they weren't processed), but 5xxs & I/O errors only for idempotent calls
+public class DevopsResilience implements ExecChainHandler {
+    private static final int MAX_RETRIES = 4;
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(500);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(16);
+    private static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(60);
+
+    private static final double REQUESTS_PER_SECOND_PER_ORG = 10;
+    private static final int BURST_PER_ORG = 20;
+
+    private static final int FAILURES_BEFORE_OPENING = 5;
+    private static final Duration OPEN_FOR = Duration.ofSeconds(30);
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+
+    private static volatile @Nullable Supplier<CliContext> ctxSupplier;
+    private static volatile boolean installed;
+
+    private final ConcurrentHashMap<String, TokenBucket> limiters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    // safe to call any number of times; the ctx supplier's just updated to the latest one, for logging
+    public static synchronized void install(Supplier<CliContext> ctxSupplier) {
+        DevopsResilience.ctxSupplier = ctxSupplier;
+
+        if (installed) {
+            return;
+        }
+        installed = true;
+
+        try {
+            val wrapper = HttpClientWrapper.getInstance("astra-cli");
+            val field = HttpClientWrapper.class.getDeclaredField("httpClient");
+            field.setAccessible(true);
+
+            val replaced = field.get(wrapper);
+            field.set(wrapper, mkHttpClient(new DevopsResilience()));
+
+            closeReplaced(replaced);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log("Could not install retries/rate limiting (or --trace-http tracing) for DevOps API calls; continuing without them: " + e.getMessage());
+        }
+    }
+
+    // installed before any devops client is made, so nothing else uses the original
+    private static void closeReplaced(@Nullable Object replaced) {
+        if (!(replaced instanceof CloseableHttpClient client)) {
+            return;
+        }
+
+        try {
+            client.close(CloseMode.GRACEFUL);
+        } catch (RuntimeException e) {
+            log("Could not close the DevOps API's original http client: " + e.getMessage());
+        }
+    }
+
+    // the sdk's own pool settings, minus its built-in retries
+    private static CloseableHttpClient mkHttpClient(DevopsResilience resilience) {
+        val connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setValidateAfterInactivity(TimeValue.ofSeconds(10));
+        connectionManager.setMaxTotal(100);
+        connectionManager.setDefaultMaxPerRoute(10);
+
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .disableAutomaticRetries()
+            .addExecInterceptorFirst("astra-cli-resilience", resilience)
+            .addExecInterceptorAfter("astra-cli-resilience", "astra-cli-http-tracer", HttpTracer::traceDevopsCall) // so each retry's traced on its own
+            .build();
+    }
+
+    @Override
+    public ClassicHttpResponse execute(ClassicHttpRequest request, ExecChain.Scope scope, ExecChain chain) throws IOException, HttpException {
+        val host = scope.route.getTargetHost().getHostName();
+        val call = request.getMethod() + " " + host + stripQuery(request.getPath());
+
+        val breaker = breakers.computeIfAbsent(host, (_) -> new CircuitBreaker(FAILURES_BEFORE_OPENING, OPEN_FOR));
+        val limiter = limiters.computeIfAbsent(orgKey(request), (_) -> new TokenBucket(REQUESTS_PER_SECOND_PER_ORG, BURST_PER_ORG));
+
+        val idempotent = isIdempotent(request.getMethod(), request.getPath());
+        val repeatable = request.getEntity() == null || request.getEntity().isRepeatable();
+
+        var waited = Duration.ZERO;
+
+        for (var attempt = 0; ; attempt++) {
+            if (!breaker.tryAcquire()) {
+                throw new CircuitOpenException(host, breaker.remainingOpen());
+            }
+
+            val throttle = limiter.reserve();
+
+            if (throttle.toMillis() >= 50) {
+                log("Throttling " + call + " for " + throttle.toMillis() + "ms to stay under the client-side rate limit");
+            }
+
+            waited = waited.plus(throttle);
+            sleep(throttle);
+
+            final ClassicHttpResponse response;
+
+            try {
+                response = chain.proceed(request, scope);
+            } catch (IOException e) {
+                if (breaker.recordFailure()) {
+                    log("Too many consecutive failures calling " + host + "; failing fast for the next " + OPEN_FOR.toSeconds() + "s");
+                }
+
+                if (!idempotent || !repeatable || attempt >= MAX_RETRIES) {
+                    throw e;
+                }
+
+                val delay = retryDelay(attempt, ThreadLocalRandom.current().nextDouble(), null);
+                log("Retrying " + call + " in " + delay.toMillis() + "ms (retry " + (attempt + 1) + "/" + MAX_RETRIES + ") after: " + e.getMessage());
+
+                waited = waited.plus(delay);
+                sleep(delay);
+                continue;
+            } catch (HttpException | RuntimeException e) {
+                breaker.recordFailure(); // so a half-open circuit's trial call is never left hanging
+                throw e;
+            }
+
+            val status = response.getCode();
+
+            if (status >= 500) {
+                if (breaker.recordFailure()) {
+                    log("Too many consecutive failures calling " + host + "; failing fast for the next " + OPEN_FOR.toSeconds() + "s");
+                }
+            } else {
+                breaker.recordSuccess();
+            }
+
+            val retryAfterHeader = response.getFirstHeader("Retry-After");
+            val retryAfter = parseRetryAfter((retryAfterHeader != null) ? retryAfterHeader.getValue() : null, Instant.now());
+
+            val retryable = RETRYABLE_STATUSES.contains(status)
+                && (idempotent || status == 429)
+                && repeatable;
+
+            val shouldRetry = retryable
+                && attempt < MAX_RETRIES
+                && (retryAfter == null || retryAfter.compareTo(MAX_RETRY_AFTER) <= 0);
+
+            // the server said when to come back, so let the caller (e.g. a status poll) decide whether to wait that long
+            if (!shouldRetry && retryable && retryAfter != null) {
+                log(call + " returned " + status + " w/ a Retry-After of " + retryAfter.toSeconds() + "s after " + attempt + " retries; giving up");
+
+                EntityUtils.consume(response.getEntity());
+                response.close();
+
+                throw new RateLimitedException(host, retryAfter);
+            }
+
+            if (!shouldRetry) {
+                if (attempt > 0) {
+                    log(call + " returned " + status + " after " + attempt + " retries (" + waited.toMillis() + "ms spent waiting)");
+                }
+                return response;
+            }
+
+            val delay = retryDelay(attempt, ThreadLocalRandom.current().nextDouble(), retryAfter);
+            log("Retrying " + call + " in " + delay.toMillis() + "ms (retry " + (attempt + 1) + "/" + MAX_RETRIES + ") after it returned " + status + ((retryAfter != null) ? " w/ Retry-After" : ""));
+
+            EntityUtils.consume(response.getEntity());
+            response.close();
+
+            waited = waited.plus(delay);
+            sleep(delay);
+        }
+    }
+
+    // the pcu group lookups are POSTs (to send the ids in the body), but are otherwise plain reads
+    @VisibleForTesting
+    public static boolean isIdempotent(String method, String path) {
+        return IDEMPOTENT_METHODS.contains(method.toUpperCase())
+            || (method.equalsIgnoreCase("POST") && stripQuery(path).endsWith("/actions/get"));
+    }
+
+    // never sooner than the server asked for
+    @VisibleForTesting
+    public static Duration retryDelay(int attempt, double jitter, @Nullable Duration retryAfter) {
+        val base = INITIAL_BACKOFF.toMillis() << Math.min(attempt, 16);
+        val capped = Math.min(base, MAX_BACKOFF.toMillis());
+        val backoff = Duration.ofMillis(capped / 2 + (long) (capped / 2 * jitter));
+
+        return (retryAfter != null && retryAfter.compareTo(backoff) > 0)
+            ? retryAfter
+            : backoff;
+    }
+
+    // Retry-After is either a number of seconds, or an http date
+    @VisibleForTesting
+    public static @Nullable Duration parseRetryAfter(@Nullable String value, Instant now) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException _) {}
+
+        try {
+            val at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return (at.isAfter(now)) ? Duration.between(now, at) : Duration.ZERO;
+        } catch (DateTimeParseException _) {
+            return null;
+        }
+    }
+
+    // the rate limits are per org, and a token only ever belongs to the one org
+    private static String orgKey(ClassicHttpRequest request) {
+        val auth = request.getFirstHeader("Authorization");
+        return (auth != null) ? auth.getValue() : "";
+    }
+
+    private static String stripQuery(String path) {
+        val idx = path.indexOf('?');
+        return (idx < 0) ? path : path.substring(0, idx);
+    }
+
+    private static void sleep(Duration duration) throws InterruptedIOException {
+        if (duration.isZero()) {
+            return;
+        }
+
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+
+    private static void log(String msg) {
+        val supplier = ctxSupplier;
+
+        if (supplier != null) {
+            supplier.get().log().debug(msg);
+        }
+    }
+}
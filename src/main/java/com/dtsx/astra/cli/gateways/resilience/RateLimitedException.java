@@ -0,0 +1,13 @@
+package com.dtsx.astra.cli.gateways.resilience;
+
+import java.time.Duration;
+
+// thrown when the server's Retry-After is longer than a single call's willing to wait out; see RateLimitedExceptionMapper
+public class RateLimitedException extends RetryLaterException {
+    public final String host;
+
+    public RateLimitedException(String host, Duration retryIn) {
+        super("Requests to " + host + " are being turned away; retry in " + Math.max(1, retryIn.toSeconds()) + "s", retryIn);
+        this.host = host;
+    }
+}
@@ -0,0 +1,24 @@
+package com.dtsx.astra.cli.gateways.resilience;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+// a devops call which is safe to repeat, but not until `retryIn` has passed; the sdk may have wrapped it a few causes deep
+public abstract class RetryLaterException extends IOException {
+    public final Duration retryIn;
+
+    protected RetryLaterException(String message, Duration retryIn) {
+        super(message);
+        this.retryIn = retryIn;
+    }
+
+    public static Optional<RetryLaterException> findIn(Throwable ex) {
+        for (var e = ex; e != null; e = (e.getCause() == e) ? null : e.getCause()) {
+            if (e instanceof RetryLaterException rle) {
+                return Optional.of(rle);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.dtsx.astra.cli.gateways.resilience;
+
+import lombok.val;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+// A client-side rate limiter which allows bursts of up to `capacity` requests, refilling at `ratePerSecond`.
+//
+// Callers reserve a token up front and then wait out however long they're told to (outside the lock), so concurrent
+// callers queue up fairly, each waiting for its own token, rather than all waking up and fighting over the next one.
+public class TokenBucket {
+    private final double ratePerSecond;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, int capacity) {
+        this(ratePerSecond, capacity, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    public TokenBucket(double ratePerSecond, int capacity, LongSupplier nanoClock) {
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    // returns how long to wait before the reserved token may be used (zero if one was available right away)
+    public synchronized Duration reserve() {
+        val now = nanoClock.getAsLong();
+
+        tokens = Math.min(capacity, tokens + (now - lastRefill) / 1e9 * ratePerSecond);
+        lastRefill = now;
+
+        tokens -= 1; // may go negative, in which case later callers also wait for the ones queued before them
+
+        return (tokens >= 0)
+            ? Duration.ZERO
+            : Duration.ofNanos((long) Math.ceil(-tokens * 1e9 / ratePerSecond));
+    }
+}
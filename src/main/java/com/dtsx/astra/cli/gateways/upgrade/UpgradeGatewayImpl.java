@@ -26,7 +26,7 @@ public class UpgradeGatewayImpl implements UpgradeGateway {
         return ctx.log().loading("Resolving latest full release of @!astra!@", (_) -> {
             val endpoint = ctx.properties().cliGithubApiReposUrl() + "/releases/latest";
 
-            val response = HttpUtils.GET(endpoint, c -> c, r -> r);
+            val response = HttpUtils.GET(ctx, endpoint, r -> r);
 
             if (response.statusCode() == 404) {
                 throw new AstraCliException(ExitCode.RELEASE_NOT_FOUND, """
@@ -61,7 +61,7 @@ public class UpgradeGatewayImpl implements UpgradeGateway {
             while (true) {
                 val endpoint = ctx.properties().cliGithubApiReposUrl() + "/releases?per_page=2&page=" + attempt;
 
-                val response = HttpUtils.GET(endpoint, c -> c, r -> r);
+                val response = HttpUtils.GET(ctx, endpoint, r -> r);
 
                 if (response.statusCode() >= 400 && response.statusCode() != 404) {
                     throw new AstraCliException(ExitCode.RELEASE_NOT_FOUND, """
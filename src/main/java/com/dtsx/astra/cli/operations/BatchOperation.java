@@ -0,0 +1,202 @@
+package com.dtsx.astra.cli.operations;
+
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.operations.BatchOperation.BatchResult;
+import com.dtsx.astra.cli.utils.StringUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.FILE_ISSUE;
+import static com.dtsx.astra.cli.core.output.ExitCode.PARSE_ISSUE;
+
+@RequiredArgsConstructor
+public class BatchOperation implements Operation<Stream<BatchResult>> {
+    // a line consisting of just this waits for every line before it to finish before starting any after it
+    public static final String BARRIER = "wait";
+
+    private static final Set<String> DISALLOWED_COMMANDS = Set.of("batch", "daemon", "upgrade", "nuke", "setup");
+
+    // these hand the real terminal over to another process, so their output couldn't be captured anyways
+    private static final Set<String> EXTERNAL_TOOL_COMMANDS = Set.of("cqlsh", "dsbulk", "pulsar");
+
+    private final BatchRequest request;
+
+    public record BatchRequest(
+        Reader source,
+        String sourceName,
+        String cliName,
+        int parallelism,
+        boolean keepGoing,
+        LineRunner runner
+    ) {}
+
+    @FunctionalInterface
+    public interface LineRunner {
+        CapturedRun run(List<String> args);
+    }
+
+    public record CapturedRun(int exitCode, String stdout, String stderr) {}
+
+    public record BatchLine(int lineNumber, List<String> args, int group) {}
+
+    public sealed interface BatchResult { BatchLine line(); }
+    public record LineCompleted(BatchLine line, int exitCode, Duration duration, String stdout, String stderr) implements BatchResult {}
+    public record LineSkipped(BatchLine line, String reason) implements BatchResult {}
+
+    @Override
+    public Stream<BatchResult> execute() {
+        val lines = parseLines();
+        val iterator = new ResultIterator(lines);
+        val spliterator = Spliterators.spliterator(iterator, lines.size(), Spliterator.ORDERED | Spliterator.SIZED);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    // the whole file's parsed upfront so a typo on the last line fails the batch before anything's been run
+    private List<BatchLine> parseLines() {
+        val lines = new ArrayList<BatchLine>();
+        var group = 0;
+        var lineNumber = 0;
+
+        try (val reader = new BufferedReader(request.source())) {
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+
+                val finalLineNumber = lineNumber;
+
+                val args = new ArrayList<>(StringUtils.splitShellArgs(line).getRight((err) -> new AstraCliException(PARSE_ISSUE, """
+                  @|bold,red Error: Could not parse line %d of %s: %s.|@
+                """.formatted(finalLineNumber, request.sourceName(), err))));
+
+                if (args.isEmpty()) {
+                    continue;
+                }
+
+                if (args.size() == 1 && args.getFirst().equals(BARRIER)) {
+                    group++;
+                    continue;
+                }
+
+                // lines are allowed to be copied straight out of a shell script
+                if (args.getFirst().equals(request.cliName()) || args.getFirst().equals("astra")) {
+                    args.removeFirst();
+                }
+
+                if (!args.isEmpty() && DISALLOWED_COMMANDS.contains(args.getFirst())) {
+                    throw new AstraCliException(PARSE_ISSUE, """
+                      @|bold,red Error: '%s' can not be run as part of a batch (line %d of %s).|@
+                    """.formatted(args.getFirst(), finalLineNumber, request.sourceName()));
+                }
+
+                // only the command path itself (e.g. `db cqlsh`), not arguments which just happen to share a name
+                if (args.stream().limit(2).anyMatch(EXTERNAL_TOOL_COMMANDS::contains)) {
+                    throw new AstraCliException(PARSE_ISSUE, """
+                      @|bold,red Error: Commands which launch external tools can not be run as part of a batch (line %d of %s).|@
+                    """.formatted(finalLineNumber, request.sourceName()));
+                }
+
+                lines.add(new BatchLine(lineNumber, List.copyOf(args), group));
+            }
+        } catch (IOException e) {
+            throw new AstraCliException(FILE_ISSUE, """
+              @|bold,red Error: Could not read the batch file %s: %s|@
+            """.formatted(request.sourceName(), e.getMessage()));
+        }
+
+        return lines;
+    }
+
+    // results are always produced in the same order as the lines, no matter which order they complete in. up to
+    // `parallelism` lines ahead of the current one are kept in flight, but never past a barrier.
+    // the executor's shut down once every result's been taken, or as soon as anything goes wrong (or the stream's closed)
+    // so no lines are left running in the background
+    private class ResultIterator implements Iterator<BatchResult>, AutoCloseable {
+        private final List<BatchLine> lines;
+        private final List<CompletableFuture<BatchResult>> submitted = new ArrayList<>();
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final AtomicBoolean failed = new AtomicBoolean(false);
+        private int next = 0;
+
+        private ResultIterator(List<BatchLine> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < lines.size()) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public BatchResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            val current = lines.get(next);
+
+            try {
+                while (submitted.size() < lines.size() && submitted.size() < next + request.parallelism()) {
+                    val line = lines.get(submitted.size());
+
+                    if (line.group() != current.group()) {
+                        break;
+                    }
+
+                    submitted.add(submit(line));
+                }
+
+                return submitted.get(next++).join();
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            submitted.forEach((future) -> future.cancel(true));
+            executor.shutdownNow();
+        }
+
+        private CompletableFuture<BatchResult> submit(BatchLine line) {
+            if (failed.get() && !request.keepGoing()) {
+                return CompletableFuture.<BatchResult>completedFuture(new LineSkipped(line, "a previous line failed"));
+            }
+
+            return CompletableFuture.supplyAsync(() -> run(line), executor);
+        }
+
+        private BatchResult run(BatchLine line) {
+            val start = System.nanoTime();
+
+            CapturedRun res;
+
+            try {
+                res = request.runner().run(line.args());
+            } catch (Exception e) {
+                res = new CapturedRun(1, "", "Unexpected error: " + e.getMessage());
+            }
+
+            if (res.exitCode() != 0) {
+                failed.set(true);
+            }
+
+            return new LineCompleted(line, res.exitCode(), Duration.ofNanos(System.nanoTime() - start), res.stdout(), res.stderr());
+        }
+    }
+}
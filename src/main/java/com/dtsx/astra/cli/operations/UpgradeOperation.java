@@ -85,13 +85,16 @@ public class UpgradeOperation implements Operation<Unit> {
         return Unit.INSTANCE;
     }
 
+    // the new binary regenerates its own completion scripts as soon as it's in place, so the next shell that's
+    // opened can source them straight from the cache (see CompletionScripts)
     @SneakyThrows
     private Unit upgradeUnixBinary(Path currentExePath, Path newExePath) {
         new ProcessBuilder("sh", "-c", """
-          mv -f "%s" "%s" && chmod +x "%s"
+          mv -f "%s" "%s" && chmod +x "%s" && { "%s" compgen --refresh >/dev/null 2>&1 || true; }
         """.formatted(
             newExePath,
             currentExePath,
+            currentExePath,
             currentExePath
         )).start();
 
@@ -0,0 +1,117 @@
+package com.dtsx.astra.cli.operations.daemon;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.daemon.DaemonInfo;
+import com.dtsx.astra.cli.core.daemon.DaemonServer;
+import com.dtsx.astra.cli.core.properties.CliProperties.AstraBinary;
+import com.dtsx.astra.cli.core.properties.CliProperties.AstraJar;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.daemon.DaemonStartOperation.DaemonStartResult;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.dtsx.astra.cli.operations.daemon.DaemonStatusOperation.socketPath;
+
+@RequiredArgsConstructor
+public class DaemonStartOperation implements Operation<DaemonStartResult> {
+    private final CliContext ctx;
+    private final DaemonStartRequest request;
+
+    public record DaemonStartRequest(
+        boolean foreground,
+        Duration idleTimeout,
+        Duration startTimeout
+    ) {}
+
+    public sealed interface DaemonStartResult {}
+    public record DaemonAlreadyRunning(DaemonInfo info) implements DaemonStartResult {}
+    public record DaemonStarted(DaemonInfo info, Path logFile) implements DaemonStartResult {}
+    public record DaemonFailedToStart(Path logFile) implements DaemonStartResult {}
+    public record DaemonExited() implements DaemonStartResult {}
+
+    @Override
+    public DaemonStartResult execute() {
+        val socketPath = socketPath(ctx);
+
+        val existing = DaemonInfo.readIfAlive(socketPath);
+
+        if (existing.isPresent()) {
+            return new DaemonAlreadyRunning(existing.get());
+        }
+
+        if (request.foreground()) {
+            new DaemonServer(ctx, socketPath, request.idleTimeout()).run();
+            return new DaemonExited();
+        }
+
+        val logFile = ctx.home().dirs.logs.use().resolve("daemon.log");
+
+        return ctx.log().loading("Starting the astra daemon", (_) -> {
+            val process = spawnDaemon(logFile);
+
+            return awaitDaemon(socketPath, process)
+                .<DaemonStartResult>map((info) -> new DaemonStarted(info, logFile))
+                .orElseGet(() -> new DaemonFailedToStart(logFile));
+        });
+    }
+
+    @SneakyThrows
+    private Process spawnDaemon(Path logFile) {
+        val cmd = new ArrayList<String>();
+
+        switch (ctx.properties().cliPath(ctx)) {
+            case AstraBinary(var binaryPath) -> {
+                cmd.add(binaryPath.toString());
+            }
+            case AstraJar(var jarPath) -> {
+                cmd.add(ProcessHandle.current().info().command().orElse("java"));
+                cmd.add("-jar");
+                cmd.add(jarPath.toString());
+            }
+        }
+
+        cmd.addAll(List.of("daemon", "start", "--foreground", "--idle-timeout", request.idleTimeout().toString()));
+
+        ctx.log().debug("Spawning daemon with command: ", String.join(" ", cmd));
+
+        // the daemon inherits this process's working directory and environment, which is exactly what it'll then
+        // require of every client that connects to it
+        val process = new ProcessBuilder(cmd)
+            .redirectErrorStream(true)
+            .redirectOutput(Redirect.appendTo(logFile.toFile()))
+            .start();
+
+        process.getOutputStream().close();
+        return process;
+    }
+
+    @SneakyThrows
+    private Optional<DaemonInfo> awaitDaemon(Path socketPath, Process process) {
+        val deadline = Instant.now().plus(request.startTimeout());
+
+        while (Instant.now().isBefore(deadline) && process.isAlive()) {
+            val info = DaemonInfo.readIfAlive(socketPath);
+
+            if (info.isPresent() && info.get().pid() == process.pid()) {
+                return info;
+            }
+
+            Thread.sleep(50);
+        }
+
+        if (process.isAlive()) {
+            process.destroy();
+        }
+
+        return Optional.empty();
+    }
+}
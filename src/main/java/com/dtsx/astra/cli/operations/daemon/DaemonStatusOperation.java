@@ -0,0 +1,33 @@
+package com.dtsx.astra.cli.operations.daemon;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.daemon.DaemonInfo;
+import com.dtsx.astra.cli.core.daemon.DaemonProtocol;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.daemon.DaemonStatusOperation.DaemonStatusResult;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.nio.file.Path;
+
+@RequiredArgsConstructor
+public class DaemonStatusOperation implements Operation<DaemonStatusResult> {
+    private final CliContext ctx;
+
+    public sealed interface DaemonStatusResult {}
+    public record DaemonNotRunning(Path socketPath) implements DaemonStatusResult {}
+    public record DaemonRunning(Path socketPath, DaemonInfo info) implements DaemonStatusResult {}
+
+    @Override
+    public DaemonStatusResult execute() {
+        val socketPath = socketPath(ctx);
+
+        return DaemonInfo.readIfAlive(socketPath)
+            .<DaemonStatusResult>map((info) -> new DaemonRunning(socketPath, info))
+            .orElseGet(() -> new DaemonNotRunning(socketPath));
+    }
+
+    public static Path socketPath(CliContext ctx) {
+        return DaemonProtocol.socketPath(ctx.path(ctx.home().root()));
+    }
+}
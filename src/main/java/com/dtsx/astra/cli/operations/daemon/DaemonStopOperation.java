@@ -0,0 +1,75 @@
+package com.dtsx.astra.cli.operations.daemon;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.daemon.DaemonInfo;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.daemon.DaemonStopOperation.DaemonStopResult;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.dtsx.astra.cli.operations.daemon.DaemonStatusOperation.socketPath;
+
+@RequiredArgsConstructor
+public class DaemonStopOperation implements Operation<DaemonStopResult> {
+    private final CliContext ctx;
+    private final DaemonStopRequest request;
+
+    public record DaemonStopRequest(Duration timeout) {}
+
+    public sealed interface DaemonStopResult {}
+    public record DaemonNotRunning() implements DaemonStopResult {}
+    public record DaemonStopped(long pid, boolean forcibly) implements DaemonStopResult {}
+
+    @Override
+    public DaemonStopResult execute() {
+        val socketPath = socketPath(ctx);
+        val info = DaemonInfo.read(socketPath);
+
+        if (info.isEmpty() || !info.get().isAlive()) {
+            deleteDaemonFiles(socketPath); // clean up after a daemon which didn't get the chance to itself
+            return new DaemonNotRunning();
+        }
+
+        val pid = info.get().pid();
+        val process = info.get().process().orElseThrow();
+
+        return ctx.log().loading("Stopping the astra daemon (pid " + pid + ")", (_) -> {
+            process.destroy(); // lets the shutdown hook clean up the socket
+
+            if (awaitExit(process)) {
+                return new DaemonStopped(pid, false);
+            }
+
+            process.destroyForcibly();
+            deleteDaemonFiles(socketPath);
+            return new DaemonStopped(pid, true);
+        });
+    }
+
+    @SneakyThrows
+    private boolean awaitExit(ProcessHandle process) {
+        try {
+            process.onExit().get(request.timeout().toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void deleteDaemonFiles(Path socketPath) {
+        try {
+            Files.deleteIfExists(socketPath);
+            Files.deleteIfExists(DaemonInfo.pathFor(socketPath));
+        } catch (IOException e) {
+            ctx.log().warn("Could not delete stale daemon files: ", e.getMessage());
+        }
+    }
+}
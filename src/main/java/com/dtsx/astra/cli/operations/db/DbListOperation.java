@@ -3,26 +3,56 @@ package com.dtsx.astra.cli.operations.db;
 import com.dtsx.astra.cli.gateways.db.DbGateway;
 import com.dtsx.astra.cli.operations.Operation;
 import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.Datacenter;
 import lombok.RequiredArgsConstructor;
+import lombok.val;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
+import static com.dtsx.astra.cli.operations.db.DbListOperation.DbListEntry;
+
 @RequiredArgsConstructor
-public class DbListOperation implements Operation<Stream<Database>> {
+public class DbListOperation implements Operation<Stream<DbListEntry>> {
     private final DbGateway dbGateway;
     private final DbListRequest request;
 
-    public record DbListRequest(boolean vectorOnly) {}
+    public record DbListRequest(boolean vectorOnly, boolean withKeyspaces, boolean withDatacenters, Optional<Integer> limit, Optional<Integer> pageSize) {}
+
+    // keyspaces/datacenters are only present if they were requested
+    public record DbListEntry(Database database, Optional<List<String>> keyspaces, Optional<List<Datacenter>> datacenters) {}
 
     @Override
-    public Stream<Database> execute() {
-        var databases = dbGateway.findAll();
+    public Stream<DbListEntry> execute() {
+        // pages are fetched lazily, so a --limit stops any further pages from being requested
+        var databases = request.pageSize
+            .map(dbGateway::findAll)
+            .orElseGet(dbGateway::findAll);
 
         if (request.vectorOnly) {
             databases = databases.filter(db -> db.getInfo().getDbType() != null);
         }
 
-        return databases;
+        if (request.limit.isPresent()) {
+            databases = databases.limit(request.limit.get());
+        }
+
+        return databases.map(this::toEntry);
+    }
+
+    // the listing already includes every db's keyspaces & datacenters, so there's no need for any per-db lookups
+    private DbListEntry toEntry(Database db) {
+        val keyspaces = (request.withKeyspaces)
+            ? Optional.<List<String>>of(new ArrayList<>(Optional.ofNullable(db.getInfo().getKeyspaces()).orElse(Set.of())))
+            : Optional.<List<String>>empty();
+
+        val datacenters = (request.withDatacenters)
+            ? Optional.<List<Datacenter>>of(new ArrayList<>(Optional.ofNullable(db.getInfo().getDatacenters()).orElse(Set.of())))
+            : Optional.<List<Datacenter>>empty();
+
+        return new DbListEntry(db, keyspaces, datacenters);
     }
 }
@@ -1,26 +1,198 @@
 package com.dtsx.astra.cli.operations.db;
 
 import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
 import com.dtsx.astra.cli.core.models.DbRef;
+import com.dtsx.astra.cli.core.models.RegionName;
 import com.dtsx.astra.cli.gateways.db.DbGateway;
 import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.sdk.db.domain.Database;
 import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.TIMED_OUT;
+import static com.dtsx.astra.cli.operations.db.DbStatusOperation.DbStatusResult;
 
 @RequiredArgsConstructor
-public class DbStatusOperation implements Operation<DatabaseStatusType> {
+public class DbStatusOperation implements Operation<DbStatusResult> {
     private final CliContext ctx;
     private final DbGateway dbGateway;
     private final DbStatusRequest request;
 
-    public record DbStatusRequest(DbRef dbRef) {}
+    public sealed interface DbStatusRequest {}
+
+    public record SingleDbStatusRequest(DbRef dbRef) implements DbStatusRequest {}
+
+    public record AllDbsStatusRequest(
+        DbStatusFilter filter,
+        boolean watch,
+        Optional<DatabaseStatusType> until,
+        Duration interval,
+        Duration timeout,
+        Consumer<List<DbStatusTransition>> onTransitions
+    ) implements DbStatusRequest {}
+
+    // the status filter only applies to the initial selection, so e.g. all currently hibernated dbs can be watched
+    // until they're all active again without them dropping out of the selection as soon as they start resuming
+    public record DbStatusFilter(Optional<String> nameGlob, Optional<RegionName> region, Set<DatabaseStatusType> statuses) {
+        public boolean matchesIgnoringStatus(Database db) {
+            val nameMatches = nameGlob
+                .map((glob) -> globToRegex(glob).matcher(db.getInfo().getName()).matches())
+                .orElse(true);
+
+            val regionMatches = region
+                .map((r) -> db.getInfo().getDatacenters().stream().anyMatch((dc) -> dc.getRegion().equalsIgnoreCase(r.unwrap())))
+                .orElse(true);
+
+            return nameMatches && regionMatches;
+        }
+
+        public boolean matches(Database db) {
+            return matchesIgnoringStatus(db) && (statuses.isEmpty() || statuses.contains(db.getStatus()));
+        }
+    }
+
+    // `from` is null for databases seen for the first time, and `to` is null for databases which have disappeared
+    public record DbStatusTransition(Instant at, String id, String name, @Nullable DatabaseStatusType from, @Nullable DatabaseStatusType to) {}
+
+    public sealed interface DbStatusResult {}
+    public record SingleDbStatus(DatabaseStatusType status) implements DbStatusResult {}
+    public record AllDbStatuses(List<Database> databases) implements DbStatusResult {}
+    public record WatchCompleted(List<Database> databases, Optional<DatabaseStatusType> until, int polls, Duration elapsed) implements DbStatusResult {}
 
     @Override
-    public DatabaseStatusType execute() {
-        return ctx.log().loading("Fetching status for database " + ctx.highlight(request.dbRef), (_) -> {
-            val db = dbGateway.findOne(request.dbRef);
-            return db.getStatus();
-        });
+    public DbStatusResult execute() {
+        return switch (request) {
+            case SingleDbStatusRequest(var dbRef) -> ctx.log().loading("Fetching status for database " + ctx.highlight(dbRef), (_) -> {
+                val db = dbGateway.findOne(dbRef);
+                return new SingleDbStatus(db.getStatus());
+            });
+            case AllDbsStatusRequest req -> (req.watch())
+                ? watch(req)
+                : new AllDbStatuses(dbGateway.findAll().filter(req.filter()::matches).toList());
+        };
+    }
+
+    private WatchCompleted watch(AllDbsStatusRequest req) {
+        val startTime = System.currentTimeMillis();
+
+        // one findAll per cycle, no matter how many dbs are being watched
+        var snapshot = snapshot(dbGateway.findAll().filter(req.filter()::matches).toList());
+        val selectedIds = new HashSet<>(snapshot.keySet());
+
+        emit(req, diffSnapshots(Map.of(), snapshot, Instant.now()));
+
+        var polls = 1;
+
+        while (!allReachedTarget(snapshot, req.until())) {
+            val elapsed = Duration.ofMillis(System.currentTimeMillis() - startTime);
+
+            if (req.timeout().isPositive() && elapsed.compareTo(req.timeout()) >= 0) {
+                // without --until, the timeout's just how long to watch for
+                if (req.until().isEmpty()) {
+                    break;
+                }
+
+                throw new AstraCliException(TIMED_OUT, """
+                  @|bold,red Operation timed out after %d seconds while waiting for all selected databases to become %s|@
+
+                  You can retry the operation or increase the timeout using the @!--timeout!@ option. @!0!@ means no timeout.
+                """.formatted(
+                    req.timeout().toSeconds(),
+                    req.until().get().name()
+                ));
+            }
+
+            val sleepFor = (req.timeout().isPositive())
+                ? Collections.min(List.of(req.interval(), req.timeout().minus(elapsed)))
+                : req.interval();
+
+            try {
+                Thread.sleep(sleepFor.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            val current = snapshot(dbGateway.findAll()
+                .filter((db) -> selectedIds.contains(db.getId()) || (req.filter().statuses().isEmpty() && req.filter().matchesIgnoringStatus(db)))
+                .toList());
+
+            selectedIds.addAll(current.keySet());
+
+            emit(req, diffSnapshots(snapshot, current, Instant.now()));
+
+            snapshot = current;
+            polls++;
+        }
+
+        val elapsed = Duration.ofMillis(System.currentTimeMillis() - startTime);
+
+        ctx.log().debug("Watched ", String.valueOf(snapshot.size()), " database(s) over ", String.valueOf(polls), " poll(s) in ", String.valueOf(elapsed.toMillis()), "ms");
+
+        return new WatchCompleted(List.copyOf(snapshot.values()), req.until(), polls, elapsed);
+    }
+
+    private void emit(AllDbsStatusRequest req, List<DbStatusTransition> transitions) {
+        if (!transitions.isEmpty()) {
+            req.onTransitions().accept(transitions);
+        }
+    }
+
+    private static boolean allReachedTarget(Map<String, Database> snapshot, Optional<DatabaseStatusType> until) {
+        return until.isPresent() && snapshot.values().stream().allMatch((db) -> db.getStatus() == until.get());
+    }
+
+    private static SequencedMap<String, Database> snapshot(List<Database> dbs) {
+        val map = new LinkedHashMap<String, Database>();
+
+        dbs.stream()
+            .sorted(Comparator.comparing((Database db) -> db.getInfo().getName()).thenComparing(Database::getId))
+            .forEach((db) -> map.put(db.getId(), db));
+
+        return map;
+    }
+
+    public static List<DbStatusTransition> diffSnapshots(Map<String, Database> prev, Map<String, Database> curr, Instant at) {
+        val transitions = new ArrayList<DbStatusTransition>();
+
+        for (val db : curr.values()) {
+            val prevDb = prev.get(db.getId());
+            val prevStatus = (prevDb != null) ? prevDb.getStatus() : null;
+
+            if (prevStatus != db.getStatus()) {
+                transitions.add(new DbStatusTransition(at, db.getId(), db.getInfo().getName(), prevStatus, db.getStatus()));
+            }
+        }
+
+        for (val db : prev.values()) {
+            if (!curr.containsKey(db.getId())) {
+                transitions.add(new DbStatusTransition(at, db.getId(), db.getInfo().getName(), db.getStatus(), null));
+            }
+        }
+
+        return transitions;
+    }
+
+    private static Pattern globToRegex(String glob) {
+        val sb = new StringBuilder();
+
+        for (val c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> sb.append(".*");
+                case '?' -> sb.append('.');
+                default -> sb.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+
+        return Pattern.compile(sb.toString(), Pattern.CASE_INSENSITIVE);
     }
 }
@@ -0,0 +1,108 @@
+package com.dtsx.astra.cli.operations.db.collection;
+
+import com.datastax.astra.client.exceptions.DataAPIHttpException;
+import com.datastax.astra.client.exceptions.DataAPITimeoutException;
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.datatypes.LatencyHistogram;
+import com.dtsx.astra.cli.core.models.CollectionRef;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsInserted;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsRejected;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.InsertManyResult;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// the insertMany loop shared by import & copy; every document's expected to have an _id, so a batch is safe to resend
+@RequiredArgsConstructor
+public class BatchInserter {
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(250);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private final CliContext ctx;
+    private final CollectionGateway collectionGateway;
+    private final CollectionRef collRef;
+    private final int maxRetries;
+
+    private final LatencyHistogram latencies = new LatencyHistogram(); // of each successful insertMany request
+    private final AtomicLong retries = new AtomicLong();
+
+    @FunctionalInterface
+    public interface OnRejected<T> {
+        void accept(T item, String reason) throws IOException;
+    }
+
+    public LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    public long retries() {
+        return retries.get();
+    }
+
+    // returns how many of the items are in the collection afterward; the rest have each been passed to onRejected
+    public <T> long insert(List<T> items, Function<T, String> toDocument, OnRejected<T> onRejected) throws IOException, InterruptedException {
+        return switch (insertWithRetries(items.stream().map(toDocument).toList())) {
+            case DocumentsInserted() -> items.size();
+            case DocumentsRejected(var reason, var notInserted) -> {
+                var inserted = (long) items.size() - notInserted.size();
+
+                if (items.size() == 1) {
+                    if (!notInserted.isEmpty()) {
+                        onRejected.accept(items.getFirst(), reason);
+                    }
+                    yield inserted;
+                }
+
+                // the reason's for the batch as a whole, so each is tried again on its own to find out which are bad
+                for (val index : notInserted) {
+                    inserted += insert(List.of(items.get(index)), toDocument, onRejected);
+                }
+
+                yield inserted;
+            }
+        };
+    }
+
+    // only timeouts and http-level failures are retried; anything else is a bug, or won't go away by itself
+    private InsertManyResult insertWithRetries(List<String> documents) throws InterruptedException {
+        for (var attempt = 0; ; attempt++) {
+            val start = System.nanoTime();
+
+            try {
+                val res = collectionGateway.insertMany(collRef, documents);
+
+                if (res instanceof DocumentsInserted) {
+                    latencies.record(Duration.ofNanos(System.nanoTime() - start));
+                }
+
+                return res;
+            } catch (DataAPITimeoutException | DataAPIHttpException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+
+                val delay = backoff(attempt, ThreadLocalRandom.current().nextDouble());
+                ctx.log().debug("Retrying a batch of " + documents.size() + " documents in " + delay.toMillis() + "ms after: " + e.getMessage());
+
+                retries.incrementAndGet();
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    // exponential, with jitter in the upper half so concurrent batches failing together don't all retry together
+    @VisibleForTesting
+    public static Duration backoff(int attempt, double jitter) {
+        val base = INITIAL_BACKOFF.toMillis() << Math.min(attempt, 16);
+        val capped = Math.min(base, MAX_BACKOFF.toMillis());
+        return Duration.ofMillis(capped / 2 + (long) (capped / 2 * jitter));
+    }
+}
@@ -0,0 +1,339 @@
+package com.dtsx.astra.cli.operations.db.collection;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.datatypes.LatencyHistogram;
+import com.dtsx.astra.cli.core.models.CollectionRef;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsInserted;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsRejected;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionBenchOperation.CollectionBenchResult;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.experimental.Accessors;
+import lombok.val;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+
+// at a target rate, latency's measured from when a request was due rather than sent, so a stall is charged to everything queued behind it
+@RequiredArgsConstructor
+public class CollectionBenchOperation implements Operation<CollectionBenchResult> {
+    private static final String RUN_FIELD = "astra_bench_run";
+    private static final String BUCKET_FIELD = "astra_bench_bucket";
+    private static final int BUCKETS = 100;
+    private static final int SEED_CHUNK_SIZE = 50;
+    private static final int FIND_LIMIT = 10;
+
+    private final CliContext ctx;
+    private final CollectionGateway collectionGateway;
+    private final CollectionBenchRequest request;
+
+    @Getter
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor
+    public enum BenchOp {
+        INSERT("insert"),
+        FIND_BY_ID("find-by-id"),
+        FIND("find"),
+        VECTOR("vector");
+
+        private final String label;
+
+        public static Optional<BenchOp> fromLabel(String label) {
+            return Arrays.stream(values()).filter((op) -> op.label.equalsIgnoreCase(label)).findFirst();
+        }
+    }
+
+    public sealed interface CollectionBenchResult {}
+    public record CollectionBenchmarked(Duration elapsed, List<OpStats> stats, long documentsInserted, boolean documentsDeleted) implements CollectionBenchResult {}
+    public record CollectionNotFound() implements CollectionBenchResult {}
+    public record VectorsNotEnabled() implements CollectionBenchResult {}
+    public record SeedDocumentsRejected(String reason) implements CollectionBenchResult {}
+
+    // the last one's always for every request, across all operations; `missed` is only ever non-zero at a target rate
+    public record OpStats(String operation, long requests, long errors, long missed, double throughput, LatencyHistogram latencies) {}
+
+    // without a mix, every operation the collection supports is weighted equally
+    public record CollectionBenchRequest(
+        CollectionRef collRef,
+        Optional<SequencedMap<BenchOp, Integer>> mix,
+        Duration duration,
+        int concurrency,
+        Optional<Integer> rate,
+        int seedDocuments,
+        boolean keepDocuments
+    ) {}
+
+    private record Recorders(Map<BenchOp, LatencyHistogram> latencies, Map<BenchOp, AtomicLong> errors, Map<BenchOp, AtomicLong> missed, LatencyHistogram all) {}
+
+    private final String runId = UUID.randomUUID().toString();
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+
+    private SequencedMap<BenchOp, Integer> mix;
+
+    @Override
+    public CollectionBenchResult execute() {
+        val definition = collectionGateway.findOne(request.collRef);
+
+        if (definition.isEmpty()) {
+            return new CollectionNotFound();
+        }
+
+        val dimension = Optional.ofNullable(definition.get().getVector()).map((v) -> v.getDimension());
+
+        mix = request.mix.orElseGet(() -> defaultMix(dimension.isPresent()));
+
+        if (mix.containsKey(BenchOp.VECTOR) && dimension.isEmpty()) {
+            return new VectorsNotEnabled();
+        }
+
+        try {
+            val seedFailure = seed(dimension);
+
+            if (seedFailure.isPresent()) {
+                return new SeedDocumentsRejected(seedFailure.get());
+            }
+
+            val start = System.nanoTime();
+
+            val recorders = ctx.log().loading("Benchmarking collection " + ctx.highlight(request.collRef), (updateMsg) -> {
+                return run(dimension, updateMsg);
+            });
+
+            val elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            return new CollectionBenchmarked(elapsed, stats(recorders, elapsed), inserted.get(), !request.keepDocuments);
+        } finally {
+            if (!request.keepDocuments) {
+                deleteDocuments();
+            }
+        }
+    }
+
+    private Optional<String> seed(Optional<Integer> dimension) {
+        if (request.seedDocuments <= 0) {
+            return Optional.empty();
+        }
+
+        return ctx.log().loading("Inserting %,d seed documents into collection %s".formatted(request.seedDocuments, ctx.highlight(request.collRef)), (_) -> {
+            while (nextId.get() < request.seedDocuments) {
+                val chunk = new ArrayList<String>();
+
+                while (chunk.size() < SEED_CHUNK_SIZE && nextId.get() < request.seedDocuments) {
+                    chunk.add(mkDocument(nextId.getAndIncrement(), dimension));
+                }
+
+                if (collectionGateway.insertMany(request.collRef, chunk) instanceof DocumentsRejected(var reason, var _)) {
+                    return Optional.of(reason);
+                }
+
+                inserted.addAndGet(chunk.size());
+            }
+            return Optional.empty();
+        });
+    }
+
+    @SneakyThrows
+    private Recorders run(Optional<Integer> dimension, Consumer<String> updateMsg) {
+        val recorders = new Recorders(new EnumMap<>(BenchOp.class), new EnumMap<>(BenchOp.class), new EnumMap<>(BenchOp.class), new LatencyHistogram());
+
+        for (val op : mix.keySet()) {
+            recorders.latencies().put(op, new LatencyHistogram());
+            recorders.errors().put(op, new AtomicLong());
+            recorders.missed().put(op, new AtomicLong());
+        }
+
+        val start = System.nanoTime();
+        val deadline = start + request.duration.toNanos();
+        val nextSlot = new AtomicLong(start);
+
+        try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var i = 0; i < request.concurrency; i++) {
+                executor.execute(() -> work(recorders, dimension, deadline, nextSlot));
+            }
+
+            executor.shutdown();
+
+            while (!executor.awaitTermination(500, TimeUnit.MILLISECONDS)) {
+                val elapsedSecs = Math.max((System.nanoTime() - start) / 1e9, 0.001);
+
+                updateMsg.accept("Benchmarking collection %s (%ds of %ds, %,.0f requests/s)".formatted(
+                    ctx.highlight(request.collRef),
+                    (long) elapsedSecs,
+                    request.duration.toSeconds(),
+                    recorders.all().count() / elapsedSecs
+                ));
+            }
+        }
+
+        return recorders;
+    }
+
+    private void work(Recorders recorders, Optional<Integer> dimension, long deadline, AtomicLong nextSlot) {
+        val random = ThreadLocalRandom.current();
+        val interval = request.rate.map((rate) -> 1_000_000_000L / rate);
+        val totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        while (true) {
+            val intended = (interval.isPresent())
+                ? nextSlot.getAndAdd(interval.get())
+                : System.nanoTime();
+
+            if (intended >= deadline) {
+                return;
+            }
+
+            for (var wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+
+            val op = pick(mix, random.nextInt(totalWeight));
+
+            // every worker was busy until past the deadline; drain the remaining slots so each one's counted as missed
+            if (interval.isPresent() && System.nanoTime() >= deadline) {
+                recorders.missed().get(op).incrementAndGet();
+                continue;
+            }
+
+            try {
+                if (perform(op, dimension, random)) {
+                    val latency = Duration.ofNanos(System.nanoTime() - intended);
+                    recorders.latencies().get(op).record(latency);
+                    recorders.all().record(latency);
+                } else {
+                    recorders.errors().get(op).incrementAndGet();
+                }
+            } catch (Exception e) {
+                recorders.errors().get(op).incrementAndGet();
+                ctx.log().debug("Benchmark " + op.label() + " request failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean perform(BenchOp op, Optional<Integer> dimension, Random random) {
+        switch (op) {
+            case INSERT -> {
+                val res = collectionGateway.insertMany(request.collRef, List.of(mkDocument(nextId.getAndIncrement(), dimension)));
+
+                if (res instanceof DocumentsInserted) {
+                    inserted.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+            case FIND_BY_ID -> {
+                collectionGateway.findOneDocument(request.collRef, "_id", id(random.nextLong(Math.max(request.seedDocuments, 1))));
+                return true;
+            }
+            case FIND -> {
+                collectionGateway.findDocuments(request.collRef, BUCKET_FIELD, random.nextInt(BUCKETS), FIND_LIMIT);
+                return true;
+            }
+            case VECTOR -> {
+                collectionGateway.findNearestDocuments(request.collRef, randomVector(dimension.orElseThrow(), random), FIND_LIMIT);
+                return true;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private void deleteDocuments() {
+        // anything which was even attempted, since a rejected insertMany may still have inserted some of its documents
+        if (nextId.get() == 0) {
+            return;
+        }
+
+        try {
+            ctx.log().loading("Deleting the documents inserted by the benchmark", (_) -> {
+                return collectionGateway.deleteDocuments(request.collRef, RUN_FIELD, runId);
+            });
+        } catch (Exception e) {
+            ctx.log().exception("Could not delete the documents inserted by the benchmark (they all have %s set to '%s')".formatted(RUN_FIELD, runId), e);
+        }
+    }
+
+    private List<OpStats> stats(Recorders recorders, Duration elapsed) {
+        val elapsedSecs = Math.max(elapsed.toNanos() / 1e9, 0.001);
+        val stats = new ArrayList<OpStats>();
+
+        for (val op : mix.keySet()) {
+            val latencies = recorders.latencies().get(op);
+            stats.add(new OpStats(op.label(), latencies.count(), recorders.errors().get(op).get(), recorders.missed().get(op).get(), latencies.count() / elapsedSecs, latencies));
+        }
+
+        val totalErrors = recorders.errors().values().stream().mapToLong(AtomicLong::get).sum();
+        val totalMissed = recorders.missed().values().stream().mapToLong(AtomicLong::get).sum();
+        stats.add(new OpStats("all", recorders.all().count(), totalErrors, totalMissed, recorders.all().count() / elapsedSecs, recorders.all()));
+
+        return stats;
+    }
+
+    private String id(long n) {
+        return runId + "-" + n;
+    }
+
+    private String mkDocument(long n, Optional<Integer> dimension) {
+        val random = ThreadLocalRandom.current();
+
+        val document = sequencedMapOf(
+            "_id", (Object) id(n),
+            RUN_FIELD, runId,
+            BUCKET_FIELD, (int) (n % BUCKETS),
+            "payload", Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong())
+        );
+
+        dimension.ifPresent((d) -> document.put("$vector", randomVector(d, random)));
+
+        return JsonUtils.writeValue(document);
+    }
+
+    private static float[] randomVector(int dimension, Random random) {
+        val vector = new float[dimension];
+
+        for (var i = 0; i < dimension; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+
+        return vector;
+    }
+
+    @VisibleForTesting
+    public static BenchOp pick(SequencedMap<BenchOp, Integer> mix, int roll) {
+        var remaining = roll;
+
+        for (val entry : mix.entrySet()) {
+            remaining -= entry.getValue();
+
+            if (remaining < 0) {
+                return entry.getKey();
+            }
+        }
+
+        return mix.lastEntry().getKey();
+    }
+
+    private static SequencedMap<BenchOp, Integer> defaultMix(boolean hasVectors) {
+        val mix = new LinkedHashMap<BenchOp, Integer>();
+
+        for (val op : BenchOp.values()) {
+            if (op != BenchOp.VECTOR || hasVectors) {
+                mix.put(op, 1);
+            }
+        }
+
+        return mix;
+    }
+}
@@ -0,0 +1,282 @@
+package com.dtsx.astra.cli.operations.db.collection;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.datatypes.CreationStatus;
+import com.dtsx.astra.cli.core.models.CollectionRef;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.IdRange;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionCopyOperation.CollectionCopyResult;
+import com.dtsx.astra.cli.utils.FileUtils;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+// reader -> [transform] -> writers, over bounded queues; a resume may re-send pages, which is safe since every doc has an _id
+@RequiredArgsConstructor
+public class CollectionCopyOperation implements Operation<CollectionCopyResult> {
+    private final CliContext ctx;
+    private final CollectionGateway collectionGateway;
+    private final CollectionCopyRequest request;
+
+    public sealed interface CollectionCopyResult {}
+    public record CollectionCopied(long copied, long rejected, Duration elapsed, boolean resumed) implements CollectionCopyResult {}
+    public record SourceNotFound() implements CollectionCopyResult {}
+    public record TargetAlreadyExists() implements CollectionCopyResult {}
+    public record InvalidCheckpoint(Path checkpointFile, String reason) implements CollectionCopyResult {}
+
+    public record CollectionCopyRequest(
+        CollectionRef source,
+        CollectionRef target,
+        Optional<UnaryOperator<String>> transform,
+        int batchSize,
+        int writers,
+        int bufferedPages,
+        int maxRetries,
+        Optional<Path> checkpointFile
+    ) {}
+
+    public record CopyCheckpoint(String source, String target, @Nullable String pageState, boolean readAll, long copied) {}
+
+    private record Page(long seq, List<String> documents) {}
+
+    private static final Page END = new Page(-1, List.of());
+
+    private @Nullable BatchInserter inserter;
+
+    private final AtomicLong copied = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // seq -> the page state each read-but-unwritten page was read with; only touched while synchronized on itself
+    private final TreeMap<Long, @Nullable String> inFlight = new TreeMap<>();
+    private @Nullable String nextPageState;
+    private boolean readAll;
+
+    // seq -> docs copied, for pages written before an earlier one; a resume re-sends them, so they aren't checkpointed yet
+    private final TreeMap<Long, Long> writtenAhead = new TreeMap<>();
+    private long checkpointedCopied;
+
+    @Override
+    @SneakyThrows
+    public CollectionCopyResult execute() {
+        val definition = collectionGateway.findOne(request.source);
+
+        if (definition.isEmpty()) {
+            return new SourceNotFound();
+        }
+
+        Optional<CopyCheckpoint> checkpoint;
+
+        try {
+            checkpoint = readCheckpoint();
+        } catch (Exception e) {
+            return new InvalidCheckpoint(request.checkpointFile.orElseThrow(), "it couldn't be read (" + e.getMessage() + ")");
+        }
+
+        if (checkpoint.isPresent() && (!checkpoint.get().source().equals(describe(request.source)) || !checkpoint.get().target().equals(describe(request.target)))) {
+            return new InvalidCheckpoint(request.checkpointFile.orElseThrow(), "it's for a copy from '%s' to '%s'".formatted(checkpoint.get().source(), checkpoint.get().target()));
+        }
+
+        // when resuming, the target was already created by the run being resumed
+        if (checkpoint.isEmpty() && collectionGateway.create(request.target, definition.get()) instanceof CreationStatus.AlreadyExists<?>) {
+            return new TargetAlreadyExists();
+        }
+
+        checkpoint.ifPresent((c) -> {
+            nextPageState = c.pageState();
+            readAll = c.readAll();
+            copied.set(c.copied());
+            checkpointedCopied = c.copied();
+        });
+
+        inserter = new BatchInserter(ctx, collectionGateway, request.target, request.maxRetries);
+
+        val start = System.nanoTime();
+        val previouslyCopied = copied.get();
+
+        ctx.log().loading("Copying documents from %s to %s".formatted(ctx.highlight(request.source), ctx.highlight(request.target)), (updateMsg) -> {
+            runPipeline(previouslyCopied, start, updateMsg);
+            return null;
+        });
+
+        request.checkpointFile.ifPresent((file) -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                ctx.log().exception("Could not delete the checkpoint file '" + file + "'", e);
+            }
+        });
+
+        return new CollectionCopied(copied.get(), rejected.get(), Duration.ofNanos(System.nanoTime() - start), checkpoint.isPresent());
+    }
+
+    @SneakyThrows
+    private void runPipeline(long previouslyCopied, long start, Consumer<String> updateMsg) {
+        val readPages = new ArrayBlockingQueue<Page>(request.bufferedPages);
+
+        val transformedPages = (request.transform.isPresent())
+            ? new ArrayBlockingQueue<Page>(request.bufferedPages)
+            : readPages;
+
+        val onPageWritten = (Consumer<Page>) (_) -> {
+            val total = copied.get();
+            val elapsedSecs = Math.max((System.nanoTime() - start) / 1e9, 0.001);
+
+            updateMsg.accept("Copying documents from %s to %s (%,d documents, %,.0f docs/s)".formatted(
+                ctx.highlight(request.source), ctx.highlight(request.target), total, (total - previouslyCopied) / elapsedSecs
+            ));
+        };
+
+        try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            val stages = new ArrayList<Future<?>>();
+
+            stages.add(executor.submit(() -> { read(readPages); return null; }));
+
+            request.transform.ifPresent((transform) -> {
+                stages.add(executor.submit(() -> { transform(readPages, transformedPages, transform); return null; }));
+            });
+
+            for (var i = 0; i < request.writers; i++) {
+                stages.add(executor.submit(() -> { write(transformedPages, onPageWritten); return null; }));
+            }
+
+            // a failed stage interrupts the rest, so none are left blocked on a queue
+            for (val stage : stages) {
+                try {
+                    stage.get();
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+
+    private void read(BlockingQueue<Page> out) throws InterruptedException {
+        var seq = 0L;
+
+        while (!readAll) {
+            val pageState = nextPageState;
+            val page = collectionGateway.findPage(request.source, new IdRange(Optional.empty(), Optional.empty()), Optional.ofNullable(pageState));
+
+            synchronized (inFlight) {
+                inFlight.put(seq, pageState);
+                nextPageState = page.nextPageState().orElse(null);
+                readAll = page.nextPageState().isEmpty();
+            }
+
+            out.put(new Page(seq++, page.documents()));
+        }
+
+        out.put(END);
+    }
+
+    private void transform(BlockingQueue<Page> in, BlockingQueue<Page> out, UnaryOperator<String> transform) throws InterruptedException {
+        for (var page = in.take(); page != END; page = in.take()) {
+            out.put(new Page(page.seq(), page.documents().stream().map(transform).toList()));
+        }
+        out.put(END);
+    }
+
+    private void write(BlockingQueue<Page> in, Consumer<Page> onPageWritten) throws InterruptedException, IOException {
+        for (var page = in.take(); page != END; page = in.take()) {
+            val documents = page.documents();
+            var pageCopied = 0L;
+
+            for (var i = 0; i < documents.size(); i += request.batchSize) {
+                pageCopied += insertBatch(documents.subList(i, Math.min(i + request.batchSize, documents.size())));
+            }
+
+            synchronized (inFlight) {
+                inFlight.remove(page.seq());
+                writtenAhead.put(page.seq(), pageCopied);
+
+                while (!writtenAhead.isEmpty() && (inFlight.isEmpty() || writtenAhead.firstKey() < inFlight.firstKey())) {
+                    checkpointedCopied += writtenAhead.pollFirstEntry().getValue();
+                }
+
+                writeCheckpoint();
+            }
+
+            onPageWritten.accept(page);
+        }
+
+        in.put(END); // passed along for the next writer
+    }
+
+    private long insertBatch(List<String> documents) throws InterruptedException, IOException {
+        val inserted = inserter.insert(documents, UnaryOperator.identity(), (_, reason) -> {
+            rejected.incrementAndGet();
+            ctx.log().debug("Could not copy a document: " + reason);
+        });
+
+        copied.addAndGet(inserted);
+        return inserted;
+    }
+
+    // the earliest point from which every document not yet written would be read again
+    @VisibleForTesting
+    public static CopyCheckpoint checkpointFor(String source, String target, TreeMap<Long, @Nullable String> inFlight, @Nullable String nextPageState, boolean readAll, long copied) {
+        return (inFlight.isEmpty())
+            ? new CopyCheckpoint(source, target, nextPageState, readAll, copied)
+            : new CopyCheckpoint(source, target, inFlight.firstEntry().getValue(), false, copied);
+    }
+
+    // never removes the _id, since that's what keeps a resumed copy from duplicating documents
+    public static UnaryOperator<String> excludeFields(Collection<String> fields) {
+        val excluded = new HashSet<>(fields);
+        excluded.remove("_id");
+
+        return (document) -> {
+            val node = (ObjectNode) JsonUtils.readTree(document);
+            node.remove(excluded);
+            return JsonUtils.writeValue(node);
+        };
+    }
+
+    private Optional<CopyCheckpoint> readCheckpoint() throws IOException {
+        if (request.checkpointFile.isEmpty() || !Files.exists(request.checkpointFile.get())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(JsonUtils.readValue(Files.readString(request.checkpointFile.get()), CopyCheckpoint.class));
+    }
+
+    // must be called while synchronized on inFlight
+    private void writeCheckpoint() throws IOException {
+        if (request.checkpointFile.isEmpty()) {
+            return;
+        }
+
+        val checkpoint = checkpointFor(describe(request.source), describe(request.target), inFlight, nextPageState, readAll, checkpointedCopied);
+
+        FileUtils.writeAtomically(request.checkpointFile.get(), JsonUtils.writeValue(checkpoint));
+    }
+
+    private static String describe(CollectionRef ref) {
+        return ref.db() + "/" + ref;
+    }
+}
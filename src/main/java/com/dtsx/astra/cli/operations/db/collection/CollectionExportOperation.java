@@ -0,0 +1,210 @@
+package com.dtsx.astra.cli.operations.db.collection;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.models.CollectionRef;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.IdRange;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionExportOperation.CollectionExportResult;
+import com.dtsx.astra.cli.utils.FileUtils;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// partitions split on the `_id`'s first two hex chars, so they only cover string ids (e.g. the default uuids)
+@RequiredArgsConstructor
+public class CollectionExportOperation implements Operation<CollectionExportResult> {
+    private final CliContext ctx;
+    private final CollectionGateway collectionGateway;
+    private final CollectionExportRequest request;
+
+    public sealed interface CollectionExportResult {}
+    public record CollectionExported(long documents, long exportedThisRun, Duration elapsed, boolean resumed) implements CollectionExportResult {}
+    public record CollectionNotFound() implements CollectionExportResult {}
+    public record InvalidCheckpoint(Path checkpointFile, String reason) implements CollectionExportResult {}
+
+    // writes may come from any partition's thread, but never from two at once
+    public interface DocumentSink extends Closeable {
+        void write(List<String> documents) throws IOException;
+
+        // includes bytes written by previous runs
+        long position() throws IOException;
+    }
+
+    // resumeAt is the checkpointed size of the file, if resuming; anything past it must be discarded
+    @FunctionalInterface
+    public interface DocumentSinkOpener {
+        DocumentSink open(Optional<Long> resumeAt) throws IOException;
+    }
+
+    public record CollectionExportRequest(
+        CollectionRef collRef,
+        int partitions,
+        Optional<Path> checkpointFile,
+        DocumentSinkOpener sink
+    ) {}
+
+    public record Checkpoint(String collection, List<PartitionState> partitions, long bytesWritten) {}
+
+    public record PartitionState(@Nullable String from, @Nullable String until, @Nullable String pageState, boolean done, long exported) {
+        public IdRange range() {
+            return new IdRange(Optional.ofNullable(from), Optional.ofNullable(until));
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public CollectionExportResult execute() {
+        if (collectionGateway.findOne(request.collRef).isEmpty()) {
+            return new CollectionNotFound();
+        }
+
+        Optional<Checkpoint> checkpoint;
+
+        try {
+            checkpoint = readCheckpoint();
+        } catch (Exception e) {
+            return new InvalidCheckpoint(request.checkpointFile.orElseThrow(), "it couldn't be read (" + e.getMessage() + ")");
+        }
+
+        if (checkpoint.isPresent() && !checkpoint.get().collection().equals(request.collRef.toString())) {
+            return new InvalidCheckpoint(request.checkpointFile.orElseThrow(), "it's for an export of collection '" + checkpoint.get().collection() + "'");
+        }
+
+        val states = new ArrayList<>(checkpoint.map(Checkpoint::partitions).orElseGet(() ->
+            partitions(request.partitions).stream()
+                .map((r) -> new PartitionState(r.from().orElse(null), r.until().orElse(null), null, false, 0))
+                .toList()
+        ));
+
+        val previouslyExported = states.stream().mapToLong(PartitionState::exported).sum();
+        val start = System.nanoTime();
+
+        try (val sink = request.sink.open(checkpoint.map(Checkpoint::bytesWritten))) {
+            val exportedThisRun = ctx.log().loading("Exporting documents from collection " + ctx.highlight(request.collRef), (updateMsg) -> {
+                return exportAll(states, sink, previouslyExported, start, updateMsg);
+            });
+
+            request.checkpointFile.ifPresent((file) -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    ctx.log().exception("Could not delete the checkpoint file '" + file + "'", e);
+                }
+            });
+
+            return new CollectionExported(previouslyExported + exportedThisRun, exportedThisRun, Duration.ofNanos(System.nanoTime() - start), checkpoint.isPresent());
+        }
+    }
+
+    @SneakyThrows
+    private long exportAll(List<PartitionState> states, DocumentSink sink, long previouslyExported, long start, Consumer<String> updateMsg) {
+        val exported = new AtomicLong();
+
+        try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            val futures = new ArrayList<Future<?>>();
+
+            for (var i = 0; i < states.size(); i++) {
+                val index = i;
+
+                futures.add(executor.submit(() -> {
+                    exportPartition(index, states, sink, (count) -> {
+                        val total = exported.addAndGet(count);
+                        val elapsedSecs = Math.max((System.nanoTime() - start) / 1e9, 0.001);
+
+                        updateMsg.accept("Exporting documents from collection %s (%,d documents, %,.0f docs/s)".formatted(
+                            ctx.highlight(request.collRef), previouslyExported + total, total / elapsedSecs
+                        ));
+                    });
+                    return null;
+                }));
+            }
+
+            for (val future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw e.getCause();
+                }
+            }
+        }
+
+        return exported.get();
+    }
+
+    private void exportPartition(int index, List<PartitionState> states, DocumentSink sink, Consumer<Integer> onPage) throws IOException {
+        var state = states.get(index);
+
+        while (!state.done()) {
+            val page = collectionGateway.findPage(request.collRef, state.range(), Optional.ofNullable(state.pageState()));
+
+            state = new PartitionState(
+                state.from(),
+                state.until(),
+                page.nextPageState().orElse(null),
+                page.nextPageState().isEmpty(),
+                state.exported() + page.documents().size()
+            );
+
+            // the checkpoint's offset must line up w/ exactly the pages it says were exported
+            synchronized (sink) {
+                sink.write(page.documents());
+                states.set(index, state);
+                writeCheckpoint(states, sink.position());
+            }
+
+            onPage.accept(page.documents().size());
+        }
+    }
+
+    // contiguous ranges which, between them, cover every possible string `_id`
+    @VisibleForTesting
+    public static List<IdRange> partitions(int count) {
+        if (count <= 1) {
+            return List.of(new IdRange(Optional.empty(), Optional.empty()));
+        }
+
+        val bounds = IntStream.range(1, count).mapToObj((i) -> "%02x".formatted(i * 256 / count)).toList();
+
+        return IntStream.range(0, count).mapToObj((i) -> new IdRange(
+            (i == 0) ? Optional.empty() : Optional.of(bounds.get(i - 1)),
+            (i == count - 1) ? Optional.empty() : Optional.of(bounds.get(i))
+        )).toList();
+    }
+
+    private Optional<Checkpoint> readCheckpoint() throws IOException {
+        if (request.checkpointFile.isEmpty() || !Files.exists(request.checkpointFile.get())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(JsonUtils.readValue(Files.readString(request.checkpointFile.get()), Checkpoint.class));
+    }
+
+    // atomic, so a killed export never leaves a half-written checkpoint
+    private void writeCheckpoint(List<PartitionState> states, long bytesWritten) throws IOException {
+        if (request.checkpointFile.isEmpty()) {
+            return;
+        }
+
+        FileUtils.writeAtomically(request.checkpointFile.get(), JsonUtils.writeValue(new Checkpoint(request.collRef.toString(), List.copyOf(states), bytesWritten)));
+    }
+}
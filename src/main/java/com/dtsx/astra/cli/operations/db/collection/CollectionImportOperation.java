@@ -0,0 +1,394 @@
+package com.dtsx.astra.cli.operations.db.collection;
+
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.datatypes.LatencyHistogram;
+import com.dtsx.astra.cli.core.models.CollectionRef;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.operations.Operation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionImportOperation.CollectionImportResult;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static com.dtsx.astra.cli.utils.CollectionUtils.sequencedMapOf;
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
+
+// at most `concurrency` chunks are held in memory; documents get an _id up front so chunks are safe to retry
+@RequiredArgsConstructor
+public class CollectionImportOperation implements Operation<CollectionImportResult> {
+    private static final long OBJECT_ID_PROCESS_PART = new SecureRandom().nextLong() & 0xFFFFFFFFFFL;
+    private static final AtomicInteger OBJECT_ID_COUNTER = new AtomicInteger(new SecureRandom().nextInt());
+
+    private final CliContext ctx;
+    private final CollectionGateway collectionGateway;
+    private final CollectionImportRequest request;
+
+    public sealed interface CollectionImportResult {}
+    public record CollectionImported(long imported, long rejected, long retries, Duration elapsed, LatencyHistogram latencies) implements CollectionImportResult {}
+    public record CollectionNotFound() implements CollectionImportResult {}
+
+    public enum ImportFormat { NDJSON, CSV }
+
+    public record CollectionImportRequest(
+        CollectionRef collRef,
+        Reader source,
+        String sourceName,
+        ImportFormat format,
+        int chunkSize,
+        int concurrency,
+        int maxRetries,
+        Optional<Path> badRecordsFile
+    ) {}
+
+    // a row which couldn't even be turned into a document has an error instead of a document
+    private record Row(long line, String raw, @Nullable String document, @Nullable String error) {}
+
+    @FunctionalInterface
+    private interface RowSource {
+        @Nullable Row next() throws IOException;
+    }
+
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private @Nullable BatchInserter inserter;
+    private @Nullable BufferedWriter badRecordsWriter;
+    private @Nullable String defaultIdType;
+
+    @Override
+    @SneakyThrows
+    public CollectionImportResult execute() {
+        val definition = collectionGateway.findOne(request.collRef);
+
+        if (definition.isEmpty()) {
+            return new CollectionNotFound();
+        }
+
+        defaultIdType = Optional.ofNullable(definition.get().getDefaultId())
+            .map((defaultId) -> defaultId.getType())
+            .map(Enum::name)
+            .orElse(null);
+
+        inserter = new BatchInserter(ctx, collectionGateway, request.collRef, request.maxRetries);
+
+        val start = System.nanoTime();
+
+        try (val reader = new BufferedReader(request.source)) {
+            ctx.log().loading("Importing documents into collection " + ctx.highlight(request.collRef), (updateMsg) -> {
+                importAll(rows(reader), start, updateMsg);
+                return null;
+            });
+        } finally {
+            if (badRecordsWriter != null) {
+                badRecordsWriter.close();
+            }
+        }
+
+        return new CollectionImported(
+            imported.get(),
+            rejected.get(),
+            inserter.retries(),
+            Duration.ofNanos(System.nanoTime() - start),
+            inserter.latencies()
+        );
+    }
+
+    @SneakyThrows
+    private void importAll(RowSource rows, long start, Consumer<String> updateMsg) {
+        val inFlight = new Semaphore(request.concurrency);
+        val failure = new AtomicReference<Exception>();
+
+        try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var chunk = new ArrayList<Row>(request.chunkSize);
+
+            for (var row = rows.next(); row != null && failure.get() == null; row = rows.next()) {
+                if (row.error() != null) {
+                    reject(row, row.error());
+                    continue;
+                }
+
+                chunk.add(new Row(row.line(), row.raw(), withId(row.document(), defaultIdType), null));
+
+                if (chunk.size() < request.chunkSize) {
+                    continue;
+                }
+
+                submit(executor, inFlight, failure, chunk, start, updateMsg);
+                chunk = new ArrayList<>(request.chunkSize);
+            }
+
+            if (!chunk.isEmpty() && failure.get() == null) {
+                submit(executor, inFlight, failure, chunk, start, updateMsg);
+            }
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    // blocks until there's room for another chunk, which is what keeps the source from being read too far ahead
+    private void submit(ExecutorService executor, Semaphore inFlight, AtomicReference<Exception> failure, List<Row> chunk, long start, Consumer<String> updateMsg) throws InterruptedException {
+        inFlight.acquire();
+
+        executor.execute(() -> {
+            try {
+                imported.addAndGet(inserter.insert(chunk, Row::document, this::reject));
+
+                val total = imported.get();
+                val elapsedSecs = Math.max((System.nanoTime() - start) / 1e9, 0.001);
+
+                updateMsg.accept("Importing documents into collection %s (%,d documents, %,.0f docs/s)".formatted(
+                    ctx.highlight(request.collRef), total, total / elapsedSecs
+                ));
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void reject(Row row, String reason) throws IOException {
+        rejected.incrementAndGet();
+        ctx.log().debug("Rejected line " + row.line() + " of " + request.sourceName + ": " + reason);
+
+        if (request.badRecordsFile.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (badRecordsWriter == null) {
+                badRecordsWriter = Files.newBufferedWriter(request.badRecordsFile.get());
+            }
+
+            badRecordsWriter.write(JsonUtils.writeValue(sequencedMapOf(
+                "line", row.line(),
+                "error", reason,
+                "document", row.raw()
+            )));
+            badRecordsWriter.write(NL);
+        }
+    }
+
+    private RowSource rows(BufferedReader reader) {
+        return switch (request.format) {
+            case NDJSON -> ndjsonRows(reader);
+            case CSV -> csvRows(reader);
+        };
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        val lineNumber = new AtomicLong();
+
+        return () -> {
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber.incrementAndGet();
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                return (JsonUtils.isValidJson(line) && JsonUtils.readTree(line).isObject())
+                    ? new Row(lineNumber.get(), line, line, null)
+                    : new Row(lineNumber.get(), line, null, "not a valid json object");
+            }
+            return null;
+        };
+    }
+
+    // every value's imported as a string, and empty values are left out of the document entirely
+    private RowSource csvRows(BufferedReader reader) {
+        val csv = new CsvReader(reader);
+
+        return () -> {
+            val header = csv.header();
+
+            for (var record = csv.next(); record != null; record = csv.next()) {
+                if (record.size() == 1 && record.getFirst().isEmpty()) {
+                    continue;
+                }
+
+                val raw = String.join(",", record);
+
+                if (header == null || record.size() > header.size()) {
+                    return new Row(csv.recordLine(), raw, null, "has more fields than the header");
+                }
+
+                val document = new LinkedHashMap<String, String>();
+
+                for (var i = 0; i < record.size(); i++) {
+                    if (!record.get(i).isEmpty()) {
+                        document.put(header.get(i), record.get(i));
+                    }
+                }
+
+                return new Row(csv.recordLine(), raw, JsonUtils.writeValue(document), null);
+            }
+            return null;
+        };
+    }
+
+    // a minimal RFC 4180 reader; quoted fields may contain commas, doubled ("") quotes, and line breaks
+    @VisibleForTesting
+    public static class CsvReader {
+        private final BufferedReader reader;
+        private @Nullable List<String> header;
+        private boolean readHeader = false;
+        private long line = 0;
+        private long recordLine = 0;
+
+        public CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        public @Nullable List<String> header() throws IOException {
+            if (!readHeader) {
+                readHeader = true;
+                header = next();
+            }
+            return header;
+        }
+
+        // the line the last record started on
+        public long recordLine() {
+            return recordLine;
+        }
+
+        public @Nullable List<String> next() throws IOException {
+            var current = reader.readLine();
+
+            if (current == null) {
+                return null;
+            }
+
+            recordLine = ++line;
+
+            val fields = new ArrayList<String>();
+            val field = new StringBuilder();
+            var quoted = false;
+            var i = 0;
+
+            while (true) {
+                if (i == current.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+
+                    val nextLine = reader.readLine();
+
+                    if (nextLine == null) {
+                        break; // an unterminated quote just runs to the end of the file
+                    }
+
+                    line++;
+                    field.append('\n');
+                    current = nextLine;
+                    i = 0;
+                    continue;
+                }
+
+                val c = current.charAt(i++);
+
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < current.length() && current.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    // documents which already have an `_id` are left untouched (including its position in the document)
+    @VisibleForTesting
+    public static String withId(String document, @Nullable String defaultIdType) {
+        val node = (ObjectNode) JsonUtils.readTree(document);
+
+        if (node.has("_id")) {
+            return document;
+        }
+
+        val withId = JsonNodeFactory.instance.objectNode();
+        withId.set("_id", generateId(defaultIdType, System.currentTimeMillis()));
+        withId.setAll(node);
+
+        return JsonUtils.writeValue(withId);
+    }
+
+    // the same kinds of ids the Data API itself generates for each `defaultId` type; a plain uuid string if there's none
+    @VisibleForTesting
+    public static JsonNode generateId(@Nullable String defaultIdType, long unixMillis) {
+        val random = ThreadLocalRandom.current();
+        val nodes = JsonNodeFactory.instance;
+
+        return switch (Optional.ofNullable(defaultIdType).orElse("DEFAULT")) {
+            case "UUID" -> nodes.objectNode().put("$uuid", UUID.randomUUID().toString());
+            case "UUIDV6" -> nodes.objectNode().put("$uuid", uuidV6(unixMillis, random).toString());
+            case "UUIDV7" -> nodes.objectNode().put("$uuid", uuidV7(unixMillis, random).toString());
+            case "OBJECT_ID" -> nodes.objectNode().put("$objectId", objectId(unixMillis));
+            default -> nodes.textNode(UUID.randomUUID().toString());
+        };
+    }
+
+    // 100ns intervals since the start of the gregorian calendar, most significant bits first, then a random clock
+    // sequence & node
+    private static UUID uuidV6(long unixMillis, Random random) {
+        val timestamp = unixMillis * 10_000 + 0x01B21DD213814000L;
+        val msb = ((timestamp >>> 12) << 16) | 0x6000L | (timestamp & 0x0FFFL);
+        return new UUID(msb, randomVariantBits(random));
+    }
+
+    // unix millis, then random bits
+    private static UUID uuidV7(long unixMillis, Random random) {
+        val msb = (unixMillis << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        return new UUID(msb, randomVariantBits(random));
+    }
+
+    private static long randomVariantBits(Random random) {
+        return (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    }
+
+    // 4 bytes of unix seconds, 5 random bytes per process, and a 3 byte counter
+    private static String objectId(long unixMillis) {
+        return "%08x%010x%06x".formatted(unixMillis / 1000 & 0xFFFFFFFFL, OBJECT_ID_PROCESS_PART, OBJECT_ID_COUNTER.getAndIncrement() & 0xFFFFFF);
+    }
+}
@@ -14,7 +14,6 @@ import java.time.Duration;
 
 import static com.dtsx.astra.cli.core.mixins.LongRunningOptionsMixin.LongRunningOptions;
 import static com.dtsx.astra.cli.operations.db.region.RegionCreateOperation.RegionCreateResult;
-import static com.dtsx.astra.sdk.db.domain.DatabaseStatusType.ACTIVE;
 
 @RequiredArgsConstructor
 public class RegionCreateOperation implements Operation<RegionCreateResult> {
@@ -57,7 +56,7 @@ public class RegionCreateOperation implements Operation<RegionCreateResult> {
             return new RegionCreated();
         }
 
-        val awaitedDuration = dbGateway.waitUntilDbStatus(dbRef, ACTIVE, lrOptions.timeout());
+        val awaitedDuration = dbGateway.waitUntilRegionChangeDone(dbRef, lrOptions.timeout());
         return new RegionCreatedAndDbActive(awaitedDuration);
     }
 
@@ -13,7 +13,6 @@ import java.time.Duration;
 
 import static com.dtsx.astra.cli.core.mixins.LongRunningOptionsMixin.LongRunningOptions;
 import static com.dtsx.astra.cli.operations.db.region.RegionDeleteOperation.RegionDeleteResult;
-import static com.dtsx.astra.sdk.db.domain.DatabaseStatusType.ACTIVE;
 
 @RequiredArgsConstructor
 public class RegionDeleteOperation implements Operation<RegionDeleteResult> {
@@ -49,7 +48,7 @@ public class RegionDeleteOperation implements Operation<RegionDeleteResult> {
             return new RegionDeleted();
         }
 
-        val awaitedDuration = dbGateway.waitUntilDbStatus(dbRef, ACTIVE, lrOptions.timeout());
+        val awaitedDuration = dbGateway.waitUntilRegionChangeDone(dbRef, lrOptions.timeout());
         return new RegionDeletedAndDbActive(awaitedDuration);
     }
 
@@ -1,5 +1,8 @@
 package com.dtsx.astra.cli.operations.pcu.associations;
 
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.core.concurrent.FanOut;
+import com.dtsx.astra.cli.core.concurrent.FanOut.Success;
 import com.dtsx.astra.cli.core.models.PcuRef;
 import com.dtsx.astra.cli.gateways.pcu.PcuGateway;
 import com.dtsx.astra.cli.gateways.pcu.associations.PcuAssociationsGateway;
@@ -8,12 +11,15 @@ import com.dtsx.astra.cli.gateways.pcu.vendored.domain.PcuGroupDatacenterAssocia
 import com.dtsx.astra.cli.operations.Operation;
 import com.dtsx.astra.cli.operations.pcu.associations.PcuAssociationsListOperation.PcuAssociationsListResult;
 import lombok.RequiredArgsConstructor;
+import lombok.val;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 public class PcuAssociationsListOperation implements Operation<Stream<PcuAssociationsListResult>> {
+    private final CliContext ctx;
     private final PcuGateway pcuGateway;
     private final PcuAssociationsGateway associationsGateway;
     private final PcuAssociationsListRequest request;
@@ -39,12 +45,15 @@ public class PcuAssociationsListOperation implements Operation<Stream<PcuAssocia
             );
         }
 
-        return pcuGateway.findAll()
-            .map((pcu) -> new PcuAssociationsListResult(
-                pcu,
-                associationsGateway.findAll(
-                    PcuRef.fromId(UUID.fromString(pcu.getId()))
-                )
-            ));
+        val groups = pcuGateway.findAll().toList();
+
+        val outcomes = FanOut.DEFAULT.run(ctx, "Fetching the associations of %d PCU groups".formatted(groups.size()), groups, (pcu) -> {
+            return associationsGateway.findAll(PcuRef.fromId(UUID.fromString(pcu.getId()))).toList();
+        });
+
+        // FAIL_FAST, so every outcome's a success by now
+        return outcomes.stream()
+            .map((outcome) -> (Success<PcuGroup, List<PcuGroupDatacenterAssociation>>) outcome)
+            .map((success) -> new PcuAssociationsListResult(success.input(), success.value().stream()));
     }
 }
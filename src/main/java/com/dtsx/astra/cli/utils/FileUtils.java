@@ -6,6 +6,7 @@ import com.dtsx.astra.cli.core.exceptions.internal.misc.CannotCreateFileExceptio
 import com.dtsx.astra.cli.core.properties.CliProperties.AstraBinary;
 import com.dtsx.astra.cli.core.properties.CliProperties.AstraJar;
 import com.dtsx.astra.cli.core.properties.CliProperties.PathToAstra;
+import com.dtsx.astra.cli.core.tracing.HttpTracer;
 import lombok.Cleanup;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
@@ -18,14 +19,18 @@ import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.file.FileAlreadyExistsException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
 
 @UtilityClass
 public class FileUtils {
@@ -88,6 +93,52 @@ public class FileUtils {
         }
     }
 
+    @FunctionalInterface
+    public interface TempFileWriter {
+        void write(Path tempFile) throws IOException;
+    }
+
+    // Writes to a temp file next to the target first, and only then moves it into place, so that anything reading the
+    // target at the same time (or after the process is killed mid-write) never sees a half-written file.
+    //
+    // If the writer throws, the target is left untouched.
+    public static void writeAtomically(Path target, TempFileWriter writer) throws IOException {
+        val tempFile = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString() + ".", ".tmp");
+
+        try {
+            writer.write(tempFile);
+            moveAtomically(tempFile, target);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    public static void writeAtomically(Path target, CharSequence content) throws IOException {
+        writeAtomically(target, (tempFile) -> Files.writeString(tempFile, content));
+    }
+
+    public static void writeAtomically(Path target, Properties properties) throws IOException {
+        writeAtomically(target, (tempFile) -> {
+            try (val os = Files.newOutputStream(tempFile)) {
+                properties.store(os, null);
+            }
+        });
+    }
+
+    // falls back to a plain move on file systems which don't support atomic ones (the source should always be on the same
+    // file system as the target, which is why temp files are created next to their targets)
+    public static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException _) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final int DOWNLOAD_CONNECT_TIMEOUT_MS = 20_000;
+    private static final int DOWNLOAD_READ_TIMEOUT_MS = 60_000;
+    private static final int DOWNLOAD_BUFFER_SIZE = 64 * 1024;
+
     @SneakyThrows
     public static Path downloadFile(String urlStr, Path installDir, @Nullable String fileName) {
         if (fileName == null) {
@@ -95,19 +146,85 @@ public class FileUtils {
         }
 
         val targetPath = installDir.resolve(fileName);
+        downloadFileIfModified(urlStr, targetPath, DownloadValidators.NONE, (_) -> {});
+        return targetPath;
+    }
+
+    public record DownloadValidators(@Nullable String etag, @Nullable String lastModified) {
+        public static final DownloadValidators NONE = new DownloadValidators(null, null);
+    }
+
+    @FunctionalInterface
+    public interface DownloadedFileValidator {
+        void validate(Path file) throws IOException;
+    }
+
+    // Streams the file into a temp file next to the target, validates it, and only then atomically moves it into place,
+    // so a half-finished or corrupt download is never mistaken for a good one.
+    //
+    // Returns empty if the server replied with a 304 for the given validators, in which case the target is left untouched.
+    @SneakyThrows
+    public static Optional<DownloadValidators> downloadFileIfModified(String urlStr, Path targetPath, DownloadValidators known, DownloadedFileValidator validator) {
+        val startedAt = Instant.now();
+        val start = System.nanoTime();
 
         val urlConnection = new URI(urlStr).toURL().openConnection();
-        val buffer = new byte[8192];
+        urlConnection.setConnectTimeout(DOWNLOAD_CONNECT_TIMEOUT_MS);
+        urlConnection.setReadTimeout(DOWNLOAD_READ_TIMEOUT_MS);
 
-        @Cleanup val bis = new BufferedInputStream(urlConnection.getInputStream());
-        @Cleanup val fos = Files.newOutputStream(targetPath);
+        if (known.etag() != null) {
+            urlConnection.setRequestProperty("If-None-Match", known.etag());
+        }
+        if (known.lastModified() != null) {
+            urlConnection.setRequestProperty("If-Modified-Since", known.lastModified());
+        }
 
-        int count;
-        while ((count = bis.read(buffer)) != -1) {
-            fos.write(buffer, 0, count);
+        val status = (urlConnection instanceof HttpURLConnection http) ? http.getResponseCode() : HttpURLConnection.HTTP_OK;
+        val ttfbMs = (System.nanoTime() - start) / 1_000_000;
+
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            ((HttpURLConnection) urlConnection).disconnect();
+            traceDownload(startedAt, start, urlStr, status, 0, ttfbMs);
+            return Optional.empty();
         }
 
-        return targetPath;
+        Files.createDirectories(targetPath.getParent());
+
+        writeAtomically(targetPath, (tempPath) -> {
+            try (val is = urlConnection.getInputStream(); val os = Files.newOutputStream(tempPath)) {
+                val bytesIn = IOUtils.copy(is, os, DOWNLOAD_BUFFER_SIZE);
+                traceDownload(startedAt, start, urlStr, status, bytesIn, ttfbMs);
+            }
+
+            validator.validate(tempPath);
+        });
+
+        return Optional.of(new DownloadValidators(
+            urlConnection.getHeaderField("ETag"),
+            urlConnection.getHeaderField("Last-Modified")
+        ));
+    }
+
+    private static void traceDownload(Instant startedAt, long start, String url, int status, long bytesIn, long ttfbMs) {
+        if (HttpTracer.isActive()) {
+            HttpTracer.record(new HttpTracer.HttpCall(startedAt, "download", "GET", HttpTracer.endpointTemplate(url), status, 0, bytesIn, ttfbMs, (System.nanoTime() - start) / 1_000_000, null));
+        }
+    }
+
+    // reads every entry through so that truncated archives and crc mismatches are caught too, not just bad headers
+    public static void validateZip(Path zipFile) throws IOException {
+        var entries = 0;
+
+        try (val zis = new ZipInputStream(Files.newInputStream(zipFile))) {
+            while (zis.getNextEntry() != null) {
+                zis.transferTo(OutputStream.nullOutputStream());
+                entries++;
+            }
+        }
+
+        if (entries == 0) {
+            throw new ZipException("'" + zipFile.getFileName() + "' is not a valid (non-empty) zip archive");
+        }
     }
 
     @SneakyThrows
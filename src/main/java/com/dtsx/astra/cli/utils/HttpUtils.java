@@ -1,14 +1,12 @@
 package com.dtsx.astra.cli.utils;
 
-import lombok.Cleanup;
+import com.dtsx.astra.cli.core.CliContext;
+import com.dtsx.astra.cli.gateways.PooledHttpClient;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.val;
 
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpClient.Redirect;
-import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
@@ -16,16 +14,16 @@ import java.util.function.Function;
 
 @UtilityClass
 public class HttpUtils {
+    // for requests that aren't tied to any particular (token, env) pair, e.g. fetching releases from GitHub
+    private static final PooledHttpClient SHARED_CLIENT = new PooledHttpClient();
+
+    public static HttpResponse<String> GET(CliContext ctx, String url, Function<HttpRequest.Builder, HttpRequest.Builder> reqBuilderFn) {
+        return GET(ctx, SHARED_CLIENT, url, reqBuilderFn);
+    }
+
     @SneakyThrows
-    public static HttpResponse<String> GET(String url, Function<HttpClient.Builder, HttpClient.Builder> clientBuilderFn, Function<HttpRequest.Builder, HttpRequest.Builder> reqBuilderFn) {
+    public static HttpResponse<String> GET(CliContext ctx, PooledHttpClient client, String url, Function<HttpRequest.Builder, HttpRequest.Builder> reqBuilderFn) {
         try {
-            @Cleanup val client = clientBuilderFn.apply(
-                HttpClient.newBuilder()
-                    .followRedirects(Redirect.NORMAL)
-                    .version(Version.HTTP_1_1)
-                    .connectTimeout(Duration.ofSeconds(20))
-            ).build();
-
             val request = reqBuilderFn.apply(
                 HttpRequest.newBuilder()
                     .uri(URI.create(url))
@@ -34,7 +32,7 @@ public class HttpUtils {
                     .GET()
             ).build();
 
-            return client.send(request, HttpResponse.BodyHandlers.ofString());
+            return client.send(ctx, request);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw e;
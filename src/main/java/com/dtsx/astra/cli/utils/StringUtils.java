@@ -1,5 +1,6 @@
 package com.dtsx.astra.cli.utils;
 
+import com.dtsx.astra.cli.core.datatypes.Either;
 import com.dtsx.astra.cli.core.models.AstraToken;
 import com.dtsx.astra.cli.core.output.AstraColors;
 import lombok.NonNull;
@@ -7,6 +8,9 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @UtilityClass
 public class StringUtils {
@@ -155,4 +159,69 @@ public class StringUtils {
             .replaceAll("_+", "_")
             .replaceAll("^_+|_+$", "");
     }
+
+    // a (small) subset of posix shell word splitting: whitespace separates args, '...' is literal, "..." allows \" and
+    // \\ escapes, a backslash outside of quotes escapes the next char, and a # at the start of a word starts a comment
+    public static Either<String, List<String>> splitShellArgs(@NonNull String line) {
+        val args = new ArrayList<String>();
+        val current = new StringBuilder();
+
+        var inWord = false;
+        var i = 0;
+
+        while (i < line.length()) {
+            val c = line.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                if (inWord) {
+                    args.add(current.toString());
+                    current.setLength(0);
+                    inWord = false;
+                }
+                i++;
+            } else if (c == '#' && !inWord) {
+                break;
+            } else if (c == '\'') {
+                val end = line.indexOf('\'', i + 1);
+
+                if (end < 0) {
+                    return Either.left("unterminated single quote at column " + (i + 1));
+                }
+
+                current.append(line, i + 1, end);
+                inWord = true;
+                i = end + 1;
+            } else if (c == '"') {
+                i++;
+
+                while (i < line.length() && line.charAt(i) != '"') {
+                    if (line.charAt(i) == '\\' && i + 1 < line.length() && (line.charAt(i + 1) == '"' || line.charAt(i + 1) == '\\')) {
+                        i++;
+                    }
+                    current.append(line.charAt(i++));
+                }
+
+                if (i >= line.length()) {
+                    return Either.left("unterminated double quote");
+                }
+
+                inWord = true;
+                i++;
+            } else if (c == '\\' && i + 1 < line.length()) {
+                current.append(line.charAt(i + 1));
+                inWord = true;
+                i += 2;
+            } else {
+                current.append(c);
+                inWord = true;
+                i++;
+            }
+        }
+
+        if (inWord) {
+            args.add(current.toString());
+        }
+
+        return Either.pure(args);
+    }
 }
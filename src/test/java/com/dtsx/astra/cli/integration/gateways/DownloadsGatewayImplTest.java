@@ -94,6 +94,18 @@ public class DownloadsGatewayImplTest {
             test_downloads_generic_ext_software(ctx.get().properties().pulsar(), "pulsar-shell@v1", "pulsar-shell", gateway::pulsarShellPath, gateway::downloadPulsarShell);
         }
 
+        @Test
+        public void refuses_to_install_an_archive_which_does_not_match_its_pinned_checksum() {
+            val cqlsh = ctx.get().properties().cqlsh();
+            val mispinned = new ExternalSoftware(cqlsh.url(), cqlsh.version(), "0".repeat(64));
+
+            val maybeExePath = gateway.downloadCqlsh(mispinned);
+
+            assertThat(maybeExePath).isInstanceOf(Either.Left.class);
+            assertThat(maybeExePath.getLeft()).contains("Checksum mismatch");
+            assertThat(gateway.cqlshPath(mispinned)).isEmpty();
+        }
+
         @SneakyThrows
         private void test_downloads_generic_ext_software(ExternalSoftware ex, String dirName, String exeName, Function<ExternalSoftware, Optional<Path>> getPath, Function<ExternalSoftware, Either<String, Path>> download) {
             val expectBasePath = ctx.get().path(ctx.get().home().root()).resolve(dirName);
@@ -1,6 +1,7 @@
 package com.dtsx.astra.cli.snapshot;
 
 import com.dtsx.astra.cli.AstraCli;
+import com.dtsx.astra.cli.core.output.formats.OutputJson;
 import com.dtsx.astra.cli.core.output.formats.OutputType;
 import com.dtsx.astra.cli.core.properties.CliProperties.ConstEnvVars;
 import com.dtsx.astra.cli.snapshot.SnapshotTestOptions.SnapshotTestOptionsBuilder;
@@ -12,6 +13,7 @@ import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext.OutputLine;
 import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext.StderrLine;
 import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext.StdinLine;
 import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext.StdoutLine;
+import com.dtsx.astra.cli.utils.JsonUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Delegate;
 import lombok.val;
@@ -27,7 +29,9 @@ import java.util.stream.Collectors;
 import static com.dtsx.astra.cli.snapshot.SnapshotTestOptions.emptySnapshotTestOptionsBuilder;
 import static com.dtsx.astra.cli.testlib.AssertUtils.assertIsValidCsvOutput;
 import static com.dtsx.astra.cli.testlib.AssertUtils.assertIsValidJsonOutput;
+import static com.dtsx.astra.cli.testlib.AssertUtils.assertIsValidNdjsonOutput;
 import static com.dtsx.astra.cli.utils.StringUtils.NL;
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class BaseCmdSnapshotTest {
     private static final Pattern TRAILING_SPACES = Pattern.compile(" +$");
@@ -43,6 +47,7 @@ public class BaseCmdSnapshotTest {
             return rawOutput.stream()
                 .filter(StdoutLine.class::isInstance)
                 .map(OutputLine::unwrap)
+                .map(options::scrub)
                 .collect(Collectors.joining(NL));
         }
 
@@ -57,7 +62,7 @@ public class BaseCmdSnapshotTest {
                     case StdinLine _ -> "readln";
                 };
 
-                val content = TRAILING_SPACES.matcher(line.unwrap()).replaceAll(m -> "☐".repeat(m.group().length()));
+                val content = TRAILING_SPACES.matcher(options.scrub(line.unwrap())).replaceAll(m -> "☐".repeat(m.group().length()));
 
                 interleavedOutput.append(NL).append(label).append(": ").append(content);
             }
@@ -104,6 +109,12 @@ public class BaseCmdSnapshotTest {
             switch (outputType) {
                 case JSON -> assertIsValidJsonOutput(output.stdout());
                 case CSV -> assertIsValidCsvOutput(output.stdout());
+                case NDJSON -> {
+                    // ndjson is just the json output, either compacted onto one line or (for tables) one row per line,
+                    // so it's checked against the json output instead of getting its own set of approved snapshots
+                    assertNdjsonMatchesJson(output, cmd, optionsFn);
+                    return output.output;
+                }
             }
 
             val approvalsOptions = new Options()
@@ -121,6 +132,29 @@ public class BaseCmdSnapshotTest {
         }
     }
 
+    private void assertNdjsonMatchesJson(UnverifiedCmdOutput ndjson, String cmd, Function<SnapshotTestOptionsBuilder, SnapshotTestOptionsBuilder> optionsFn) {
+        val docs = assertIsValidNdjsonOutput(ndjson.stdout());
+
+        try (val json = run(cmd, OutputType.JSON, optionsFn)) {
+            assertThat(ndjson.exitCode()).isEqualTo(json.exitCode());
+
+            if (json.exitCode() != 0) {
+                return; // error messages may mention the output format itself
+            }
+
+            val jsonDoc = JsonUtils.readTree(json.stdout());
+            val data = jsonDoc.get(OutputJson.Fields.DATA);
+
+            if (docs.size() == 1 && docs.getFirst().equals(jsonDoc)) {
+                return;
+            }
+
+            assertThat(data).as("ndjson output is neither the compacted json output nor its rows").isNotNull();
+            assertThat(data.isArray()).as("ndjson output is neither the compacted json output nor its rows").isTrue();
+            assertThat(docs).containsExactlyElementsOf(data);
+        }
+    }
+
     protected final UnverifiedCmdOutput run(String cmd, OutputType outputType, Function<SnapshotTestOptionsBuilder, SnapshotTestOptionsBuilder> optionsMod) {
         val options = optionsMod.apply(emptySnapshotTestOptionsBuilder().outputType(outputType)).build();
 
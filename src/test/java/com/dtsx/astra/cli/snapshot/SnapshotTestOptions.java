@@ -15,9 +15,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 public class SnapshotTestOptions extends TestCliContextOptions {
     public static final String EXTRA_COMMENTS_KEY = "SnapshotTestOptions.comments";
+    public static final String EXTRA_SCRUBBERS_KEY = "SnapshotTestOptions.scrubbers";
+
+    public record Scrubber(Pattern pattern, String replacement) {}
 
     public SnapshotTestOptions(List<String> stdin, GatewayProviderMock gateways, List<Consumer<GatewayProviderMock>> verifyFns, FileSystem fs, OutputType outputType, Optional<Profile> forceProfile, Optional<Function<FileSystem, Path>> homeDir, Map<String, Object> extra) {
         super(stdin, gateways, verifyFns, fs, outputType, forceProfile, homeDir, extra);
@@ -28,6 +32,19 @@ public class SnapshotTestOptions extends TestCliContextOptions {
         return (List<String>) extra().getOrDefault(EXTRA_COMMENTS_KEY, new ArrayList<String>());
     }
 
+    @SuppressWarnings("unchecked")
+    public List<Scrubber> scrubbers() {
+        return (List<Scrubber>) extra().getOrDefault(EXTRA_SCRUBBERS_KEY, new ArrayList<Scrubber>());
+    }
+
+    // for output which can't be made deterministic (e.g. timings); applied to each line of output before it's checked
+    public String scrub(String line) {
+        for (val scrubber : scrubbers()) {
+            line = scrubber.pattern().matcher(line).replaceAll(scrubber.replacement());
+        }
+        return line;
+    }
+
     public interface SnapshotTestOptionsModifier extends Function<SnapshotTestOptionsBuilder, SnapshotTestOptionsBuilder> {}
 
     public static class SnapshotTestOptionsBuilder extends TestCliContextOptionsBuilder<SnapshotTestOptionsBuilder, TestCliContextOptions> {
@@ -42,6 +59,13 @@ public class SnapshotTestOptions extends TestCliContextOptions {
             return extra(EXTRA_COMMENTS_KEY, allComments);
         }
 
+        public SnapshotTestOptionsBuilder scrub(String regex, String replacement) {
+            // noinspection unchecked
+            val allScrubbers = new ArrayList<>((List<Scrubber>) options.extra().getOrDefault(EXTRA_SCRUBBERS_KEY, new ArrayList<Scrubber>()));
+            allScrubbers.add(new Scrubber(Pattern.compile(regex), replacement));
+            return extra(EXTRA_SCRUBBERS_KEY, allScrubbers);
+        }
+
         @Override
         protected SnapshotTestOptionsBuilder mkSelf(TestCliContextOptions options) {
             return new SnapshotTestOptionsBuilder(options);
@@ -10,7 +10,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 @ParameterizedTest
-@EnumSource(OutputType.class)
+@EnumSource(value = OutputType.class, names = { "HUMAN", "JSON", "NDJSON", "CSV" })
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface TestForAllOutputs {}
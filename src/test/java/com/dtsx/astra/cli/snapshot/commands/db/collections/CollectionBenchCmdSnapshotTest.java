@@ -0,0 +1,53 @@
+package com.dtsx.astra.cli.snapshot.commands.db.collections;
+
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.snapshot.BaseCmdSnapshotTest;
+import com.dtsx.astra.cli.snapshot.SnapshotTestOptions.SnapshotTestOptionsModifier;
+import com.dtsx.astra.cli.snapshot.annotations.TestForAllOutputs;
+import com.dtsx.astra.cli.snapshot.annotations.TestForDifferentOutputs;
+import com.dtsx.astra.cli.testlib.Fixtures.Collections;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CollectionBenchCmdSnapshotTest extends BaseCmdSnapshotTest {
+    private final SnapshotTestOptionsModifier collectionBenchmarked = (o) -> o
+        .gateway(CollectionGateway.class, (mock) -> {
+            doReturn(Optional.of(Collections.One)).when(mock).findOne(any());
+            doReturn(Optional.empty()).when(mock).findOneDocument(any(), any(), any());
+        })
+        .verify((mocks) -> {
+            verify(mocks.collectionGateway(), atLeastOnce()).findOneDocument(eq(Collections.Ref), eq("_id"), any());
+            verify(mocks.collectionGateway(), never()).insertMany(any(), any());
+            verify(mocks.collectionGateway(), never()).deleteDocuments(any(), any(), any());
+        })
+        .scrub("─+", "─")
+        .scrub("(?<=\\S) {2,}(?=│)", " ")
+        .scrub("(?<=│ )[\\d.E-]+(?= │)", "<n>")
+        .scrub("(\"(?:requests|requestsPerSec|p50Ms|p95Ms|p99Ms|p999Ms|maxMs)\" ?: ?)[\\d.E-]+", "$1\"<n>\"")
+        .scrub("^OK,,([a-z-]+),\\d+,(\\d+),.*$", "OK,,$1,<n>,$2,<n>,<n>,<n>,<n>,<n>,<n>");
+
+    private final SnapshotTestOptionsModifier collectionNotFound = (o) -> o
+        .gateway(CollectionGateway.class, (mock) -> {
+            doReturn(Optional.empty()).when(mock).findOne(any());
+        })
+        .verify((mocks) -> {
+            verify(mocks.collectionGateway()).findOne(Collections.Ref);
+            verify(mocks.collectionGateway(), never()).insertMany(any(), any());
+            verify(mocks.collectionGateway(), never()).deleteDocuments(any(), any(), any());
+        });
+
+    @TestForAllOutputs
+    public void collection_benchmarked(OutputType outputType) {
+        verifyRun("db bench-collection ${DatabaseName} -k default_keyspace -c ${CollectionName} --mix find-by-id=1 --duration 50ms --concurrency 1 --seed-documents 0", outputType, collectionBenchmarked);
+    }
+
+    @TestForDifferentOutputs
+    public void error_collection_not_found(OutputType outputType) {
+        verifyRun("db bench-collection ${DatabaseName} -k default_keyspace -c ${CollectionName}", outputType, collectionNotFound);
+    }
+}
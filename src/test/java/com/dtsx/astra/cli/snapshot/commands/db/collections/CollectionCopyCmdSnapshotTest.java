@@ -0,0 +1,76 @@
+package com.dtsx.astra.cli.snapshot.commands.db.collections;
+
+import com.datastax.astra.client.collections.definition.CollectionDefinition;
+import com.dtsx.astra.cli.core.datatypes.CreationStatus;
+import com.dtsx.astra.cli.core.models.CollectionRef;
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentPage;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsInserted;
+import com.dtsx.astra.cli.snapshot.BaseCmdSnapshotTest;
+import com.dtsx.astra.cli.snapshot.SnapshotTestOptions.SnapshotTestOptionsModifier;
+import com.dtsx.astra.cli.snapshot.annotations.TestForAllOutputs;
+import com.dtsx.astra.cli.snapshot.annotations.TestForDifferentOutputs;
+import com.dtsx.astra.cli.testlib.Fixtures.Collections;
+import com.dtsx.astra.cli.testlib.Fixtures.Databases;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CollectionCopyCmdSnapshotTest extends BaseCmdSnapshotTest {
+    private static final CollectionRef Target = CollectionRef.mkUnsafe(Databases.Keyspace, "copy_target");
+
+    private final SnapshotTestOptionsModifier collectionCopied = (o) -> o
+        .gateway(CollectionGateway.class, (mock) -> {
+            doReturn(Optional.of(Collections.One)).when(mock).findOne(any());
+            doReturn(CreationStatus.created(Target)).when(mock).create(any(), any(CollectionDefinition.class));
+            doReturn(new DocumentPage(List.of("{\"_id\":\"a\"}", "{\"_id\":\"b\"}", "{\"_id\":\"c\"}"), Optional.empty())).when(mock).findPage(any(), any(), any());
+            doReturn(new DocumentsInserted()).when(mock).insertMany(any(), any());
+        })
+        .verify((mocks) -> {
+            verify(mocks.collectionGateway()).create(Target, Collections.One);
+            verify(mocks.collectionGateway()).insertMany(Target, List.of("{\"_id\":\"a\"}", "{\"_id\":\"b\"}", "{\"_id\":\"c\"}"));
+        })
+        .scrub("in [\\d.,]+s\\.", "in <elapsed>.")
+        .scrub("(\"durationMs\" ?: ?)\\d+", "$1\"<elapsed>\"")
+        .scrub("^(OK,.*,two_regions_db/default_keyspace\\.copy_target,)\\d+,", "$1<elapsed>,");
+
+    private final SnapshotTestOptionsModifier sourceNotFound = (o) -> o
+        .gateway(CollectionGateway.class, (mock) -> {
+            doReturn(Optional.empty()).when(mock).findOne(any());
+        })
+        .verify((mocks) -> {
+            verify(mocks.collectionGateway()).findOne(Collections.Ref);
+            verify(mocks.collectionGateway(), never()).create(any(), any(CollectionDefinition.class));
+            verify(mocks.collectionGateway(), never()).insertMany(any(), any());
+        });
+
+    private final SnapshotTestOptionsModifier targetAlreadyExists = (o) -> o
+        .gateway(CollectionGateway.class, (mock) -> {
+            doReturn(Optional.of(Collections.One)).when(mock).findOne(any());
+            doReturn(CreationStatus.alreadyExists(Target)).when(mock).create(any(), any(CollectionDefinition.class));
+        })
+        .verify((mocks) -> {
+            verify(mocks.collectionGateway()).create(Target, Collections.One);
+            verify(mocks.collectionGateway(), never()).findPage(any(), any(), any());
+            verify(mocks.collectionGateway(), never()).insertMany(any(), any());
+        });
+
+    @TestForAllOutputs
+    public void collection_copied(OutputType outputType) {
+        verifyRun("db copy-collection ${DatabaseName} -k default_keyspace -c ${CollectionName} --to-collection copy_target", outputType, collectionCopied);
+    }
+
+    @TestForDifferentOutputs
+    public void error_source_not_found(OutputType outputType) {
+        verifyRun("db copy-collection ${DatabaseName} -k default_keyspace -c ${CollectionName} --to-collection copy_target", outputType, sourceNotFound);
+    }
+
+    @TestForDifferentOutputs
+    public void error_target_already_exists(OutputType outputType) {
+        verifyRun("db copy-collection ${DatabaseName} -k default_keyspace -c ${CollectionName} --to-collection copy_target", outputType, targetAlreadyExists);
+    }
+}
@@ -0,0 +1,53 @@
+package com.dtsx.astra.cli.snapshot.commands.db.collections;
+
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentPage;
+import com.dtsx.astra.cli.snapshot.BaseCmdSnapshotTest;
+import com.dtsx.astra.cli.snapshot.SnapshotTestOptions.SnapshotTestOptionsModifier;
+import com.dtsx.astra.cli.snapshot.annotations.TestForAllOutputs;
+import com.dtsx.astra.cli.snapshot.annotations.TestForDifferentOutputs;
+import com.dtsx.astra.cli.testlib.Fixtures.Collections;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CollectionExportCmdSnapshotTest extends BaseCmdSnapshotTest {
+    private final SnapshotTestOptionsModifier collectionExported = (o) -> o
+        .useJimfs()
+        .gateway(CollectionGateway.class, (mock) -> {
+            doReturn(Optional.of(Collections.One)).when(mock).findOne(any());
+            doReturn(new DocumentPage(List.of("{\"_id\":\"a\"}", "{\"_id\":\"b\"}"), Optional.of("p2"))).when(mock).findPage(any(), any(), eq(Optional.empty()));
+            doReturn(new DocumentPage(List.of("{\"_id\":\"c\"}"), Optional.empty())).when(mock).findPage(any(), any(), eq(Optional.of("p2")));
+        })
+        .verify((mocks) -> {
+            verify(mocks.collectionGateway(), times(2)).findPage(eq(Collections.Ref), any(), any());
+        })
+        .scrub("in [\\d.,]+s \\([\\d.,]+ docs/s\\)", "in <elapsed> (<rate> docs/s)")
+        .scrub("(\"durationMs\" ?: ?)\\d+", "$1\"<elapsed>\"")
+        .scrub("^OK,\"([^\",]*)\",", "OK,$1,")
+        .scrub("^(OK,.*,/docs\\.ndjson,)\\d+,", "$1<elapsed>,");
+
+    private final SnapshotTestOptionsModifier collectionNotFound = (o) -> o
+        .gateway(CollectionGateway.class, (mock) -> {
+            doReturn(Optional.empty()).when(mock).findOne(any());
+        })
+        .verify((mocks) -> {
+            verify(mocks.collectionGateway()).findOne(Collections.Ref);
+            verify(mocks.collectionGateway(), never()).findPage(any(), any(), any());
+        });
+
+    @TestForAllOutputs
+    public void collection_exported(OutputType outputType) {
+        verifyRun("db export-collection ${DatabaseName} -k default_keyspace -c ${CollectionName} -f /docs.ndjson", outputType, collectionExported);
+    }
+
+    @TestForDifferentOutputs
+    public void error_collection_not_found(OutputType outputType) {
+        verifyRun("db export-collection ${DatabaseName} -k default_keyspace -c ${CollectionName}", outputType, collectionNotFound);
+    }
+}
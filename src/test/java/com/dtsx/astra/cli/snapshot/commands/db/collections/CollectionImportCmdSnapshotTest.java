@@ -0,0 +1,52 @@
+package com.dtsx.astra.cli.snapshot.commands.db.collections;
+
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsInserted;
+import com.dtsx.astra.cli.snapshot.BaseCmdSnapshotTest;
+import com.dtsx.astra.cli.snapshot.SnapshotTestOptions.SnapshotTestOptionsModifier;
+import com.dtsx.astra.cli.snapshot.annotations.TestForAllOutputs;
+import com.dtsx.astra.cli.snapshot.annotations.TestForDifferentOutputs;
+import com.dtsx.astra.cli.testlib.Fixtures.Collections;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CollectionImportCmdSnapshotTest extends BaseCmdSnapshotTest {
+    private final SnapshotTestOptionsModifier collectionImported = (o) -> o
+        .stdin("{\"_id\":\"a\"}", "{\"_id\":\"b\"}", "{\"_id\":\"c\"}")
+        .gateway(CollectionGateway.class, (mock) -> {
+            doReturn(Optional.of(Collections.One)).when(mock).findOne(any());
+            doReturn(new DocumentsInserted()).when(mock).insertMany(any(), any());
+        })
+        .verify((mocks) -> {
+            verify(mocks.collectionGateway()).insertMany(Collections.Ref, List.of("{\"_id\":\"a\"}", "{\"_id\":\"b\"}", "{\"_id\":\"c\"}"));
+        })
+        .scrub("in [\\d.,]+s \\([\\d.,]+ docs/s", "in <elapsed> (<rate> docs/s")
+        .scrub("(p50|p90|p99|max)( |=)[\\d.]+(ms)?", "$1$2<latency>")
+        .scrub("(\"durationMs\" ?: ?)\\d+", "$1\"<elapsed>\"")
+        .scrub("(\"(?:p50|p90|p99|max)\" ?: ?)[\\d.]+", "$1\"<latency>\"")
+        .scrub("^(OK,\".*\",\\d+,\\d+,\\d+,)\\d+,", "$1<elapsed>,");
+
+    private final SnapshotTestOptionsModifier collectionNotFound = (o) -> o
+        .gateway(CollectionGateway.class, (mock) -> {
+            doReturn(Optional.empty()).when(mock).findOne(any());
+        })
+        .verify((mocks) -> {
+            verify(mocks.collectionGateway()).findOne(Collections.Ref);
+            verify(mocks.collectionGateway(), never()).insertMany(any(), any());
+        });
+
+    @TestForAllOutputs
+    public void collection_imported(OutputType outputType) {
+        verifyRun("db import-collection ${DatabaseName} -k default_keyspace -c ${CollectionName}", outputType, collectionImported);
+    }
+
+    @TestForDifferentOutputs
+    public void error_collection_not_found(OutputType outputType) {
+        verifyRun("db import-collection ${DatabaseName} -k default_keyspace -c ${CollectionName}", outputType, collectionNotFound);
+    }
+}
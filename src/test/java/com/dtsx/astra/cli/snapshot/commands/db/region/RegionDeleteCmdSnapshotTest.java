@@ -16,7 +16,6 @@ import com.dtsx.astra.cli.testlib.Fixtures.Regions;
 import java.time.Duration;
 import java.util.function.Function;
 
-import static com.dtsx.astra.sdk.db.domain.DatabaseStatusType.ACTIVE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -35,7 +34,7 @@ public class RegionDeleteCmdSnapshotTest extends BaseCmdSnapshotTest {
                 doReturn(lift.apply(Regions.NAME)).when(mock).delete(any(), any());
             })
             .gateway(DbGateway.class, (mock) -> {
-                when(mock.waitUntilDbStatus(any(), any(), any())).thenReturn(Duration.ofMillis(6789));
+                when(mock.waitUntilRegionChangeDone(any(), any())).thenReturn(Duration.ofMillis(6789));
             })
             .verify((mocks) -> {
                 verify(mocks.regionGateway()).delete(Databases.IdRef, Regions.NAME);
@@ -46,7 +45,7 @@ public class RegionDeleteCmdSnapshotTest extends BaseCmdSnapshotTest {
     public void region_deleted(OutputType outputType) {
         verifyRun("db delete-region ${DatabaseId} -r ${RegionName}", outputType, o -> o.use(deleteRegion(DeletionStatus::deleted))
             .verify((mocks) -> {
-                verify(mocks.dbGateway()).waitUntilDbStatus(Databases.IdRef, ACTIVE, Duration.ofSeconds(900));
+                verify(mocks.dbGateway()).waitUntilRegionChangeDone(Databases.IdRef, Duration.ofSeconds(900));
             }));
     }
 
@@ -54,7 +53,7 @@ public class RegionDeleteCmdSnapshotTest extends BaseCmdSnapshotTest {
     public void region_delete_async(OutputType outputType) {
         verifyRun("db delete-region ${DatabaseId} -r ${RegionName} --async", outputType, o -> o.use(deleteRegion(DeletionStatus::deleted))
             .verify((mocks) -> {
-                verify(mocks.dbGateway(), never()).waitUntilDbStatus(any(), any(), any());
+                verify(mocks.dbGateway(), never()).waitUntilRegionChangeDone(any(), any());
             }));
     }
 
@@ -67,7 +66,7 @@ public class RegionDeleteCmdSnapshotTest extends BaseCmdSnapshotTest {
     public void error_region_not_found(OutputType outputType) {
         verifyRun("db delete-region ${DatabaseId} -r ${RegionName}", outputType, o -> o.use(deleteRegion(DeletionStatus::notFound))
             .verify((mocks) -> {
-                verify(mocks.dbGateway(), never()).waitUntilDbStatus(any(), any(), any());
+                verify(mocks.dbGateway(), never()).waitUntilRegionChangeDone(any(), any());
             }));
     }
 
@@ -75,7 +74,7 @@ public class RegionDeleteCmdSnapshotTest extends BaseCmdSnapshotTest {
     public void allow_missing_region(OutputType outputType) {
         verifyRun("db delete-region ${DatabaseId} -r ${RegionName} --if-exists --async", outputType, o -> o.use(deleteRegion(DeletionStatus::notFound))
             .verify((mocks) -> {
-                verify(mocks.dbGateway(), never()).waitUntilDbStatus(any(), any(), any());
+                verify(mocks.dbGateway(), never()).waitUntilRegionChangeDone(any(), any());
             }));
     }
 }
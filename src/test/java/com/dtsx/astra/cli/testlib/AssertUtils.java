@@ -3,6 +3,7 @@ package com.dtsx.astra.cli.testlib;
 import com.dtsx.astra.cli.core.output.ExitCode;
 import com.dtsx.astra.cli.core.output.formats.OutputJson;
 import com.dtsx.astra.cli.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Cleanup;
 import lombok.val;
 import org.apache.commons.csv.CSVFormat;
@@ -12,6 +13,9 @@ import org.assertj.core.api.Assertions;
 import org.assertj.core.api.Condition;
 import org.assertj.core.api.ObjectAssert;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 public abstract class AssertUtils {
@@ -84,6 +88,25 @@ public abstract class AssertUtils {
         }
     }
 
+    // every line must be a standalone json document (an empty output's fine, e.g. for an empty table)
+    public static List<JsonNode> assertIsValidNdjsonOutput(CharSequence cs) {
+        val docs = new ArrayList<JsonNode>();
+
+        for (val line : cs.toString().lines().toList()) {
+            if (line.isBlank()) {
+                return Assertions.fail("NDJSON output contains a blank line");
+            }
+
+            try {
+                docs.add(JsonUtils.objectMapper().readTree(line));
+            } catch (Exception e) {
+                return Assertions.fail("Not a valid NDJSON line (" + e.getMessage() + "): " + line);
+            }
+        }
+
+        return docs;
+    }
+
     public static <T extends CharSequence> T assertIsValidCsvOutput(T cs) {
         val asString = cs.toString();
 
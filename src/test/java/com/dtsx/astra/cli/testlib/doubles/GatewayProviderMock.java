@@ -3,6 +3,7 @@ package com.dtsx.astra.cli.testlib.doubles;
 import com.dtsx.astra.cli.core.completions.CompletionsCache;
 import com.dtsx.astra.cli.core.models.AstraToken;
 import com.dtsx.astra.cli.gateways.GatewayProvider;
+import com.dtsx.astra.cli.gateways.PersistentInfoCache;
 import com.dtsx.astra.cli.gateways.SomeGateway;
 import com.dtsx.astra.cli.gateways.db.DbGateway;
 import com.dtsx.astra.cli.gateways.db.cdc.CdcGateway;
@@ -199,6 +200,16 @@ public class GatewayProviderMock implements GatewayProvider {
         return upgradeGateway();
     }
 
+    @Override
+    public GatewayProvider withInfoCacheMode(PersistentInfoCache.Mode mode) {
+        return this;
+    }
+
+    @Override
+    public GatewayProvider withRequestScope() {
+        return this;
+    }
+
     public GatewayProviderMock withInstance(SomeGateway instance) {
         val newInstances = new HashMap<>(instances);
 
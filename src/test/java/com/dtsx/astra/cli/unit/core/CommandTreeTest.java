@@ -0,0 +1,43 @@
+package com.dtsx.astra.cli.unit.core;
+
+import com.dtsx.astra.cli.commands.config.ConfigCmd;
+import com.dtsx.astra.cli.commands.db.DbCmd;
+import com.dtsx.astra.cli.core.CommandTree;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+import picocli.CommandLine.HelpCommand;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Group
+public class CommandTreeTest {
+    private static List<Class<?>> branchFor(String... args) {
+        return CommandTree.branchFor(args);
+    }
+
+    @Example
+    public void only_materializes_the_invoked_branch() {
+        assertThat(branchFor("db", "list", "--help")).containsExactly(HelpCommand.class, DbCmd.class);
+        assertThat(branchFor("-o", "json", "config", "list")).isEqualTo(CommandTree.TOP_LEVEL_COMMANDS); // `json` isn't a command
+        assertThat(branchFor("--no-input", "config", "list")).containsExactly(HelpCommand.class, ConfigCmd.class);
+    }
+
+    @Example
+    public void skips_every_subcommand_when_only_printing_the_version() {
+        assertThat(branchFor("--version")).containsExactly(HelpCommand.class);
+        assertThat(branchFor("-v")).containsExactly(HelpCommand.class);
+    }
+
+    @Example
+    public void falls_back_to_the_full_tree_when_needed() {
+        assertThat(branchFor()).isEqualTo(CommandTree.TOP_LEVEL_COMMANDS);
+        assertThat(branchFor("--help")).isEqualTo(CommandTree.TOP_LEVEL_COMMANDS);
+        assertThat(branchFor("dbb", "list")).isEqualTo(CommandTree.TOP_LEVEL_COMMANDS);
+        assertThat(branchFor("help", "db")).isEqualTo(CommandTree.TOP_LEVEL_COMMANDS);
+        assertThat(branchFor("completions")).isEqualTo(CommandTree.TOP_LEVEL_COMMANDS);
+        assertThat(branchFor("compgen")).isEqualTo(CommandTree.TOP_LEVEL_COMMANDS); // alias of completions
+        assertThat(branchFor("@args.txt")).isEqualTo(CommandTree.TOP_LEVEL_COMMANDS);
+    }
+}
@@ -0,0 +1,84 @@
+package com.dtsx.astra.cli.unit.core.completions;
+
+import com.dtsx.astra.cli.core.completions.CompletionScripts;
+import com.dtsx.astra.cli.core.completions.CompletionScripts.Shell;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Group
+public class CompletionScriptsTest {
+    @UseTestCtx(fs = "jimfs")
+    private TestCliContext ctx;
+
+    @Command(name = "root", subcommands = { Sub.class })
+    static class Root implements Runnable {
+        public void run() {}
+    }
+
+    @Command(name = "sub", aliases = { "alias" }, description = "Does 'sub' things")
+    static class Sub implements Runnable {
+        @Option(names = { "-f", "--format" }, description = "The format")
+        public Format format;
+
+        public void run() {}
+    }
+
+    enum Format { PLAIN, FANCY }
+
+    private CompletionScripts scripts() {
+        return new CompletionScripts(ctx.get(), "root");
+    }
+
+    @Example
+    public void only_generates_each_script_once() {
+        val builds = new AtomicInteger();
+
+        val first = scripts().getOrGenerate(Shell.BASH, () -> { builds.incrementAndGet(); return new CommandLine(new Root()); });
+        val second = scripts().getOrGenerate(Shell.BASH, () -> { builds.incrementAndGet(); return new CommandLine(new Root()); });
+
+        assertThat(builds).hasValue(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(scripts().cached(Shell.BASH)).hasValueSatisfying((path) -> {
+            assertThat(path).hasParent(ctx.get().home().dirs.completionScripts.use());
+        });
+    }
+
+    @Example
+    public void shares_the_bash_script_with_zsh() {
+        assertThat(scripts().path(Shell.ZSH)).isEqualTo(scripts().path(Shell.BASH));
+        assertThat(scripts().path(Shell.FISH)).isNotEqualTo(scripts().path(Shell.BASH));
+    }
+
+    @Example
+    public void cleans_up_scripts_from_other_versions() throws Exception {
+        val dir = ctx.get().home().dirs.completionScripts.use();
+
+        val staleBash = Files.writeString(dir.resolve("root-v0.0.1-000000000000.bash"), "stale");
+        val staleFish = Files.writeString(dir.resolve("root-v0.0.1-000000000000.fish"), "stale");
+
+        scripts().regenerate(Shell.BASH, new CommandLine(new Root()));
+
+        assertThat(staleBash).doesNotExist();
+        assertThat(staleFish).exists();
+        assertThat(scripts().path(Shell.BASH)).isNotEmptyFile();
+    }
+
+    @Example
+    public void generates_fish_completions_from_the_command_tree() {
+        val script = scripts().regenerate(Shell.FISH, new CommandLine(new Root()));
+
+        assertThat(script).contains("complete -c root -n \"__root_cmd_is '' 'sub alias'\" -a 'sub' -d 'Does \\'sub\\' things'");
+        assertThat(script).contains("complete -c root -n \"__root_cmd_is 'sub' ''\" -s f -l format -x -a 'PLAIN FANCY' -d 'The format'");
+    }
+}
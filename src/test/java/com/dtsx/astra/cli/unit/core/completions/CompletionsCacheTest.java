@@ -8,12 +8,15 @@ import lombok.val;
 import net.jqwik.api.*;
 import net.jqwik.api.constraints.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.function.BiConsumer;
 
 import static com.dtsx.astra.cli.utils.CollectionUtils.listConcat;
 import static com.dtsx.astra.cli.utils.MiscUtils.also;
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Group
@@ -118,6 +121,59 @@ public class CompletionsCacheTest {
         }
     }
 
+    @Group
+    class appendOnly {
+        @Example
+        public void does_not_touch_the_file_if_nothing_changed() throws IOException {
+            val instance = mkBasicCompletionsCache("db_names");
+            val primaryCacheFile = instance.primaryCacheFile().orElseThrow();
+
+            instance.setCache(List.of("a", "b"));
+
+            val content = Files.readString(primaryCacheFile);
+            val lastModified = Files.getLastModifiedTime(primaryCacheFile);
+
+            instance.addToCache("a");
+            instance.addAllToCache(List.of("b", "a"));
+            instance.setCache(List.of("b", "a"));
+            instance.removeFromCache("c");
+
+            assertThat(primaryCacheFile).hasContent(content);
+            assertThat(Files.getLastModifiedTime(primaryCacheFile)).isEqualTo(lastModified);
+        }
+
+        @Example
+        public void appends_new_completions_to_the_end_of_the_file() throws IOException {
+            val instance = mkBasicCompletionsCache("db_names");
+            val primaryCacheFile = instance.primaryCacheFile().orElseThrow();
+
+            instance.setCache(List.of("a", "b"));
+
+            val content = Files.readString(primaryCacheFile);
+
+            instance.addToCache("c");
+
+            assertThat(Files.readString(primaryCacheFile)).isEqualTo(content + JsonUtils.writeValue("c") + NL);
+        }
+
+        @Example
+        public void compacts_the_file_if_it_has_duplicate_or_garbled_lines() throws IOException {
+            val instance = mkBasicCompletionsCache("db_names");
+            val primaryCacheFile = instance.primaryCacheFile().orElseThrow();
+
+            Files.writeString(primaryCacheFile, "\"a\"\n\"a\"\n\"b\n\"b\"");
+
+            instance.addToCache("c");
+
+            assertThat(Files.readAllLines(primaryCacheFile)).containsExactlyInAnyOrder("\"a\"", "\"b\"", "\"c\"");
+        }
+
+        @Property
+        public void reads_back_any_string_jackson_writes(@ForAll String value) {
+            assertThat(CompletionsCache.readJsonString(JsonUtils.writeValue(value))).isEqualTo(value);
+        }
+    }
+
     @Provide
     private Arbitrary<String> fileName() {
         return Arbitraries.strings().withCharRange('a', 'z').ofMinLength(1).ofMaxLength(20);
@@ -0,0 +1,98 @@
+package com.dtsx.astra.cli.unit.core.concurrent;
+
+import com.dtsx.astra.cli.core.concurrent.FanOut;
+import com.dtsx.astra.cli.core.concurrent.FanOut.Failure;
+import com.dtsx.astra.cli.core.concurrent.FanOut.FailureMode;
+import com.dtsx.astra.cli.core.concurrent.FanOut.Success;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import lombok.val;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.Size;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Group
+public class FanOutTest {
+    @UseTestCtx
+    private TestCliContext ctx;
+
+    @Group
+    class run {
+        @Property(tries = 20)
+        public void returns_outcomes_in_input_order(@ForAll @Size(max = 30) List<@IntRange(max = 20) Integer> sleeps) {
+            val outcomes = FanOut.DEFAULT.run(ctx.get(), "test", sleeps, (sleep) -> {
+                Thread.sleep(sleep);
+                return sleep * 2;
+            });
+
+            assertThat(outcomes).map((o) -> ((Success<Integer, Integer>) o).value()).containsExactlyElementsOf(
+                sleeps.stream().map((s) -> s * 2).toList()
+            );
+        }
+
+        @Property(tries = 10)
+        public void never_exceeds_parallelism(@ForAll @IntRange(min = 1, max = 6) int parallelism) {
+            val running = new AtomicInteger();
+            val maxRunning = new AtomicInteger();
+
+            FanOut.DEFAULT.withParallelism(parallelism).run(ctx.get(), "test", IntStream.range(0, 20).boxed().toList(), (_) -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return null;
+            });
+
+            assertThat(maxRunning.get()).isLessThanOrEqualTo(parallelism);
+        }
+
+        @Example
+        public void rethrows_first_failure_as_is_when_failing_fast() {
+            val boom = new IllegalStateException("boom");
+
+            assertThatThrownBy(() -> FanOut.DEFAULT.run(ctx.get(), "test", List.of(1, 2, 3), (i) -> {
+                if (i == 2) {
+                    throw boom;
+                }
+                return i;
+            })).isSameAs(boom);
+        }
+
+        @Example
+        public void collects_every_outcome_when_collecting_errors() {
+            val outcomes = FanOut.DEFAULT.withFailureMode(FailureMode.COLLECT_ERRORS).run(ctx.get(), "test", List.of(1, 2, 3), (i) -> {
+                if (i == 2) {
+                    throw new IllegalStateException("boom");
+                }
+                return i;
+            });
+
+            assertThat(outcomes).hasSize(3);
+            assertThat(outcomes.get(0)).isEqualTo(new Success<>(1, 1));
+            assertThat(outcomes.get(1)).isInstanceOfSatisfying(Failure.class, (f) -> assertThat(f.error()).hasMessage("boom"));
+            assertThat(outcomes.get(2)).isEqualTo(new Success<>(3, 3));
+        }
+
+        @Example
+        public void fails_tasks_which_exceed_their_timeout() {
+            val outcomes = FanOut.DEFAULT
+                .withFailureMode(FailureMode.COLLECT_ERRORS)
+                .withTaskTimeout(Duration.ofMillis(50))
+                .run(ctx.get(), "test", List.of(0, 5_000), (sleep) -> {
+                    Thread.sleep(sleep);
+                    return sleep;
+                });
+
+            assertThat(outcomes.get(0)).isInstanceOf(Success.class);
+            assertThat(outcomes.get(1)).isInstanceOfSatisfying(Failure.class, (f) -> assertThat(f.error()).isInstanceOf(TimeoutException.class));
+        }
+    }
+}
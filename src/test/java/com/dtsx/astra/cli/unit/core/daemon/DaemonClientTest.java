@@ -0,0 +1,49 @@
+package com.dtsx.astra.cli.unit.core.daemon;
+
+import com.dtsx.astra.cli.core.daemon.DaemonClient;
+import net.jqwik.api.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Group
+public class DaemonClientTest {
+    @Group
+    class routing {
+        @Example
+        public void plain_commands_may_use_the_daemon() {
+            assertThat(DaemonClient.mayUseDaemon(false, false, "db", "list")).isTrue();
+            assertThat(DaemonClient.mayUseDaemon(false, false)).isTrue();
+        }
+
+        @Example
+        public void never_uses_the_daemon_when_disabled() {
+            assertThat(DaemonClient.mayUseDaemon(true, false, "db", "list")).isFalse();
+        }
+
+        @Example
+        public void never_uses_the_daemon_from_a_terminal() {
+            assertThat(DaemonClient.mayUseDaemon(false, true, "db", "list")).isFalse();
+        }
+
+        @Example
+        public void in_process_only_commands_run_in_process() {
+            assertThat(DaemonClient.mayUseDaemon(false, false, "daemon", "start")).isFalse();
+            assertThat(DaemonClient.mayUseDaemon(false, false, "upgrade")).isFalse();
+            assertThat(DaemonClient.mayUseDaemon(false, false, "nuke")).isFalse();
+            assertThat(DaemonClient.mayUseDaemon(false, false, "setup")).isFalse();
+        }
+
+        @Example
+        public void external_tool_commands_run_in_process() {
+            assertThat(DaemonClient.mayUseDaemon(false, false, "db", "cqlsh", "start", "my_db")).isFalse();
+            assertThat(DaemonClient.mayUseDaemon(false, false, "db", "dsbulk", "load", "my_db")).isFalse();
+            assertThat(DaemonClient.mayUseDaemon(false, false, "streaming", "pulsar", "shell", "my_tenant")).isFalse();
+        }
+
+        @Example
+        public void arguments_named_like_external_tools_do_not_count() {
+            assertThat(DaemonClient.mayUseDaemon(false, false, "db", "get", "cqlsh")).isTrue();
+            assertThat(DaemonClient.mayUseDaemon(false, false, "db", "create", "dsbulk", "--region", "pulsar")).isTrue();
+        }
+    }
+}
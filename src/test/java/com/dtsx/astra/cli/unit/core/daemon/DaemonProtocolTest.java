@@ -0,0 +1,93 @@
+package com.dtsx.astra.cli.unit.core.daemon;
+
+import com.dtsx.astra.cli.core.daemon.DaemonProtocol;
+import com.dtsx.astra.cli.core.daemon.DaemonProtocol.DaemonRequest;
+import lombok.SneakyThrows;
+import lombok.val;
+import net.jqwik.api.*;
+
+import java.io.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Group
+public class DaemonProtocolTest {
+    @Group
+    class requests {
+        @Property
+        @SneakyThrows
+        public void round_trips(@ForAll String version, @ForAll String cwd, @ForAll List<String> args) {
+            val request = new DaemonRequest(version, cwd, "fingerprint", args);
+
+            val bytes = new ByteArrayOutputStream();
+            request.writeTo(new DataOutputStream(bytes));
+
+            val read = DaemonRequest.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+            assertThat(read).isEqualTo(request);
+        }
+    }
+
+    @Group
+    class frames {
+        @Example
+        @SneakyThrows
+        public void framed_output_is_read_back_in_order() {
+            val bytes = new ByteArrayOutputStream();
+            val out = new DataOutputStream(bytes);
+
+            DaemonProtocol.framedOutputStream(out, DaemonProtocol.STDOUT).write("hello ".getBytes());
+            DaemonProtocol.framedOutputStream(out, DaemonProtocol.STDERR).write("oops".getBytes());
+            DaemonProtocol.framedOutputStream(out, DaemonProtocol.STDOUT).write("world".getBytes());
+            DaemonProtocol.writeIntFrame(out, DaemonProtocol.EXIT, 42);
+
+            val in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+            assertThat(DaemonProtocol.readFrame(in)).satisfies((f) -> {
+                assertThat(f.type()).isEqualTo(DaemonProtocol.STDOUT);
+                assertThat(f.payloadAsString()).isEqualTo("hello ");
+            });
+
+            assertThat(DaemonProtocol.readFrame(in)).satisfies((f) -> {
+                assertThat(f.type()).isEqualTo(DaemonProtocol.STDERR);
+                assertThat(f.payloadAsString()).isEqualTo("oops");
+            });
+
+            assertThat(DaemonProtocol.readFrame(in)).satisfies((f) -> {
+                assertThat(f.type()).isEqualTo(DaemonProtocol.STDOUT);
+                assertThat(f.payloadAsString()).isEqualTo("world");
+            });
+
+            assertThat(DaemonProtocol.readFrame(in)).satisfies((f) -> {
+                assertThat(f.type()).isEqualTo(DaemonProtocol.EXIT);
+                assertThat(f.payloadAsInt()).isEqualTo(42);
+            });
+        }
+
+        @Example
+        @SneakyThrows
+        public void rejects_truncated_frames() {
+            val bytes = new ByteArrayOutputStream();
+            DaemonProtocol.writeFrame(new DataOutputStream(bytes), DaemonProtocol.STDOUT, "truncated".getBytes());
+
+            val truncated = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray(), 0, bytes.size() - 3));
+
+            assertThatThrownBy(() -> DaemonProtocol.readFrame(truncated)).isInstanceOf(EOFException.class);
+        }
+
+        @Example
+        @SneakyThrows
+        public void rejects_absurd_frame_lengths() {
+            val bytes = new ByteArrayOutputStream();
+            val out = new DataOutputStream(bytes);
+            out.writeByte(DaemonProtocol.STDOUT);
+            out.writeInt(Integer.MAX_VALUE);
+
+            val in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+            assertThatThrownBy(() -> DaemonProtocol.readFrame(in)).isInstanceOf(IOException.class).hasMessageContaining("Invalid daemon frame length");
+        }
+    }
+}
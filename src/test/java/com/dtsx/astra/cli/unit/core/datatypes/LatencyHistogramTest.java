@@ -0,0 +1,62 @@
+package com.dtsx.astra.cli.unit.core.datatypes;
+
+import com.dtsx.astra.cli.core.datatypes.LatencyHistogram;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Group;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.LongRange;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@Group
+public class LatencyHistogramTest {
+    @Group
+    public class percentiles {
+        @Example
+        public void are_all_zero_when_empty() {
+            val histogram = new LatencyHistogram();
+
+            assertThat(histogram.count()).isZero();
+            assertThat(histogram.percentileMicros(50)).isZero();
+            assertThat(histogram.maxMicros()).isZero();
+        }
+
+        @Property
+        public void a_single_value_is_reported_exactly(@ForAll @LongRange(max = Long.MAX_VALUE / 2) long micros, @ForAll @DoubleRange(min = 0.001, max = 100) double percentile) {
+            val histogram = new LatencyHistogram();
+            histogram.recordMicros(micros);
+
+            assertThat(histogram.percentileMicros(percentile)).isEqualTo(micros);
+            assertThat(histogram.maxMicros()).isEqualTo(micros);
+        }
+
+        @Example
+        public void are_within_two_percent_of_the_real_value() {
+            val histogram = new LatencyHistogram();
+
+            for (var i = 1; i <= 100_000; i++) {
+                histogram.recordMicros(i);
+            }
+
+            assertThat(histogram.count()).isEqualTo(100_000);
+            assertThat(histogram.percentileMicros(50)).isCloseTo(50_000, within(1_000L));
+            assertThat(histogram.percentileMicros(99)).isCloseTo(99_000, within(2_000L));
+            assertThat(histogram.percentileMicros(99.9)).isCloseTo(99_900, within(2_000L));
+            assertThat(histogram.percentileMicros(100)).isEqualTo(100_000);
+        }
+
+        @Example
+        public void records_durations_in_micros() {
+            val histogram = new LatencyHistogram();
+            histogram.record(Duration.ofMillis(12));
+
+            assertThat(histogram.percentileMicros(50)).isEqualTo(12_000);
+        }
+    }
+}
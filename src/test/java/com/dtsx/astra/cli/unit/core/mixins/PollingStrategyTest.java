@@ -0,0 +1,97 @@
+package com.dtsx.astra.cli.unit.core.mixins;
+
+import com.dtsx.astra.cli.core.mixins.LongRunningOptionsMixin;
+import com.dtsx.astra.cli.core.mixins.LongRunningOptionsMixin.PollingStrategy;
+import com.dtsx.astra.cli.gateways.resilience.RateLimitedException;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import lombok.val;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.IntRange;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Group
+public class PollingStrategyTest {
+    @Group
+    class delayAfter {
+        @Property
+        public void uses_fast_probe_interval_for_the_first_few_polls(@ForAll("strategies") PollingStrategy strategy, @ForAll @DoubleRange(max = 1) double random) {
+            for (var polls = 0; polls < strategy.fastProbes(); polls++) {
+                assertThat(strategy.delayAfter(polls, () -> random)).isEqualTo(strategy.fastProbeInterval());
+            }
+        }
+
+        @Property
+        public void never_exceeds_max_backoff(@ForAll("strategies") PollingStrategy strategy, @ForAll @IntRange(max = 10_000) int polls, @ForAll @DoubleRange(max = 1) double random) {
+            assertThat(strategy.delayAfter(polls, () -> random)).isLessThanOrEqualTo(strategy.maxBackoff());
+        }
+
+        @Property
+        public void backs_off_monotonically_without_jitter(@ForAll("strategies") PollingStrategy strategy, @ForAll @IntRange(max = 100) int polls) {
+            val noJitter = new PollingStrategy(strategy.fastProbes(), strategy.fastProbeInterval(), strategy.initialBackoff(), strategy.multiplier(), strategy.maxBackoff(), 0);
+
+            val current = noJitter.delayAfter(polls + strategy.fastProbes(), () -> 0.5);
+            val next = noJitter.delayAfter(polls + strategy.fastProbes() + 1, () -> 0.5);
+
+            assertThat(next).isGreaterThanOrEqualTo(current);
+        }
+
+        @Example
+        public void starts_backing_off_from_initial_backoff() {
+            val strategy = new PollingStrategy(2, Duration.ofMillis(500), Duration.ofSeconds(2), 2, Duration.ofSeconds(10), 0);
+
+            assertThat(strategy.delayAfter(2, () -> 0)).isEqualTo(Duration.ofSeconds(2));
+            assertThat(strategy.delayAfter(3, () -> 0)).isEqualTo(Duration.ofSeconds(4));
+            assertThat(strategy.delayAfter(4, () -> 0)).isEqualTo(Duration.ofSeconds(8));
+            assertThat(strategy.delayAfter(5, () -> 0)).isEqualTo(Duration.ofSeconds(10));
+        }
+    }
+
+    @Group
+    class awaitGenericStatus {
+        @UseTestCtx
+        private TestCliContext ctx;
+
+        private final PollingStrategy fast = new PollingStrategy(0, Duration.ZERO, Duration.ofMillis(10), 1, Duration.ofMillis(10), 0);
+
+        @Example
+        public void waits_out_a_retry_later_instead_of_failing() {
+            val statuses = new ArrayDeque<Supplier<String>>(List.of(
+                () -> "PENDING",
+                () -> { throw new RuntimeException("wrapped", new RateLimitedException("api.astra.datastax.com", Duration.ofMillis(300))); },
+                () -> "ACTIVE"
+            ));
+
+            val start = System.nanoTime();
+            LongRunningOptionsMixin.awaitGenericStatus(ctx.get(), "thing", "ACTIVE", () -> statuses.pop().get(), Function.identity(), Duration.ofSeconds(10), (_) -> fast);
+
+            assertThat(statuses).isEmpty();
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+        }
+
+        @Example
+        public void rethrows_anything_else() {
+            val statuses = new ArrayDeque<Supplier<String>>(List.of(
+                () -> "PENDING",
+                () -> { throw new IllegalStateException("boom"); }
+            ));
+
+            assertThatThrownBy(() -> LongRunningOptionsMixin.awaitGenericStatus(ctx.get(), "thing", "ACTIVE", () -> statuses.pop().get(), Function.identity(), Duration.ofSeconds(10), (_) -> fast))
+                .hasMessage("boom");
+        }
+    }
+
+    @Provide
+    private Arbitrary<PollingStrategy> strategies() {
+        return Arbitraries.of(PollingStrategy.QUICK, PollingStrategy.STANDARD, PollingStrategy.SLOW, PollingStrategy.REGION_CHANGE);
+    }
+}
@@ -0,0 +1,140 @@
+package com.dtsx.astra.cli.unit.core.output;
+
+import com.dtsx.astra.cli.core.output.SessionLogWriter;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Group
+public class SessionLogWriterTest {
+    @UseTestCtx(fs = "jimfs")
+    private TestCliContext ctx;
+
+    @Example
+    public void writes_every_line_before_close_returns() throws IOException {
+        val file = ctx.get().home().dirs.logs.use().resolve("session" + SessionLogWriter.SESSION_LOG_SUFFIX);
+        val writer = new SessionLogWriter(file, UnaryOperator.identity());
+
+        IntStream.range(0, 1000).forEach((i) -> writer.append("line " + i));
+        writer.close();
+
+        assertThat(Files.readAllLines(file)).containsExactlyElementsOf(
+            IntStream.range(0, 1000).mapToObj((i) -> "line " + i).toList()
+        );
+    }
+
+    @Example
+    public void ignores_lines_appended_after_close() throws IOException {
+        val file = ctx.get().home().dirs.logs.use().resolve("session" + SessionLogWriter.SESSION_LOG_SUFFIX);
+        val writer = new SessionLogWriter(file, UnaryOperator.identity());
+
+        writer.append("before");
+        writer.close();
+        writer.append("after");
+
+        assertThat(Files.readAllLines(file)).containsExactly("before");
+    }
+
+    @Example
+    public void notes_how_many_lines_were_dropped_when_it_falls_behind() throws Exception {
+        val file = ctx.get().home().dirs.logs.use().resolve("session" + SessionLogWriter.SESSION_LOG_SUFFIX);
+
+        val writing = new CountDownLatch(1);
+        val unblock = new CountDownLatch(1);
+
+        val writer = new SessionLogWriter(file, (line) -> {
+            writing.countDown();
+            awaitUninterruptibly(unblock);
+            return line;
+        }, 1, Long.MAX_VALUE);
+
+        writer.append("a");
+        writing.await();
+
+        writer.append("b"); // fills the queue
+        writer.append("c");
+        writer.append("d");
+
+        unblock.countDown();
+        writer.close();
+
+        assertThat(Files.readAllLines(file)).containsExactly(
+            "a",
+            "[... 2 lines dropped; the log writer couldn't keep up ...]",
+            "b"
+        );
+    }
+
+    @Example
+    public void rotates_the_file_once_it_grows_too_big() throws IOException {
+        val file = ctx.get().home().dirs.logs.use().resolve("session" + SessionLogWriter.SESSION_LOG_SUFFIX);
+        val writer = new SessionLogWriter(file, UnaryOperator.identity(), 100, 2 * ("line 0".length() + NL.length()));
+
+        IntStream.range(0, 5).forEach((i) -> writer.append("line " + i));
+        writer.close();
+
+        assertThat(Files.readAllLines(file)).containsExactly("line 4");
+        assertThat(Files.readAllLines(rotated(file, 1))).containsExactly("line 2", "line 3");
+        assertThat(Files.readAllLines(rotated(file, 2))).containsExactly("line 0", "line 1");
+        assertThat(rotated(file, 3)).doesNotExist();
+    }
+
+    @Example
+    public void only_keeps_the_last_few_rotated_files() throws IOException {
+        val file = ctx.get().home().dirs.logs.use().resolve("session" + SessionLogWriter.SESSION_LOG_SUFFIX);
+        val writer = new SessionLogWriter(file, UnaryOperator.identity(), 100, 1);
+
+        IntStream.range(0, 6).forEach((i) -> writer.append("line " + i));
+        writer.close();
+
+        assertThat(Files.readAllLines(file)).containsExactly("line 5");
+        assertThat(Files.readAllLines(rotated(file, 1))).containsExactly("line 4");
+        assertThat(Files.readAllLines(rotated(file, 3))).containsExactly("line 2");
+        assertThat(rotated(file, 4)).doesNotExist();
+    }
+
+    @Example
+    public void only_deletes_the_oldest_session_logs() throws IOException {
+        val logsDir = ctx.get().home().dirs.logs.use();
+
+        for (val name : new String[] { "2024-01-01_00-00-00", "2024-01-02_00-00-00", "2024-01-03_00-00-00" }) {
+            Files.writeString(logsDir.resolve(name + SessionLogWriter.SESSION_LOG_SUFFIX), "");
+        }
+        Files.writeString(logsDir.resolve("2024-01-01_00-00-00" + SessionLogWriter.SESSION_LOG_SUFFIX + ".1"), "");
+        Files.writeString(logsDir.resolve("daemon.log"), "");
+
+        SessionLogWriter.deleteOldLogs(logsDir, 2);
+
+        try (val files = Files.list(logsDir)) {
+            assertThat(files.map(Path::getFileName).map(Path::toString)).containsExactlyInAnyOrder(
+                "2024-01-02_00-00-00" + SessionLogWriter.SESSION_LOG_SUFFIX,
+                "2024-01-03_00-00-00" + SessionLogWriter.SESSION_LOG_SUFFIX,
+                "daemon.log"
+            );
+        }
+    }
+
+    private static Path rotated(Path file, int n) {
+        return file.resolveSibling(file.getFileName() + "." + n);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.dtsx.astra.cli.unit.core.output.table;
+
+import com.dtsx.astra.cli.core.output.formats.OutputType;
+import com.dtsx.astra.cli.core.output.table.ShellTable;
+import com.dtsx.astra.cli.core.output.table.StreamingShellTable;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.dtsx.astra.cli.utils.StringUtils.NL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Group
+public class StreamingShellTableTest {
+    @UseTestCtx
+    private TestCliContext ctx;
+
+    private static List<Map<String, Object>> rows(int n) {
+        return IntStream.range(0, n)
+            .mapToObj((i) -> Map.<String, Object>of("Name", "db-" + i, "ID", String.valueOf(i), "Ignored", "x"))
+            .toList();
+    }
+
+    private List<String> stream(StreamingShellTable table, OutputType outputType) {
+        val lines = new ArrayList<String>();
+        table.streamTo(ctx.get().withOutputType(outputType), lines::add);
+        return lines;
+    }
+
+    @Group
+    class streamTo {
+        @Example
+        public void streams_the_same_human_table_as_rendering_when_within_the_sample() {
+            val rows = rows(10);
+
+            val streamed = stream(ShellTable.streaming(rows.stream(), "Name", "ID"), OutputType.HUMAN);
+            val rendered = new ShellTable(rows).withColumns("Name", "ID").renderAsHuman(ctx.get());
+
+            assertThat(String.join(NL, streamed)).isEqualTo(rendered);
+        }
+
+        @Example
+        public void truncates_human_cells_wider_than_the_sampled_column_width() {
+            val rows = Stream.concat(rows(StreamingShellTable.HUMAN_SAMPLE_SIZE).stream(), Stream.of(Map.<String, Object>of("Name", "a-much-longer-name-than-any-sampled-one", "ID", "x")));
+
+            val streamed = stream(ShellTable.streaming(rows, "Name", "ID"), OutputType.HUMAN);
+            val lastRow = streamed.get(streamed.size() - 2);
+
+            assertThat(lastRow).contains("…").doesNotContain("a-much-longer-name-than-any-sampled-one");
+            assertThat(lastRow).hasSameSizeAs(streamed.getFirst());
+        }
+
+        @Example
+        public void streams_the_same_csv_as_rendering() {
+            val rows = rows(250);
+
+            val streamed = stream(ShellTable.streaming(rows.stream(), "Name", "ID"), OutputType.CSV);
+            val rendered = new ShellTable(rows).withColumns("Name", "ID").renderAsCsv();
+
+            assertThat(streamed).hasSize(251);
+            assertThat(String.join(NL, streamed)).isEqualTo(rendered);
+        }
+
+        @Example
+        public void streams_one_json_object_per_row_as_ndjson() {
+            val streamed = stream(ShellTable.streaming(rows(3).stream(), "Name", "ID"), OutputType.NDJSON);
+
+            assertThat(streamed).hasSize(3).allSatisfy((line) -> assertThat(JsonUtils.isValidJson(line)).isTrue());
+            assertThat(JsonUtils.readTree(streamed.getFirst()).get("name").asText()).isEqualTo("db-0");
+            assertThat(JsonUtils.readTree(streamed.getFirst()).has("ignored")).isFalse();
+        }
+
+        @Example
+        public void keeps_the_column_order_in_ndjson_rows() {
+            val streamed = stream(ShellTable.streaming(rows(3).stream(), "ID", "Name"), OutputType.NDJSON);
+
+            assertThat(streamed.getFirst()).isEqualTo("{\"id\":\"0\",\"name\":\"db-0\"}");
+        }
+
+        @Example
+        public void only_pulls_rows_from_the_stream_as_needed() {
+            val pulled = new ArrayList<Integer>();
+
+            val rows = IntStream.iterate(0, (i) -> i + 1)
+                .peek(pulled::add)
+                .mapToObj((i) -> Map.<String, Object>of("Name", "db-" + i, "ID", String.valueOf(i)))
+                .limit(5);
+
+            val pulledAtEachLine = new ArrayList<Integer>();
+
+            ShellTable.streaming(rows, "Name", "ID").streamTo(ctx.get().withOutputType(OutputType.CSV), (_) -> pulledAtEachLine.add(pulled.size()));
+
+            assertThat(pulledAtEachLine).containsExactly(0, 1, 2, 3, 4, 5); // header first, then each row right after it's pulled
+            assertThat(pulled).containsExactly(0, 1, 2, 3, 4);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.dtsx.astra.cli.unit.core.tracing;
+
+import com.dtsx.astra.cli.core.tracing.HttpTracer;
+import com.dtsx.astra.cli.core.tracing.HttpTracer.HttpCall;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Group
+public class HttpTracerTest {
+    @Group
+    class endpointTemplate {
+        @Example
+        public void replaces_ids_in_the_path_with_placeholders() {
+            assertThat(HttpTracer.endpointTemplate("https://api.astra.datastax.com/v2/databases/3fa85f64-5717-4562-b3fc-2c963f66afa6/keyspaces/ks"))
+                .isEqualTo("api.astra.datastax.com/v2/databases/{id}/keyspaces/ks");
+
+            assertThat(HttpTracer.endpointTemplate("https://api.astra.datastax.com/v2/organizations/roles/12345"))
+                .isEqualTo("api.astra.datastax.com/v2/organizations/roles/{id}");
+        }
+
+        @Example
+        public void drops_the_query_string() {
+            assertThat(HttpTracer.endpointTemplate("https://api.astra.datastax.com/v2/databases?include=nonterminated&limit=1000"))
+                .isEqualTo("api.astra.datastax.com/v2/databases");
+        }
+
+        @Example
+        public void handles_missing_or_unparseable_urls() {
+            assertThat(HttpTracer.endpointTemplate(null)).isEqualTo("<unknown>");
+            assertThat(HttpTracer.endpointTemplate("not a url")).isEqualTo("not a url");
+        }
+    }
+
+    @Group
+    class summarize {
+        @Example
+        public void groups_calls_by_endpoint_with_the_slowest_first() {
+            val calls = List.of(
+                call("GET", "host/v2/databases/{id}", 200, 10),
+                call("GET", "host/v2/databases", 200, 100),
+                call("GET", "host/v2/databases/{id}", 404, 30),
+                call("POST", "host/v2/databases/{id}", 200, 5)
+            );
+
+            val rows = HttpTracer.summarize(calls);
+
+            assertThat(rows).hasSize(3);
+
+            assertThat(rows.get(0)).containsEntry("Endpoint", "host/v2/databases").containsEntry("Total Ms", 100L);
+
+            assertThat(rows.get(1))
+                .containsEntry("Method", "GET")
+                .containsEntry("Endpoint", "host/v2/databases/{id}")
+                .containsEntry("Calls", 2)
+                .containsEntry("Errors", 1L)
+                .containsEntry("Total Ms", 40L);
+
+            assertThat(rows.get(2)).containsEntry("Method", "POST");
+        }
+
+        @Example
+        public void only_counts_new_connections_for_clients_that_track_them() {
+            val calls = List.of(
+                call("GET", "host/v2/databases", 200, 100),
+                new HttpCall(Instant.now(), "http", "GET", "host/v2/schemas/keyspace", 200, 0, 0, null, 10, true),
+                new HttpCall(Instant.now(), "http", "GET", "host/v2/schemas/keyspace", 200, 0, 0, null, 10, false)
+            );
+
+            val rows = HttpTracer.summarize(calls);
+
+            assertThat(rows.get(0)).containsEntry("Endpoint", "host/v2/databases").containsEntry("New Connections", "n/a");
+            assertThat(rows.get(1)).containsEntry("Endpoint", "host/v2/schemas/keyspace").containsEntry("New Connections", 1L);
+        }
+
+        private HttpCall call(String method, String endpoint, int status, long totalMs) {
+            return new HttpCall(Instant.now(), "http", method, endpoint, status, 0, 0, null, totalMs, null);
+        }
+    }
+
+    @Group
+    class scoping {
+        @Example
+        public void records_nothing_without_a_tracer() {
+            assertThat(HttpTracer.isActive()).isFalse();
+            HttpTracer.record(call("a")); // just mustn't blow up
+        }
+
+        @Example
+        public void records_calls_made_from_threads_started_by_the_command() throws InterruptedException {
+            val tracer = HttpTracer.start();
+
+            val worker = Thread.ofVirtual().start(() -> HttpTracer.record(call("from-worker")));
+            worker.join();
+
+            HttpTracer.record(call("from-command"));
+
+            assertThat(tracer.stop()).extracting(HttpCall::endpoint).containsExactlyInAnyOrder("from-worker", "from-command");
+            assertThat(HttpTracer.isActive()).isFalse();
+        }
+
+        @Example
+        public void keeps_commands_running_alongside_each_other_apart() throws InterruptedException {
+            val bothStarted = new CountDownLatch(2);
+            val calls = new AtomicReferenceArray<List<String>>(2);
+
+            val threads = List.of(0, 1).stream().map((i) -> Thread.ofVirtual().start(() -> {
+                val tracer = HttpTracer.start();
+                bothStarted.countDown();
+
+                try {
+                    bothStarted.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                HttpTracer.record(call("command-" + i));
+                calls.set(i, tracer.stop().stream().map(HttpCall::endpoint).toList());
+            })).toList();
+
+            for (val thread : threads) {
+                thread.join();
+            }
+
+            assertThat(calls.get(0)).containsExactly("command-0");
+            assertThat(calls.get(1)).containsExactly("command-1");
+        }
+
+        @Example
+        public void records_a_nested_commands_calls_into_both() {
+            val outer = HttpTracer.start();
+            HttpTracer.record(call("outer"));
+
+            val inner = HttpTracer.start();
+            HttpTracer.record(call("inner"));
+
+            assertThat(inner.stop()).extracting(HttpCall::endpoint).containsExactly("inner");
+
+            HttpTracer.record(call("outer-again"));
+
+            assertThat(outer.stop()).extracting(HttpCall::endpoint).containsExactlyInAnyOrder("outer", "inner", "outer-again");
+        }
+
+        @Example
+        public void ignores_a_stopped_tracer_inherited_by_a_thread_which_outlives_the_command() throws InterruptedException {
+            val stopped = new CountDownLatch(1);
+            val activeAfterStop = new AtomicBoolean(true);
+
+            val tracer = HttpTracer.start();
+
+            val worker = Thread.ofVirtual().start(() -> {
+                try {
+                    stopped.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                activeAfterStop.set(HttpTracer.isActive());
+                HttpTracer.record(call("too-late"));
+            });
+
+            assertThat(tracer.stop()).isEmpty();
+
+            stopped.countDown();
+            worker.join();
+
+            assertThat(activeAfterStop.get()).isFalse();
+        }
+
+        private HttpCall call(String endpoint) {
+            return new HttpCall(Instant.now(), "http", "GET", endpoint, 200, 0, 0, null, 1, null);
+        }
+    }
+}
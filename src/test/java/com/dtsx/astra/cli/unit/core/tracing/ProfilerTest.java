@@ -0,0 +1,175 @@
+package com.dtsx.astra.cli.unit.core.tracing;
+
+import com.dtsx.astra.cli.core.tracing.Profiler;
+import com.dtsx.astra.cli.core.tracing.Profiler.Profile;
+import com.dtsx.astra.cli.core.tracing.Profiler.Span;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Group
+public class ProfilerTest {
+    @Group
+    class spans {
+        @Example
+        public void nests_spans_under_whatever_was_open_when_they_started() throws Exception {
+            val profiler = Profiler.start("astra db list");
+
+            try (val outer = Profiler.span("outer")) {
+                try (val _ = Profiler.span("inner")) {
+                    outer.mark("still going");
+                }
+
+                try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    executor.submit(() -> Profiler.span("on another thread").close()).get();
+                }
+            }
+
+            Profiler.span("after").close();
+
+            val profile = profiler.stop();
+            val byName = profile.spans().stream().collect(Collectors.toMap(Span::name, (span) -> span));
+
+            assertThat(byName.get("astra db list").parentId()).isNull();
+            assertThat(byName.get("outer").parentId()).isEqualTo(byName.get("astra db list").id());
+            assertThat(byName.get("inner").parentId()).isEqualTo(byName.get("outer").id());
+            assertThat(byName.get("on another thread").parentId()).isEqualTo(byName.get("outer").id());
+            assertThat(byName.get("after").parentId()).isEqualTo(byName.get("astra db list").id());
+
+            assertThat(profile.marks()).singleElement().satisfies((mark) -> assertThat(mark.spanId()).isEqualTo(byName.get("outer").id()));
+        }
+
+        @Example
+        public void records_nothing_when_not_profiling() {
+            Profiler.span("nobody's listening").close();
+
+            val profile = Profiler.start("astra db list").stop();
+
+            assertThat(profile.spans()).extracting(Span::name).containsExactly("astra db list");
+        }
+
+        @Example
+        public void keeps_commands_profiled_alongside_each_other_apart() throws InterruptedException {
+            val bothStarted = new CountDownLatch(2);
+            val profiles = new AtomicReferenceArray<Profile>(2);
+
+            val threads = List.of(0, 1).stream().map((i) -> Thread.ofVirtual().start(() -> {
+                val profiler = Profiler.start("command-" + i);
+                bothStarted.countDown();
+
+                try {
+                    bothStarted.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                Profiler.span("span-" + i).close();
+                profiles.set(i, profiler.stop());
+            })).toList();
+
+            for (val thread : threads) {
+                thread.join();
+            }
+
+            assertThat(profiles.get(0).spans()).extracting(Span::name).containsExactlyInAnyOrder("command-0", "span-0");
+            assertThat(profiles.get(1).spans()).extracting(Span::name).containsExactlyInAnyOrder("command-1", "span-1");
+        }
+
+        @Example
+        public void gives_a_nested_command_its_own_profile() {
+            val outer = Profiler.start("astra batch");
+
+            try (val _ = Profiler.span("line 1")) {
+                val inner = Profiler.start("astra db list");
+                Profiler.span("listing").close();
+
+                assertThat(inner.stop().spans()).extracting(Span::name).containsExactlyInAnyOrder("astra db list", "listing");
+
+                Profiler.span("after the line").close();
+            }
+
+            val byName = outer.stop().spans().stream().collect(Collectors.toMap(Span::name, (span) -> span));
+
+            assertThat(byName).containsOnlyKeys("astra batch", "line 1", "after the line");
+            assertThat(byName.get("after the line").parentId()).isEqualTo(byName.get("line 1").id());
+        }
+
+        @Example
+        public void ignores_a_stopped_profiler_inherited_by_a_thread_which_outlives_the_command() throws InterruptedException {
+            val stopped = new CountDownLatch(1);
+            val profiler = Profiler.start("astra db list");
+
+            val worker = Thread.ofVirtual().start(() -> {
+                try {
+                    stopped.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                Profiler.span("too late").close();
+            });
+
+            profiler.stop();
+
+            stopped.countDown();
+            worker.join();
+
+            assertThat(profiler.stop().spans()).extracting(Span::name).containsExactly("astra db list");
+        }
+    }
+
+    @Group
+    class slowestSpans {
+        @Example
+        public void ranks_spans_by_their_self_time() {
+            val profile = new Profile(Instant.now(), List.of(
+                new Span(1, null, "root", 1, "main", 0, 100_000_000, null),
+                new Span(2, 1L, "child", 1, "main", 0, 90_000_000, null),
+                new Span(3, 2L, "grandchild", 1, "main", 0, 30_000_000, null)
+            ), List.of());
+
+            val rows = Profiler.slowestSpans(profile, 2);
+
+            assertThat(rows).extracting((row) -> row.get("Span")).containsExactly("child", "grandchild");
+            assertThat(rows.getFirst()).containsEntry("Self Ms", 60L).containsEntry("Total Ms", 90L).containsEntry("% of Run", 60L);
+        }
+    }
+
+    @Group
+    class toChromeTrace {
+        @Example
+        public void emits_a_complete_event_per_span_and_names_each_thread() {
+            val profile = new Profile(Instant.now(), List.of(
+                new Span(1, null, "root", 7, "main", 0, 2_000_000, null)
+            ), List.of());
+
+            val trace = Profiler.toChromeTrace(profile, List.of());
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> events = (List<Map<String, Object>>) trace.get("traceEvents");
+
+            assertThat(events).hasSize(2);
+
+            assertThat(events.get(0))
+                .containsEntry("name", "root")
+                .containsEntry("ph", "X")
+                .containsEntry("ts", 0L)
+                .containsEntry("dur", 2000L)
+                .containsEntry("tid", 7L);
+
+            assertThat(events.get(1))
+                .containsEntry("ph", "M")
+                .containsEntry("tid", 7L)
+                .containsEntry("args", Map.of("name", "main"));
+        }
+    }
+}
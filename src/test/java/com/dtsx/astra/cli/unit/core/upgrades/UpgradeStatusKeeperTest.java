@@ -0,0 +1,123 @@
+package com.dtsx.astra.cli.unit.core.upgrades;
+
+import com.dtsx.astra.cli.core.models.Version;
+import com.dtsx.astra.cli.core.upgrades.UpgradeStatus;
+import com.dtsx.astra.cli.core.upgrades.UpgradeStatusKeeper;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.dtsx.astra.cli.core.upgrades.UpgradeStatus.*;
+import static com.dtsx.astra.cli.core.upgrades.UpgradeStatusKeeper.ETAG_KEY;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UpgradeStatusKeeperTest {
+    @UseTestCtx(fs = "jimfs")
+    private TestCliContext ctx;
+
+    private static final UpgradeStatus STATUS = new UpgradeStatus(Optional.of(Version.mkUnsafe("1.2.3")), Instant.EPOCH, Instant.EPOCH, Instant.now());
+
+    @Test
+    @SneakyThrows
+    public void update_sends_the_last_etag_and_keeps_the_known_release_on_a_304() {
+        val path = writeStatusFile(ctx.get().path("/test/upgrade-notifier.properties"), "ETAG=\"abc\"");
+
+        UpgradeStatusKeeper.update(ctx.get(), path, STATUS, true, false, (etag) -> {
+            assertThat(etag).isEqualTo("\"abc\"");
+            return response(304, "", Map.of());
+        });
+
+        val properties = readProperties(path);
+
+        assertThat(properties.getProperty(LATEST_VERSION_KEY)).isEqualTo("1.2.3");
+        assertThat(properties.getProperty(ETAG_KEY)).isEqualTo("\"abc\"");
+        assertThat(Long.parseLong(properties.getProperty(LAST_CHECKED_KEY))).isPositive();
+    }
+
+    @Test
+    @SneakyThrows
+    public void update_stores_the_etag_of_a_new_release() {
+        val path = writeStatusFile(ctx.get().path("/test/upgrade-notifier.properties"), "");
+
+        UpgradeStatusKeeper.update(ctx.get(), path, STATUS, true, false, (etag) -> {
+            assertThat(etag).isEmpty();
+            return response(200, "{\"tag_name\":\"1.3.0\"}", Map.of("ETag", List.of("\"xyz\"")));
+        });
+
+        val properties = readProperties(path);
+
+        assertThat(properties.getProperty(LATEST_VERSION_KEY)).isEqualTo("1.3.0");
+        assertThat(properties.getProperty(ETAG_KEY)).isEqualTo("\"xyz\"");
+    }
+
+    @Test
+    @SneakyThrows
+    public void update_skips_everything_while_another_updater_holds_the_lock() {
+        val dir = Files.createTempDirectory("astra-upgrade-status");
+        val path = writeStatusFile(dir.resolve("upgrade-notifier.properties"), "");
+        val before = Files.readString(path);
+        val fetched = new AtomicBoolean();
+
+        try (val channel = FileChannel.open(dir.resolve("upgrade-notifier.properties.lock"), CREATE, WRITE); FileLock _ = channel.lock()) {
+            UpgradeStatusKeeper.update(ctx.get(), path, STATUS, true, true, (_) -> {
+                fetched.set(true);
+                return response(304, "", Map.of());
+            });
+        }
+
+        assertThat(fetched).isFalse();
+        assertThat(Files.readString(path)).isEqualTo(before);
+    }
+
+    @SneakyThrows
+    private static Path writeStatusFile(Path path, String extra) {
+        Files.createDirectories(path.getParent());
+
+        Files.writeString(path, """
+            LATEST_VERSION=1.2.3
+            LAST_CHECKED=0
+            LAST_NOTIFIED=0
+            %s
+        """.formatted(extra));
+
+        return path;
+    }
+
+    @SneakyThrows
+    private static Properties readProperties(Path path) {
+        val properties = new Properties();
+
+        try (val is = Files.newInputStream(path)) {
+            properties.load(is);
+        }
+
+        return properties;
+    }
+
+    private static HttpResponse<String> response(int status, String body, Map<String, List<String>> headers) {
+        HttpResponse<String> res = mock();
+        when(res.statusCode()).thenReturn(status);
+        when(res.body()).thenReturn(body);
+        when(res.headers()).thenReturn(HttpHeaders.of(headers, (_, _) -> true));
+        return res;
+    }
+}
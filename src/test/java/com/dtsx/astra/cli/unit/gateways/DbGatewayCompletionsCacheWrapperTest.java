@@ -0,0 +1,55 @@
+package com.dtsx.astra.cli.unit.gateways;
+
+import com.dtsx.astra.cli.core.completions.CompletionsCache;
+import com.dtsx.astra.cli.gateways.db.DbGateway;
+import com.dtsx.astra.cli.gateways.db.DbGatewayCompletionsCacheWrapper;
+import com.dtsx.astra.cli.testlib.Fixtures.Databases;
+import com.dtsx.astra.sdk.db.domain.Database;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Group
+public class DbGatewayCompletionsCacheWrapperTest {
+    private final DbGateway delegate = mock(DbGateway.class);
+    private final CompletionsCache cache = mock(CompletionsCache.class);
+
+    private final List<List<Database>> pages = List.of(Databases.Many.subList(0, 1), Databases.Many.subList(1, Databases.Many.size()));
+
+    @Example
+    public void replaces_the_cache_once_every_page_is_consumed() {
+        when(delegate.findAllPages(10)).thenReturn(pages.stream());
+
+        val res = new DbGatewayCompletionsCacheWrapper(delegate, cache).findAllPages(10).toList();
+
+        assertThat(res).isEqualTo(pages);
+        verify(cache).setCache(Databases.Many.stream().map((db) -> db.getInfo().getName()).toList());
+    }
+
+    @Example
+    public void leaves_the_cache_alone_when_cut_short() {
+        when(delegate.findAllPages(10)).thenReturn(pages.stream());
+
+        new DbGatewayCompletionsCacheWrapper(delegate, cache).findAllPages(10).flatMap(List::stream).limit(1).toList();
+
+        verify(cache, never()).setCache(any());
+    }
+
+    @Example
+    public void closes_the_underlying_stream() {
+        val closed = new AtomicBoolean();
+        when(delegate.findAllPages(10)).thenReturn(Stream.<List<Database>>empty().onClose(() -> closed.set(true)));
+
+        new DbGatewayCompletionsCacheWrapper(delegate, cache).findAllPages(10).close();
+
+        assertThat(closed).isTrue();
+    }
+}
@@ -0,0 +1,153 @@
+package com.dtsx.astra.cli.unit.gateways;
+
+import com.dtsx.astra.cli.gateways.resilience.CircuitBreaker;
+import com.dtsx.astra.cli.gateways.resilience.CircuitBreaker.State;
+import com.dtsx.astra.cli.gateways.resilience.DevopsResilience;
+import com.dtsx.astra.cli.gateways.resilience.TokenBucket;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Group;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.IntRange;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Group
+public class DevopsResilienceTest {
+    @Group
+    class tokenBucket {
+        @Example
+        public void allows_bursts_then_spaces_out_requests() {
+            val clock = new AtomicLong();
+            val bucket = new TokenBucket(10, 2, clock::get);
+
+            assertThat(bucket.reserve()).isZero();
+            assertThat(bucket.reserve()).isZero();
+            assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(100));
+            assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(200));
+        }
+
+        @Example
+        public void refills_over_time_up_to_its_capacity() {
+            val clock = new AtomicLong();
+            val bucket = new TokenBucket(10, 2, clock::get);
+
+            bucket.reserve();
+            bucket.reserve();
+
+            clock.addAndGet(Duration.ofMinutes(1).toNanos());
+
+            assertThat(bucket.reserve()).isZero();
+            assertThat(bucket.reserve()).isZero();
+            assertThat(bucket.reserve()).isPositive();
+        }
+    }
+
+    @Group
+    class circuitBreaker {
+        @Example
+        public void opens_after_consecutive_failures_only() {
+            val breaker = new CircuitBreaker(3, Duration.ofSeconds(30), () -> 0);
+
+            breaker.recordFailure();
+            breaker.recordFailure();
+            breaker.recordSuccess();
+            breaker.recordFailure();
+            breaker.recordFailure();
+
+            assertThat(breaker.state()).isEqualTo(State.CLOSED);
+            assertThat(breaker.recordFailure()).isTrue();
+            assertThat(breaker.state()).isEqualTo(State.OPEN);
+            assertThat(breaker.tryAcquire()).isFalse();
+        }
+
+        @Example
+        public void lets_a_single_trial_call_through_once_the_open_period_is_over() {
+            val clock = new AtomicLong();
+            val breaker = new CircuitBreaker(1, Duration.ofSeconds(30), clock::get);
+
+            breaker.recordFailure();
+            assertThat(breaker.remainingOpen()).isEqualTo(Duration.ofSeconds(30));
+
+            clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+            assertThat(breaker.tryAcquire()).isTrue();
+            assertThat(breaker.tryAcquire()).isFalse();
+
+            breaker.recordSuccess();
+
+            assertThat(breaker.state()).isEqualTo(State.CLOSED);
+            assertThat(breaker.tryAcquire()).isTrue();
+        }
+
+        @Example
+        public void reopens_if_the_trial_call_fails() {
+            val clock = new AtomicLong();
+            val breaker = new CircuitBreaker(5, Duration.ofSeconds(30), clock::get);
+
+            for (var i = 0; i < 5; i++) {
+                breaker.recordFailure();
+            }
+
+            clock.addAndGet(Duration.ofSeconds(31).toNanos());
+            assertThat(breaker.tryAcquire()).isTrue();
+
+            assertThat(breaker.recordFailure()).isTrue();
+            assertThat(breaker.state()).isEqualTo(State.OPEN);
+            assertThat(breaker.remainingOpen()).isEqualTo(Duration.ofSeconds(30));
+        }
+    }
+
+    @Group
+    class retryDelay {
+        @Property
+        public void grows_exponentially_up_to_a_cap(@ForAll @IntRange(max = 64) int attempt, @ForAll @DoubleRange(max = 1) double jitter) {
+            val delay = DevopsResilience.retryDelay(attempt, jitter, null);
+            val base = Math.min(500L << Math.min(attempt, 16), 16_000);
+
+            assertThat(delay.toMillis()).isBetween(base / 2, base);
+        }
+
+        @Example
+        public void never_retries_sooner_than_the_server_asked() {
+            assertThat(DevopsResilience.retryDelay(0, 0, Duration.ofSeconds(5))).isEqualTo(Duration.ofSeconds(5));
+            assertThat(DevopsResilience.retryDelay(5, 1, Duration.ofSeconds(1))).isEqualTo(Duration.ofSeconds(16));
+        }
+    }
+
+    @Group
+    class parseRetryAfter {
+        @Example
+        public void parses_seconds_and_http_dates() {
+            val now = Instant.parse("2025-01-01T00:00:00Z");
+
+            assertThat(DevopsResilience.parseRetryAfter("7", now)).isEqualTo(Duration.ofSeconds(7));
+            assertThat(DevopsResilience.parseRetryAfter("Wed, 01 Jan 2025 00:00:30 GMT", now)).isEqualTo(Duration.ofSeconds(30));
+            assertThat(DevopsResilience.parseRetryAfter("Tue, 31 Dec 2024 23:00:00 GMT", now)).isZero();
+        }
+
+        @Example
+        public void ignores_missing_or_garbage_values() {
+            assertThat(DevopsResilience.parseRetryAfter(null, Instant.now())).isNull();
+            assertThat(DevopsResilience.parseRetryAfter("soon", Instant.now())).isNull();
+        }
+    }
+
+    @Group
+    class isIdempotent {
+        @Example
+        public void only_treats_reads_and_idempotent_writes_as_idempotent() {
+            assertThat(DevopsResilience.isIdempotent("GET", "/v2/databases")).isTrue();
+            assertThat(DevopsResilience.isIdempotent("DELETE", "/v2/databases/abc/keyspaces/ks")).isTrue();
+            assertThat(DevopsResilience.isIdempotent("POST", "/v2/databases")).isFalse();
+            assertThat(DevopsResilience.isIdempotent("POST", "/v2/pcus/actions/get")).isTrue();
+            assertThat(DevopsResilience.isIdempotent("POST", "/v2/pcus/actions/get?x=1")).isTrue();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.dtsx.astra.cli.unit.gateways;
+
+import com.dtsx.astra.cli.core.models.DbRef;
+import com.dtsx.astra.cli.core.models.PcuRef;
+import com.dtsx.astra.cli.core.models.RegionName;
+import com.dtsx.astra.cli.gateways.PersistentInfoCache;
+import com.dtsx.astra.cli.gateways.PersistentInfoCache.Mode;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Group
+public class PersistentInfoCacheTest {
+    @UseTestCtx(fs = "jimfs")
+    private TestCliContext ctx;
+
+    private final MutableClock clock = new MutableClock();
+
+    private PersistentInfoCache mkCache(Mode mode) {
+        return new PersistentInfoCache(ctx.get(), this::cacheFile, mode, clock);
+    }
+
+    private Path cacheFile() {
+        return ctx.get().home().dirs.cache.use().resolve("resolved_info_test.properties");
+    }
+
+    @Group
+    class persistence {
+        @Example
+        public void entries_are_visible_to_new_instances() {
+            val id = UUID.randomUUID();
+
+            mkCache(Mode.ENABLED).cacheDbId("my_db", id);
+            mkCache(Mode.ENABLED).cacheDbRegion(id, RegionName.mkUnsafe("us-east1"));
+
+            val fresh = mkCache(Mode.ENABLED);
+            assertThat(fresh.lookupDbId(DbRef.fromNameUnsafe("my_db"))).contains(id);
+            assertThat(fresh.lookupDbRegion(DbRef.fromNameUnsafe("my_db"))).contains(RegionName.mkUnsafe("us-east1"));
+            assertThat(cacheFile()).isNotEmptyFile();
+        }
+
+        @Example
+        public void refresh_mode_ignores_existing_entries_but_still_writes() {
+            val oldId = UUID.randomUUID();
+            val newId = UUID.randomUUID();
+
+            mkCache(Mode.ENABLED).cacheDbId("my_db", oldId);
+
+            val refreshing = mkCache(Mode.REFRESH);
+            assertThat(refreshing.lookupDbId(DbRef.fromNameUnsafe("my_db"))).isEmpty();
+
+            refreshing.cacheDbId("my_db", newId);
+            assertThat(mkCache(Mode.ENABLED).lookupDbId(DbRef.fromNameUnsafe("my_db"))).contains(newId);
+        }
+    }
+
+    @Group
+    class expiry {
+        @Example
+        public void entries_expire_after_their_ttl() {
+            val id = UUID.randomUUID();
+
+            mkCache(Mode.ENABLED).cacheDbDefaultKs(id, "default_keyspace");
+
+            clock.advance(PersistentInfoCache.DEFAULT_KS_TTL.minusSeconds(1));
+            assertThat(mkCache(Mode.ENABLED).lookupDbDefaultKs(DbRef.fromId(id))).contains("default_keyspace");
+
+            clock.advance(Duration.ofSeconds(1));
+            assertThat(mkCache(Mode.ENABLED).lookupDbDefaultKs(DbRef.fromId(id))).isEmpty();
+        }
+    }
+
+    @Group
+    class eviction {
+        @Example
+        public void evicting_a_db_by_name_removes_all_of_its_entries() {
+            val id = UUID.randomUUID();
+            val cache = mkCache(Mode.ENABLED);
+
+            cache.cacheDbId("my_db", id);
+            cache.cacheDbRegion(id, RegionName.mkUnsafe("us-east1"));
+            cache.cacheDbDefaultKs(id, "default_keyspace");
+
+            cache.evictDb(DbRef.fromNameUnsafe("my_db"));
+
+            val fresh = mkCache(Mode.ENABLED);
+            assertThat(fresh.lookupDbId(DbRef.fromNameUnsafe("my_db"))).isEmpty();
+            assertThat(fresh.lookupDbRegion(DbRef.fromId(id))).isEmpty();
+            assertThat(fresh.lookupDbDefaultKs(DbRef.fromId(id))).isEmpty();
+        }
+
+        @Example
+        public void evicting_a_pcu_group_by_id_removes_its_title_mapping() {
+            val id = UUID.randomUUID();
+            val cache = mkCache(Mode.ENABLED);
+
+            cache.cachePcuGroupId("my_pcu", id);
+            cache.evictPcuGroup(PcuRef.fromId(id));
+
+            assertThat(mkCache(Mode.ENABLED).lookupPcuGroupId(PcuRef.fromTitleUnsafe("my_pcu"))).isEmpty();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.now();
+
+        public void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
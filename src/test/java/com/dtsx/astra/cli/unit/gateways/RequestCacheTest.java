@@ -0,0 +1,105 @@
+package com.dtsx.astra.cli.unit.gateways;
+
+import com.dtsx.astra.cli.gateways.RequestCache;
+import com.dtsx.astra.cli.gateways.RequestCache.Resource;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Group
+public class RequestCacheTest {
+    @Group
+    class memoization {
+        @Example
+        public void fetches_each_key_only_once() {
+            val cache = new RequestCache();
+            val fetches = new AtomicInteger();
+
+            for (var i = 0; i < 3; i++) {
+                assertThat(cache.get(Resource.DATABASE, "my_db", fetches::incrementAndGet)).isEqualTo(1);
+            }
+
+            assertThat(cache.get(Resource.DATABASE, "other_db", fetches::incrementAndGet)).isEqualTo(2);
+            assertThat(cache.get(Resource.PCU_GROUP, "my_db", fetches::incrementAndGet)).isEqualTo(3);
+        }
+
+        @Example
+        public void never_memoizes_when_disabled() {
+            val fetches = new AtomicInteger();
+
+            RequestCache.DISABLED.get(Resource.DATABASE, "my_db", fetches::incrementAndGet);
+            RequestCache.DISABLED.get(Resource.DATABASE, "my_db", fetches::incrementAndGet);
+
+            assertThat(fetches).hasValue(2);
+        }
+
+        @Example
+        public void does_not_memoize_failures() {
+            val cache = new RequestCache();
+
+            assertThatThrownBy(() -> cache.get(Resource.DATABASE, "my_db", () -> { throw new IllegalStateException("boom"); }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+
+            assertThat(cache.get(Resource.DATABASE, "my_db", () -> "ok")).isEqualTo("ok");
+        }
+    }
+
+    @Group
+    class eviction {
+        @Example
+        public void evicts_every_entry_of_the_same_kind_only() {
+            val cache = new RequestCache();
+            val fetches = new AtomicInteger();
+
+            cache.get(Resource.DATABASE, "a", fetches::incrementAndGet);
+            cache.get(Resource.DATABASE, "b", fetches::incrementAndGet);
+            cache.get(Resource.COLLECTION, "c", fetches::incrementAndGet);
+
+            cache.evict(Resource.DATABASE);
+
+            assertThat(cache.get(Resource.DATABASE, "a", fetches::incrementAndGet)).isEqualTo(4);
+            assertThat(cache.get(Resource.DATABASE, "b", fetches::incrementAndGet)).isEqualTo(5);
+            assertThat(cache.get(Resource.COLLECTION, "c", fetches::incrementAndGet)).isEqualTo(3);
+        }
+    }
+
+    @Group
+    class deduplication {
+        @Example
+        public void collapses_concurrent_identical_reads_into_one() throws Exception {
+            val cache = new RequestCache();
+            val fetches = new AtomicInteger();
+            val release = new CompletableFuture<Void>();
+
+            try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                val results = new ArrayList<Future<Integer>>();
+
+                for (var i = 0; i < 8; i++) {
+                    results.add(executor.submit(() -> cache.get(Resource.DATABASE, "my_db", () -> {
+                        release.join();
+                        return fetches.incrementAndGet();
+                    })));
+                }
+
+                Thread.sleep(50);
+                release.complete(null);
+
+                for (val result : results) {
+                    assertThat(result.get()).isEqualTo(1);
+                }
+            }
+
+            assertThat(fetches).hasValue(1);
+        }
+    }
+}
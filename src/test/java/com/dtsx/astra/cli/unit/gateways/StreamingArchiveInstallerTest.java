@@ -0,0 +1,236 @@
+package com.dtsx.astra.cli.unit.gateways;
+
+import com.dtsx.astra.cli.gateways.downloads.StreamingArchiveInstaller;
+import com.dtsx.astra.cli.testlib.Fixtures;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import lombok.SneakyThrows;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarConstants;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Group
+public class StreamingArchiveInstallerTest {
+    @UseTestCtx(fs = "jimfs")
+    private TestCliContext ctx;
+
+    @Group
+    class install {
+        @Example
+        public void strips_top_level_dir_from_tar_gz() {
+            val archive = copyResourceToJimfs(Fixtures.Files.AstraTarGz, "src/astra.tar.gz");
+            val installDir = mkInstallDir();
+
+            new StreamingArchiveInstaller(ctx.get()).install(archive.toUri().toString(), null, installDir, (_) -> {});
+
+            assertThat(installDir.resolve("bin").resolve("astra")).isRegularFile();
+            assertThat(installDir.resolve("astra")).doesNotExist();
+        }
+
+        @Example
+        public void strips_top_level_dir_from_zip() {
+            val archive = copyResourceToJimfs(Fixtures.Files.AstraZip, "src/astra.zip");
+            val installDir = mkInstallDir();
+
+            new StreamingArchiveInstaller(ctx.get()).install(archive.toUri().toString(), null, installDir, (_) -> {});
+
+            assertThat(installDir.resolve("bin").resolve("astra.exe")).isRegularFile();
+        }
+
+        @Example
+        public void accepts_matching_checksum() {
+            val archive = copyResourceToJimfs(Fixtures.Files.AstraTarGz, "src/astra.tar.gz");
+            val installDir = mkInstallDir();
+
+            val result = new StreamingArchiveInstaller(ctx.get()).install(archive.toUri().toString(), sha256(archive).toUpperCase(), installDir, (_) -> {});
+
+            assertThat(result.sha256()).isEqualTo(sha256(archive));
+            assertThat(result.bytes()).isEqualTo(size(archive));
+            assertThat(installDir.resolve("bin").resolve("astra")).isRegularFile();
+        }
+
+        @Example
+        public void rejects_mismatched_checksum_without_touching_install_dir() {
+            val archive = copyResourceToJimfs(Fixtures.Files.AstraTarGz, "src/astra.tar.gz");
+            val installDir = mkInstallDir();
+
+            assertThatThrownBy(() -> new StreamingArchiveInstaller(ctx.get()).install(archive.toUri().toString(), "0".repeat(64), installDir, (_) -> {}))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Checksum mismatch");
+
+            assertThat(installDir).isEmptyDirectory();
+            assertThat(installDir.getParent()).isDirectoryNotContaining((p) -> p.getFileName().toString().contains("-partial-"));
+        }
+    }
+
+    @Group
+    class links {
+        @Example
+        public void keeps_symlinks_within_the_archive() {
+            val archive = mkTarGz("src/tool.tar.gz", (tar) -> {
+                addFile(tar, "tool/bin/tool-1.0", "#!/bin/sh");
+                addSymlink(tar, "tool/bin/tool", "tool-1.0");
+            });
+            val installDir = mkInstallDir();
+
+            install(archive, installDir);
+
+            assertThat(installDir.resolve("bin/tool")).isSymbolicLink().hasContent("#!/bin/sh");
+        }
+
+        @Example
+        public void rejects_symlinks_pointing_outside_of_the_install_dir() {
+            val archive = mkTarGz("src/tool.tar.gz", (tar) -> {
+                addSymlink(tar, "tool/lib", "../..");
+                addFile(tar, "tool/lib/evil", "oops");
+            });
+            val installDir = mkInstallDir();
+
+            assertThatThrownBy(() -> install(archive, installDir))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("outside of the install directory");
+
+            assertThat(installDir).isEmptyDirectory();
+            assertThat(ctx.get().path("evil")).doesNotExist();
+        }
+
+        @Example
+        public void rejects_absolute_symlinks() {
+            val archive = mkTarGz("src/tool.tar.gz", (tar) -> {
+                addSymlink(tar, "tool/passwd", "/etc/passwd");
+            });
+
+            assertThatThrownBy(() -> install(archive, mkInstallDir()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("outside of the install directory");
+        }
+
+        @Example
+        public void rejects_symlinks_which_only_escape_through_other_symlinks() {
+            val archive = mkTarGz("src/tool.tar.gz", (tar) -> {
+                addSymlink(tar, "tool/a/b", "..");
+                addSymlink(tar, "tool/a/b/c", "..");
+            });
+
+            assertThatThrownBy(() -> install(archive, mkInstallDir()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("outside of the install directory");
+        }
+
+        @Example
+        public void materializes_hard_links_from_their_target() {
+            val archive = mkTarGz("src/tool.tar.gz", (tar) -> {
+                addFile(tar, "tool/bin/tool", "#!/bin/sh");
+                addHardLink(tar, "tool/bin/tool-alias", "tool/bin/tool");
+            });
+            val installDir = mkInstallDir();
+
+            install(archive, installDir);
+
+            assertThat(installDir.resolve("bin/tool-alias")).isRegularFile().hasContent("#!/bin/sh");
+        }
+
+        @Example
+        public void rejects_hard_links_pointing_outside_of_the_archive() {
+            val archive = mkTarGz("src/tool.tar.gz", (tar) -> {
+                addFile(tar, "tool/bin/tool", "#!/bin/sh");
+                addHardLink(tar, "tool/bin/passwd", "../etc/passwd");
+            });
+
+            assertThatThrownBy(() -> install(archive, mkInstallDir()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("outside of the install directory");
+        }
+    }
+
+    @FunctionalInterface
+    private interface TarWriter {
+        void write(TarArchiveOutputStream tar) throws IOException;
+    }
+
+    @SneakyThrows
+    private Path mkTarGz(String path, TarWriter writer) {
+        val archive = ctx.get().path(path);
+        Files.createDirectories(archive.getParent());
+
+        try (val tar = new TarArchiveOutputStream(new GzipCompressorOutputStream(Files.newOutputStream(archive)))) {
+            val root = new TarArchiveEntry("tool/");
+            tar.putArchiveEntry(root);
+            tar.closeArchiveEntry();
+
+            writer.write(tar);
+        }
+
+        return archive;
+    }
+
+    private static void addFile(TarArchiveOutputStream tar, String name, String content) throws IOException {
+        val bytes = content.getBytes(StandardCharsets.UTF_8);
+        val entry = new TarArchiveEntry(name);
+        entry.setSize(bytes.length);
+
+        tar.putArchiveEntry(entry);
+        tar.write(bytes);
+        tar.closeArchiveEntry();
+    }
+
+    private static void addSymlink(TarArchiveOutputStream tar, String name, String linkName) throws IOException {
+        val entry = new TarArchiveEntry(name, TarConstants.LF_SYMLINK);
+        entry.setLinkName(linkName);
+
+        tar.putArchiveEntry(entry);
+        tar.closeArchiveEntry();
+    }
+
+    private static void addHardLink(TarArchiveOutputStream tar, String name, String linkName) throws IOException {
+        val entry = new TarArchiveEntry(name, TarConstants.LF_LINK);
+        entry.setLinkName(linkName);
+
+        tar.putArchiveEntry(entry);
+        tar.closeArchiveEntry();
+    }
+
+    private void install(Path archive, Path installDir) {
+        new StreamingArchiveInstaller(ctx.get()).install(archive.toUri().toString(), null, installDir, (_) -> {});
+    }
+
+    @SneakyThrows
+    private Path mkInstallDir() {
+        val installDir = ctx.get().path("install/1.0.0");
+        Files.createDirectories(installDir);
+        return installDir;
+    }
+
+    @SneakyThrows
+    private static String sha256(Path path) {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(path)));
+    }
+
+    @SneakyThrows
+    private static long size(Path path) {
+        return Files.size(path);
+    }
+
+    @SneakyThrows
+    private Path copyResourceToJimfs(URL realFilePathUrl, String jimfsFilePathStr) {
+        val jimfsFilePath = ctx.get().path(jimfsFilePathStr);
+        Files.createDirectories(jimfsFilePath.getParent());
+        Files.copy(Path.of(realFilePathUrl.toURI()), jimfsFilePath);
+        return jimfsFilePath;
+    }
+}
@@ -0,0 +1,75 @@
+package com.dtsx.astra.cli.unit.operations;
+
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsRejected;
+import com.dtsx.astra.cli.operations.db.collection.BatchInserter;
+import com.dtsx.astra.cli.testlib.Fixtures.Collections;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import lombok.SneakyThrows;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Group;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.IntRange;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Group
+public class BatchInserterTest {
+    @Group
+    class backoff {
+        @Example
+        public void doubles_with_each_attempt() {
+            assertThat(BatchInserter.backoff(0, 1)).isEqualTo(Duration.ofMillis(250));
+            assertThat(BatchInserter.backoff(1, 1)).isEqualTo(Duration.ofMillis(500));
+            assertThat(BatchInserter.backoff(2, 1)).isEqualTo(Duration.ofMillis(1000));
+        }
+
+        @Property
+        public void stays_within_half_to_full_of_the_capped_delay(@ForAll @IntRange(max = 100) int attempt, @ForAll @DoubleRange(max = 1, maxIncluded = false) double jitter) {
+            val full = BatchInserter.backoff(attempt, 1);
+            val delay = BatchInserter.backoff(attempt, jitter);
+
+            assertThat(full).isLessThanOrEqualTo(Duration.ofSeconds(10));
+            assertThat(delay).isBetween(full.dividedBy(2), full);
+        }
+    }
+
+    @Group
+    class insert {
+        @UseTestCtx
+        private TestCliContext ctx;
+
+        @Example
+        @SneakyThrows
+        public void returns_how_many_went_in_and_hands_back_the_rest() {
+            val gateway = mock(CollectionGateway.class);
+
+            when(gateway.insertMany(eq(Collections.Ref), anyList())).thenAnswer((inv) -> (inv.<List<String>>getArgument(1).size() == 3)
+                ? new DocumentsRejected("two were bad", Set.of(0, 2))
+                : new DocumentsRejected("this one's bad", (inv.<List<String>>getArgument(1).getFirst().equals("c")) ? Set.of(0) : Set.of())
+            );
+
+            val rejected = new ArrayList<String>();
+            val inserter = new BatchInserter(ctx.get(), gateway, Collections.Ref, 0);
+
+            val inserted = inserter.insert(List.of("a", "b", "c"), UnaryOperator.identity(), (document, _) -> rejected.add(document));
+
+            assertThat(inserted).isEqualTo(2);
+            assertThat(rejected).containsExactly("c");
+        }
+    }
+}
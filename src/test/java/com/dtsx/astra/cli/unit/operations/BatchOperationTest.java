@@ -0,0 +1,176 @@
+package com.dtsx.astra.cli.unit.operations;
+
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.operations.BatchOperation;
+import com.dtsx.astra.cli.operations.BatchOperation.*;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Group
+public class BatchOperationTest {
+    private static List<BatchResult> run(String source, int parallelism, boolean keepGoing, LineRunner runner) {
+        return new BatchOperation(new BatchRequest(new StringReader(source), "test", "astra", parallelism, keepGoing, runner)).execute().toList();
+    }
+
+    private static CapturedRun ok(List<String> args) {
+        return new CapturedRun(0, String.join(" ", args), "");
+    }
+
+    @Group
+    class parsing {
+        @Example
+        public void skips_blank_lines_and_comments_and_strips_the_cli_name() {
+            val results = run("""
+              # setup
+              astra db list
+
+              db get 'my db' # trailing comment
+            """, 1, false, BatchOperationTest::ok);
+
+            assertThat(results).extracting((r) -> r.line().args()).containsExactly(
+                List.of("db", "list"),
+                List.of("db", "get", "my db")
+            );
+            assertThat(results).extracting((r) -> r.line().lineNumber()).containsExactly(2, 4);
+        }
+
+        @Example
+        public void rejects_the_whole_batch_before_running_anything() {
+            val ran = new AtomicInteger();
+
+            assertThatThrownBy(() -> run("db list\ndb get 'oops", 1, false, (args) -> { ran.incrementAndGet(); return ok(args); }))
+                .isInstanceOf(AstraCliException.class)
+                .hasMessageContaining("line 2");
+
+            assertThatThrownBy(() -> run("db list\nbatch -f other.txt", 1, false, BatchOperationTest::ok))
+                .isInstanceOf(AstraCliException.class)
+                .hasMessageContaining("'batch'");
+
+            assertThatThrownBy(() -> run("db cqlsh exec my_db -e 'select 1'", 1, false, BatchOperationTest::ok))
+                .isInstanceOf(AstraCliException.class)
+                .hasMessageContaining("external tools");
+
+            assertThat(ran).hasValue(0);
+        }
+
+        @Example
+        public void only_checks_the_command_path_for_external_tools() {
+            val results = run("db get cqlsh\ndb create dsbulk --region pulsar", 1, false, BatchOperationTest::ok);
+
+            assertThat(results).extracting((r) -> ((LineCompleted) r).exitCode()).containsExactly(0, 0);
+        }
+    }
+
+    @Group
+    class execution {
+        @Example
+        public void returns_results_in_line_order_even_when_run_in_parallel() {
+            val results = run("a 30\nb 0\nc 10\nd 0", 4, false, (args) -> {
+                sleep(Integer.parseInt(args.get(1)));
+                return ok(args);
+            });
+
+            assertThat(results).extracting((r) -> ((LineCompleted) r).stdout()).containsExactly("a 30", "b 0", "c 10", "d 0");
+        }
+
+        @Example
+        public void never_runs_past_a_barrier() {
+            val events = new ConcurrentLinkedQueue<String>();
+
+            run("a 30\nb 0\n" + BatchOperation.BARRIER + "\nc 0", 8, false, (args) -> {
+                events.add("start " + args.getFirst());
+                sleep(Integer.parseInt(args.get(1)));
+                events.add("end " + args.getFirst());
+                return ok(args);
+            });
+
+            assertThat(List.copyOf(events).indexOf("start c")).isGreaterThan(List.copyOf(events).indexOf("end a"));
+        }
+
+        @Example
+        public void skips_the_remaining_lines_after_a_failure() {
+            val results = run("a\nb\nc", 1, false, (args) -> new CapturedRun(args.getFirst().equals("a") ? 2 : 0, "", ""));
+
+            assertThat(results.get(0)).isInstanceOfSatisfying(LineCompleted.class, (r) -> assertThat(r.exitCode()).isEqualTo(2));
+            assertThat(results.subList(1, 3)).allMatch((r) -> r instanceof LineSkipped);
+        }
+
+        @Example
+        public void keeps_going_after_a_failure_if_asked_to() {
+            val results = run("a\nb\nc", 1, true, (args) -> new CapturedRun(args.getFirst().equals("a") ? 2 : 0, "", ""));
+
+            assertThat(results).allMatch((r) -> r instanceof LineCompleted);
+            assertThat(results).extracting((r) -> ((LineCompleted) r).exitCode()).containsExactly(2, 0, 0);
+        }
+
+        @Example
+        public void treats_runner_exceptions_as_failures() {
+            val results = run("a", 1, false, (_) -> { throw new IllegalStateException("boom"); });
+
+            assertThat(results.getFirst()).isInstanceOfSatisfying(LineCompleted.class, (r) -> {
+                assertThat(r.exitCode()).isEqualTo(1);
+                assertThat(r.stderr()).contains("boom");
+            });
+        }
+    }
+
+    @Group
+    class cleanup {
+        @Example
+        public void closing_the_stream_early_stops_the_lines_still_running() throws InterruptedException {
+            val bStarted = new CountDownLatch(1);
+            val bInterrupted = new CountDownLatch(1);
+
+            val request = new BatchRequest(new StringReader("a\nb"), "test", "astra", 2, false, (args) -> {
+                if (args.getFirst().equals("a")) {
+                    await(bStarted);
+                    return ok(args);
+                }
+
+                bStarted.countDown();
+
+                try {
+                    Thread.sleep(Duration.ofSeconds(30));
+                } catch (InterruptedException _) {
+                    bInterrupted.countDown();
+                }
+
+                return ok(args);
+            });
+
+            try (val results = new BatchOperation(request).execute()) {
+                assertThat(results.findFirst()).isPresent();
+            }
+
+            assertThat(bInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.dtsx.astra.cli.unit.operations;
+
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.operations.db.collection.CollectionBenchOperation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionBenchOperation.*;
+import com.dtsx.astra.cli.testlib.Fixtures.Collections;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.time.Duration;
+import java.util.*;
+
+import static com.dtsx.astra.cli.operations.db.collection.CollectionBenchOperation.BenchOp.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@Group
+public class CollectionBenchOperationTest {
+    @Group
+    class pick {
+        @Example
+        public void picks_each_operation_in_proportion_to_its_weight() {
+            val mix = new LinkedHashMap<BenchOp, Integer>();
+            mix.put(INSERT, 1);
+            mix.put(FIND, 3);
+            mix.put(VECTOR, 6);
+
+            val picked = new EnumMap<BenchOp, Integer>(BenchOp.class);
+
+            for (var roll = 0; roll < 10; roll++) {
+                picked.merge(CollectionBenchOperation.pick(mix, roll), 1, Integer::sum);
+            }
+
+            assertThat(picked).containsExactlyInAnyOrderEntriesOf(mix);
+        }
+    }
+
+    @Group
+    class fromLabel {
+        @Example
+        public void parses_labels_case_insensitively() {
+            assertThat(BenchOp.fromLabel("find-by-id")).contains(FIND_BY_ID);
+            assertThat(BenchOp.fromLabel("VECTOR")).contains(VECTOR);
+            assertThat(BenchOp.fromLabel("find_by_id")).isEqualTo(Optional.empty());
+        }
+    }
+
+    @Group
+    class execute {
+        @UseTestCtx
+        private TestCliContext ctx;
+
+        private final CollectionGateway gateway = mock(CollectionGateway.class);
+
+        private CollectionBenchResult bench(Duration duration, int concurrency, Optional<Integer> rate, Duration findLatency) {
+            when(gateway.findOne(Collections.Ref)).thenReturn(Optional.of(Collections.One));
+
+            when(gateway.findDocuments(eq(Collections.Ref), anyString(), any(), anyInt())).thenAnswer((_) -> {
+                Thread.sleep(findLatency);
+                return List.of();
+            });
+
+            val mix = new LinkedHashMap<BenchOp, Integer>();
+            mix.put(FIND, 1);
+
+            return new CollectionBenchOperation(ctx.get(), gateway, new CollectionBenchRequest(
+                Collections.Ref, Optional.of(mix), duration, concurrency, rate, 0, true
+            )).execute();
+        }
+
+        private static OpStats all(CollectionBenchResult result) {
+            assertThat(result).isInstanceOf(CollectionBenchmarked.class);
+            return ((CollectionBenchmarked) result).stats().getLast();
+        }
+
+        @Example
+        public void returns_not_found_for_a_missing_collection() {
+            when(gateway.findOne(Collections.Ref)).thenReturn(Optional.empty());
+
+            val result = new CollectionBenchOperation(ctx.get(), gateway, new CollectionBenchRequest(
+                Collections.Ref, Optional.empty(), Duration.ofSeconds(1), 1, Optional.empty(), 0, true
+            )).execute();
+
+            assertThat(result).isEqualTo(new CollectionNotFound());
+            verify(gateway, never()).findDocuments(any(), any(), any(), anyInt());
+        }
+
+        @Example
+        public void sends_one_request_per_slot_at_a_target_rate() {
+            // slots every 50ms, for 500ms
+            val stats = all(bench(Duration.ofMillis(500), 2, Optional.of(20), Duration.ZERO));
+
+            assertThat(stats.requests() + stats.errors() + stats.missed()).isEqualTo(10);
+            assertThat(stats.missed()).isZero();
+        }
+
+        @Example
+        public void counts_the_slots_it_falls_behind_on_as_missed_instead_of_overrunning() {
+            // slots every 10ms for 300ms, but a single worker can only send one request every 100ms
+            val result = bench(Duration.ofMillis(300), 1, Optional.of(100), Duration.ofMillis(100));
+            val stats = all(result);
+
+            assertThat(stats.requests() + stats.errors() + stats.missed()).isEqualTo(30);
+            assertThat(stats.missed()).isGreaterThan(20);
+
+            // sending every slot late would've taken ~3s
+            assertThat(((CollectionBenchmarked) result).elapsed()).isLessThan(Duration.ofSeconds(1));
+        }
+
+        @Example
+        public void never_counts_requests_as_missed_without_a_target_rate() {
+            val stats = all(bench(Duration.ofMillis(200), 2, Optional.empty(), Duration.ofMillis(10)));
+
+            assertThat(stats.requests()).isPositive();
+            assertThat(stats.missed()).isZero();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.dtsx.astra.cli.unit.operations;
+
+import com.datastax.astra.client.collections.definition.CollectionDefinition;
+import com.dtsx.astra.cli.core.datatypes.CreationStatus;
+import com.dtsx.astra.cli.core.models.CollectionRef;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentPage;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsInserted;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsRejected;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.InsertManyResult;
+import com.dtsx.astra.cli.operations.db.collection.CollectionCopyOperation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionCopyOperation.*;
+import com.dtsx.astra.cli.testlib.Fixtures.Collections;
+import com.dtsx.astra.cli.testlib.Fixtures.Databases;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import lombok.SneakyThrows;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Group
+public class CollectionCopyOperationTest {
+    @Group
+    class checkpointFor {
+        @Example
+        public void resumes_from_the_earliest_page_not_yet_written() {
+            val inFlight = new TreeMap<Long, String>();
+            inFlight.put(3L, "state-3");
+            inFlight.put(1L, "state-1");
+            inFlight.put(2L, "state-2");
+
+            assertThat(CollectionCopyOperation.checkpointFor("src", "dst", inFlight, "state-4", true, 100))
+                .isEqualTo(new CopyCheckpoint("src", "dst", "state-1", false, 100));
+        }
+
+        @Example
+        public void resumes_from_the_next_page_when_nothing_is_in_flight() {
+            assertThat(CollectionCopyOperation.checkpointFor("src", "dst", new TreeMap<>(), "state-4", false, 100))
+                .isEqualTo(new CopyCheckpoint("src", "dst", "state-4", false, 100));
+
+            assertThat(CollectionCopyOperation.checkpointFor("src", "dst", new TreeMap<>(), null, true, 100))
+                .isEqualTo(new CopyCheckpoint("src", "dst", null, true, 100));
+        }
+
+        @Example
+        public void resumes_from_the_very_start_if_the_first_page_is_in_flight() {
+            val inFlight = new TreeMap<Long, String>();
+            inFlight.put(0L, null);
+
+            assertThat(CollectionCopyOperation.checkpointFor("src", "dst", inFlight, "state-1", false, 0).pageState()).isNull();
+        }
+    }
+
+    @Group
+    class excludeFields {
+        @Example
+        public void removes_only_the_given_top_level_fields() {
+            val transform = CollectionCopyOperation.excludeFields(List.of("$vector", "secret"));
+
+            val transformed = transform.apply("""
+                {"_id":"a","$vector":[0.1,0.2],"secret":1,"nested":{"secret":2}}
+            """);
+
+            assertThat(JsonUtils.readTree(transformed)).isEqualTo(JsonUtils.readTree("""
+                {"_id":"a","nested":{"secret":2}}
+            """));
+        }
+
+        @Example
+        public void never_removes_the_id() {
+            val transform = CollectionCopyOperation.excludeFields(List.of("_id"));
+
+            assertThat(JsonUtils.readTree(transform.apply("{\"_id\":\"a\"}")).has("_id")).isTrue();
+        }
+    }
+
+    @Group
+    class execute {
+        private static final CollectionRef Target = CollectionRef.mkUnsafe(Databases.Keyspace, "copy_target");
+
+        @UseTestCtx(fs = "jimfs")
+        private TestCliContext ctx;
+
+        private final CollectionGateway gateway = mock(CollectionGateway.class);
+        private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+
+        private CollectionCopyResult copy(Optional<Path> checkpoint, Function<List<String>, InsertManyResult> insertMany) {
+            return copy(checkpoint, 0, 1, insertMany);
+        }
+
+        private CollectionCopyResult copy(Optional<Path> checkpoint, int maxRetries, int writers, Function<List<String>, InsertManyResult> insertMany) {
+            when(gateway.findOne(Collections.Ref)).thenReturn(Optional.of(Collections.One));
+            when(gateway.create(Target, Collections.One)).thenReturn(CreationStatus.created(Target));
+
+            when(gateway.insertMany(eq(Target), anyList())).thenAnswer((inv) -> {
+                List<String> documents = inv.getArgument(1);
+                calls.add(documents);
+                return insertMany.apply(documents);
+            });
+
+            return new CollectionCopyOperation(ctx.get(), gateway, new CollectionCopyRequest(
+                Collections.Ref, Target, Optional.empty(), 2, writers, 2, maxRetries, checkpoint
+            )).execute();
+        }
+
+        private static DocumentPage page(Optional<String> next, String... documents) {
+            return new DocumentPage(List.of(documents), next);
+        }
+
+        @SneakyThrows
+        private static void awaitCheckpoint(Path checkpoint) {
+            for (var i = 0; i < 500 && !Files.exists(checkpoint); i++) {
+                Thread.sleep(10);
+            }
+        }
+
+        @SneakyThrows
+        private static String readString(Path path) {
+            return Files.readString(path);
+        }
+
+        @Example
+        public void returns_not_found_for_a_missing_source() {
+            when(gateway.findOne(Collections.Ref)).thenReturn(Optional.empty());
+
+            val result = new CollectionCopyOperation(ctx.get(), gateway, new CollectionCopyRequest(
+                Collections.Ref, Target, Optional.empty(), 2, 1, 2, 0, Optional.empty()
+            )).execute();
+
+            assertThat(result).isEqualTo(new SourceNotFound());
+            verify(gateway, never()).create(any(), any(CollectionDefinition.class));
+        }
+
+        @Example
+        public void refuses_to_copy_into_an_existing_collection() {
+            when(gateway.findOne(Collections.Ref)).thenReturn(Optional.of(Collections.One));
+            when(gateway.create(Target, Collections.One)).thenReturn(CreationStatus.alreadyExists(Target));
+
+            val result = new CollectionCopyOperation(ctx.get(), gateway, new CollectionCopyRequest(
+                Collections.Ref, Target, Optional.empty(), 2, 1, 2, 0, Optional.empty()
+            )).execute();
+
+            assertThat(result).isEqualTo(new TargetAlreadyExists());
+            verify(gateway, never()).insertMany(any(), any());
+        }
+
+        @Example
+        public void copies_every_page_in_batches_and_deletes_the_checkpoint() {
+            val checkpoint = ctx.get().fs().getPath("/copy.checkpoint");
+
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.empty()))).thenReturn(page(Optional.of("p2"), "a", "b", "c"));
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.of("p2")))).thenReturn(page(Optional.empty(), "d"));
+
+            val result = copy(Optional.of(checkpoint), (_) -> new DocumentsInserted());
+
+            assertThat(result).isInstanceOfSatisfying(CollectionCopied.class, (r) -> {
+                assertThat(r.copied()).isEqualTo(4);
+                assertThat(r.rejected()).isZero();
+                assertThat(r.resumed()).isFalse();
+            });
+            assertThat(calls).containsExactly(List.of("a", "b"), List.of("c"), List.of("d"));
+            assertThat(Files.exists(checkpoint)).isFalse();
+        }
+
+        @Example
+        public void only_retries_the_documents_which_did_not_go_in() {
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.empty()))).thenReturn(page(Optional.empty(), "a", "b"));
+
+            val result = copy(Optional.empty(), (documents) -> (documents.size() == 2)
+                ? new DocumentsRejected("one was bad", Set.of(1))
+                : new DocumentsRejected("this one's bad", Set.of(0))
+            );
+
+            assertThat(result).isInstanceOfSatisfying(CollectionCopied.class, (r) -> {
+                assertThat(r.copied()).isEqualTo(1);
+                assertThat(r.rejected()).isEqualTo(1);
+            });
+            assertThat(calls).containsExactly(List.of("a", "b"), List.of("b"));
+        }
+
+        @Example
+        public void does_not_retry_errors_which_are_not_transient() {
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.empty()))).thenReturn(page(Optional.empty(), "a"));
+
+            assertThatThrownBy(() -> copy(Optional.empty(), 3, 1, (_) -> { throw new IllegalStateException("boom"); }))
+                .hasMessageContaining("boom");
+
+            assertThat(calls).hasSize(1);
+        }
+
+        @Example
+        public void resumes_from_where_a_failed_copy_left_off() {
+            val checkpoint = ctx.get().fs().getPath("/copy.checkpoint");
+            val fail = new boolean[] { true };
+
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.empty()))).thenReturn(page(Optional.of("p2"), "a", "b"));
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.of("p2")))).thenReturn(page(Optional.empty(), "c"));
+
+            assertThatThrownBy(() -> copy(Optional.of(checkpoint), (documents) -> {
+                if (documents.contains("c") && fail[0]) {
+                    throw new IllegalStateException("interrupted");
+                }
+                return new DocumentsInserted();
+            })).hasMessageContaining("interrupted");
+
+            assertThat(Files.exists(checkpoint)).isTrue();
+
+            fail[0] = false;
+            calls.clear();
+
+            val result = copy(Optional.of(checkpoint), (_) -> new DocumentsInserted());
+
+            assertThat(result).isInstanceOfSatisfying(CollectionCopied.class, (r) -> {
+                assertThat(r.copied()).isEqualTo(3);
+                assertThat(r.resumed()).isTrue();
+            });
+            assertThat(calls).containsExactly(List.of("c"));
+            verify(gateway, times(1)).create(Target, Collections.One);
+            assertThat(Files.exists(checkpoint)).isFalse();
+        }
+
+        // the second page is written while the first is still in flight, so a resume re-sends both, yet each of their
+        // documents must only be counted once
+        @Example
+        public void does_not_double_count_pages_written_out_of_order_when_resuming() {
+            val checkpoint = ctx.get().fs().getPath("/copy.checkpoint");
+            val fail = new boolean[] { true };
+
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.empty()))).thenReturn(page(Optional.of("p2"), "a", "b"));
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.of("p2")))).thenReturn(page(Optional.of("p3"), "c", "d"));
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.of("p3")))).thenReturn(page(Optional.empty(), "e"));
+
+            assertThatThrownBy(() -> copy(Optional.of(checkpoint), 0, 2, (documents) -> {
+                if (documents.contains("a") && fail[0]) {
+                    awaitCheckpoint(checkpoint);
+                    throw new IllegalStateException("interrupted");
+                }
+                return new DocumentsInserted();
+            })).hasMessageContaining("interrupted");
+
+            assertThat(JsonUtils.readValue(readString(checkpoint), CopyCheckpoint.class)).satisfies((c) -> {
+                assertThat(c.pageState()).isNull();
+                assertThat(c.copied()).isZero();
+            });
+
+            fail[0] = false;
+            calls.clear();
+
+            val result = copy(Optional.of(checkpoint), 0, 2, (_) -> new DocumentsInserted());
+
+            assertThat(result).isInstanceOfSatisfying(CollectionCopied.class, (r) -> {
+                assertThat(r.copied()).isEqualTo(5);
+                assertThat(r.resumed()).isTrue();
+            });
+            assertThat(calls).containsExactlyInAnyOrder(List.of("a", "b"), List.of("c", "d"), List.of("e"));
+            verify(gateway, times(1)).create(Target, Collections.One);
+            assertThat(Files.exists(checkpoint)).isFalse();
+        }
+
+        @Example
+        public void rejects_a_checkpoint_for_another_copy() throws IOException {
+            val checkpoint = ctx.get().fs().getPath("/copy.checkpoint");
+            Files.writeString(checkpoint, JsonUtils.writeValue(new CopyCheckpoint("other_db/x", "other_db/y", null, false, 0)));
+
+            val result = copy(Optional.of(checkpoint), (_) -> new DocumentsInserted());
+
+            assertThat(result).isInstanceOfSatisfying(InvalidCheckpoint.class, (r) -> {
+                assertThat(r.reason()).contains("other_db/x");
+            });
+            verify(gateway, never()).create(any(), any(CollectionDefinition.class));
+            verify(gateway, never()).insertMany(any(), any());
+        }
+    }
+}
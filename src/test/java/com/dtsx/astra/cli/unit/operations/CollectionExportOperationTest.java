@@ -0,0 +1,190 @@
+package com.dtsx.astra.cli.unit.operations;
+
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentPage;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.IdRange;
+import com.dtsx.astra.cli.operations.db.collection.CollectionExportOperation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionExportOperation.*;
+import com.dtsx.astra.cli.testlib.Fixtures.Collections;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Group;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.IntRange;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Group
+public class CollectionExportOperationTest {
+    @UseTestCtx(fs = "jimfs")
+    private TestCliContext ctx;
+
+    private final CollectionGateway gateway = mock(CollectionGateway.class);
+
+    // keeps every document written, and counts each as a fixed number of bytes, like a file would
+    private static class RecordingSink implements DocumentSink {
+        private final List<String> documents = new ArrayList<>();
+        private long position;
+
+        private RecordingSink(long position) {
+            this.position = position;
+        }
+
+        @Override
+        public void write(List<String> documents) {
+            this.documents.addAll(documents);
+            this.position += documents.size() * 10L;
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private CollectionExportResult export(Optional<Path> checkpoint, AtomicReference<Optional<Long>> resumedAt, RecordingSink sink) {
+        when(gateway.findOne(Collections.Ref)).thenReturn(Optional.of(Collections.One));
+
+        return new CollectionExportOperation(ctx.get(), gateway, new CollectionExportRequest(Collections.Ref, 1, checkpoint, (resumeAt) -> {
+            resumedAt.set(resumeAt);
+            return sink;
+        })).execute();
+    }
+
+    private static DocumentPage page(Optional<String> next, String... documents) {
+        return new DocumentPage(List.of(documents), next);
+    }
+
+    @Group
+    class execute {
+        @Example
+        public void exports_every_page_and_deletes_the_checkpoint() {
+            val checkpoint = ctx.get().fs().getPath("/export.checkpoint");
+            val sink = new RecordingSink(0);
+            val resumedAt = new AtomicReference<Optional<Long>>();
+
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.empty()))).thenReturn(page(Optional.of("p2"), "a", "b"));
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.of("p2")))).thenReturn(page(Optional.empty(), "c"));
+
+            val result = export(Optional.of(checkpoint), resumedAt, sink);
+
+            assertThat(result).isInstanceOfSatisfying(CollectionExported.class, (r) -> {
+                assertThat(r.documents()).isEqualTo(3);
+                assertThat(r.resumed()).isFalse();
+            });
+            assertThat(sink.documents).containsExactly("a", "b", "c");
+            assertThat(resumedAt.get()).isEmpty();
+            assertThat(Files.exists(checkpoint)).isFalse();
+        }
+
+        @Example
+        public void checkpoints_each_page_with_the_sinks_position() throws IOException {
+            val checkpoint = ctx.get().fs().getPath("/export.checkpoint");
+            val sink = new RecordingSink(0);
+
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.empty()))).thenReturn(page(Optional.of("p2"), "a", "b"));
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.of("p2")))).thenThrow(new IllegalStateException("interrupted"));
+
+            assertThatThrownBy(() -> export(Optional.of(checkpoint), new AtomicReference<>(), sink)).hasMessageContaining("interrupted");
+
+            val saved = JsonUtils.readValue(Files.readString(checkpoint), Checkpoint.class);
+
+            assertThat(saved.bytesWritten()).isEqualTo(20);
+            assertThat(saved.partitions()).singleElement().satisfies((p) -> {
+                assertThat(p.pageState()).isEqualTo("p2");
+                assertThat(p.exported()).isEqualTo(2);
+                assertThat(p.done()).isFalse();
+            });
+        }
+
+        @Example
+        public void resumes_from_the_checkpointed_page_and_offset() throws IOException {
+            val checkpoint = ctx.get().fs().getPath("/export.checkpoint");
+            val sink = new RecordingSink(20);
+            val resumedAt = new AtomicReference<Optional<Long>>();
+
+            Files.writeString(checkpoint, JsonUtils.writeValue(new Checkpoint(Collections.Ref.toString(), List.of(new PartitionState(null, null, "p2", false, 2)), 20)));
+
+            when(gateway.findPage(eq(Collections.Ref), any(), eq(Optional.of("p2")))).thenReturn(page(Optional.empty(), "c"));
+
+            val result = export(Optional.of(checkpoint), resumedAt, sink);
+
+            assertThat(result).isInstanceOfSatisfying(CollectionExported.class, (r) -> {
+                assertThat(r.documents()).isEqualTo(3);
+                assertThat(r.exportedThisRun()).isEqualTo(1);
+                assertThat(r.resumed()).isTrue();
+            });
+            assertThat(resumedAt.get()).contains(20L);
+            assertThat(sink.documents).containsExactly("c");
+            verify(gateway, never()).findPage(any(), any(), eq(Optional.empty()));
+        }
+
+        @Example
+        public void refuses_a_checkpoint_for_another_collection() throws IOException {
+            val checkpoint = ctx.get().fs().getPath("/export.checkpoint");
+
+            Files.writeString(checkpoint, JsonUtils.writeValue(new Checkpoint("other_ks.other_coll", List.of(), 0)));
+
+            assertThat(export(Optional.of(checkpoint), new AtomicReference<>(), new RecordingSink(0))).isInstanceOf(InvalidCheckpoint.class);
+            verify(gateway, never()).findPage(any(), any(), any());
+        }
+    }
+
+    @Group
+    class partitions {
+        @Example
+        public void a_single_partition_covers_everything() {
+            assertThat(CollectionExportOperation.partitions(1)).containsExactly(
+                new IdRange(Optional.empty(), Optional.empty())
+            );
+        }
+
+        @Example
+        public void splits_on_the_first_two_hex_characters() {
+            assertThat(CollectionExportOperation.partitions(4)).containsExactly(
+                new IdRange(Optional.empty(), Optional.of("40")),
+                new IdRange(Optional.of("40"), Optional.of("80")),
+                new IdRange(Optional.of("80"), Optional.of("c0")),
+                new IdRange(Optional.of("c0"), Optional.empty())
+            );
+        }
+
+        @Property
+        public void ranges_are_contiguous_and_open_at_both_ends(@ForAll @IntRange(min = 2, max = 64) int count) {
+            val ranges = CollectionExportOperation.partitions(count);
+
+            assertThat(ranges).hasSize(count);
+            assertThat(ranges.getFirst().from()).isEmpty();
+            assertThat(ranges.getLast().until()).isEmpty();
+
+            for (var i = 1; i < count; i++) {
+                val bound = ranges.get(i).from();
+
+                assertThat(bound).isPresent().isEqualTo(ranges.get(i - 1).until());
+
+                if (i > 1) {
+                    assertThat(bound.get()).isGreaterThan(ranges.get(i - 1).from().orElseThrow());
+                }
+            }
+        }
+    }
+}
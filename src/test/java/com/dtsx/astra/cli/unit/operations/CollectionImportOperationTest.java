@@ -0,0 +1,215 @@
+package com.dtsx.astra.cli.unit.operations;
+
+import com.datastax.astra.client.exceptions.DataAPITimeoutException;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsInserted;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.DocumentsRejected;
+import com.dtsx.astra.cli.gateways.db.collection.CollectionGateway.InsertManyResult;
+import com.dtsx.astra.cli.operations.db.collection.CollectionImportOperation;
+import com.dtsx.astra.cli.operations.db.collection.CollectionImportOperation.*;
+import com.dtsx.astra.cli.testlib.Fixtures.Collections;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import lombok.SneakyThrows;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Group
+public class CollectionImportOperationTest {
+    @Group
+    class csvReader {
+        @SneakyThrows
+        private List<List<String>> readAll(String csv) {
+            val reader = new CsvReader(new BufferedReader(new StringReader(csv)));
+            val records = new ArrayList<List<String>>();
+
+            for (var record = reader.next(); record != null; record = reader.next()) {
+                records.add(record);
+            }
+
+            return records;
+        }
+
+        @Example
+        public void reads_plain_fields() {
+            assertThat(readAll("a,b,c\n1,,3\n")).containsExactly(
+                List.of("a", "b", "c"),
+                List.of("1", "", "3")
+            );
+        }
+
+        @Example
+        public void reads_quoted_fields_with_commas_quotes_and_line_breaks() {
+            assertThat(readAll("name,bio\n\"Doe, Jane\",\"says \"\"hi\"\"\nand bye\"\n")).containsExactly(
+                List.of("name", "bio"),
+                List.of("Doe, Jane", "says \"hi\"\nand bye")
+            );
+        }
+
+        @Example
+        @SneakyThrows
+        public void tracks_the_line_each_record_starts_on() {
+            val reader = new CsvReader(new BufferedReader(new StringReader("a\n\"1\n2\"\n3\n")));
+
+            assertThat(reader.header()).containsExactly("a");
+
+            reader.next();
+            assertThat(reader.recordLine()).isEqualTo(2);
+
+            reader.next();
+            assertThat(reader.recordLine()).isEqualTo(4);
+        }
+    }
+
+    @Group
+    class ids {
+        @Example
+        public void keeps_existing_ids() {
+            assertThat(CollectionImportOperation.withId("{\"a\":1,\"_id\":\"x\"}", "UUIDV7")).isEqualTo("{\"a\":1,\"_id\":\"x\"}");
+        }
+
+        @Example
+        public void adds_an_id_first() {
+            val document = JsonUtils.readTree(CollectionImportOperation.withId("{\"a\":1}", null));
+
+            assertThat(document.fieldNames().next()).isEqualTo("_id");
+            assertThat(document.get("_id").isTextual()).isTrue();
+            assertThat(document.get("a").asInt()).isEqualTo(1);
+        }
+
+        @Example
+        public void generates_the_collections_kind_of_id() {
+            val now = System.currentTimeMillis();
+
+            assertThat(UUID.fromString(CollectionImportOperation.generateId("UUID", now).get("$uuid").asText()).version()).isEqualTo(4);
+            assertThat(UUID.fromString(CollectionImportOperation.generateId("UUIDV6", now).get("$uuid").asText()).version()).isEqualTo(6);
+            assertThat(UUID.fromString(CollectionImportOperation.generateId("UUIDV7", now).get("$uuid").asText()).version()).isEqualTo(7);
+            assertThat(CollectionImportOperation.generateId("OBJECT_ID", now).get("$objectId").asText()).matches("[0-9a-f]{24}");
+            assertThat(UUID.fromString(CollectionImportOperation.generateId(null, now).asText()).version()).isEqualTo(4);
+        }
+
+        @Example
+        public void time_based_ids_sort_by_time() {
+            for (val type : List.of("UUIDV6", "UUIDV7")) {
+                val earlier = CollectionImportOperation.generateId(type, 1_700_000_000_000L).get("$uuid").asText();
+                val later = CollectionImportOperation.generateId(type, 1_700_000_000_001L).get("$uuid").asText();
+
+                assertThat(later).isGreaterThan(earlier);
+            }
+        }
+    }
+
+    @Group
+    class execute {
+        @UseTestCtx
+        private TestCliContext ctx;
+
+        private final CollectionGateway gateway = mock(CollectionGateway.class);
+        private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+
+        private CollectionImportResult importDocuments(int count, int chunkSize, int maxRetries, Function<List<String>, InsertManyResult> insertMany) {
+            val source = IntStream.range(0, count).mapToObj((i) -> "{\"n\":" + i + "}").collect(Collectors.joining("\n"));
+
+            when(gateway.findOne(Collections.Ref)).thenReturn(Optional.of(Collections.One));
+
+            when(gateway.insertMany(eq(Collections.Ref), anyList())).thenAnswer((inv) -> {
+                List<String> documents = inv.getArgument(1);
+                calls.add(documents);
+                return insertMany.apply(documents);
+            });
+
+            return new CollectionImportOperation(ctx.get(), gateway, new CollectionImportRequest(
+                Collections.Ref, new StringReader(source), "test", ImportFormat.NDJSON, chunkSize, 1, maxRetries, Optional.empty()
+            )).execute();
+        }
+
+        private static List<Integer> ns(List<String> documents) {
+            return documents.stream().map((d) -> JsonUtils.readTree(d).get("n").asInt()).toList();
+        }
+
+        @Example
+        public void inserts_every_document_in_chunks() {
+            val result = importDocuments(5, 2, 0, (_) -> new DocumentsInserted());
+
+            assertThat(result).isInstanceOfSatisfying(CollectionImported.class, (r) -> {
+                assertThat(r.imported()).isEqualTo(5);
+                assertThat(r.rejected()).isZero();
+                assertThat(r.latencies().count()).isEqualTo(3);
+            });
+            assertThat(calls).extracting(execute::ns).containsExactly(List.of(0, 1), List.of(2, 3), List.of(4));
+        }
+
+        @Example
+        public void retries_timeouts_with_the_same_ids() {
+            val attempts = new AtomicInteger();
+
+            val result = importDocuments(2, 2, 3, (_) -> {
+                if (attempts.getAndIncrement() == 0) {
+                    throw mock(DataAPITimeoutException.class);
+                }
+                return new DocumentsInserted();
+            });
+
+            assertThat(result).isInstanceOfSatisfying(CollectionImported.class, (r) -> {
+                assertThat(r.imported()).isEqualTo(2);
+                assertThat(r.retries()).isEqualTo(1);
+            });
+            assertThat(calls).hasSize(2);
+            assertThat(calls.get(0)).allSatisfy((d) -> assertThat(JsonUtils.readTree(d).has("_id")).isTrue());
+            assertThat(calls.get(1)).isEqualTo(calls.get(0));
+        }
+
+        @Example
+        public void does_not_retry_other_errors() {
+            assertThatThrownBy(() -> importDocuments(2, 2, 3, (_) -> { throw new IllegalStateException("boom"); }))
+                .hasMessageContaining("boom");
+
+            assertThat(calls).hasSize(1);
+        }
+
+        @Example
+        public void only_reinserts_the_documents_which_did_not_go_in() {
+            val result = importDocuments(3, 3, 0, (documents) -> (documents.size() == 3)
+                ? new DocumentsRejected("one was bad", Set.of(1))
+                : new DocumentsRejected("this one's bad", Set.of(0))
+            );
+
+            assertThat(result).isInstanceOfSatisfying(CollectionImported.class, (r) -> {
+                assertThat(r.imported()).isEqualTo(2);
+                assertThat(r.rejected()).isEqualTo(1);
+            });
+            assertThat(calls).extracting(execute::ns).containsExactly(List.of(0, 1, 2), List.of(1));
+        }
+
+        @Example
+        public void counts_a_document_found_to_be_inserted_already() {
+            val result = importDocuments(2, 2, 0, (documents) -> (documents.size() == 2)
+                ? new DocumentsRejected("one was bad", Set.of(0))
+                : new DocumentsRejected("already exists", Set.of())
+            );
+
+            assertThat(result).isInstanceOfSatisfying(CollectionImported.class, (r) -> {
+                assertThat(r.imported()).isEqualTo(2);
+                assertThat(r.rejected()).isZero();
+            });
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.dtsx.astra.cli.unit.operations;
+
+import com.dtsx.astra.cli.core.exceptions.AstraCliException;
+import com.dtsx.astra.cli.gateways.db.DbGateway;
+import com.dtsx.astra.cli.operations.db.DbStatusOperation;
+import com.dtsx.astra.cli.operations.db.DbStatusOperation.AllDbsStatusRequest;
+import com.dtsx.astra.cli.operations.db.DbStatusOperation.DbStatusFilter;
+import com.dtsx.astra.cli.operations.db.DbStatusOperation.DbStatusTransition;
+import com.dtsx.astra.cli.operations.db.DbStatusOperation.WatchCompleted;
+import com.dtsx.astra.cli.testlib.Fixtures.Databases;
+import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
+import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
+import com.dtsx.astra.cli.utils.JsonUtils;
+import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
+import lombok.val;
+import net.jqwik.api.Example;
+import net.jqwik.api.Group;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.dtsx.astra.cli.core.output.ExitCode.TIMED_OUT;
+import static com.dtsx.astra.sdk.db.domain.DatabaseStatusType.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Group
+public class DbStatusOperationTest {
+    private static final Instant NOW = Instant.now();
+
+    private static Database withStatus(Database db, DatabaseStatusType status) {
+        val clone = JsonUtils.clone(db, Database.class);
+        clone.setStatus(status);
+        return clone;
+    }
+
+    @Group
+    class watch {
+        @UseTestCtx
+        private TestCliContext ctx;
+
+        private DbStatusOperation watchHibernated(Optional<DatabaseStatusType> until) {
+            val gateway = mock(DbGateway.class);
+            when(gateway.findAll()).thenAnswer((_) -> Stream.of(withStatus(Databases.One, HIBERNATED)));
+
+            val filter = new DbStatusFilter(Optional.empty(), Optional.empty(), Set.of());
+
+            return new DbStatusOperation(ctx.get(), gateway, new AllDbsStatusRequest(filter, true, until, Duration.ofMillis(10), Duration.ofMillis(50), (_) -> {}));
+        }
+
+        @Example
+        public void stops_watching_once_the_timeout_is_up_without_until() {
+            assertThat(watchHibernated(Optional.empty()).execute()).isInstanceOfSatisfying(WatchCompleted.class, (r) -> {
+                assertThat(r.databases()).extracting(Database::getStatus).containsExactly(HIBERNATED);
+                assertThat(r.polls()).isGreaterThan(1);
+            });
+        }
+
+        @Example
+        public void times_out_if_until_is_never_reached() {
+            assertThatThrownBy(() -> watchHibernated(Optional.of(ACTIVE)).execute())
+                .isInstanceOfSatisfying(AstraCliException.class, (e) -> assertThat(e.getCode()).isEqualTo(TIMED_OUT));
+        }
+    }
+
+    @Group
+    class diffSnapshots {
+        @Example
+        public void emits_nothing_when_nothing_changed() {
+            val snapshot = Map.of(Databases.One.getId(), Databases.One);
+
+            assertThat(DbStatusOperation.diffSnapshots(snapshot, snapshot, NOW)).isEmpty();
+        }
+
+        @Example
+        public void emits_initial_state_for_newly_seen_databases() {
+            val db = Databases.One;
+
+            assertThat(DbStatusOperation.diffSnapshots(Map.of(), Map.of(db.getId(), db), NOW)).containsExactly(
+                new DbStatusTransition(NOW, db.getId(), db.getInfo().getName(), null, db.getStatus())
+            );
+        }
+
+        @Example
+        public void emits_status_changes() {
+            val prev = withStatus(Databases.One, HIBERNATED);
+            val curr = withStatus(Databases.One, RESUMING);
+
+            assertThat(DbStatusOperation.diffSnapshots(Map.of(prev.getId(), prev), Map.of(curr.getId(), curr), NOW)).containsExactly(
+                new DbStatusTransition(NOW, curr.getId(), curr.getInfo().getName(), HIBERNATED, RESUMING)
+            );
+        }
+
+        @Example
+        public void emits_disappearance_of_databases() {
+            val prev = withStatus(Databases.One, TERMINATING);
+
+            assertThat(DbStatusOperation.diffSnapshots(Map.of(prev.getId(), prev), Map.of(), NOW)).containsExactly(
+                new DbStatusTransition(NOW, prev.getId(), prev.getInfo().getName(), TERMINATING, null)
+            );
+        }
+    }
+}
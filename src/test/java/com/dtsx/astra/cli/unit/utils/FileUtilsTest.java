@@ -4,16 +4,20 @@ import com.dtsx.astra.cli.testlib.Fixtures;
 import com.dtsx.astra.cli.testlib.extensions.context.TestCliContext;
 import com.dtsx.astra.cli.testlib.extensions.context.UseTestCtx;
 import com.dtsx.astra.cli.utils.FileUtils;
+import com.dtsx.astra.cli.utils.FileUtils.DownloadValidators;
 import lombok.SneakyThrows;
 import lombok.val;
 import net.jqwik.api.*;
 
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.zip.ZipException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assumptions.assumeThat;
 
 @Group
@@ -95,6 +99,74 @@ public class FileUtilsTest {
         }
     }
 
+    @Group
+    class downloadFileIfModified {
+        @Example
+        @SneakyThrows
+        public void leaves_existing_file_untouched_if_validation_fails() {
+            val sourceFile = ctx.get().path("src/scb.zip");
+            val destFile = ctx.get().path("dst/scb.zip");
+
+            Files.createDirectories(sourceFile.getParent());
+            Files.createDirectories(destFile.getParent());
+            Files.write(sourceFile, "definitely not a zip".getBytes());
+            Files.write(destFile, "old content".getBytes());
+
+            assertThatThrownBy(() -> FileUtils.downloadFileIfModified(sourceFile.toUri().toString(), destFile, DownloadValidators.NONE, FileUtils::validateZip))
+                .isInstanceOf(ZipException.class);
+
+            assertThat(destFile).hasContent("old content");
+            assertThat(destFile.getParent()).isDirectoryNotContaining((p) -> p.getFileName().toString().endsWith(".tmp"));
+        }
+
+        @Example
+        @SneakyThrows
+        public void publishes_file_once_validated() {
+            val sourceFile = copyResourceToJimfs(Fixtures.Files.AstraZip, "src/astra.zip");
+            val destFile = ctx.get().path("dst/astra.zip");
+
+            val validators = FileUtils.downloadFileIfModified(sourceFile.toUri().toString(), destFile, DownloadValidators.NONE, FileUtils::validateZip);
+
+            assertThat(validators).isPresent();
+            assertThat(destFile).hasSameBinaryContentAs(sourceFile);
+            assertThat(destFile.getParent()).isDirectoryNotContaining((p) -> p.getFileName().toString().endsWith(".tmp"));
+        }
+    }
+
+    @Group
+    class writeAtomically {
+        @Example
+        @SneakyThrows
+        public void replaces_existing_file() {
+            val file = ctx.get().path("dir/file.json");
+
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "old content");
+
+            FileUtils.writeAtomically(file, "new content");
+
+            assertThat(file).hasContent("new content");
+            assertThat(file.getParent()).isDirectoryNotContaining((p) -> p.getFileName().toString().endsWith(".tmp"));
+        }
+
+        @Example
+        @SneakyThrows
+        public void leaves_existing_file_untouched_if_writer_fails() {
+            val file = ctx.get().path("dir/file.json");
+
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "old content");
+
+            assertThatThrownBy(() -> FileUtils.writeAtomically(file, (tempFile) -> {
+                Files.writeString(tempFile, "half-written");
+                throw new IOException("oops");
+            })).isInstanceOf(IOException.class);
+
+            assertThat(file).hasContent("old content");
+            assertThat(file.getParent()).isDirectoryNotContaining((p) -> p.getFileName().toString().endsWith(".tmp"));
+        }
+    }
+
     @Group
     class extractArchiveInPlace {
         @Example
@@ -151,14 +223,14 @@ public class FileUtilsTest {
             assertThat(root.resolve("zipfiles"))
                 .isDirectory();
         }
+    }
 
-        @SneakyThrows
-        private Path copyResourceToJimfs(URL realFilePathUrl, String jimfsFilePathStr) {
-            val jimfsFilePath = ctx.get().path(jimfsFilePathStr);
-            Files.createDirectories(jimfsFilePath.getParent());
-            Files.copy(Path.of(realFilePathUrl.toURI()), jimfsFilePath);
-            assertThat(jimfsFilePath).isRegularFile();
-            return jimfsFilePath;
-        }
+    @SneakyThrows
+    private Path copyResourceToJimfs(URL realFilePathUrl, String jimfsFilePathStr) {
+        val jimfsFilePath = ctx.get().path(jimfsFilePathStr);
+        Files.createDirectories(jimfsFilePath.getParent());
+        Files.copy(Path.of(realFilePathUrl.toURI()), jimfsFilePath);
+        assertThat(jimfsFilePath).isRegularFile();
+        return jimfsFilePath;
     }
 }
@@ -198,4 +198,44 @@ public class StringUtilsTest {
             return Idempotent.fn(StringUtils::removeQuotesIfAny);
         }
     }
+
+    @Group
+    class splitShellArgs {
+        @Example
+        public void splits_on_any_whitespace() {
+            assertThat(StringUtils.splitShellArgs("  db   create\tdemo  ").getRight()).containsExactly("db", "create", "demo");
+        }
+
+        @Example
+        public void handles_quotes_and_escapes() {
+            val line = "db create 'my db' -k \"ks \\\"1\\\"\" --flag=a\\ b 'it''s'";
+
+            assertThat(StringUtils.splitShellArgs(line).getRight()).containsExactly("db", "create", "my db", "-k", "ks \"1\"", "--flag=a b", "its");
+        }
+
+        @Example
+        public void ignores_comments_at_the_start_of_words_only() {
+            assertThat(StringUtils.splitShellArgs("# just a comment").getRight()).isEmpty();
+            assertThat(StringUtils.splitShellArgs("db list # trailing comment").getRight()).containsExactly("db", "list");
+            assertThat(StringUtils.splitShellArgs("db get a#b").getRight()).containsExactly("db", "get", "a#b");
+        }
+
+        @Example
+        public void keeps_empty_quoted_args() {
+            assertThat(StringUtils.splitShellArgs("config create '' \"\"").getRight()).containsExactly("config", "create", "", "");
+        }
+
+        @Example
+        public void errors_on_unterminated_quotes() {
+            assertThat(StringUtils.splitShellArgs("db create 'oops").isLeft()).isTrue();
+            assertThat(StringUtils.splitShellArgs("db create \"oops").isLeft()).isTrue();
+        }
+
+        @Property
+        public void round_trips_single_quoted_args(@ForAll List<@AlphaChars @NumericChars @Chars({ ' ', '"', '#', '\\' }) String> args) {
+            val line = args.stream().map((arg) -> "'" + arg + "'").collect(joining(" "));
+
+            assertThat(StringUtils.splitShellArgs(line).getRight()).isEqualTo(args);
+        }
+    }
 }